@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>JMH benchmarks of building and editing primitive arrays with {@link ArrayUtils}
+ * and the primitive array lists.</p>
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=ArrayUtilsBenchmark}.</p>
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ArrayUtilsBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private int[] values;
+    private int[] toRemove;
+    private int[] indices;
+
+    @Setup
+    public void setup() {
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i * 31 % 1000;
+        }
+        toRemove = new int[size / 10];
+        indices = new int[size / 10];
+        for (int i = 0; i < toRemove.length; i++) {
+            toRemove[i] = i * 17 % 1000;
+            indices[i] = (int) (i * 7919L % size);
+        }
+    }
+
+    @Benchmark
+    public int[] appendArrayUtils() {
+        int[] array = ArrayUtils.EMPTY_INT_ARRAY;
+        for (final int value : values) {
+            array = ArrayUtils.add(array, value);
+        }
+        return array;
+    }
+
+    @Benchmark
+    public int[] appendBoxedList() {
+        final List<Integer> list = new ArrayList<Integer>();
+        for (final int value : values) {
+            list.add(Integer.valueOf(value));
+        }
+        return ArrayUtils.toPrimitive(list.toArray(new Integer[list.size()]));
+    }
+
+    @Benchmark
+    public int[] appendIntArrayList() {
+        final IntArrayList list = new IntArrayList();
+        for (final int value : values) {
+            list.add(value);
+        }
+        return list.toArray();
+    }
+
+    @Benchmark
+    public int[] removeElements() {
+        return ArrayUtils.removeElements(values, toRemove);
+    }
+
+    @Benchmark
+    public int[] removeAllUnordered() {
+        return ArrayUtils.removeAll(values, indices);
+    }
+
+}
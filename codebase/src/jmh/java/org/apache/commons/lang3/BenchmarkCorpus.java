@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Random;
+
+/**
+ * <p>Input corpora shared by the JMH benchmarks.</p>
+ *
+ * <p>Every corpus is generated from a fixed seed so that runs are
+ * comparable over time. The text is made of space separated words with
+ * an occasional comma, which gives split, join and replace something
+ * to work on.</p>
+ *
+ * @version $Id$
+ */
+public enum BenchmarkCorpus {
+
+    /** Short ASCII lines, typical of header names and keys. */
+    SHORT_ASCII(24, "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"),
+
+    /** Long ASCII documents, typical of log lines and CSV records. */
+    LONG_ASCII(4096, "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789"),
+
+    /** Latin, Greek and Cyrillic text mixed with ASCII. */
+    MIXED_UNICODE(1024, "abcdefxyz\u00e9\u00e8\u00fc\u00f1\u00df\u03b1\u03b2\u03b3\u0434\u0436\u044f"),
+
+    /** Text dominated by supplementary characters encoded as surrogate pairs. */
+    SURROGATE_HEAVY(1024, "ab\ud801\udc00\ud801\udc01\ud83d\ude00\ud83d\ude01\ud840\udc00");
+
+    /** Number of distinct lines generated for each corpus. */
+    public static final int SIZE = 64;
+
+    private final String[] lines;
+
+    BenchmarkCorpus(final int length, final String alphabet) {
+        final Random random = new Random(length * 31L + alphabet.length());
+        final int[] codePoints = alphabet.codePoints().toArray();
+        lines = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            final StringBuilder buf = new StringBuilder(length + 16);
+            while (buf.length() < length) {
+                final int word = 2 + random.nextInt(8);
+                for (int j = 0; j < word; j++) {
+                    buf.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+                }
+                buf.append(random.nextInt(8) == 0 ? ", " : " ");
+            }
+            lines[i] = buf.toString();
+        }
+    }
+
+    /**
+     * Returns the generated lines of this corpus.
+     *
+     * @return the lines, not to be modified
+     */
+    public String[] lines() {
+        return lines;
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>JMH benchmarks of the char set scans of {@link StringUtils} against the
+ * char by char loops they replaced.</p>
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=CharScanBenchmark}.
+ * The {@code loop} methods are copies of the 3.1 implementations.</p>
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CharScanBenchmark {
+
+    private static final char[] DELIMITERS = "\t;|\u00a7".toCharArray();
+    private static final char[] PUNCTUATION = "!\"#$%&'()*+-./:<=>?@[\\]^_`{}~".toCharArray();
+    private static final CharMatcher PUNCTUATION_MATCHER = CharMatcher.anyOf(PUNCTUATION);
+
+    @Param({"SHORT_ASCII", "LONG_ASCII", "MIXED_UNICODE", "SURROGATE_HEAVY"})
+    public BenchmarkCorpus corpus;
+
+    private String[] lines;
+    private int index;
+
+    @Setup
+    public void setup() {
+        lines = corpus.lines();
+    }
+
+    private String next() {
+        index = (index + 1) & (BenchmarkCorpus.SIZE - 1);
+        return lines[index];
+    }
+
+    @Benchmark
+    public int indexOfAny() {
+        return StringUtils.indexOfAny(next(), DELIMITERS);
+    }
+
+    @Benchmark
+    public int indexOfAnyLoop() {
+        return indexOfAnyLoop(next(), DELIMITERS);
+    }
+
+    @Benchmark
+    public int indexOfAnyPunctuation() {
+        return StringUtils.indexOfAny(next(), PUNCTUATION);
+    }
+
+    @Benchmark
+    public int indexOfAnyPunctuationLoop() {
+        return indexOfAnyLoop(next(), PUNCTUATION);
+    }
+
+    @Benchmark
+    public int indexOfAnyPunctuationMatcher() {
+        return StringUtils.indexOfAny(next(), PUNCTUATION_MATCHER);
+    }
+
+    @Benchmark
+    public boolean containsNone() {
+        return StringUtils.containsNone(next(), PUNCTUATION);
+    }
+
+    @Benchmark
+    public boolean containsNoneLoop() {
+        return !containsAnyLoop(next(), PUNCTUATION);
+    }
+
+    @Benchmark
+    public boolean containsNoneMatcher() {
+        return StringUtils.containsNone(next(), PUNCTUATION_MATCHER);
+    }
+
+    @Benchmark
+    public boolean isAsciiPrintable() {
+        return StringUtils.isAsciiPrintable(next());
+    }
+
+    @Benchmark
+    public boolean isAsciiPrintableLoop() {
+        final String cs = next();
+        final int sz = cs.length();
+        for (int i = 0; i < sz; i++) {
+            if (CharUtils.isAsciiPrintable(cs.charAt(i)) == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOfAnyLoop(final CharSequence cs, final char[] searchChars) {
+        final int csLen = cs.length();
+        final int csLast = csLen - 1;
+        final int searchLen = searchChars.length;
+        final int searchLast = searchLen - 1;
+        for (int i = 0; i < csLen; i++) {
+            final char ch = cs.charAt(i);
+            for (int j = 0; j < searchLen; j++) {
+                if (searchChars[j] == ch) {
+                    if (i < csLast && j < searchLast && Character.isHighSurrogate(ch)) {
+                        if (searchChars[j + 1] == cs.charAt(i + 1)) {
+                            return i;
+                        }
+                    } else {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsAnyLoop(final CharSequence cs, final char[] searchChars) {
+        final int csLength = cs.length();
+        final int searchLength = searchChars.length;
+        final int csLast = csLength - 1;
+        final int searchLast = searchLength - 1;
+        for (int i = 0; i < csLength; i++) {
+            final char ch = cs.charAt(i);
+            for (int j = 0; j < searchLength; j++) {
+                if (searchChars[j] == ch) {
+                    if (Character.isHighSurrogate(ch)) {
+                        if (j == searchLast) {
+                            return true;
+                        }
+                        if (i < csLast && searchChars[j + 1] == cs.charAt(i + 1)) {
+                            return true;
+                        }
+                    } else {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+}
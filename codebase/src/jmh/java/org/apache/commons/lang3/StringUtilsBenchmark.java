@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>JMH benchmarks for the {@link StringUtils} methods on the ingestion hot path.</p>
+ *
+ * <p>Run with {@code mvn test -Pbenchmark -Dbenchmark=StringUtilsBenchmark}.
+ * The {@code benchmark} profile attaches the GC profiler, so the results
+ * include the allocation rate ({@code gc.alloc.rate.norm}) of each method.</p>
+ *
+ * @version $Id$
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class StringUtilsBenchmark {
+
+    private static final String[] SEARCH = {"ab", "XY", "\u00e9", ", "};
+    private static final String[] REPLACE = {"ba", "YX", "e", "; "};
+    private static final String NEEDLE = "connection reset by remote peer";
+    private static final SubstringSearcher NEEDLE_SEARCHER = new SubstringSearcher(NEEDLE, true);
+    private static final StringCleaner CLEANER = new StringCleaner()
+            .normalizeSpace().stripAccents().lowerCase(Locale.ENGLISH).abbreviate(40);
+
+    @Param({"SHORT_ASCII", "LONG_ASCII", "MIXED_UNICODE", "SURROGATE_HEAVY"})
+    public BenchmarkCorpus corpus;
+
+    private String[] lines;
+    private String[] upperCase;
+    private String[] prefixes;
+    private StringBuilder[] builders;
+    private String[][] tokens;
+    private List<?>[] tokenLists;
+    private long[][] numbers;
+    private int index;
+
+    @Setup
+    public void setup() {
+        lines = corpus.lines();
+        upperCase = new String[lines.length];
+        builders = new StringBuilder[lines.length];
+        prefixes = new String[lines.length];
+        tokens = new String[lines.length][];
+        for (int i = 0; i < lines.length; i++) {
+            upperCase[i] = lines[i].toUpperCase();
+            builders[i] = new StringBuilder(lines[i]);
+            prefixes[i] = StringUtils.left(lines[i], 12);
+            tokens[i] = StringUtils.split(lines[i]);
+        }
+        tokenLists = new List<?>[lines.length];
+        numbers = new long[lines.length][];
+        for (int i = 0; i < lines.length; i++) {
+            tokenLists[i] = Arrays.asList(tokens[i]);
+            numbers[i] = new long[tokens[i].length];
+            for (int j = 0; j < numbers[i].length; j++) {
+                numbers[i][j] = tokens[i][j].hashCode() * 1000003L;
+            }
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & (BenchmarkCorpus.SIZE - 1);
+        return index;
+    }
+
+    @Benchmark
+    public String[] split() {
+        return StringUtils.split(lines[next()]);
+    }
+
+    @Benchmark
+    public String[] splitChar() {
+        return StringUtils.split(lines[next()], ',');
+    }
+
+    @Benchmark
+    public String join() {
+        return StringUtils.join(tokens[next()], ' ');
+    }
+
+    @Benchmark
+    public String joinCollection() {
+        return StringUtils.join(tokenLists[next()], ", ");
+    }
+
+    @Benchmark
+    public String joinLongs() {
+        return StringUtils.join(numbers[next()], ',');
+    }
+
+    @Benchmark
+    public String replace() {
+        return StringUtils.replace(lines[next()], ", ", "; ");
+    }
+
+    @Benchmark
+    public String replaceStringBuilder() {
+        return StringUtils.replace(builders[next()].toString(), ", ", "; ");
+    }
+
+    @Benchmark
+    public String replaceSlice() {
+        return CharSequenceSlice.of(builders[next()]).replace(", ", "; ");
+    }
+
+    @Benchmark
+    public String replaceEach() {
+        return StringUtils.replaceEach(lines[next()], SEARCH, REPLACE);
+    }
+
+    @Benchmark
+    public String leftPad() {
+        return StringUtils.leftPad(prefixes[next()], 24);
+    }
+
+    @Benchmark
+    public String center() {
+        return StringUtils.center(prefixes[next()], 32, "-=");
+    }
+
+    @Benchmark
+    public StringBuilder rightPadTo() {
+        final StringBuilder buf = new StringBuilder(64);
+        for (final String token : tokens[next()]) {
+            StringUtils.rightPadTo(buf, token, 16, ' ');
+            buf.setLength(0);
+        }
+        return buf;
+    }
+
+    @Benchmark
+    public String stripAccents() {
+        return StringUtils.stripAccents(lines[next()]);
+    }
+
+    @Benchmark
+    public String cleanChained() {
+        return StringUtils.abbreviate(StringUtils.lowerCase(
+                StringUtils.stripAccents(StringUtils.normalizeSpace(lines[next()])), Locale.ENGLISH), 40);
+    }
+
+    @Benchmark
+    public String cleanCleaner() {
+        return CLEANER.clean(lines[next()]);
+    }
+
+    @Benchmark
+    public boolean isBlank() {
+        return StringUtils.isBlank(lines[next()]);
+    }
+
+    @Benchmark
+    public int indexOfAny() {
+        return StringUtils.indexOfAny(lines[next()], "\t;|");
+    }
+
+    @Benchmark
+    public int indexOfStringBuilder() {
+        return StringUtils.indexOf(builders[next()], NEEDLE);
+    }
+
+    @Benchmark
+    public boolean equalsIgnoreCase() {
+        final int i = next();
+        return StringUtils.equalsIgnoreCase(lines[i], upperCase[i]);
+    }
+
+    @Benchmark
+    public boolean startsWithIgnoreCase() {
+        final int i = next();
+        return StringUtils.startsWithIgnoreCase(lines[i], upperCase[i]);
+    }
+
+    @Benchmark
+    public int indexOfIgnoreCase() {
+        return StringUtils.indexOfIgnoreCase(lines[next()], NEEDLE);
+    }
+
+    @Benchmark
+    public int indexOfIgnoreCaseSearcher() {
+        return NEEDLE_SEARCHER.indexIn(lines[next()]);
+    }
+
+    @Benchmark
+    public int indexOfAnyStrings() {
+        return StringUtils.indexOfAny(lines[next()], SEARCH);
+    }
+
+}
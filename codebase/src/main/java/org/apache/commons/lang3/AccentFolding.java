@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * <p>Removes accents as {@link StringUtils#stripAccents(String)} by looking the
+ * chars of Latin text up in tables, and only decomposing the other chars with
+ * {@link Normalizer}.</p>
+ *
+ * <p>The tables hold each char of the Latin, combining diacritical mark, Latin
+ * extended additional and general punctuation blocks without its accents,
+ * as decomposed by {@code Normalizer} once. The decomposition of a String is the
+ * decompositions of its chars, only reordered within each run of combining marks,
+ * so the chars found in the tables are folded one by one. A run of other chars
+ * together with the combining marks following it goes through
+ * {@code Normalizer}, which gives the same result as decomposing the whole String.</p>
+ *
+ * <p>The tables are built when this class is first used, which is by the first
+ * String with a char beyond ASCII.</p>
+ *
+ * @since 3.2
+ * @version $Id$
+ */
+final class AccentFolding {
+
+    /**
+     * The fold of a char which is not in the tables, or folds to more than one char.
+     */
+    static final char NOT_FOLDED = '\uffff';
+    /**
+     * The fold of a combining mark, which is removed.
+     */
+    static final char REMOVED = '\ufffe';
+
+    /**
+     * The combining marks removed after the decomposition.
+     */
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");//$NON-NLS-1$
+
+    /**
+     * The folds from {@code U+0000}, Latin-1, Latin extended-A and B and the
+     * combining diacritical marks up to {@code U+036F}.
+     */
+    private static final char[] LATIN = table(0x0000, 0x0370);
+    /**
+     * The folds of the Latin extended additional block, {@code U+1E00} to {@code U+1EFF}.
+     */
+    private static final char[] LATIN_ADDITIONAL = table(0x1e00, 0x1f00);
+    /**
+     * The folds of the general punctuation block, {@code U+2000} to {@code U+206F}.
+     */
+    private static final char[] PUNCTUATION = table(0x2000, 0x2070);
+
+    /**
+     * Private constructor, this is a static helper.
+     */
+    private AccentFolding() {
+    }
+
+    /**
+     * Builds the table of a range of chars by decomposing each.
+     *
+     * @param start  the first char
+     * @param end  the char after the last
+     * @return the folds
+     */
+    private static char[] table(final int start, final int end) {
+        final char[] table = new char[end - start];
+        for (int c = start; c < end; c++) {
+            final String folded = decompose(String.valueOf((char) c));
+            if (folded.length() == 0) {
+                table[c - start] = REMOVED;
+            } else if (folded.length() == 1 && !isMark(folded.charAt(0))) {
+                table[c - start] = folded.charAt(0);
+            } else {
+                table[c - start] = NOT_FOLDED;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Checks whether a char is a combining mark, which decompositions may reorder.
+     *
+     * @param c  the char
+     * @return true if a mark
+     */
+    private static boolean isMark(final char c) {
+        final int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+
+    /**
+     * Decomposes chars and removes the combining diacritical marks, which is
+     * what {@code stripAccents} did before the tables.
+     *
+     * @param input  the chars
+     * @return the chars without accents
+     */
+    static String decompose(final String input) {
+        final String decomposed = Normalizer.normalize(input, Normalizer.Form.NFD);
+        // Note that this doesn't correctly remove ligatures...
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");//$NON-NLS-1$
+    }
+
+    /**
+     * Gets the fold of a char.
+     *
+     * @param c  the char
+     * @return the char without accents, {@code REMOVED} for a combining mark,
+     *  {@code NOT_FOLDED} if not in the tables
+     */
+    static char fold(final char c) {
+        if (c < 0x0370) {
+            return LATIN[c];
+        }
+        if (c >= 0x1e00 && c < 0x1f00) {
+            return LATIN_ADDITIONAL[c - 0x1e00];
+        }
+        if (c >= 0x2000 && c < 0x2070) {
+            return PUNCTUATION[c - 0x2000];
+        }
+        return NOT_FOLDED;
+    }
+
+    /**
+     * Removes the accents from a String.
+     *
+     * @param input  the String, not null
+     * @param start  the index of the first char which may not be ASCII
+     * @return the String without accents, the input if it has none
+     */
+    static String stripAccents(final String input, final int start) {
+        final int len = input.length();
+        StringBuilder buf = null;
+        int i = start;
+        while (i < len) {
+            final char c = input.charAt(i);
+            final char folded = fold(c);
+            if (folded == c) {
+                if (buf != null) {
+                    buf.append(c);
+                }
+                i++;
+            } else if (folded == NOT_FOLDED) {
+                // the run ends at the next char of the tables which is not a mark
+                int end = i + 1;
+                while (end < len) {
+                    final char f = fold(input.charAt(end));
+                    if (f != NOT_FOLDED && f != REMOVED) {
+                        break;
+                    }
+                    end++;
+                }
+                final String run = input.substring(i, end);
+                final String decomposed = decompose(run);
+                if (buf == null && !decomposed.equals(run)) {
+                    buf = new StringBuilder(len);
+                    buf.append(input, 0, i);
+                }
+                if (buf != null) {
+                    buf.append(decomposed);
+                }
+                i = end;
+            } else {
+                if (buf == null) {
+                    buf = new StringBuilder(len);
+                    buf.append(input, 0, i);
+                }
+                if (folded != REMOVED) {
+                    buf.append(folded);
+                }
+                i++;
+            }
+        }
+        return buf == null ? input : buf.toString();
+    }
+
+}
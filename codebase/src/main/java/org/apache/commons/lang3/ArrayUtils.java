@@ -1600,6 +1600,251 @@ public class ArrayUtils {
         }
     }
 
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>There is no special handling for multi-dimensional arrays.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final Object[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        Object tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final long[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        long tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final int[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        int tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final short[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        short tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final char[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        char tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final byte[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        byte tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final double[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        double tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final float[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        float tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
+    /**
+     * <p>Reverses the order of the given array in the given range.</p>
+     *
+     * <p>This method does nothing for a {@code null} input array.</p>
+     *
+     * @param array  the array to reverse, may be {@code null}
+     * @param startIndexInclusive  the starting index, values less than zero are treated as zero
+     * @param endIndexExclusive  elements up to endIndex-1 are reversed,
+     *  values greater than the array length are treated as the length
+     * @since 3.2
+     */
+    public static void reverse(final boolean[] array, final int startIndexInclusive, final int endIndexExclusive) {
+        if (array == null) {
+            return;
+        }
+        int i = startIndexInclusive < 0 ? 0 : startIndexInclusive;
+        int j = Math.min(array.length, endIndexExclusive) - 1;
+        boolean tmp;
+        while (j > i) {
+            tmp = array[j];
+            array[j] = array[i];
+            array[i] = tmp;
+            j--;
+            i++;
+        }
+    }
+
     // IndexOf search
     // ----------------------------------------------------------------------
 
@@ -4966,7 +5211,7 @@ public class ArrayUtils {
      */
     @SuppressWarnings("unchecked") // removeAll() always creates an array of the same type as its input
     public static <T> T[] removeAll(final T[] array, final int... indices) {
-        return (T[]) removeAll((Object) array, clone(indices));
+        return (T[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5058,7 +5303,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static byte[] removeAll(final byte[] array, final int... indices) {
-        return (byte[]) removeAll((Object) array, clone(indices));
+        return (byte[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5092,26 +5337,14 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Byte, MutableInt> occurrences = new HashMap<Byte, MutableInt>(values.length);
+        final ValueCounts occurrences = new ValueCounts(values.length);
         for (final byte v : values) {
-            final Byte boxed = Byte.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.add(v);
         }
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Byte, MutableInt> e : occurrences.entrySet()) {
-            final Byte v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.byteValue(), found);
-                if (found < 0) {
-                    break;
-                }
-                toRemove.set(found++);
+        for (int i = 0; i < array.length && occurrences.hasRemaining(); i++) {
+            if (occurrences.take(array[i])) {
+                toRemove.set(i);
             }
         }
         return (byte[]) removeAll(array, toRemove);
@@ -5147,7 +5380,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static short[] removeAll(final short[] array, final int... indices) {
-        return (short[]) removeAll((Object) array, clone(indices));
+        return (short[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5181,26 +5414,14 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Short, MutableInt> occurrences = new HashMap<Short, MutableInt>(values.length);
+        final ValueCounts occurrences = new ValueCounts(values.length);
         for (final short v : values) {
-            final Short boxed = Short.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.add(v);
         }
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Short, MutableInt> e : occurrences.entrySet()) {
-            final Short v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.shortValue(), found);
-                if (found < 0) {
-                    break;
-                }
-                toRemove.set(found++);
+        for (int i = 0; i < array.length && occurrences.hasRemaining(); i++) {
+            if (occurrences.take(array[i])) {
+                toRemove.set(i);
             }
         }
         return (short[]) removeAll(array, toRemove);
@@ -5236,7 +5457,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static int[] removeAll(final int[] array, final int... indices) {
-        return (int[]) removeAll((Object) array, clone(indices));
+        return (int[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5270,26 +5491,14 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Integer, MutableInt> occurrences = new HashMap<Integer, MutableInt>(values.length);
+        final ValueCounts occurrences = new ValueCounts(values.length);
         for (final int v : values) {
-            final Integer boxed = Integer.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.add(v);
         }
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Integer, MutableInt> e : occurrences.entrySet()) {
-            final Integer v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.intValue(), found);
-                if (found < 0) {
-                    break;
-                }
-                toRemove.set(found++);
+        for (int i = 0; i < array.length && occurrences.hasRemaining(); i++) {
+            if (occurrences.take(array[i])) {
+                toRemove.set(i);
             }
         }
         return (int[]) removeAll(array, toRemove);
@@ -5325,7 +5534,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static char[] removeAll(final char[] array, final int... indices) {
-        return (char[]) removeAll((Object) array, clone(indices));
+        return (char[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5359,26 +5568,14 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Character, MutableInt> occurrences = new HashMap<Character, MutableInt>(values.length);
+        final ValueCounts occurrences = new ValueCounts(values.length);
         for (final char v : values) {
-            final Character boxed = Character.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.add(v);
         }
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Character, MutableInt> e : occurrences.entrySet()) {
-            final Character v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.charValue(), found);
-                if (found < 0) {
-                    break;
-                }
-                toRemove.set(found++);
+        for (int i = 0; i < array.length && occurrences.hasRemaining(); i++) {
+            if (occurrences.take(array[i])) {
+                toRemove.set(i);
             }
         }
         return (char[]) removeAll(array, toRemove);
@@ -5414,7 +5611,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static long[] removeAll(final long[] array, final int... indices) {
-        return (long[]) removeAll((Object) array, clone(indices));
+        return (long[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5448,26 +5645,14 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Long, MutableInt> occurrences = new HashMap<Long, MutableInt>(values.length);
+        final ValueCounts occurrences = new ValueCounts(values.length);
         for (final long v : values) {
-            final Long boxed = Long.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.add(v);
         }
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Long, MutableInt> e : occurrences.entrySet()) {
-            final Long v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.longValue(), found);
-                if (found < 0) {
-                    break;
-                }
-                toRemove.set(found++);
+        for (int i = 0; i < array.length && occurrences.hasRemaining(); i++) {
+            if (occurrences.take(array[i])) {
+                toRemove.set(i);
             }
         }
         return (long[]) removeAll(array, toRemove);
@@ -5503,7 +5688,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static float[] removeAll(final float[] array, final int... indices) {
-        return (float[]) removeAll((Object) array, clone(indices));
+        return (float[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5537,26 +5722,14 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Float, MutableInt> occurrences = new HashMap<Float, MutableInt>(values.length);
+        final ValueCounts occurrences = new ValueCounts(values.length);
         for (final float v : values) {
-            final Float boxed = Float.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.add(v);
         }
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Float, MutableInt> e : occurrences.entrySet()) {
-            final Float v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.floatValue(), found);
-                if (found < 0) {
-                    break;
-                }
-                toRemove.set(found++);
+        for (int i = 0; i < array.length && occurrences.hasRemaining(); i++) {
+            if (occurrences.take(array[i])) {
+                toRemove.set(i);
             }
         }
         return (float[]) removeAll(array, toRemove);
@@ -5592,7 +5765,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static double[] removeAll(final double[] array, final int... indices) {
-        return (double[]) removeAll((Object) array, clone(indices));
+        return (double[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5626,26 +5799,14 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Double, MutableInt> occurrences = new HashMap<Double, MutableInt>(values.length);
+        final ValueCounts occurrences = new ValueCounts(values.length);
         for (final double v : values) {
-            final Double boxed = Double.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
-            }
+            occurrences.add(v);
         }
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Double, MutableInt> e : occurrences.entrySet()) {
-            final Double v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.doubleValue(), found);
-                if (found < 0) {
-                    break;
-                }
-                toRemove.set(found++);
+        for (int i = 0; i < array.length && occurrences.hasRemaining(); i++) {
+            if (occurrences.take(array[i])) {
+                toRemove.set(i);
             }
         }
         return (double[]) removeAll(array, toRemove);
@@ -5677,7 +5838,7 @@ public class ArrayUtils {
      * @since 3.0.1
      */
     public static boolean[] removeAll(final boolean[] array, final int... indices) {
-        return (boolean[]) removeAll((Object) array, clone(indices));
+        return (boolean[]) removeAll((Object) array, indices);
     }
 
     /**
@@ -5711,26 +5872,23 @@ public class ArrayUtils {
         if (isEmpty(array) || isEmpty(values)) {
             return clone(array);
         }
-        final HashMap<Boolean, MutableInt> occurrences = new HashMap<Boolean, MutableInt>(2); // only two possible values here
+        int trues = 0;
         for (final boolean v : values) {
-            final Boolean boxed = Boolean.valueOf(v);
-            final MutableInt count = occurrences.get(boxed);
-            if (count == null) {
-                occurrences.put(boxed, new MutableInt(1));
-            } else {
-                count.increment();
+            if (v) {
+                trues++;
             }
         }
+        int falses = values.length - trues;
         final BitSet toRemove = new BitSet();
-        for (final Map.Entry<Boolean, MutableInt> e : occurrences.entrySet()) {
-            final Boolean v = e.getKey();
-            int found = 0;
-            for (int i = 0, ct = e.getValue().intValue(); i < ct; i++) {
-                found = indexOf(array, v.booleanValue(), found);
-                if (found < 0) {
-                    break;
+        for (int i = 0; i < array.length && (trues > 0 || falses > 0); i++) {
+            if (array[i]) {
+                if (trues > 0) {
+                    trues--;
+                    toRemove.set(i);
                 }
-                toRemove.set(found++);
+            } else if (falses > 0) {
+                falses--;
+                toRemove.set(i);
             }
         }
         return (boolean[]) removeAll(array, toRemove);
@@ -5738,8 +5896,14 @@ public class ArrayUtils {
 
     /**
      * Removes multiple array elements specified by index.
+     *
+     * <p>Indices in ascending order are used as they are. Unordered indices are sorted
+     * in a copy, or marked in a BitSet when there are more than one for each 64 elements,
+     * which costs less than sorting them. Either way the kept elements are copied in
+     * runs between the removed ones.</p>
+     *
      * @param array source
-     * @param indices to remove, WILL BE SORTED--so only clones of user-owned arrays!
+     * @param indices to remove, not changed
      * @return new array of same type minus elements specified by unique values of {@code indices}
      * @since 3.0.1
      */
@@ -5747,14 +5911,21 @@ public class ArrayUtils {
     static Object removeAll(final Object array, final int... indices) {
         final int length = getLength(array);
         int diff = 0; // number of distinct indexes, i.e. number of entries that will be removed
+        int[] sorted = indices;
 
         if (isNotEmpty(indices)) {
-            Arrays.sort(indices);
+            if (!isAscending(indices)) {
+                if (indices.length > length >>> 6) {
+                    return removeAll(array, toBitSet(indices, length));
+                }
+                sorted = indices.clone();
+                Arrays.sort(sorted);
+            }
 
-            int i = indices.length;
+            int i = sorted.length;
             int prevIndex = length;
             while (--i >= 0) {
-                final int index = indices[i];
+                final int index = sorted[i];
                 if (index < 0 || index >= length) {
                     throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
                 }
@@ -5769,8 +5940,8 @@ public class ArrayUtils {
         if (diff < length) {
             int end = length; // index just after last copy
             int dest = length - diff; // number of entries so far not copied
-            for (int i = indices.length - 1; i >= 0; i--) {
-                final int index = indices[i];
+            for (int i = sorted.length - 1; i >= 0; i--) {
+                final int index = sorted[i];
                 if (end - index > 1) { // same as (cp > 0)
                     final int cp = end - index - 1;
                     dest -= cp;
@@ -5786,6 +5957,40 @@ public class ArrayUtils {
         return result;
     }
 
+    /**
+     * Checks whether indices are in ascending order, allowing repeats.
+     *
+     * @param indices  the indices, not null
+     * @return true if no index is less than the one before
+     */
+    private static boolean isAscending(final int[] indices) {
+        for (int i = 1; i < indices.length; i++) {
+            if (indices[i] < indices[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks indices in a BitSet.
+     *
+     * @param indices  the indices, not null
+     * @param length  the length of the array
+     * @return the set of indices
+     * @throws IndexOutOfBoundsException if an index is negative or not less than the length
+     */
+    private static BitSet toBitSet(final int[] indices, final int length) {
+        final BitSet bits = new BitSet(length);
+        for (final int index : indices) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+            }
+            bits.set(index);
+        }
+        return bits;
+    }
+
     /**
      * Removes multiple array elements specified by indices.
      * 
@@ -5797,12 +6002,8 @@ public class ArrayUtils {
     // package protected for access by unit tests
     static Object removeAll(final Object array, final BitSet indices) {
         final int srcLength = ArrayUtils.getLength(array);
-        // No need to check maxIndex here, because method only currently called from removeElements()
-        // which guarantee to generate on;y valid bit entries.
-//        final int maxIndex = indices.length();
-//        if (maxIndex > srcLength) { 
-//            throw new IndexOutOfBoundsException("Index: " + (maxIndex-1) + ", Length: " + srcLength);
-//        }
+        // No need to check the indices here, because the callers, removeElements() and
+        // removeAll(Object, int...) through toBitSet(), only set bits below the length.
         final int removals = indices.cardinality(); // true bits are items to remove
         final Object result = Array.newInstance(array.getClass().getComponentType(), srcLength - removals);
         int srcIndex=0;
@@ -0,0 +1,497 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+/**
+ * <p>A growable array of {@code byte}s, appended to in amortized constant time
+ * without boxing the values.</p>
+ *
+ * <p>Building a {@code byte[]} with {@link ArrayUtils#add(byte[], byte)} copies the whole
+ * array on each call. This class keeps the values in a backing array with spare
+ * capacity, which grows by half of its length when full, and inserts and removes
+ * with a single {@link System#arraycopy(Object, int, Object, int, int) arraycopy}.</p>
+ *
+ * <p>The backing array is not copied by {@link #wrap(byte[])} and {@link #array()},
+ * so values can be handed to and taken from the {@code ArrayUtils} methods directly:</p>
+ *
+ * <pre>
+ * final ByteArrayList values = ByteArrayList.wrap(ArrayUtils.toPrimitive(boxed));
+ * values.add((byte) 42);
+ * ArrayUtils.indexOf(values.array(), (byte) 42);  // may find a value past the size
+ * values.indexOf((byte) 42);                      // searches up to the size only
+ * </pre>
+ *
+ * <p>The methods that search, compare and convert behave as their {@code ArrayUtils}
+ * counterparts on the values up to the size.</p>
+ *
+ * <p>#NotThreadSafe#</p>
+ * @since 3.2
+ * @version $Id$
+ */
+public final class ByteArrayList {
+
+    /**
+     * The capacity of a list created without one.
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * The backing array, valid up to the size.
+     */
+    private byte[] elements;
+    /**
+     * The number of values.
+     */
+    private int size;
+
+    /**
+     * <p>Constructs an empty list with the default capacity.</p>
+     */
+    public ByteArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * <p>Constructs an empty list.</p>
+     *
+     * @param initialCapacity  the number of values the list holds before it grows
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ByteArrayList(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        elements = initialCapacity == 0 ? ArrayUtils.EMPTY_BYTE_ARRAY : new byte[initialCapacity];
+    }
+
+    /**
+     * Constructs a list over an array.
+     *
+     * @param elements  the backing array, not null
+     * @param size  the number of values
+     */
+    private ByteArrayList(final byte[] elements, final int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    /**
+     * <p>Creates a list holding a copy of the values.</p>
+     *
+     * @param values  the values, may be null
+     * @return the list, empty for {@code null} input
+     */
+    public static ByteArrayList of(final byte... values) {
+        if (values == null || values.length == 0) {
+            return new ByteArrayList();
+        }
+        return new ByteArrayList(values.clone(), values.length);
+    }
+
+    /**
+     * <p>Creates a list backed by an array, without copying it.</p>
+     *
+     * <p>The list holds all the values of the array, and writes to the array until
+     * it grows beyond its length.</p>
+     *
+     * @param array  the backing array, not null
+     * @return the list
+     * @throws IllegalArgumentException if the array is {@code null}
+     */
+    public static ByteArrayList wrap(final byte[] array) {
+        if (array == null) {
+            throw new IllegalArgumentException("Array must not be null");
+        }
+        return new ByteArrayList(array, array.length);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the number of values.</p>
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * <p>Checks whether the list has no values.</p>
+     *
+     * @return true if the size is zero
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * <p>Gets the value at an index.</p>
+     *
+     * @param index  the index
+     * @return the value
+     * @throws IndexOutOfBoundsException if the index is not less than the size
+     */
+    public byte get(final int index) {
+        checkIndex(index, size - 1);
+        return elements[index];
+    }
+
+    /**
+     * <p>Replaces the value at an index.</p>
+     *
+     * @param index  the index
+     * @param value  the new value
+     * @return the value replaced
+     * @throws IndexOutOfBoundsException if the index is not less than the size
+     */
+    public byte set(final int index, final byte value) {
+        checkIndex(index, size - 1);
+        final byte old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Appends a value.</p>
+     *
+     * @param value  the value
+     * @return this, to enable chaining
+     */
+    public ByteArrayList add(final byte value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+        return this;
+    }
+
+    /**
+     * <p>Appends values.</p>
+     *
+     * @param values  the values, may be null
+     * @return this, to enable chaining
+     */
+    public ByteArrayList addAll(final byte... values) {
+        return insertAll(size, values);
+    }
+
+    /**
+     * <p>Inserts a value, shifting the values from the index to the right.</p>
+     *
+     * @param index  the index to insert at, from zero to the size
+     * @param value  the value
+     * @return this, to enable chaining
+     * @throws IndexOutOfBoundsException if the index is greater than the size
+     */
+    public ByteArrayList insert(final int index, final byte value) {
+        checkIndex(index, size);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        return this;
+    }
+
+    /**
+     * <p>Inserts values, shifting the values from the index to the right once.</p>
+     *
+     * @param index  the index to insert at, from zero to the size
+     * @param values  the values, may be null
+     * @return this, to enable chaining
+     * @throws IndexOutOfBoundsException if the index is greater than the size
+     */
+    public ByteArrayList insertAll(final int index, final byte... values) {
+        checkIndex(index, size);
+        if (values == null || values.length == 0) {
+            return this;
+        }
+        final int count = values.length;
+        if (count > elements.length - size) {
+            grow(size + count);
+        }
+        System.arraycopy(elements, index, elements, index + count, size - index);
+        System.arraycopy(values, 0, elements, index, count);
+        size += count;
+        return this;
+    }
+
+    /**
+     * <p>Removes the value at an index, shifting the following values to the left.</p>
+     *
+     * @param index  the index
+     * @return the value removed
+     * @throws IndexOutOfBoundsException if the index is not less than the size
+     */
+    public byte remove(final int index) {
+        checkIndex(index, size - 1);
+        final byte old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return old;
+    }
+
+    /**
+     * <p>Removes the values in a range, shifting the following values to the left once.</p>
+     *
+     * @param fromIndex  the index of the first value to remove
+     * @param toIndex  the index after the last value to remove
+     * @throws IndexOutOfBoundsException if the range is not within the size
+     */
+    public void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Range: " + fromIndex + " to " + toIndex + ", Size: " + size);
+        }
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+    }
+
+    /**
+     * <p>Removes the first occurrence of a value, as
+     * {@link ArrayUtils#removeElement(byte[], byte)}.</p>
+     *
+     * @param value  the value to remove
+     * @return true if the value was found
+     */
+    public boolean removeElement(final byte value) {
+        final int index = indexOf(value);
+        if (index == ArrayUtils.INDEX_NOT_FOUND) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * <p>Removes all the values, keeping the capacity.</p>
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Finds the index of a value, as {@link ArrayUtils#indexOf(byte[], byte)}.</p>
+     *
+     * @param valueToFind  the value to find
+     * @return the index of the value, {@link ArrayUtils#INDEX_NOT_FOUND} ({@code -1}) if not found
+     */
+    public int indexOf(final byte valueToFind) {
+        return indexOf(valueToFind, 0);
+    }
+
+    /**
+     * <p>Finds the index of a value from an index, as
+     * {@link ArrayUtils#indexOf(byte[], byte, int)}.</p>
+     *
+     * @param valueToFind  the value to find
+     * @param startIndex  the index to start at, negative treated as zero
+     * @return the index of the value, {@link ArrayUtils#INDEX_NOT_FOUND} ({@code -1}) if not found
+     */
+    public int indexOf(final byte valueToFind, final int startIndex) {
+        for (int i = startIndex < 0 ? 0 : startIndex; i < size; i++) {
+            if (valueToFind == elements[i]) {
+                return i;
+            }
+        }
+        return ArrayUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Finds the last index of a value, as {@link ArrayUtils#lastIndexOf(byte[], byte)}.</p>
+     *
+     * @param valueToFind  the value to find
+     * @return the index of the value, {@link ArrayUtils#INDEX_NOT_FOUND} ({@code -1}) if not found
+     */
+    public int lastIndexOf(final byte valueToFind) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (valueToFind == elements[i]) {
+                return i;
+            }
+        }
+        return ArrayUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Checks whether the list holds a value, as {@link ArrayUtils#contains(byte[], byte)}.</p>
+     *
+     * @param valueToFind  the value to find
+     * @return true if found
+     */
+    public boolean contains(final byte valueToFind) {
+        return indexOf(valueToFind, 0) != ArrayUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Reverses the order of the values, as {@link ArrayUtils#reverse(byte[])}.</p>
+     */
+    public void reverse() {
+        ArrayUtils.reverse(elements, 0, size);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the backing array, without copying it.</p>
+     *
+     * <p>The values are at the indexes below the size, and the array may be longer.
+     * Writes to the array change the list until it grows into a new array.</p>
+     *
+     * @return the backing array
+     */
+    public byte[] array() {
+        return elements;
+    }
+
+    /**
+     * <p>Copies the values into a new array of the size.</p>
+     *
+     * @return the values
+     */
+    public byte[] toArray() {
+        return size == 0 ? ArrayUtils.EMPTY_BYTE_ARRAY : Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * <p>Copies the values into a new array of wrappers, as
+     * {@link ArrayUtils#toObject(byte[])}.</p>
+     *
+     * @return the values as wrappers
+     */
+    public Byte[] toObject() {
+        final Byte[] result = new Byte[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = Byte.valueOf(elements[i]);
+        }
+        return result;
+    }
+
+    /**
+     * <p>Makes the capacity at least a number of values.</p>
+     *
+     * @param minCapacity  the number of values to hold without growing
+     */
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * <p>Shrinks the backing array to the size.</p>
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = toArray();
+        }
+    }
+
+    /**
+     * Grows the backing array by half its length, or more if needed.
+     *
+     * @param minCapacity  the capacity needed
+     */
+    private void grow(final int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("Capacity overflow");
+        }
+        int capacity = elements.length + (elements.length >> 1) + 1;
+        if (capacity < 0) {
+            capacity = Integer.MAX_VALUE - 8;
+        }
+        if (capacity < minCapacity) {
+            capacity = minCapacity;
+        }
+        elements = Arrays.copyOf(elements, capacity);
+    }
+
+    /**
+     * Checks an index.
+     *
+     * @param index  the index
+     * @param max  the greatest valid index
+     */
+    private void checkIndex(final int index, final int max) {
+        if (index < 0 || index > max) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Compares the values with those of another list.</p>
+     *
+     * @param obj  the object to compare with, may be null
+     * @return true if the other is a list of the same values
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof ByteArrayList == false) {
+            return false;
+        }
+        final ByteArrayList other = (ByteArrayList) obj;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (elements[i] != other.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * <p>Gets a hash code of the values, as {@link Arrays#hashCode(byte[])} of
+     * {@link #toArray()}.</p>
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + elements[i];
+        }
+        return hash;
+    }
+
+    /**
+     * <p>Outputs the values as {@link ArrayUtils#toString(Object)} does,
+     * for example {@code {1,2,3}}.</p>
+     *
+     * @return the values as a String
+     */
+    @Override
+    public String toString() {
+        final StringBuilder buf = new StringBuilder(size * 4 + 2).append('{');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            buf.append(elements[i]);
+        }
+        return buf.append('}').toString();
+    }
+
+}
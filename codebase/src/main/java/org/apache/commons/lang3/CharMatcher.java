@@ -0,0 +1,719 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+/**
+ * <p>A compiled set of characters, to search and check text with
+ * the same set many times.</p>
+ *
+ * <p>The StringUtils methods which take the chars of a set as a String
+ * or an array, such as {@link StringUtils#indexOfAny(CharSequence, char...)},
+ * compare each char of the input with each char of the set on every call.
+ * A matcher compiles the set once into a bitmap of the chars of the Basic
+ * Multilingual Plane, up to the greatest of the set, and a sorted array of
+ * the ranges of supplementary code points, so that each char of the input
+ * is checked with a single lookup. Hot loops should build the matcher
+ * once and pass it to the StringUtils overloads, or use its own methods:</p>
+ *
+ * <pre>
+ * private static final CharMatcher SEPARATORS = CharMatcher.anyOf(",;|\t");
+ *
+ * int index = StringUtils.indexOfAny(line, SEPARATORS);
+ * </pre>
+ *
+ * <p>A matcher works on code points: a surrogate pair of the input is
+ * checked as the supplementary code point it encodes, any other char,
+ * an unpaired surrogate included, as itself. Indexes are char indexes
+ * into the input.</p>
+ *
+ * <p>Instances are immutable.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @since 3.2
+ * @version $Id$
+ */
+public final class CharMatcher {
+
+    /**
+     * A matcher which matches no character.
+     */
+    public static final CharMatcher NONE = new CharMatcher(new long[0], ArrayUtils.EMPTY_INT_ARRAY);
+
+    /**
+     * A matcher which matches the whitespace characters, as defined by
+     * {@link Character#isWhitespace(int)}, the chars {@link StringUtils#strip(String)} removes.
+     */
+    public static final CharMatcher WHITESPACE = whitespace();
+
+    /**
+     * The number of longs of a bitmap of the whole Basic Multilingual Plane.
+     */
+    private static final int BMP_LONGS = (Character.MAX_VALUE + 1) >> 6;
+
+    /**
+     * The bits of the chars of the set, up to the greatest, all the longs
+     * of the bitmap up to the last one which is not zero.
+     */
+    private final long[] bits;
+    /**
+     * The start and end code point, both inclusive, of each range of supplementary
+     * code points in the set, sorted, the ranges disjoint and not adjacent.
+     */
+    private final int[] ranges;
+    /**
+     * Whether the set has no surrogate and no supplementary code point, so that
+     * no surrogate of the input can match and a scan can ignore surrogate pairs.
+     */
+    private final boolean noSurrogates;
+
+    /**
+     * Creates a matcher.
+     *
+     * @param bits  the bitmap of the BMP chars, trimmed
+     * @param ranges  the sorted ranges of supplementary code points
+     */
+    private CharMatcher(final long[] bits, final int[] ranges) {
+        this.bits = bits;
+        this.ranges = ranges;
+        boolean surrogates = ranges.length > 0;
+        for (int i = Character.MIN_SURROGATE >> 6; i <= Character.MAX_SURROGATE >> 6 && i < bits.length; i++) {
+            surrogates |= bits[i] != 0;
+        }
+        this.noSurrogates = !surrogates;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Compiles a matcher for the code points of a CharSequence.</p>
+     *
+     * <p>A surrogate pair adds the supplementary code point it encodes.</p>
+     *
+     * <pre>
+     * CharMatcher.anyOf(null)     = CharMatcher.NONE
+     * CharMatcher.anyOf("")       = CharMatcher.NONE
+     * CharMatcher.anyOf(",;")     matches ',' and ';'
+     * </pre>
+     *
+     * @param chars  the characters of the set, may be null
+     * @return the matcher, not null
+     */
+    public static CharMatcher anyOf(final CharSequence chars) {
+        if (chars == null || chars.length() == 0) {
+            return NONE;
+        }
+        final Builder builder = new Builder();
+        final int len = chars.length();
+        for (int i = 0; i < len; i++) {
+            final char c = chars.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                builder.add(Character.toCodePoint(c, chars.charAt(++i)));
+            } else {
+                builder.add(c);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * <p>Compiles a matcher for an array of chars.</p>
+     *
+     * <p>A surrogate pair adds the supplementary code point it encodes,
+     * as for {@link #anyOf(CharSequence)}.</p>
+     *
+     * @param chars  the characters of the set, may be null
+     * @return the matcher, not null
+     */
+    public static CharMatcher anyOf(final char... chars) {
+        if (chars == null) {
+            return NONE;
+        }
+        return anyOf(new String(chars));
+    }
+
+    /**
+     * <p>Compiles a matcher for a range of code points.</p>
+     *
+     * <pre>
+     * CharMatcher.inRange('a', 'z')          matches the lower case ASCII letters
+     * CharMatcher.inRange(0x1F600, 0x1F64F)  matches the emoticons
+     * </pre>
+     *
+     * @param start  the first code point of the range, inclusive
+     * @param end  the last code point of the range, inclusive
+     * @return the matcher, not null
+     * @throws IllegalArgumentException if a code point is not valid or start is greater than end
+     */
+    public static CharMatcher inRange(final int start, final int end) {
+        if (!Character.isValidCodePoint(start) || !Character.isValidCodePoint(end)) {
+            throw new IllegalArgumentException("Code points must be valid");
+        }
+        if (start > end) {
+            throw new IllegalArgumentException("Start must not be greater than end");
+        }
+        final Builder builder = new Builder();
+        builder.add(start, end);
+        return builder.build();
+    }
+
+    /**
+     * <p>Compiles a matcher for the {@link CharSet} syntax, such as
+     * {@code "a-z"}, {@code "^0-9"} or {@code "aeiou"}.</p>
+     *
+     * <p>A CharSet only holds chars. A negated range, which contains every
+     * char but those of the range, matches every supplementary code point
+     * as well.</p>
+     *
+     * @param setStrs  the set definitions, merged as by {@link CharSet#getInstance(String...)},
+     *  may be null
+     * @return the matcher, not null
+     */
+    public static CharMatcher charSet(final String... setStrs) {
+        if (setStrs == null) {
+            return NONE;
+        }
+        return charSet(CharSet.getInstance(setStrs));
+    }
+
+    /**
+     * <p>Compiles a matcher for a {@link CharSet}.</p>
+     *
+     * <p>A CharSet only holds chars. A negated range, which contains every
+     * char but those of the range, matches every supplementary code point
+     * as well.</p>
+     *
+     * @param set  the set, may be null
+     * @return the matcher, not null
+     */
+    public static CharMatcher charSet(final CharSet set) {
+        if (set == null) {
+            return NONE;
+        }
+        final Builder builder = new Builder();
+        if (set.getClass() != CharSet.class) {
+            // a subclass may change what contains means, ask it for each char
+            for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+                if (set.contains((char) c)) {
+                    builder.add(c);
+                }
+            }
+            return builder.build();
+        }
+        for (final CharRange range : set.getCharRanges()) {
+            if (range.isNegated()) {
+                if (range.getStart() > Character.MIN_VALUE) {
+                    builder.add(Character.MIN_VALUE, range.getStart() - 1);
+                }
+                builder.add(range.getEnd() + 1, Character.MAX_CODE_POINT);
+            } else {
+                builder.add(range.getStart(), range.getEnd());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compiles the whitespace matcher.
+     *
+     * @return the matcher of the whitespace characters
+     */
+    private static CharMatcher whitespace() {
+        final Builder builder = new Builder();
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            if (Character.isWhitespace(c)) {
+                builder.add(c);
+            }
+        }
+        return builder.build();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Returns a matcher for the code points this matcher does not match.</p>
+     *
+     * @return the negated matcher, not null
+     */
+    public CharMatcher negate() {
+        final long[] negated = new long[BMP_LONGS];
+        Arrays.fill(negated, -1L);
+        for (int i = 0; i < bits.length; i++) {
+            negated[i] = ~bits[i];
+        }
+        final int[] complement = new int[ranges.length + 2];
+        int count = 0;
+        int next = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                complement[count++] = next;
+                complement[count++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+        if (next <= Character.MAX_CODE_POINT) {
+            complement[count++] = next;
+            complement[count++] = Character.MAX_CODE_POINT;
+        }
+        return new CharMatcher(trim(negated), Arrays.copyOf(complement, count));
+    }
+
+    /**
+     * <p>Returns a matcher for the code points matched by this matcher or another.</p>
+     *
+     * @param other  the other matcher, null matches nothing
+     * @return the union of both matchers, not null
+     */
+    public CharMatcher or(final CharMatcher other) {
+        if (other == null || other == this) {
+            return this;
+        }
+        final Builder builder = new Builder();
+        builder.addAll(this);
+        builder.addAll(other);
+        return builder.build();
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Checks whether a char is matched.</p>
+     *
+     * <p>A surrogate is matched as an unpaired surrogate.</p>
+     *
+     * @param c  the char to check
+     * @return true if the char is in the set
+     */
+    public boolean matches(final char c) {
+        final int index = c >> 6;
+        return index < bits.length && (bits[index] & 1L << c) != 0;
+    }
+
+    /**
+     * <p>Checks whether a code point is matched.</p>
+     *
+     * @param codePoint  the code point to check
+     * @return true if the code point is in the set
+     */
+    public boolean matches(final int codePoint) {
+        if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            return codePoint >= 0 && matches((char) codePoint);
+        }
+        return matchesSupplementary(codePoint);
+    }
+
+    /**
+     * Checks whether a supplementary code point is in one of the ranges.
+     *
+     * @param codePoint  the supplementary code point
+     * @return true if it is in the set
+     */
+    private boolean matchesSupplementary(final int codePoint) {
+        if (ranges.length == 0) {
+            return false;
+        }
+        // the index of the first range bound greater than the code point, an odd
+        // index falls between a start and an end
+        int low = 0;
+        int high = ranges.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (ranges[mid] < codePoint) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (low & 1) != 0 || low < ranges.length && ranges[low] == codePoint;
+    }
+
+    /**
+     * Checks whether the code point at an index of the input is matched.
+     *
+     * @param cs  the input
+     * @param i  the index
+     * @param len  the length of the input
+     * @return the number of chars of the matched code point, negated if it is
+     *  not matched
+     */
+    private int matchAt(final CharSequence cs, final int i, final int len) {
+        final char c = cs.charAt(i);
+        if (Character.isHighSurrogate(c) && i + 1 < len) {
+            final char low = cs.charAt(i + 1);
+            if (Character.isLowSurrogate(low)) {
+                return matchesSupplementary(Character.toCodePoint(c, low)) ? 2 : -2;
+            }
+        }
+        return matches(c) ? 1 : -1;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Finds the first matched code point of a CharSequence.</p>
+     *
+     * @param cs  the CharSequence to search, may be null
+     * @return the index of the first match, -1 if there is none or null input
+     */
+    public int indexIn(final CharSequence cs) {
+        return indexIn(cs, 0);
+    }
+
+    /**
+     * <p>Finds the first matched code point of a CharSequence, starting at an index.</p>
+     *
+     * <p>A negative start index is treated as zero.</p>
+     *
+     * @param cs  the CharSequence to search, may be null
+     * @param from  the index to start at
+     * @return the index of the first match, -1 if there is none or null input
+     */
+    public int indexIn(final CharSequence cs, final int from) {
+        if (cs == null) {
+            return StringUtils.INDEX_NOT_FOUND;
+        }
+        if (noSurrogates) {
+            return indexInBmp(cs, Math.max(from, 0));
+        }
+        final int len = cs.length();
+        for (int i = Math.max(from, 0); i < len; i++) {
+            final char c = cs.charAt(i);
+            if (Character.isHighSurrogate(c)) {
+                final int width = matchAt(cs, i, len);
+                if (width > 0) {
+                    return i;
+                }
+                // skip the low surrogate of an unmatched pair
+                i += -width - 1;
+            } else {
+                final int index = c >> 6;
+                if (index < bits.length && (bits[index] & 1L << c) != 0) {
+                    return i;
+                }
+            }
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Finds the first matched char with the bitmap alone, for a set without surrogates.
+     *
+     * @param cs  the CharSequence to search, not null
+     * @param from  the index to start at, not negative
+     * @return the index of the first match, -1 if there is none
+     */
+    private int indexInBmp(final CharSequence cs, final int from) {
+        final int len = cs.length();
+        for (int i = from; i < len; i++) {
+            final char c = cs.charAt(i);
+            final int index = c >> 6;
+            if (index < bits.length && (bits[index] & 1L << c) != 0) {
+                return i;
+            }
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Finds the first code point of a CharSequence which is not matched.</p>
+     *
+     * <p>A negative start index is treated as zero.</p>
+     *
+     * @param cs  the CharSequence to search, may be null
+     * @param from  the index to start at
+     * @return the index of the first code point not matched, -1 if there is none
+     *  or null input
+     */
+    public int indexNotIn(final CharSequence cs, final int from) {
+        if (cs == null) {
+            return StringUtils.INDEX_NOT_FOUND;
+        }
+        final int len = cs.length();
+        int i = Math.max(from, 0);
+        if (noSurrogates) {
+            // no surrogate matches, the high surrogate of a pair is the first not matched
+            for (; i < len; i++) {
+                if (!matches(cs.charAt(i))) {
+                    return i;
+                }
+            }
+            return StringUtils.INDEX_NOT_FOUND;
+        }
+        while (i < len) {
+            final int width = matchAt(cs, i, len);
+            if (width < 0) {
+                return i;
+            }
+            i += width;
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Checks whether any code point of a CharSequence is matched.</p>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @return true if a code point is matched, false for null or empty input
+     */
+    public boolean matchesAnyOf(final CharSequence cs) {
+        return indexIn(cs, 0) >= 0;
+    }
+
+    /**
+     * <p>Checks whether every code point of a CharSequence is matched.</p>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @return true if every code point is matched or the input is empty,
+     *  false for null input
+     */
+    public boolean matchesAllOf(final CharSequence cs) {
+        return cs != null && indexNotIn(cs, 0) < 0;
+    }
+
+    /**
+     * <p>Checks whether no code point of a CharSequence is matched.</p>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @return true if no code point is matched, or null or empty input
+     */
+    public boolean matchesNoneOf(final CharSequence cs) {
+        return indexIn(cs, 0) < 0;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Strips the matched code points from the start and end of a String,
+     * as {@link StringUtils#strip(String, String)} does for the chars of a String.</p>
+     *
+     * <pre>
+     * CharMatcher.anyOf("xy").strip(null)      = null
+     * CharMatcher.anyOf("xy").strip("")        = ""
+     * CharMatcher.anyOf("xy").strip("xyabcyx") = "abc"
+     * </pre>
+     *
+     * @param str  the String to strip, may be null
+     * @return the stripped String, {@code null} if null String input
+     */
+    public String strip(final String str) {
+        return stripEnd(stripStart(str));
+    }
+
+    /**
+     * <p>Strips the matched code points from the start of a String.</p>
+     *
+     * @param str  the String to strip, may be null
+     * @return the stripped String, {@code null} if null String input
+     */
+    public String stripStart(final String str) {
+        if (str == null) {
+            return null;
+        }
+        final int start = indexNotIn(str, 0);
+        return start < 0 ? StringUtils.EMPTY : str.substring(start);
+    }
+
+    /**
+     * <p>Strips the matched code points from the end of a String.</p>
+     *
+     * @param str  the String to strip, may be null
+     * @return the stripped String, {@code null} if null String input
+     */
+    public String stripEnd(final String str) {
+        if (str == null) {
+            return null;
+        }
+        int end = str.length();
+        while (end > 0) {
+            final char c = str.charAt(end - 1);
+            if (Character.isLowSurrogate(c) && end > 1 && Character.isHighSurrogate(str.charAt(end - 2))) {
+                if (!matchesSupplementary(Character.toCodePoint(str.charAt(end - 2), c))) {
+                    break;
+                }
+                end -= 2;
+            } else if (matches(c)) {
+                end--;
+            } else {
+                break;
+            }
+        }
+        return str.substring(0, end);
+    }
+
+    /**
+     * <p>Removes every matched code point from a String.</p>
+     *
+     * <pre>
+     * CharMatcher.anyOf("-").removeFrom(null)          = null
+     * CharMatcher.anyOf("-").removeFrom("555-01-2345") = "555012345"
+     * </pre>
+     *
+     * @param str  the String to remove from, may be null
+     * @return the String without the matched code points, {@code null} if null String input
+     */
+    public String removeFrom(final String str) {
+        if (str == null) {
+            return null;
+        }
+        int i = indexIn(str, 0);
+        if (i < 0) {
+            return str;
+        }
+        final int len = str.length();
+        final char[] buf = new char[len];
+        str.getChars(0, i, buf, 0);
+        int count = i;
+        while (i < len) {
+            final int width = matchAt(str, i, len);
+            if (width < 0) {
+                buf[count++] = str.charAt(i);
+                if (width == -2) {
+                    buf[count++] = str.charAt(i + 1);
+                }
+                i -= width;
+            } else {
+                i += width;
+            }
+        }
+        return new String(buf, 0, count);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Compares two matchers, which are equal if they match the same code points.</p>
+     *
+     * @param obj  the object to compare to
+     * @return true if equal
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (obj instanceof CharMatcher == false) {
+            return false;
+        }
+        final CharMatcher other = (CharMatcher) obj;
+        return Arrays.equals(bits, other.bits) && Arrays.equals(ranges, other.ranges);
+    }
+
+    /**
+     * <p>Gets a hashCode compatible with the equals method.</p>
+     *
+     * @return a suitable hashCode
+     */
+    @Override
+    public int hashCode() {
+        return 37 * Arrays.hashCode(bits) + Arrays.hashCode(ranges);
+    }
+
+    /**
+     * Trims the longs which are zero from the end of a bitmap.
+     *
+     * @param bits  the bitmap
+     * @return the trimmed bitmap
+     */
+    private static long[] trim(final long[] bits) {
+        int len = bits.length;
+        while (len > 0 && bits[len - 1] == 0) {
+            len--;
+        }
+        return len == bits.length ? bits : Arrays.copyOf(bits, len);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Collects the code points of a set and compiles them.
+     */
+    private static final class Builder {
+
+        /** The bitmap of the whole Basic Multilingual Plane. */
+        private final long[] bits = new long[BMP_LONGS];
+        /** The ranges of supplementary code points, as added. */
+        private int[] ranges = ArrayUtils.EMPTY_INT_ARRAY;
+        /** The number of values in the ranges array. */
+        private int count;
+
+        /**
+         * Adds a code point.
+         *
+         * @param codePoint  the code point
+         */
+        void add(final int codePoint) {
+            add(codePoint, codePoint);
+        }
+
+        /**
+         * Adds a range of code points.
+         *
+         * @param start  the first code point, inclusive
+         * @param end  the last code point, inclusive
+         */
+        void add(final int start, final int end) {
+            final int bmpEnd = Math.min(end, Character.MAX_VALUE);
+            for (int c = start; c <= bmpEnd; c++) {
+                bits[c >> 6] |= 1L << c;
+            }
+            if (end >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                if (count == ranges.length) {
+                    ranges = Arrays.copyOf(ranges, Math.max(8, count * 2));
+                }
+                ranges[count++] = Math.max(start, Character.MIN_SUPPLEMENTARY_CODE_POINT);
+                ranges[count++] = end;
+            }
+        }
+
+        /**
+         * Adds the code points of a matcher.
+         *
+         * @param matcher  the matcher
+         */
+        void addAll(final CharMatcher matcher) {
+            for (int i = 0; i < matcher.bits.length; i++) {
+                bits[i] |= matcher.bits[i];
+            }
+            for (int i = 0; i < matcher.ranges.length; i += 2) {
+                add(matcher.ranges[i], matcher.ranges[i + 1]);
+            }
+        }
+
+        /**
+         * Compiles the matcher, sorting and merging the supplementary ranges.
+         *
+         * @return the matcher
+         */
+        CharMatcher build() {
+            final int pairs = count / 2;
+            final long[] sorted = new long[pairs];
+            for (int i = 0; i < pairs; i++) {
+                // the start in the high bits sorts the pairs by start
+                sorted[i] = (long) ranges[2 * i] << 32 | ranges[2 * i + 1];
+            }
+            Arrays.sort(sorted);
+            final int[] merged = new int[count];
+            int size = 0;
+            for (final long pair : sorted) {
+                final int start = (int) (pair >>> 32);
+                final int end = (int) pair;
+                if (size > 0 && start <= merged[size - 1] + 1) {
+                    merged[size - 1] = Math.max(merged[size - 1], end);
+                } else {
+                    merged[size++] = start;
+                    merged[size++] = end;
+                }
+            }
+            return new CharMatcher(trim(bits), Arrays.copyOf(merged, size));
+        }
+    }
+
+}
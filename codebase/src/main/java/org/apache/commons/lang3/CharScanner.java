@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+/**
+ * <p>Scans a CharSequence for the chars of a set, faster than a char by char
+ * comparison with each char of the set.</p>
+ *
+ * <p>The set is compiled into a bitmap, one bit for each char up to the greatest
+ * of the set, two longs for a set of ASCII chars, so that each char of the input is
+ * checked with a single lookup. Surrogate pairs are only checked
+ * char by char at the high surrogates found in the set, which keeps the results of
+ * the StringUtils methods this class serves.</p>
+ *
+ * @since 3.2
+ * @version $Id$
+ */
+final class CharScanner {
+
+    /**
+     * Below this size of the set, the compiler unrolls the comparison with each
+     * char of the set into code which is faster than the lookup.
+     */
+    private static final int MIN_BITMAP_SET = 8;
+
+    /**
+     * Below this product of the input and set lengths, comparing each char with
+     * each char of the set costs less than building the bitmap.
+     */
+    private static final int MIN_BITMAP_WORK = 256;
+
+    /**
+     * The bits of the chars of the set, up to the greatest.
+     */
+    private final long[] bits;
+    /**
+     * The greatest char of the set.
+     */
+    private final char max;
+
+    /**
+     * Compiles a set of chars.
+     *
+     * @param chars  the chars, not empty
+     */
+    CharScanner(final char[] chars) {
+        char _max = 0;
+        for (final char c : chars) {
+            if (c > _max) {
+                _max = c;
+            }
+        }
+        max = _max;
+        bits = new long[(max >> 6) + 1];
+        for (final char c : chars) {
+            bits[c >> 6] |= 1L << c;
+        }
+    }
+
+    /**
+     * Checks whether a char is in the set.
+     *
+     * @param c  the char
+     * @return true if it is in the set
+     */
+    boolean contains(final char c) {
+        return c <= max && (bits[c >> 6] & 1L << c) != 0;
+    }
+
+    /**
+     * Finds the first char of the set.
+     *
+     * @param cs  the CharSequence to search, not null
+     * @param from  the index to start at
+     * @return the index of the char, -1 if there is none
+     */
+    int indexIn(final CharSequence cs, final int from) {
+        final int len = cs.length();
+        for (int i = from; i < len; i++) {
+            final char c = cs.charAt(i);
+            if (c <= max && (bits[c >> 6] & 1L << c) != 0) {
+                return i;
+            }
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks whether a bitmap is worth building to search the input.
+     *
+     * @param cs  the input, not null
+     * @param searchChars  the chars, not null
+     * @return true to use a scanner
+     */
+    private static boolean worthScanning(final CharSequence cs, final char[] searchChars) {
+        final long work = (long) cs.length() * searchChars.length;
+        if (searchChars.length < MIN_BITMAP_SET || work < MIN_BITMAP_WORK) {
+            return false;
+        }
+        char max = 0;
+        for (final char c : searchChars) {
+            if (c > max) {
+                max = c;
+            }
+        }
+        // the bitmap costs a long for each 64 chars up to the greatest
+        return max < 128 || work >= max >> 3;
+    }
+
+    /**
+     * <p>Finds the first index of any of the chars, as
+     * {@link StringUtils#indexOfAny(CharSequence, char...)}.</p>
+     *
+     * @param cs  the CharSequence to search, not empty
+     * @param searchChars  the chars to search for, not empty
+     * @return the index, -1 if there is none
+     */
+    static int indexOfAny(final CharSequence cs, final char[] searchChars) {
+        if (searchChars.length == 1) {
+            // a single high surrogate matches alone, as any other char
+            return CharSequenceUtils.indexOf(cs, searchChars[0], 0);
+        }
+        if (!worthScanning(cs, searchChars)) {
+            return indexOfAnyLoop(cs, searchChars, 0, cs.length());
+        }
+        final CharScanner scanner = new CharScanner(searchChars);
+        final int len = cs.length();
+        int i = 0;
+        while ((i = scanner.indexIn(cs, i)) >= 0) {
+            if (!Character.isHighSurrogate(cs.charAt(i)) || indexOfAnyLoop(cs, searchChars, i, i + 1) == i) {
+                return i;
+            }
+            if (++i == len) {
+                break;
+            }
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * The char by char comparison of {@link StringUtils#indexOfAny(CharSequence, char...)}
+     * over a range of the input.
+     *
+     * @param cs  the CharSequence to search
+     * @param searchChars  the chars to search for
+     * @param from  the index to start at
+     * @param to  the index to stop at, exclusive
+     * @return the index, -1 if there is none
+     */
+    private static int indexOfAnyLoop(final CharSequence cs, final char[] searchChars, final int from,
+            final int to) {
+        final int csLast = cs.length() - 1;
+        final int searchLen = searchChars.length;
+        final int searchLast = searchLen - 1;
+        for (int i = from; i < to; i++) {
+            final char ch = cs.charAt(i);
+            for (int j = 0; j < searchLen; j++) {
+                if (searchChars[j] == ch) {
+                    if (i < csLast && j < searchLast && Character.isHighSurrogate(ch)) {
+                        // ch is a supplementary character
+                        if (searchChars[j + 1] == cs.charAt(i + 1)) {
+                            return i;
+                        }
+                    } else {
+                        return i;
+                    }
+                }
+            }
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Checks whether any of the chars is in the input, as
+     * {@link StringUtils#containsAny(CharSequence, char...)}.</p>
+     *
+     * @param cs  the CharSequence to search, not empty
+     * @param searchChars  the chars to search for, not empty
+     * @return true if any is found
+     */
+    static boolean containsAny(final CharSequence cs, final char[] searchChars) {
+        if (searchChars.length == 1) {
+            return CharSequenceUtils.indexOf(cs, searchChars[0], 0) >= 0;
+        }
+        if (!worthScanning(cs, searchChars)) {
+            return containsAnyLoop(cs, searchChars, 0, cs.length());
+        }
+        final CharScanner scanner = new CharScanner(searchChars);
+        final int len = cs.length();
+        int i = 0;
+        while ((i = scanner.indexIn(cs, i)) >= 0) {
+            if (!Character.isHighSurrogate(cs.charAt(i)) || containsAnyLoop(cs, searchChars, i, i + 1)) {
+                return true;
+            }
+            if (++i == len) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The char by char comparison of {@link StringUtils#containsAny(CharSequence, char...)}
+     * over a range of the input.
+     *
+     * @param cs  the CharSequence to search
+     * @param searchChars  the chars to search for
+     * @param from  the index to start at
+     * @param to  the index to stop at, exclusive
+     * @return true if any is found
+     */
+    private static boolean containsAnyLoop(final CharSequence cs, final char[] searchChars, final int from,
+            final int to) {
+        final int csLast = cs.length() - 1;
+        final int searchLength = searchChars.length;
+        final int searchLast = searchLength - 1;
+        for (int i = from; i < to; i++) {
+            final char ch = cs.charAt(i);
+            for (int j = 0; j < searchLength; j++) {
+                if (searchChars[j] == ch) {
+                    if (Character.isHighSurrogate(ch)) {
+                        if (j == searchLast) {
+                            // missing low surrogate, fine, like String.indexOf(String)
+                            return true;
+                        }
+                        if (i < csLast && searchChars[j + 1] == cs.charAt(i + 1)) {
+                            return true;
+                        }
+                    } else {
+                        // ch is in the Basic Multilingual Plane
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * <p>Checks whether the input only contains ASCII printable chars, as
+     * {@link StringUtils#isAsciiPrintable(CharSequence)}.</p>
+     *
+     * @param cs  the CharSequence to check, not null
+     * @return true if all the chars are ASCII printable
+     */
+    static boolean isAsciiPrintable(final CharSequence cs) {
+        final int len = cs.length();
+        for (int i = 0; i < len; i++) {
+            final char c = cs.charAt(i);
+            if (c < 32 || c > 126) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
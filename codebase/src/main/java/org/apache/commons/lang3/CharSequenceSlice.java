@@ -0,0 +1,515 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.io.IOException;
+
+/**
+ * <p>A view of a range of a {@code CharSequence}, searched and compared
+ * without copying it into a String.</p>
+ *
+ * <p>Most StringUtils methods need a String, so a region of a large
+ * {@link org.apache.commons.lang3.text.StrBuilder StrBuilder}, {@code StringBuilder}
+ * or {@link java.nio.CharBuffer CharBuffer} is first copied by {@code toString()}.
+ * A slice reads the chars of its source in place instead. Its searches and
+ * comparisons run directly over the range of the source, and the slices it
+ * returns, such as {@link #subSequence(int, int)} or {@link #strip()}, are views
+ * of the same source. Only {@link #toString()} and {@link #replace(CharSequence, CharSequence)}
+ * build a String:</p>
+ *
+ * <pre>
+ * final CharSequenceSlice header = CharSequenceSlice.of(buffer, 0, headerEnd);
+ * if (header.startsWithIgnoreCase("content-type:")) {
+ *     final CharSequenceSlice value = header.subSequence(13, header.length()).strip();
+ *     ...
+ * }
+ * </pre>
+ *
+ * <p>The indexes taken and returned by a slice are relative to the slice.
+ * A slice of a slice is a view of the first source, not of the slice.</p>
+ *
+ * <p>#ThreadSafe# if the source is not modified</p>
+ * @since 3.2
+ * @version $Id$
+ */
+public final class CharSequenceSlice implements CharSequence {
+
+    /**
+     * The source of the chars.
+     */
+    private final CharSequence source;
+    /**
+     * The start index in the source.
+     */
+    private final int start;
+    /**
+     * The end index in the source, exclusive.
+     */
+    private final int end;
+
+    /**
+     * Constructs a slice.
+     *
+     * @param source  the source, not a slice
+     * @param start  the start index in the source
+     * @param end  the end index in the source, exclusive
+     */
+    private CharSequenceSlice(final CharSequence source, final int start, final int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * <p>Creates a view of a whole {@code CharSequence}.</p>
+     *
+     * @param cs  the source, not null
+     * @return the slice
+     * @throws IllegalArgumentException if the source is {@code null}
+     */
+    public static CharSequenceSlice of(final CharSequence cs) {
+        if (cs == null) {
+            throw new IllegalArgumentException("CharSequence must not be null");
+        }
+        if (cs instanceof CharSequenceSlice) {
+            return (CharSequenceSlice) cs;
+        }
+        return new CharSequenceSlice(cs, 0, cs.length());
+    }
+
+    /**
+     * <p>Creates a view of a range of a {@code CharSequence}.</p>
+     *
+     * @param cs  the source, not null
+     * @param from  the start index, inclusive
+     * @param to  the end index, exclusive
+     * @return the slice
+     * @throws IllegalArgumentException if the source is {@code null}
+     * @throws IndexOutOfBoundsException if the range is not within the source
+     */
+    public static CharSequenceSlice of(final CharSequence cs, final int from, final int to) {
+        if (cs == null) {
+            throw new IllegalArgumentException("CharSequence must not be null");
+        }
+        if (from < 0 || to > cs.length() || from > to) {
+            throw new IndexOutOfBoundsException("Range: " + from + " to " + to + ", Length: " + cs.length());
+        }
+        if (cs instanceof CharSequenceSlice) {
+            final CharSequenceSlice slice = (CharSequenceSlice) cs;
+            return new CharSequenceSlice(slice.source, slice.start + from, slice.start + to);
+        }
+        return new CharSequenceSlice(cs, from, to);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the source the slice is a view of.</p>
+     *
+     * @return the source, never a slice
+     */
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * <p>Gets the index of the slice in the source.</p>
+     *
+     * @return the start index
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * <p>Gets the index after the slice in the source.</p>
+     *
+     * @return the end index, exclusive
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    /**
+     * <p>Checks whether the slice has no chars.</p>
+     *
+     * @return true if the length is zero
+     */
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= end - start) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + (end - start));
+        }
+        return source.charAt(start + index);
+    }
+
+    /**
+     * <p>Gets a part of the slice, which is a view of the source too.</p>
+     *
+     * @param from  the start index in the slice
+     * @param to  the end index in the slice, exclusive
+     * @return the part of the slice
+     * @throws IndexOutOfBoundsException if the range is not within the slice
+     */
+    @Override
+    public CharSequenceSlice subSequence(final int from, final int to) {
+        if (from < 0 || to > end - start || from > to) {
+            throw new IndexOutOfBoundsException("Range: " + from + " to " + to + ", Length: " + (end - start));
+        }
+        return new CharSequenceSlice(source, start + from, start + to);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Finds the first index of a char, as {@link String#indexOf(int)}.</p>
+     *
+     * @param searchChar  the char to find
+     * @return the index in the slice, -1 if not found
+     */
+    public int indexOf(final char searchChar) {
+        return indexOf(searchChar, 0);
+    }
+
+    /**
+     * <p>Finds the first index of a char from a position, as {@link String#indexOf(int, int)}.</p>
+     *
+     * @param searchChar  the char to find
+     * @param from  the index in the slice to start at, negative treated as zero
+     * @return the index in the slice, -1 if not found
+     */
+    public int indexOf(final char searchChar, final int from) {
+        for (int i = start + Math.max(from, 0); i < end; i++) {
+            if (source.charAt(i) == searchChar) {
+                return i - start;
+            }
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Finds the last index of a char, as {@link String#lastIndexOf(int)}.</p>
+     *
+     * @param searchChar  the char to find
+     * @return the index in the slice, -1 if not found
+     */
+    public int lastIndexOf(final char searchChar) {
+        for (int i = end - 1; i >= start; i--) {
+            if (source.charAt(i) == searchChar) {
+                return i - start;
+            }
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Finds the first index of a CharSequence, as {@link String#indexOf(String)}.</p>
+     *
+     * @param searchSeq  the CharSequence to find, may be null
+     * @return the index in the slice, -1 if not found or null input
+     */
+    public int indexOf(final CharSequence searchSeq) {
+        return indexOf(searchSeq, 0);
+    }
+
+    /**
+     * <p>Finds the first index of a CharSequence from a position, as
+     * {@link String#indexOf(String, int)}.</p>
+     *
+     * @param searchSeq  the CharSequence to find, may be null
+     * @param from  the index in the slice to start at, negative treated as zero
+     * @return the index in the slice, -1 if not found or null input
+     */
+    public int indexOf(final CharSequence searchSeq, final int from) {
+        if (searchSeq == null) {
+            return StringUtils.INDEX_NOT_FOUND;
+        }
+        return indexOf(new SubstringSearcher(searchSeq), from);
+    }
+
+    /**
+     * <p>Finds the first index of a CharSequence, ignoring case, as
+     * {@link StringUtils#indexOfIgnoreCase(CharSequence, CharSequence)}.</p>
+     *
+     * @param searchSeq  the CharSequence to find, may be null
+     * @return the index in the slice, -1 if not found or null input
+     */
+    public int indexOfIgnoreCase(final CharSequence searchSeq) {
+        if (searchSeq == null) {
+            return StringUtils.INDEX_NOT_FOUND;
+        }
+        // the searcher folds a few chars together that regionMatches keeps apart,
+        // so each occurrence is confirmed as StringUtils does
+        final int searchLength = searchSeq.length();
+        if (StringUtils.containsSurrogate(searchSeq)) {
+            for (int i = start; i <= end - searchLength; i++) {
+                if (CharSequenceUtils.regionMatches(source, true, i, searchSeq, 0, searchLength)) {
+                    return i - start;
+                }
+            }
+            return StringUtils.INDEX_NOT_FOUND;
+        }
+        final SubstringSearcher searcher = new SubstringSearcher(searchSeq, true);
+        int index = searcher.indexIn(source, start, end);
+        while (index >= 0) {
+            if (CharSequenceUtils.regionMatches(source, true, index, searchSeq, 0, searchLength)) {
+                return index - start;
+            }
+            index = searcher.indexIn(source, index + 1, end);
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * <p>Finds the first occurrence of a compiled pattern, which can be reused
+     * for many slices.</p>
+     *
+     * @param searcher  the pattern to find, not null
+     * @param from  the index in the slice to start at, negative treated as zero
+     * @return the index in the slice, -1 if not found
+     */
+    public int indexOf(final SubstringSearcher searcher, final int from) {
+        final int from0 = Math.min(start + Math.max(from, 0), end);
+        final int index = searcher.indexIn(source, from0, end);
+        return index < 0 ? StringUtils.INDEX_NOT_FOUND : index - start;
+    }
+
+    /**
+     * <p>Checks whether the slice contains a CharSequence.</p>
+     *
+     * @param searchSeq  the CharSequence to find, may be null
+     * @return true if found, false for null input
+     */
+    public boolean contains(final CharSequence searchSeq) {
+        return indexOf(searchSeq, 0) >= 0;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Checks whether the slice starts with a prefix.</p>
+     *
+     * @param prefix  the prefix, may be null
+     * @return true if the slice starts with the prefix, false for null input
+     */
+    public boolean startsWith(final CharSequence prefix) {
+        return regionMatches(false, 0, prefix);
+    }
+
+    /**
+     * <p>Checks whether the slice starts with a prefix, ignoring case.</p>
+     *
+     * @param prefix  the prefix, may be null
+     * @return true if the slice starts with the prefix, false for null input
+     */
+    public boolean startsWithIgnoreCase(final CharSequence prefix) {
+        return regionMatches(true, 0, prefix);
+    }
+
+    /**
+     * <p>Checks whether the slice ends with a suffix.</p>
+     *
+     * @param suffix  the suffix, may be null
+     * @return true if the slice ends with the suffix, false for null input
+     */
+    public boolean endsWith(final CharSequence suffix) {
+        return suffix != null && regionMatches(false, length() - suffix.length(), suffix);
+    }
+
+    /**
+     * <p>Checks whether the slice ends with a suffix, ignoring case.</p>
+     *
+     * @param suffix  the suffix, may be null
+     * @return true if the slice ends with the suffix, false for null input
+     */
+    public boolean endsWithIgnoreCase(final CharSequence suffix) {
+        return suffix != null && regionMatches(true, length() - suffix.length(), suffix);
+    }
+
+    /**
+     * <p>Checks whether the slice has the same chars as a CharSequence.</p>
+     *
+     * @param cs  the CharSequence to compare with, may be null
+     * @return true if the chars are the same, false for null input
+     */
+    public boolean contentEquals(final CharSequence cs) {
+        return cs != null && cs.length() == length() && regionMatches(false, 0, cs);
+    }
+
+    /**
+     * <p>Checks whether the slice has the same chars as a CharSequence, ignoring case.</p>
+     *
+     * @param cs  the CharSequence to compare with, may be null
+     * @return true if the chars are the same, false for null input
+     */
+    public boolean contentEqualsIgnoreCase(final CharSequence cs) {
+        return cs != null && cs.length() == length() && regionMatches(true, 0, cs);
+    }
+
+    /**
+     * Compares a whole CharSequence with the slice at an index.
+     *
+     * @param ignoreCase  whether to ignore case
+     * @param index  the index in the slice
+     * @param cs  the CharSequence, may be null
+     * @return true if it matches
+     */
+    private boolean regionMatches(final boolean ignoreCase, final int index, final CharSequence cs) {
+        if (cs == null || index < 0 || index + cs.length() > length()) {
+            return false;
+        }
+        return CharSequenceUtils.regionMatches(source, ignoreCase, start + index, cs, 0, cs.length());
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the slice without the whitespace at its start and end, as
+     * {@link StringUtils#strip(String)}.</p>
+     *
+     * @return the stripped slice, a view of the same source
+     */
+    public CharSequenceSlice strip() {
+        int from = start;
+        int to = end;
+        while (from < to && Character.isWhitespace(source.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(source.charAt(to - 1))) {
+            to--;
+        }
+        return from == start && to == end ? this : new CharSequenceSlice(source, from, to);
+    }
+
+    /**
+     * <p>Gets the slice without the control chars and spaces at its start and end,
+     * chars &lt;= 32, as {@link String#trim()}.</p>
+     *
+     * @return the trimmed slice, a view of the same source
+     */
+    public CharSequenceSlice trim() {
+        int from = start;
+        int to = end;
+        while (from < to && source.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && source.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return from == start && to == end ? this : new CharSequenceSlice(source, from, to);
+    }
+
+    /**
+     * <p>Splits the slice at whitespace, into tokens which are views of the slice,
+     * as {@link CharSequenceSplitter#split(CharSequence)}.</p>
+     *
+     * @return the tokens
+     */
+    public CharSequenceSplitter split() {
+        return CharSequenceSplitter.split(this);
+    }
+
+    /**
+     * <p>Splits the slice at a separator char, into tokens which are views of the slice,
+     * as {@link CharSequenceSplitter#split(CharSequence, char)}.</p>
+     *
+     * @param separatorChar  the separator
+     * @return the tokens, adjacent separators treated as one
+     */
+    public CharSequenceSplitter split(final char separatorChar) {
+        return CharSequenceSplitter.split(this, separatorChar);
+    }
+
+    /**
+     * <p>Splits the slice at a separator char, into tokens which are views of the slice,
+     * as {@link CharSequenceSplitter#splitPreserveAllTokens(CharSequence, char)}.</p>
+     *
+     * @param separatorChar  the separator
+     * @return the tokens, adjacent separators giving empty tokens
+     */
+    public CharSequenceSplitter splitPreserveAllTokens(final char separatorChar) {
+        return CharSequenceSplitter.splitPreserveAllTokens(this, separatorChar);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Replaces all the occurrences of a CharSequence, as
+     * {@link StringUtils#replace(String, String, String)}.</p>
+     *
+     * <p>The result is built from the ranges of the source between the
+     * occurrences, without copying the slice first.</p>
+     *
+     * @param searchSeq  the CharSequence to replace, may be null
+     * @param replacement  the CharSequence to replace it with, may be null
+     * @return the slice with the replacements, as a String
+     */
+    public String replace(final CharSequence searchSeq, final CharSequence replacement) {
+        if (searchSeq == null || searchSeq.length() == 0 || replacement == null) {
+            return toString();
+        }
+        final SubstringSearcher searcher = new SubstringSearcher(searchSeq);
+        int index = searcher.indexIn(source, start, end);
+        if (index < 0) {
+            return toString();
+        }
+        final int searchLength = searchSeq.length();
+        final StringBuilder buf = new StringBuilder(length() + Math.max(replacement.length() - searchLength, 0) * 16);
+        int pos = start;
+        while (index >= 0) {
+            buf.append(source, pos, index).append(replacement);
+            pos = index + searchLength;
+            index = searcher.indexIn(source, pos, end);
+        }
+        return buf.append(source, pos, end).toString();
+    }
+
+    /**
+     * <p>Appends the chars of the slice to an {@code Appendable}, without a copy
+     * in between.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @return the Appendable
+     * @throws IOException if the Appendable throws it
+     */
+    public <A extends Appendable> A appendTo(final A appendable) throws IOException {
+        appendable.append(source, start, end);
+        return appendable;
+    }
+
+    /**
+     * <p>Copies the slice into a String.</p>
+     *
+     * @return the slice as a String
+     */
+    @Override
+    public String toString() {
+        return source.subSequence(start, end).toString();
+    }
+
+}
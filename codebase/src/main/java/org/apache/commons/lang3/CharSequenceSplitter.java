@@ -0,0 +1,603 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>Splits a {@code CharSequence} lazily, without copying the tokens.</p>
+ *
+ * <p>The tokens are the same as those of the split methods of {@link StringUtils}
+ * of the same name, but they are found one at a time as they are iterated, and each
+ * is a {@link Token}, a view of the input which knows its start and end index.
+ * A token is only copied into a {@code String} when {@code toString()} is called.
+ * This makes it cheap to look at the first few fields of a long line, or to stream
+ * the tokens of a large input:</p>
+ *
+ * <pre>
+ * for (final CharSequence field : CharSequenceSplitter.splitPreserveAllTokens(line, ',')) {
+ *     ...
+ * }
+ *
+ * final long count = CharSequenceSplitter.split(document).parallelStream()
+ *     .filter(...)
+ *     .count();
+ * </pre>
+ *
+ * <p>The spliterator splits the input at separators, so the streams can be parallel.
+ * The input must not change while it is split.</p>
+ *
+ * <p>A {@code null} input has no tokens. Unlike the methods of StringUtils
+ * there is no {@code max} parameter, the number of tokens wanted can be
+ * limited by the iteration or by {@link Stream#limit(long)} instead.</p>
+ *
+ * <p>#ThreadSafe# if the input is not modified</p>
+ * @see StringUtils#split(String, String)
+ * @since 3.2
+ * @version $Id$
+ */
+public final class CharSequenceSplitter implements Iterable<CharSequence> {
+
+    /**
+     * Splits at a single separator char.
+     */
+    private static final int CHAR = 0;
+    /**
+     * Splits at whitespace.
+     */
+    private static final int WHITESPACE = 1;
+    /**
+     * Splits at any of the separator chars.
+     */
+    private static final int CHARS = 2;
+    /**
+     * Splits at a separator string.
+     */
+    private static final int WHOLE = 3;
+
+    /**
+     * The input, which is split.
+     */
+    private final CharSequence str;
+    /**
+     * The kind of separator.
+     */
+    private final int type;
+    /**
+     * The separator char for CHAR.
+     */
+    private final char separatorChar;
+    /**
+     * The separator chars for CHARS, or the separator string for WHOLE.
+     */
+    private final String separator;
+    /**
+     * Whether adjacent separators give empty tokens.
+     */
+    private final boolean preserveAllTokens;
+
+    /**
+     * Constructs a splitter.
+     *
+     * @param str  the input, may be null
+     * @param type  the kind of separator
+     * @param separatorChar  the separator char for CHAR
+     * @param separator  the separator chars or string
+     * @param preserveAllTokens  whether adjacent separators give empty tokens
+     */
+    private CharSequenceSplitter(final CharSequence str, final int type, final char separatorChar,
+            final String separator, final boolean preserveAllTokens) {
+        this.str = str == null ? StringUtils.EMPTY : str;
+        this.type = type;
+        this.separatorChar = separatorChar;
+        this.separator = separator;
+        this.preserveAllTokens = preserveAllTokens;
+    }
+
+    /**
+     * Creates a splitter on separator chars, which may be whitespace or a single char.
+     *
+     * @param str  the input, may be null
+     * @param separatorChars  the separator chars, null splits on whitespace
+     * @param preserveAllTokens  whether adjacent separators give empty tokens
+     * @return the splitter
+     */
+    private static CharSequenceSplitter of(final CharSequence str, final String separatorChars,
+            final boolean preserveAllTokens) {
+        if (separatorChars == null) {
+            return new CharSequenceSplitter(str, WHITESPACE, ' ', null, preserveAllTokens);
+        }
+        if (separatorChars.length() == 1) {
+            return new CharSequenceSplitter(str, CHAR, separatorChars.charAt(0), null, preserveAllTokens);
+        }
+        return new CharSequenceSplitter(str, CHARS, ' ', separatorChars, preserveAllTokens);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Splits the input at whitespace, as {@link StringUtils#split(String)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter split(final CharSequence str) {
+        return of(str, null, false);
+    }
+
+    /**
+     * <p>Splits the input at a separator char, as {@link StringUtils#split(String, char)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @param separatorChar  the character used as the delimiter
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter split(final CharSequence str, final char separatorChar) {
+        return new CharSequenceSplitter(str, CHAR, separatorChar, null, false);
+    }
+
+    /**
+     * <p>Splits the input at any of the separator chars,
+     * as {@link StringUtils#split(String, String)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @param separatorChars  the characters used as the delimiters,
+     *  {@code null} splits on whitespace
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter split(final CharSequence str, final String separatorChars) {
+        return of(str, separatorChars, false);
+    }
+
+    /**
+     * <p>Splits the input at whitespace, keeping the empty tokens,
+     * as {@link StringUtils#splitPreserveAllTokens(String)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter splitPreserveAllTokens(final CharSequence str) {
+        return of(str, null, true);
+    }
+
+    /**
+     * <p>Splits the input at a separator char, keeping the empty tokens,
+     * as {@link StringUtils#splitPreserveAllTokens(String, char)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @param separatorChar  the character used as the delimiter
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter splitPreserveAllTokens(final CharSequence str, final char separatorChar) {
+        return new CharSequenceSplitter(str, CHAR, separatorChar, null, true);
+    }
+
+    /**
+     * <p>Splits the input at any of the separator chars, keeping the empty tokens,
+     * as {@link StringUtils#splitPreserveAllTokens(String, String)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @param separatorChars  the characters used as the delimiters,
+     *  {@code null} splits on whitespace
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter splitPreserveAllTokens(final CharSequence str, final String separatorChars) {
+        return of(str, separatorChars, true);
+    }
+
+    /**
+     * <p>Splits the input at a separator string,
+     * as {@link StringUtils#splitByWholeSeparator(String, String)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @param separator  the String used as the delimiter,
+     *  {@code null} or empty splits on whitespace
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter splitByWholeSeparator(final CharSequence str, final String separator) {
+        return splitByWholeSeparator(str, separator, false);
+    }
+
+    /**
+     * <p>Splits the input at a separator string, keeping the empty tokens,
+     * as {@link StringUtils#splitByWholeSeparatorPreserveAllTokens(String, String)}.</p>
+     *
+     * @param str  the CharSequence to split, may be null
+     * @param separator  the String used as the delimiter,
+     *  {@code null} or empty splits on whitespace
+     * @return the tokens, not null
+     */
+    public static CharSequenceSplitter splitByWholeSeparatorPreserveAllTokens(final CharSequence str,
+            final String separator) {
+        return splitByWholeSeparator(str, separator, true);
+    }
+
+    /**
+     * Creates a splitter on a separator string.
+     *
+     * @param str  the input, may be null
+     * @param separator  the separator, null or empty splits on whitespace
+     * @param preserveAllTokens  whether adjacent separators give empty tokens
+     * @return the splitter
+     */
+    private static CharSequenceSplitter splitByWholeSeparator(final CharSequence str, final String separator,
+            final boolean preserveAllTokens) {
+        if (StringUtils.isEmpty(separator)) {
+            return of(str, null, preserveAllTokens);
+        }
+        return new CharSequenceSplitter(str, WHOLE, ' ', separator, preserveAllTokens);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Returns an iterator over the tokens, which are {@link Token}s.</p>
+     *
+     * @return the iterator, not null
+     */
+    @Override
+    public Iterator<CharSequence> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * <p>Returns a spliterator over the tokens, which are {@link Token}s.</p>
+     *
+     * <p>The spliterator splits at separators, into parts of about the same length.</p>
+     *
+     * @return the spliterator, not null
+     */
+    @Override
+    public Spliterator<CharSequence> spliterator() {
+        final int len = str.length();
+        // an empty input has no tokens, otherwise a token may start as late as len
+        return new TokenSpliterator(len == 0 ? 1 : 0, len + 1);
+    }
+
+    /**
+     * <p>Returns a sequential stream of the tokens.</p>
+     *
+     * @return the stream, not null
+     */
+    public Stream<CharSequence> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * <p>Returns a parallel stream of the tokens.</p>
+     *
+     * @return the stream, not null
+     */
+    public Stream<CharSequence> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * <p>Copies all the tokens into an array of Strings.</p>
+     *
+     * <p>The array is equal to the one the split method of StringUtils
+     * of the same name returns, except for a {@code null} input.</p>
+     *
+     * @return the tokens, not null
+     */
+    public String[] toArray() {
+        final List<String> list = new ArrayList<String>();
+        for (final CharSequence token : this) {
+            list.add(token.toString());
+        }
+        return list.toArray(new String[list.size()]);
+    }
+
+    /**
+     * <p>Gets the input which is split.</p>
+     *
+     * @return the input, empty for a null input
+     */
+    public CharSequence getInput() {
+        return str;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Checks whether a char is a separator, for the char types.
+     *
+     * @param c  the char
+     * @return true if it is a separator
+     */
+    private boolean isSeparator(final char c) {
+        switch (type) {
+        case CHAR:
+            return c == separatorChar;
+        case WHITESPACE:
+            return Character.isWhitespace(c);
+        default:
+            return separator.indexOf(c) >= 0;
+        }
+    }
+
+    /**
+     * Finds the next separator char, for the char types.
+     *
+     * @param from  the index to search from
+     * @param to  the index to search to, exclusive
+     * @return the index of the separator, -1 if there is none
+     */
+    private int indexOfSeparator(final int from, final int to) {
+        if (type == CHAR && str instanceof String) {
+            final int index = ((String) str).indexOf(separatorChar, from);
+            return index < to ? index : -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (isSeparator(str.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the next separator string, for WHOLE.
+     *
+     * @param from  the index to search from
+     * @return the index of the separator, -1 if there is none
+     */
+    private int indexOfWhole(final int from) {
+        if (str instanceof String) {
+            return ((String) str).indexOf(separator, from);
+        }
+        final int last = str.length() - separator.length();
+        for (int i = from; i <= last; i++) {
+            if (CharSequenceUtils.regionMatches(str, false, i, separator, 0, separator.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A token, which is a view of a part of the input.
+     */
+    public static final class Token implements CharSequence {
+        private final CharSequence source;
+        private final int start;
+        private final int end;
+
+        /**
+         * Constructs a token.
+         *
+         * @param source  the input
+         * @param start  the start index in the input
+         * @param end  the end index in the input, exclusive
+         */
+        Token(final CharSequence source, final int start, final int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+        }
+
+        /**
+         * <p>Gets the index of the token in the input.</p>
+         *
+         * @return the start index
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * <p>Gets the index after the token in the input.</p>
+         *
+         * @return the end index, exclusive
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * <p>Gets the input the token is part of.</p>
+         *
+         * @return the input
+         */
+        public CharSequence getSource() {
+            return source;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + (end - start));
+            }
+            return source.charAt(start + index);
+        }
+
+        /**
+         * <p>Gets a part of the token, which is a view of the input too.</p>
+         *
+         * @param from  the start index in the token
+         * @param to  the end index in the token, exclusive
+         * @return the part of the token
+         */
+        @Override
+        public Token subSequence(final int from, final int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("Range: " + from + " to " + to + ", Length: " + (end - start));
+            }
+            return new Token(source, start + from, start + to);
+        }
+
+        /**
+         * <p>Copies the token into a String.</p>
+         *
+         * @return the token as a String
+         */
+        @Override
+        public String toString() {
+            return source.subSequence(start, end).toString();
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A spliterator over the tokens which start in a range of the input.
+     * <p>
+     * The range always starts where the sequential split would look for
+     * the next token, so that each part finds the same tokens as the whole.
+     */
+    private final class TokenSpliterator implements Spliterator<CharSequence> {
+        /**
+         * The parts are not split below this length.
+         */
+        private static final int MIN_SPLIT = 1 << 10;
+
+        /**
+         * Where to look for the next token, greater than the length when done.
+         */
+        private int pos;
+        /**
+         * The tokens starting at fence or later belong to another part.
+         */
+        private int fence;
+
+        /**
+         * Constructs a spliterator.
+         *
+         * @param pos  where to look for the first token
+         * @param fence  the end of the range of token starts, exclusive
+         */
+        TokenSpliterator(final int pos, final int fence) {
+            this.pos = pos;
+            this.fence = fence;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean tryAdvance(final Consumer<? super CharSequence> action) {
+            final int len = str.length();
+            while (pos < fence && pos <= len) {
+                final int start = pos;
+                if (type == WHOLE) {
+                    final int end = indexOfWhole(start);
+                    if (end < 0) {
+                        pos = len + 1;
+                        action.accept(new Token(str, start, len));
+                        return true;
+                    }
+                    pos = end + separator.length();
+                    if (end > start || preserveAllTokens) {
+                        action.accept(new Token(str, start, end));
+                        return true;
+                    }
+                } else if (!preserveAllTokens && (start == len || isSeparator(str.charAt(start)))) {
+                    // skip the separators, there is no token after the last
+                    pos = start == len ? len + 1 : start + 1;
+                } else {
+                    int end = indexOfSeparator(start, len);
+                    if (end < 0) {
+                        end = len;
+                    }
+                    pos = end + 1;
+                    action.accept(new Token(str, start, end));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Spliterator<CharSequence> trySplit() {
+            final int lo = pos;
+            final int hi = Math.min(fence, str.length());
+            if (hi - lo < MIN_SPLIT) {
+                return null;
+            }
+            final int split = findSplit(lo + (hi - lo) / 2, hi);
+            if (split < 0) {
+                return null;
+            }
+            pos = split;
+            return new TokenSpliterator(lo, split);
+        }
+
+        /**
+         * Finds where the sequential split looks for a token after a separator.
+         *
+         * @param from  the index to search for a separator from
+         * @param to  the index to search to, exclusive
+         * @return the index after the separator, -1 if there is none
+         */
+        private int findSplit(final int from, final int to) {
+            if (type != WHOLE) {
+                final int index = indexOfSeparator(from, to);
+                return index < 0 ? -1 : index + 1;
+            }
+            final int length = separator.length();
+            int index = indexOfWhole(from);
+            while (index >= 0 && index + length < to) {
+                // the sequential split matches this separator unless it matches
+                // one which overlaps it first
+                boolean overlapped = false;
+                for (int i = Math.max(pos, index - length + 1); i < index && !overlapped; i++) {
+                    overlapped = CharSequenceUtils.regionMatches(str, false, i, separator, 0, length);
+                }
+                if (!overlapped) {
+                    return index + length;
+                }
+                index = indexOfWhole(index + 1);
+            }
+            return -1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public long estimateSize() {
+            return Math.max(0, Math.min(fence, str.length() + 1) - pos);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL;
+        }
+    }
+
+}
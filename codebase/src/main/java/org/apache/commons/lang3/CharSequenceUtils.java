@@ -85,6 +85,10 @@ public class CharSequenceUtils {
 
     /**
      * Used by the indexOf(CharSequence methods) as a green implementation of indexOf.
+     * <p>
+     * A String is searched by {@link String#indexOf(String, int)}, which the JVM
+     * optimizes. Any other CharSequence is searched in place by a {@link SubstringSearcher},
+     * rather than copied into a String first.
      *
      * @param cs the {@code CharSequence} to be processed
      * @param searchChar the {@code CharSequence} to be searched for
@@ -92,16 +96,10 @@ public class CharSequenceUtils {
      * @return the index where the search sequence was found
      */
     static int indexOf(final CharSequence cs, final CharSequence searchChar, final int start) {
-        return cs.toString().indexOf(searchChar.toString(), start);
-//        if (cs instanceof String && searchChar instanceof String) {
-//            // TODO: Do we assume searchChar is usually relatively small;
-//            //       If so then calling toString() on it is better than reverting to
-//            //       the green implementation in the else block
-//            return ((String) cs).indexOf((String) searchChar, start);
-//        } else {
-//            // TODO: Implement rather than convert to String
-//            return cs.toString().indexOf(searchChar.toString(), start);
-//        }
+        if (cs instanceof String) {
+            return ((String) cs).indexOf(searchChar.toString(), start);
+        }
+        return new SubstringSearcher(searchChar).indexIn(cs, start);
     }
 
     /**
@@ -175,6 +173,10 @@ public class CharSequenceUtils {
 
     /**
      * Green implementation of regionMatches.
+     * <p>
+     * A case insensitive comparison checks ASCII chars by their case bit, and
+     * only folds the case of the chars with the Character methods when it
+     * reaches a char beyond ASCII.
      *
      * @param cs the {@code CharSequence} to be processed
      * @param ignoreCase whether or not to be case insensitive
@@ -187,7 +189,10 @@ public class CharSequenceUtils {
     static boolean regionMatches(final CharSequence cs, final boolean ignoreCase, final int thisStart,
             final CharSequence substring, final int start, final int length)    {
         if (cs instanceof String && substring instanceof String) {
-            return ((String) cs).regionMatches(ignoreCase, thisStart, (String) substring, start, length);
+            if (ignoreCase) {
+                return regionMatchesIgnoreCase((String) cs, thisStart, (String) substring, start, length);
+            }
+            return ((String) cs).regionMatches(false, thisStart, (String) substring, start, length);
         } else {
             int index1 = thisStart;
             int index2 = start;
@@ -205,6 +210,13 @@ public class CharSequenceUtils {
                     return false;
                 }
 
+                if (c1 < 128 && c2 < 128) {
+                    if (isAsciiCasePair(c1, c2)) {
+                        continue;
+                    }
+                    return false;
+                }
+
                 // The same check as in String.regionMatches():
                 if (Character.toUpperCase(c1) != Character.toUpperCase(c2)
                         && Character.toLowerCase(c1) != Character.toLowerCase(c2)) {
@@ -215,4 +227,55 @@ public class CharSequenceUtils {
             return true;
         }
     }
+
+    /**
+     * Case insensitive regionMatches of Strings, as {@link String#regionMatches(boolean, int, String, int, int)}.
+     * <p>
+     * Equal chars and ASCII chars are compared here, the rest of the region from the
+     * first other char by String, which knows how to fold its case.
+     *
+     * @param str the String to be processed
+     * @param thisStart the index to start on the {@code str} String
+     * @param substring the String to be looked for
+     * @param start the index to start on the {@code substring} String
+     * @param length character length of the region
+     * @return whether the region matched
+     */
+    private static boolean regionMatchesIgnoreCase(final String str, final int thisStart,
+            final String substring, final int start, final int length) {
+        if (thisStart < 0 || start < 0 || thisStart > (long) str.length() - length
+                || start > (long) substring.length() - length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c1 = str.charAt(thisStart + i);
+            final char c2 = substring.charAt(start + i);
+            if (c1 == c2) {
+                continue;
+            }
+            if (c1 < 128 && c2 < 128) {
+                if (isAsciiCasePair(c1, c2)) {
+                    continue;
+                }
+                return false;
+            }
+            // from the high surrogate before, if any, which a String may fold with the low one
+            final int from = i > 0 && Character.isHighSurrogate(str.charAt(thisStart + i - 1)) ? i - 1 : i;
+            return str.regionMatches(true, thisStart + from, substring, start + from, length - from);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether two different ASCII chars are the upper and lower case of a letter.
+     *
+     * @param c1 the first char, ASCII
+     * @param c2 the second char, ASCII, not equal to the first
+     * @return true if both are the same letter
+     */
+    private static boolean isAsciiCasePair(final char c1, final char c2) {
+        // the cases of a letter only differ by the bit 0x20
+        final int lower = c1 | 0x20;
+        return (c1 ^ c2) == 0x20 && lower >= 'a' && lower <= 'z';
+    }
 }
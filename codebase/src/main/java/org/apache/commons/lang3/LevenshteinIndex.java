@@ -0,0 +1,683 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * <p>An index of Strings, which finds those near a query by Levenshtein distance.</p>
+ *
+ * <p>The index is an inverted index of the q-grams of the entries, the pairs of
+ * consecutive chars. Changing a String by k edits destroys at most 2k of its
+ * q-grams, so an entry within distance k of a query shares at least
+ * {@code max(|query|, |entry|) - 1 - 2k} q-grams with it. A search counts the
+ * q-grams each entry shares with the query from the lists of entries of the
+ * q-grams of the query, and only computes the distance to the entries which
+ * share enough of them, with a {@link LevenshteinPattern} of the query and k
+ * as the threshold. When the query is too short for the count to exclude
+ * anything, the entries of the lengths within k of the query are compared
+ * instead.</p>
+ *
+ * <p>A search for the nearest entries compares the entries sharing the most
+ * q-grams first, and stops when the count shows that no other entry can be
+ * nearer than those found. Where the nearest entries are far from the query,
+ * this comes down to comparing every entry of a close length.</p>
+ *
+ * <pre>
+ * final LevenshteinIndex index = new LevenshteinIndex(names);
+ * final List&lt;LevenshteinIndex.Match&gt; near = index.search("jon smith", 2);
+ * final List&lt;LevenshteinIndex.Match&gt; best = index.nearest("jon smith", 5);
+ * </pre>
+ *
+ * <p>The index is kept in int arrays, about two ints for each char of the
+ * entries, so an index of millions of Strings fits in memory.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @since 3.2
+ * @version $Id$
+ */
+public final class LevenshteinIndex {
+
+    /**
+     * The length of the q-grams.
+     */
+    private static final int Q = 2;
+
+    /**
+     * The entries, in the order they were given.
+     */
+    private final String[] entries;
+    /**
+     * The indexes of the entries sorted by length.
+     */
+    private final int[] byLength;
+    /**
+     * The index in byLength of the first entry of each length, and the
+     * number of entries after the last length.
+     */
+    private final int[] lengthStart;
+    /**
+     * The ids of the q-grams.
+     */
+    private final GramTable grams;
+    /**
+     * The postings of q-gram g are at postingStart[g] to postingStart[g + 1].
+     */
+    private final int[] postingStart;
+    /**
+     * The entries of each q-gram, in order, once for each occurrence in the entry.
+     */
+    private final int[] postings;
+
+    /**
+     * <p>Builds an index of Strings.</p>
+     *
+     * <p>Equal Strings are all kept, each with its own index.</p>
+     *
+     * @param strings  the Strings to index, must not be null nor contain null
+     * @throws IllegalArgumentException if the collection is {@code null} or contains {@code null}
+     */
+    public LevenshteinIndex(final Collection<? extends CharSequence> strings) {
+        if (strings == null) {
+            throw new IllegalArgumentException("The strings must not be null");
+        }
+        entries = new String[strings.size()];
+        grams = new GramTable();
+        int[] counts = new int[16];
+        int maxLength = 0;
+        int count = 0;
+        for (final CharSequence string : strings) {
+            if (string == null) {
+                throw new IllegalArgumentException("The strings must not contain null");
+            }
+            final String entry = string.toString();
+            entries[count++] = entry;
+            maxLength = Math.max(maxLength, entry.length());
+            for (int i = Q; i <= entry.length(); i++) {
+                final int gram = grams.add(gramAt(entry, i - Q));
+                if (gram == counts.length) {
+                    counts = Arrays.copyOf(counts, gram * 2);
+                }
+                counts[gram]++;
+            }
+        }
+
+        // the lists of entries of the q-grams, one after the other
+        postingStart = new int[grams.size() + 1];
+        for (int gram = 0; gram < grams.size(); gram++) {
+            postingStart[gram + 1] = postingStart[gram] + counts[gram];
+        }
+        postings = new int[postingStart[grams.size()]];
+        System.arraycopy(postingStart, 0, counts, 0, grams.size());
+        for (int entry = 0; entry < entries.length; entry++) {
+            final String string = entries[entry];
+            for (int i = Q; i <= string.length(); i++) {
+                postings[counts[grams.get(gramAt(string, i - Q))]++] = entry;
+            }
+        }
+
+        // the entries by length, for the queries the q-grams cannot filter
+        lengthStart = new int[maxLength + 2];
+        for (final String entry : entries) {
+            lengthStart[entry.length() + 1]++;
+        }
+        for (int length = 0; length <= maxLength; length++) {
+            lengthStart[length + 1] += lengthStart[length];
+        }
+        byLength = new int[entries.length];
+        final int[] next = Arrays.copyOf(lengthStart, maxLength + 1);
+        for (int entry = 0; entry < entries.length; entry++) {
+            byLength[next[entries[entry].length()]++] = entry;
+        }
+    }
+
+    /**
+     * Gets the q-gram starting at an index.
+     *
+     * @param str  the String
+     * @param index  the index of the q-gram
+     * @return the q-gram as an int
+     */
+    private static int gramAt(final CharSequence str, final int index) {
+        return str.charAt(index) << 16 | str.charAt(index + 1);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the number of entries.</p>
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * <p>Gets an entry.</p>
+     *
+     * @param index  the index of the entry, in the order the Strings were given
+     * @return the entry
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public String get(final int index) {
+        return entries[index];
+    }
+
+    /**
+     * <p>Finds all the entries within a distance of a query.</p>
+     *
+     * @param query  the String to search for, must not be null
+     * @param maxDistance  the greatest distance to the query, must not be negative
+     * @return the matches, nearest first and in the order of the entries for the
+     *  same distance, not null
+     * @throws IllegalArgumentException if the query is {@code null} or the distance negative
+     */
+    public List<Match> search(final CharSequence query, final int maxDistance) {
+        if (query == null) {
+            throw new IllegalArgumentException("The query must not be null");
+        }
+        if (maxDistance < 0) {
+            throw new IllegalArgumentException("The distance must not be negative");
+        }
+        return search(new LevenshteinPattern(query), query, maxDistance);
+    }
+
+    /**
+     * <p>Finds the entries nearest to a query.</p>
+     *
+     * <p>Of entries at the same distance, those given first are found first.</p>
+     *
+     * @param query  the String to search for, must not be null
+     * @param count  the number of entries to find, must not be negative
+     * @return the matches, nearest first, fewer than count only if there are
+     *  fewer entries, not null
+     * @throws IllegalArgumentException if the query is {@code null} or the count negative
+     */
+    public List<Match> nearest(final CharSequence query, final int count) {
+        if (query == null) {
+            throw new IllegalArgumentException("The query must not be null");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("The count must not be negative");
+        }
+        final int wanted = Math.min(count, entries.length);
+        if (wanted == 0) {
+            return new ArrayList<Match>();
+        }
+        final LevenshteinPattern pattern = new LevenshteinPattern(query);
+        final int length = query.length();
+        final SharedCounts shared = countShared(query, 1);
+        final int[] touched = shared.candidates();
+
+        // the entries sharing the most q-grams are likely the nearest, so compare
+        // them first to narrow the search soon
+        final int[] start = new int[length + 2];
+        for (final int entry : touched) {
+            start[length - shared.get(entry) + 1]++;
+        }
+        for (int i = 1; i < start.length; i++) {
+            start[i] += start[i - 1];
+        }
+        final int[] sorted = new int[touched.length];
+        for (final int entry : touched) {
+            sorted[start[length - shared.get(entry)]++] = entry;
+        }
+
+        // the best matches so far, the worst at the head
+        final PriorityQueue<Match> best = new PriorityQueue<Match>(wanted, Collections.reverseOrder());
+        for (final int entry : sorted) {
+            final int maxDistance = best.size() < wanted ? Integer.MAX_VALUE : best.peek().getDistance();
+            if (maxDistance < length && shared.get(entry) < length - Q + 1 - maxDistance * Q) {
+                // nor can any entry sharing fewer
+                break;
+            }
+            offer(best, wanted, pattern, entry, maxDistance);
+        }
+        // the entries sharing none only if the best are far enough
+        final int longest = lengthStart.length - 2;
+        final int maxDistance = best.size() < wanted ? Integer.MAX_VALUE : best.peek().getDistance();
+        if (maxDistance >= length || length - Q + 1 - maxDistance * Q <= 0) {
+            final int from = lengthStart[Math.max(0, Math.min(longest + 1, length - maxDistance))];
+            final int to = lengthStart[(int) Math.min(longest + 1, (long) length + maxDistance + 1)];
+            for (int i = from; i < to; i++) {
+                final int entry = byLength[i];
+                if (shared.get(entry) == 0) {
+                    offer(best, wanted, pattern, entry,
+                        best.size() < wanted ? Integer.MAX_VALUE : best.peek().getDistance());
+                }
+            }
+        }
+        final List<Match> matches = new ArrayList<Match>(best);
+        Collections.sort(matches);
+        return matches;
+    }
+
+    /**
+     * Finds all the entries within a distance of a query.
+     *
+     * @param pattern  the pattern of the query
+     * @param query  the query
+     * @param maxDistance  the greatest distance
+     * @return the matches, sorted
+     */
+    private List<Match> search(final LevenshteinPattern pattern, final CharSequence query, final int maxDistance) {
+        final List<Match> matches = new ArrayList<Match>();
+        final int length = query.length();
+        final int minShared = maxDistance >= length ? 0 : length - Q + 1 - maxDistance * Q;
+        if (minShared <= 0) {
+            // any entry of a length within the distance may match
+            final int longest = lengthStart.length - 2;
+            final int from = lengthStart[Math.max(0, Math.min(longest + 1, length - maxDistance))];
+            final int to = lengthStart[(int) Math.min(longest + 1, (long) length + maxDistance + 1)];
+            for (int i = from; i < to; i++) {
+                addMatch(matches, pattern, byLength[i], maxDistance);
+            }
+        } else {
+            final SharedCounts shared = countShared(query, minShared);
+            for (final int entry : shared.candidates()) {
+                final int entryLength = entries[entry].length();
+                if (shared.get(entry) >= Math.max(length, entryLength) - Q + 1 - maxDistance * Q) {
+                    addMatch(matches, pattern, entry, maxDistance);
+                }
+            }
+        }
+        Collections.sort(matches);
+        return matches;
+    }
+
+    /**
+     * Counts the q-grams each entry shares with a query.
+     *
+     * <p>Only the entries in the lists of the q-grams of the query are counted,
+     * so the work and memory of a query do not grow with the size of the index.</p>
+     *
+     * @param query  the query
+     * @param minShared  the least count of the candidates, positive
+     * @return the counts of the entries sharing any q-gram
+     */
+    private SharedCounts countShared(final CharSequence query, final int minShared) {
+        final int length = query.length();
+        final int[] queryGrams = new int[Math.max(0, length - Q + 1)];
+        int queryGramCount = 0;
+        for (int i = Q; i <= length; i++) {
+            final int gram = grams.get(gramAt(query, i - Q));
+            if (gram >= 0) {
+                queryGrams[queryGramCount++] = gram;
+            }
+        }
+        Arrays.sort(queryGrams, 0, queryGramCount);
+        long listed = 0;
+        for (int i = 0; i < queryGramCount; i++) {
+            if (i == 0 || queryGrams[i] != queryGrams[i - 1]) {
+                listed += postingStart[queryGrams[i] + 1] - postingStart[queryGrams[i]];
+            }
+        }
+        final SharedCounts shared = new SharedCounts((int) Math.min(listed, entries.length), minShared);
+        for (int i = 0; i < queryGramCount;) {
+            final int gram = queryGrams[i];
+            int occurrences = 1;
+            while (++i < queryGramCount && queryGrams[i] == gram) {
+                occurrences++;
+            }
+            // a q-gram is shared as many times as it occurs in both
+            final int end = postingStart[gram + 1];
+            for (int p = postingStart[gram]; p < end;) {
+                final int entry = postings[p];
+                int entryOccurrences = 1;
+                while (++p < end && postings[p] == entry) {
+                    entryOccurrences++;
+                }
+                shared.add(entry, Math.min(occurrences, entryOccurrences));
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Adds an entry to the matches if it is within a distance of the query.
+     *
+     * @param matches  the matches
+     * @param pattern  the pattern of the query
+     * @param entry  the index of the entry
+     * @param maxDistance  the greatest distance
+     */
+    private void addMatch(final List<Match> matches, final LevenshteinPattern pattern, final int entry,
+            final int maxDistance) {
+        final int distance = pattern.distance(entries[entry], maxDistance);
+        if (distance >= 0) {
+            matches.add(new Match(entry, entries[entry], distance));
+        }
+    }
+
+    /**
+     * Adds an entry to the best matches if it is better than the worst of them.
+     *
+     * @param best  the best matches, the worst at the head
+     * @param wanted  the number of matches wanted
+     * @param pattern  the pattern of the query
+     * @param entry  the index of the entry
+     * @param maxDistance  the distance of the worst match, or the greatest int
+     */
+    private void offer(final PriorityQueue<Match> best, final int wanted, final LevenshteinPattern pattern,
+            final int entry, final int maxDistance) {
+        final int distance = pattern.distance(entries[entry], maxDistance);
+        if (distance < 0 || best.size() == wanted && distance == maxDistance && entry > best.peek().getIndex()) {
+            return;
+        }
+        final Match match = new Match(entry, entries[entry], distance);
+        if (best.size() < wanted) {
+            best.add(match);
+        } else if (match.compareTo(best.peek()) < 0) {
+            best.poll();
+            best.add(match);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A hash table which numbers the q-grams in the order they are added.
+     */
+    private static final class GramTable {
+        private int[] keys = new int[64];
+        private int[] ids = newIds(64);
+        private int size;
+
+        /**
+         * Creates an empty array of ids.
+         *
+         * @param length  the length
+         * @return the array, all -1
+         */
+        private static int[] newIds(final int length) {
+            final int[] ids = new int[length];
+            Arrays.fill(ids, -1);
+            return ids;
+        }
+
+        /**
+         * Gets the first slot to look for a q-gram at.
+         *
+         * @param key  the q-gram
+         * @param mask  the length of the table minus one
+         * @return the slot
+         */
+        private static int slot(final int key, final int mask) {
+            final int h = key * 0x9E3779B9;
+            return (h ^ h >>> 16) & mask;
+        }
+
+        /**
+         * Gets the number of q-grams.
+         *
+         * @return the number of q-grams
+         */
+        int size() {
+            return size;
+        }
+
+        /**
+         * Gets the id of a q-gram.
+         *
+         * @param key  the q-gram
+         * @return the id, -1 if it was never added
+         */
+        int get(final int key) {
+            final int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (ids[slot] >= 0) {
+                if (keys[slot] == key) {
+                    return ids[slot];
+                }
+                slot = slot + 1 & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Adds a q-gram if it is new.
+         *
+         * @param key  the q-gram
+         * @return the id of the q-gram
+         */
+        int add(final int key) {
+            final int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (ids[slot] >= 0) {
+                if (keys[slot] == key) {
+                    return ids[slot];
+                }
+                slot = slot + 1 & mask;
+            }
+            keys[slot] = key;
+            ids[slot] = size;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return size - 1;
+        }
+
+        /**
+         * Doubles the table.
+         */
+        private void grow() {
+            final int[] oldKeys = keys;
+            final int[] oldIds = ids;
+            keys = new int[oldKeys.length * 2];
+            ids = newIds(oldKeys.length * 2);
+            final int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldIds[i] >= 0) {
+                    int slot = slot(oldKeys[i], mask);
+                    while (ids[slot] >= 0) {
+                        slot = slot + 1 & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A hash table of the q-grams each entry shares with a query, which also
+     * lists the entries reaching a least count, in the order they reach it.
+     */
+    private static final class SharedCounts {
+        private final int[] keys;
+        private final int[] counts;
+        private final int minShared;
+        private int[] candidates = new int[16];
+        private int candidateCount;
+
+        /**
+         * Creates an empty table.
+         *
+         * @param capacity  the greatest number of entries to count
+         * @param minShared  the least count of the candidates
+         */
+        SharedCounts(final int capacity, final int minShared) {
+            int length = 16;
+            while (length < capacity * 2L) {
+                length *= 2;
+            }
+            // keys are the entries plus one, so that zero is an empty slot
+            keys = new int[length];
+            counts = new int[length];
+            this.minShared = minShared;
+        }
+
+        /**
+         * Gets the slot of an entry, or the empty slot where it belongs.
+         *
+         * @param key  the entry plus one
+         * @return the slot
+         */
+        private int slot(final int key) {
+            final int mask = keys.length - 1;
+            final int h = key * 0x9E3779B9;
+            int slot = (h ^ h >>> 16) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = slot + 1 & mask;
+            }
+            return slot;
+        }
+
+        /**
+         * Gets the count of an entry.
+         *
+         * @param entry  the index of the entry
+         * @return the count, zero if the entry shares no q-gram
+         */
+        int get(final int entry) {
+            return counts[slot(entry + 1)];
+        }
+
+        /**
+         * Adds to the count of an entry.
+         *
+         * @param entry  the index of the entry
+         * @param shared  the number of q-grams to add
+         */
+        void add(final int entry, final int shared) {
+            final int slot = slot(entry + 1);
+            keys[slot] = entry + 1;
+            final int before = counts[slot];
+            counts[slot] = before + shared;
+            if (before < minShared && counts[slot] >= minShared) {
+                if (candidateCount == candidates.length) {
+                    candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                }
+                candidates[candidateCount++] = entry;
+            }
+        }
+
+        /**
+         * Gets the entries reaching the least count.
+         *
+         * @return the entries, in the order they reached it
+         */
+        int[] candidates() {
+            return Arrays.copyOf(candidates, candidateCount);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>An entry found by a search, with its distance to the query.</p>
+     *
+     * <p>Matches are ordered by distance, then by the index of the entry.</p>
+     */
+    public static final class Match implements Comparable<Match> {
+        private final int index;
+        private final String entry;
+        private final int distance;
+
+        /**
+         * Constructs a match.
+         *
+         * @param index  the index of the entry
+         * @param entry  the entry
+         * @param distance  the distance to the query
+         */
+        Match(final int index, final String entry, final int distance) {
+            this.index = index;
+            this.entry = entry;
+            this.distance = distance;
+        }
+
+        /**
+         * <p>Gets the index of the entry, in the order the Strings were given.</p>
+         *
+         * @return the index
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * <p>Gets the entry.</p>
+         *
+         * @return the entry
+         */
+        public String getEntry() {
+            return entry;
+        }
+
+        /**
+         * <p>Gets the Levenshtein distance of the entry to the query.</p>
+         *
+         * @return the distance
+         */
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * <p>Compares by distance, then by index.</p>
+         *
+         * @param other  the match to compare to
+         * @return negative if this match is nearer, positive if further
+         */
+        @Override
+        public int compareTo(final Match other) {
+            if (distance != other.distance) {
+                return distance < other.distance ? -1 : 1;
+            }
+            return index < other.index ? -1 : index == other.index ? 0 : 1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Match)) {
+                return false;
+            }
+            final Match other = (Match) obj;
+            return index == other.index && distance == other.distance && entry.equals(other.entry);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return (index * 31 + distance) * 31 + entry.hashCode();
+        }
+
+        /**
+         * <p>Gets the entry and its distance, as {@code entry (distance)}.</p>
+         *
+         * @return a description of the match
+         */
+        @Override
+        public String toString() {
+            return entry + " (" + distance + ")";
+        }
+    }
+
+}
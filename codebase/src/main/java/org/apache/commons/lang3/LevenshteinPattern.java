@@ -0,0 +1,356 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+/**
+ * <p>A String compiled to compute its Levenshtein distance to many others.</p>
+ *
+ * <p>The distance is the number of changes needed to change one String into
+ * another, where each change is a single character modification (deletion,
+ * insertion or substitution), as {@link StringUtils#getLevenshteinDistance(CharSequence, CharSequence)}.</p>
+ *
+ * <p>This implementation is the bit-parallel algorithm of Myers, in the form given by
+ * Hyyr&ouml;, which computes 64 cells of the cost table at once. The pattern is split into
+ * blocks of 64 chars, so a text of length n is compared in time proportional to n for a
+ * pattern of up to 64 chars, and to n times the number of blocks for a longer one.
+ * The bit masks of the pattern are computed once, by the constructor, and reused for
+ * every text it is compared with:</p>
+ *
+ * <pre>
+ * final LevenshteinPattern pattern = new LevenshteinPattern(query);
+ * for (final String candidate : candidates) {
+ *     final int distance = pattern.distance(candidate, 2);
+ *     if (distance >= 0) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>The masks take one long for each distinct char of the pattern and each block.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @since 3.2
+ * @version $Id$
+ */
+public final class LevenshteinPattern {
+
+    /**
+     * The number of chars of the pattern in a block.
+     */
+    static final int BLOCK_SIZE = 64;
+
+    /**
+     * The length of the pattern.
+     */
+    private final int length;
+    /**
+     * The number of blocks.
+     */
+    private final int blocks;
+    /**
+     * The distinct chars of the pattern in a hash table, -1 for a free slot.
+     */
+    private final int[] keys;
+    /**
+     * The shift which takes the hash of a char to a slot.
+     */
+    private final int shift;
+    /**
+     * The bit masks of the positions of each char of the table in the pattern,
+     * {@code blocks} longs from the index of the slot times blocks.
+     */
+    private final long[] masks;
+    /**
+     * The bit of the last char of the pattern in the last block.
+     */
+    private final long lastBit;
+
+    /**
+     * <p>Compiles a pattern.</p>
+     *
+     * @param pattern  the String to compare with others, must not be null
+     * @throws IllegalArgumentException if the pattern is {@code null}
+     */
+    public LevenshteinPattern(final CharSequence pattern) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Pattern must not be null");
+        }
+        length = pattern.length();
+        blocks = Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        lastBit = 1L << (length - 1 & BLOCK_SIZE - 1);
+
+        // a table of at least twice the number of distinct chars
+        final int[] counting = newTable(length);
+        final int countingShift = 32 - Integer.numberOfTrailingZeros(counting.length);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (insert(counting, countingShift, pattern.charAt(i)) >= 0) {
+                distinct++;
+            }
+        }
+        keys = newTable(distinct);
+        shift = 32 - Integer.numberOfTrailingZeros(keys.length);
+        masks = new long[keys.length * blocks];
+        for (int i = 0; i < length; i++) {
+            int slot = insert(keys, shift, pattern.charAt(i));
+            if (slot < 0) {
+                slot = -slot - 1;
+            }
+            masks[slot * blocks + i / BLOCK_SIZE] |= 1L << (i & BLOCK_SIZE - 1);
+        }
+    }
+
+    /**
+     * Creates an empty hash table for a number of chars.
+     *
+     * @param size  the number of chars
+     * @return the table, with room for twice the number of chars
+     */
+    private static int[] newTable(final int size) {
+        final int[] table = new int[Math.max(8, Integer.highestOneBit(Math.min(size, 1 << 16)) << 2)];
+        Arrays.fill(table, -1);
+        return table;
+    }
+
+    /**
+     * Adds a char to a hash table.
+     *
+     * @param table  the table
+     * @param tableShift  the shift which takes the hash to a slot
+     * @param c  the char
+     * @return the slot of the char if it is added, -(slot + 1) if it was there
+     */
+    private static int insert(final int[] table, final int tableShift, final char c) {
+        int slot = hash(c, tableShift);
+        while (table[slot] >= 0) {
+            if (table[slot] == c) {
+                return -slot - 1;
+            }
+            slot = slot + 1 & table.length - 1;
+        }
+        table[slot] = c;
+        return slot;
+    }
+
+    /**
+     * Gets the first slot to look for a char at.
+     *
+     * @param c  the char
+     * @param tableShift  the shift which takes the hash to a slot
+     * @return the slot
+     */
+    private static int hash(final char c, final int tableShift) {
+        return c * 0x9E3779B9 >>> tableShift;
+    }
+
+    /**
+     * Finds the slot of a char of the pattern.
+     *
+     * @param c  the char
+     * @return the slot, -1 if the char is not in the pattern
+     */
+    private int slot(final char c) {
+        int slot = hash(c, shift);
+        while (true) {
+            final int key = keys[slot];
+            if (key == c) {
+                return slot;
+            }
+            if (key < 0) {
+                return -1;
+            }
+            slot = slot + 1 & keys.length - 1;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the length of the pattern.</p>
+     *
+     * @return the length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * <p>Finds the Levenshtein distance between the pattern and a String.</p>
+     *
+     * @param text  the String to compare with, must not be null
+     * @return the distance
+     * @throws IllegalArgumentException if the text is {@code null}
+     */
+    public int distance(final CharSequence text) {
+        return distance(text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * <p>Finds the Levenshtein distance between the pattern and a String
+     * if it is less than or equal to a threshold.</p>
+     *
+     * <p>The computation stops as soon as the distance is known to be greater
+     * than the threshold.</p>
+     *
+     * @param text  the String to compare with, must not be null
+     * @param threshold  the target threshold, must not be negative
+     * @return the distance, or {@code -1} if it would be greater than the threshold
+     * @throws IllegalArgumentException if the text is {@code null} or the threshold negative
+     */
+    public int distance(final CharSequence text, final int threshold) {
+        if (text == null) {
+            throw new IllegalArgumentException("Strings must not be null");
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        return blocks == 1 ? distanceInWord(text, threshold) : distanceInBlocks(text, threshold, null);
+    }
+
+    /**
+     * <p>Finds the Levenshtein distances between the pattern and many Strings,
+     * where they are less than or equal to a threshold.</p>
+     *
+     * @param texts  the Strings to compare with, must not be null nor contain null
+     * @param threshold  the target threshold, must not be negative
+     * @return the distances in the order of the texts, {@code -1} for those
+     *  greater than the threshold
+     * @throws IllegalArgumentException if any text is {@code null} or the threshold negative
+     */
+    public int[] distances(final CharSequence[] texts, final int threshold) {
+        if (texts == null) {
+            throw new IllegalArgumentException("Strings must not be null");
+        }
+        if (threshold < 0) {
+            throw new IllegalArgumentException("Threshold must not be negative");
+        }
+        final int[] distances = new int[texts.length];
+        final long[] vectors = blocks == 1 ? null : new long[2 * blocks];
+        for (int i = 0; i < texts.length; i++) {
+            if (texts[i] == null) {
+                throw new IllegalArgumentException("Strings must not be null");
+            }
+            distances[i] = blocks == 1 ? distanceInWord(texts[i], threshold)
+                : distanceInBlocks(texts[i], threshold, vectors);
+        }
+        return distances;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Computes the distance for a pattern of a single block.
+     *
+     * @param text  the text
+     * @param threshold  the threshold
+     * @return the distance, -1 if greater than the threshold
+     */
+    private int distanceInWord(final CharSequence text, final int threshold) {
+        final int n = text.length();
+        if (Math.abs(n - length) > threshold) {
+            return -1;
+        }
+        if (length == 0) {
+            return n;
+        }
+        // the vertical deltas of the last column of the cost table, as the bits
+        // of the positive deltas and the bits of the negative deltas
+        long pv = -1L;
+        long mv = 0L;
+        int score = length;
+        for (int j = 0; j < n; j++) {
+            final int slot = slot(text.charAt(j));
+            final long eq = slot < 0 ? 0L : masks[slot];
+            final long xv = eq | mv;
+            final long xh = ((eq & pv) + pv ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & lastBit) != 0) {
+                score++;
+            } else if ((mh & lastBit) != 0) {
+                score--;
+            }
+            // the first row of the cost table goes up by one in each column
+            ph = ph << 1 | 1L;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+            // each remaining column changes the distance by one at most
+            if (score - (n - j - 1) > threshold) {
+                return -1;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Computes the distance for a pattern of several blocks.
+     *
+     * @param text  the text
+     * @param threshold  the threshold
+     * @param vectors  room for the vertical deltas, null to allocate
+     * @return the distance, -1 if greater than the threshold
+     */
+    private int distanceInBlocks(final CharSequence text, final int threshold, final long[] vectors) {
+        final int n = text.length();
+        if (Math.abs(n - length) > threshold) {
+            return -1;
+        }
+        // the positive deltas of block b at b, the negative ones at blocks + b
+        final long[] v = vectors == null ? new long[2 * blocks] : vectors;
+        Arrays.fill(v, 0, blocks, -1L);
+        Arrays.fill(v, blocks, 2 * blocks, 0L);
+        final int last = blocks - 1;
+        int score = length;
+        for (int j = 0; j < n; j++) {
+            final int slot = slot(text.charAt(j));
+            final int base = slot * blocks;
+            // the horizontal delta carried into the next block
+            int carry = 1;
+            for (int b = 0; b < blocks; b++) {
+                final long pv = v[b];
+                final long mv = v[blocks + b];
+                long eq = slot < 0 ? 0L : masks[base + b];
+                final long xv = eq | mv;
+                if (carry < 0) {
+                    eq |= 1L;
+                }
+                final long xh = ((eq & pv) + pv ^ pv) | eq;
+                long ph = mv | ~(xh | pv);
+                long mh = pv & xh;
+                final long bit = b == last ? lastBit : Long.MIN_VALUE;
+                final int out = (ph & bit) != 0 ? 1 : (mh & bit) != 0 ? -1 : 0;
+                ph <<= 1;
+                mh <<= 1;
+                if (carry < 0) {
+                    mh |= 1L;
+                } else if (carry > 0) {
+                    ph |= 1L;
+                }
+                v[b] = mh | ~(xv | ph);
+                v[blocks + b] = ph & xv;
+                carry = out;
+            }
+            score += carry;
+            if (score - (n - j - 1) > threshold) {
+                return -1;
+            }
+        }
+        return score;
+    }
+
+}
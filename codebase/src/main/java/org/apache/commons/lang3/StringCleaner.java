@@ -0,0 +1,804 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Locale;
+
+/**
+ * <p>A chain of {@link StringUtils} cleaning operations run over a String
+ * in a single pass.</p>
+ *
+ * <p>Cleaning a field with {@code StringUtils} builds a new String at each
+ * step, for example:</p>
+ *
+ * <pre>
+ * StringUtils.abbreviate(StringUtils.lowerCase(StringUtils.stripAccents(StringUtils.normalizeSpace(field)), Locale.ENGLISH), 40)
+ * </pre>
+ *
+ * <p>A cleaner built from the same steps passes each char of the field through
+ * all the steps in turn, writing the result to a single buffer:</p>
+ *
+ * <pre>
+ * private static final StringCleaner CLEANER = new StringCleaner()
+ *         .normalizeSpace().stripAccents().lowerCase(Locale.ENGLISH).abbreviate(40);
+ * ...
+ * final String cleaned = CLEANER.clean(field);
+ * </pre>
+ *
+ * <p>The result is always the same String as the {@code StringUtils} methods
+ * of the steps called in the same order would return. The buffer is only written
+ * from the first char that a step changes, and the input String itself is returned
+ * when no step changes it.</p>
+ *
+ * <p>The single pass handles the chars that each step maps one by one, which are
+ * all the chars for the whitespace steps, the Latin chars and combining marks for
+ * the accent step and most chars for the case steps, except for the few with a
+ * special case mapping.
+ * A String with other chars is cleaned by calling the {@code StringUtils} methods
+ * one after the other.</p>
+ *
+ * <p>A cleaner is immutable, each method adding a step returns a new cleaner.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @since 3.2
+ * @version $Id$
+ */
+public final class StringCleaner {
+
+    /**
+     * The status of a step which takes more chars.
+     */
+    private static final int CONTINUE = 0;
+    /**
+     * The status of a step which ignores any more chars.
+     */
+    private static final int DONE = 1;
+    /**
+     * The status of a step which cannot handle a char in the single pass.
+     */
+    private static final int UNSUPPORTED = -1;
+
+    /**
+     * The steps, in order.
+     */
+    private final Op[] ops;
+
+    /**
+     * <p>Constructs a cleaner without steps, which returns its input.</p>
+     */
+    public StringCleaner() {
+        this(new Op[0]);
+    }
+
+    /**
+     * Constructs a cleaner.
+     *
+     * @param ops  the steps, not null
+     */
+    private StringCleaner(final Op[] ops) {
+        this.ops = ops;
+    }
+
+    /**
+     * Creates a cleaner with a step added at the end.
+     *
+     * @param op  the step to add
+     * @return the new cleaner
+     */
+    private StringCleaner add(final Op op) {
+        return new StringCleaner(ArrayUtils.add(ops, op));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Adds a step which strips whitespace from the start and end, as
+     * {@link StringUtils#strip(String)}.</p>
+     *
+     * @return a new cleaner with the step added
+     */
+    public StringCleaner strip() {
+        return add(new TrimOp(true));
+    }
+
+    /**
+     * <p>Adds a step which removes control characters (char &lt;= 32) from the start
+     * and end, as {@link StringUtils#trim(String)}.</p>
+     *
+     * @return a new cleaner with the step added
+     */
+    public StringCleaner trim() {
+        return add(new TrimOp(false));
+    }
+
+    /**
+     * <p>Adds a step which trims and replaces each sequence of whitespace by a single
+     * space, as {@link StringUtils#normalizeSpace(String)}.</p>
+     *
+     * @return a new cleaner with the step added
+     */
+    public StringCleaner normalizeSpace() {
+        return add(new NormalizeSpaceOp());
+    }
+
+    /**
+     * <p>Adds a step which deletes all whitespace, as
+     * {@link StringUtils#deleteWhitespace(String)}.</p>
+     *
+     * @return a new cleaner with the step added
+     */
+    public StringCleaner deleteWhitespace() {
+        return add(new DeleteWhitespaceOp());
+    }
+
+    /**
+     * <p>Adds a step which removes diacritics, as {@link StringUtils#stripAccents(String)}.</p>
+     *
+     * @return a new cleaner with the step added
+     */
+    public StringCleaner stripAccents() {
+        return add(new StripAccentsOp());
+    }
+
+    /**
+     * <p>Adds a step which converts to lower case in the default locale when
+     * cleaning, as {@link StringUtils#lowerCase(String)}.</p>
+     *
+     * @return a new cleaner with the step added
+     */
+    public StringCleaner lowerCase() {
+        return add(new CaseOp(false, null));
+    }
+
+    /**
+     * <p>Adds a step which converts to lower case, as {@link StringUtils#lowerCase(String, Locale)}.</p>
+     *
+     * @param locale  the locale that defines the case transformation rules, not null
+     * @return a new cleaner with the step added
+     * @throws IllegalArgumentException if the locale is {@code null}
+     */
+    public StringCleaner lowerCase(final Locale locale) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Locale must not be null");
+        }
+        return add(new CaseOp(false, locale));
+    }
+
+    /**
+     * <p>Adds a step which converts to upper case in the default locale when
+     * cleaning, as {@link StringUtils#upperCase(String)}.</p>
+     *
+     * @return a new cleaner with the step added
+     */
+    public StringCleaner upperCase() {
+        return add(new CaseOp(true, null));
+    }
+
+    /**
+     * <p>Adds a step which converts to upper case, as {@link StringUtils#upperCase(String, Locale)}.</p>
+     *
+     * @param locale  the locale that defines the case transformation rules, not null
+     * @return a new cleaner with the step added
+     * @throws IllegalArgumentException if the locale is {@code null}
+     */
+    public StringCleaner upperCase(final Locale locale) {
+        if (locale == null) {
+            throw new IllegalArgumentException("Locale must not be null");
+        }
+        return add(new CaseOp(true, locale));
+    }
+
+    /**
+     * <p>Adds a step which abbreviates using ellipses, as
+     * {@link StringUtils#abbreviate(String, int)}.</p>
+     *
+     * <p>The chars after the abbreviation are not read by the steps before it.</p>
+     *
+     * @param maxWidth  maximum length of the result, must be at least 4
+     * @return a new cleaner with the step added
+     * @throws IllegalArgumentException if the width is too small
+     */
+    public StringCleaner abbreviate(final int maxWidth) {
+        if (maxWidth < 4) {
+            throw new IllegalArgumentException("Minimum abbreviation width is 4");
+        }
+        return add(new AbbreviateOp(maxWidth));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Cleans a String by the steps of this cleaner.</p>
+     *
+     * @param str  the String to clean, may be null
+     * @return the cleaned String, the input if unchanged, {@code null} if null String input
+     */
+    public String clean(final String str) {
+        if (str == null || ops.length == 0) {
+            return str;
+        }
+        return new Pass(ops).clean(str);
+    }
+
+    /**
+     * <p>Cleans each String of an array by the steps of this cleaner,
+     * reusing the same buffer.</p>
+     *
+     * <p>A new array is returned, unless the array is empty or {@code null}.</p>
+     *
+     * @param strs  the Strings to clean, may be null
+     * @return the cleaned Strings, {@code null} if null array input
+     */
+    public String[] cleanAll(final String... strs) {
+        if (strs == null || strs.length == 0) {
+            return strs;
+        }
+        final String[] cleaned = new String[strs.length];
+        final Pass pass = ops.length == 0 ? null : new Pass(ops);
+        for (int i = 0; i < strs.length; i++) {
+            cleaned[i] = pass == null || strs[i] == null ? strs[i] : pass.clean(strs[i]);
+        }
+        return cleaned;
+    }
+
+    /**
+     * <p>Gets the steps of this cleaner, for example
+     * {@code StringCleaner{normalizeSpace,lowerCase(en),abbreviate(40)}}.</p>
+     *
+     * @return the steps as a String
+     */
+    @Override
+    public String toString() {
+        return "StringCleaner" + ArrayUtils.toString(ops);
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A cleaning step, which runs over a String as its {@code StringUtils}
+     * method, or creates the state of the step for a single pass.
+     */
+    private abstract static class Op {
+
+        /**
+         * Applies the step by its {@code StringUtils} method.
+         *
+         * @param str  the String, not null
+         * @return the result
+         */
+        abstract String apply(String str);
+
+        /**
+         * Creates the state of the step for a single pass.
+         *
+         * @param next  the following step
+         * @return the step
+         */
+        abstract Step newStep(Step next);
+    }
+
+    /**
+     * The steps of {@code strip} and {@code trim}.
+     */
+    private static final class TrimOp extends Op {
+        /** Whether to strip whitespace rather than trim control chars. */
+        private final boolean strip;
+
+        TrimOp(final boolean strip) {
+            this.strip = strip;
+        }
+
+        @Override
+        String apply(final String str) {
+            return strip ? StringUtils.strip(str) : StringUtils.trim(str);
+        }
+
+        @Override
+        Step newStep(final Step next) {
+            return new TrimStep(next, strip);
+        }
+
+        @Override
+        public String toString() {
+            return strip ? "strip" : "trim";
+        }
+    }
+
+    /**
+     * The step of {@code normalizeSpace}.
+     */
+    private static final class NormalizeSpaceOp extends Op {
+        @Override
+        String apply(final String str) {
+            return StringUtils.normalizeSpace(str);
+        }
+
+        @Override
+        Step newStep(final Step next) {
+            // trimmed first, as StringUtils does
+            return new TrimStep(new CollapseSpaceStep(next), false);
+        }
+
+        @Override
+        public String toString() {
+            return "normalizeSpace";
+        }
+    }
+
+    /**
+     * The step of {@code deleteWhitespace}.
+     */
+    private static final class DeleteWhitespaceOp extends Op {
+        @Override
+        String apply(final String str) {
+            return StringUtils.deleteWhitespace(str);
+        }
+
+        @Override
+        Step newStep(final Step next) {
+            return new DeleteWhitespaceStep(next);
+        }
+
+        @Override
+        public String toString() {
+            return "deleteWhitespace";
+        }
+    }
+
+    /**
+     * The step of {@code stripAccents}.
+     */
+    private static final class StripAccentsOp extends Op {
+        @Override
+        String apply(final String str) {
+            return StringUtils.stripAccents(str);
+        }
+
+        @Override
+        Step newStep(final Step next) {
+            return new StripAccentsStep(next);
+        }
+
+        @Override
+        public String toString() {
+            return "stripAccents";
+        }
+    }
+
+    /**
+     * The steps of {@code lowerCase} and {@code upperCase}.
+     */
+    private static final class CaseOp extends Op {
+        /** Whether to convert to upper case rather than lower case. */
+        private final boolean upper;
+        /** The locale, null for the default locale when cleaning. */
+        private final Locale locale;
+
+        CaseOp(final boolean upper, final Locale locale) {
+            this.upper = upper;
+            this.locale = locale;
+        }
+
+        @Override
+        String apply(final String str) {
+            final Locale loc = locale == null ? Locale.getDefault() : locale;
+            return upper ? str.toUpperCase(loc) : str.toLowerCase(loc);
+        }
+
+        @Override
+        Step newStep(final Step next) {
+            final Locale loc = locale == null ? Locale.getDefault() : locale;
+            final String language = loc.getLanguage();
+            // these languages case some chars by their context
+            final boolean contextual = "tr".equals(language) || "az".equals(language) || "lt".equals(language);
+            return new CaseStep(next, upper, contextual);
+        }
+
+        @Override
+        public String toString() {
+            return (upper ? "upperCase" : "lowerCase") + (locale == null ? "" : "(" + locale + ")");
+        }
+    }
+
+    /**
+     * The step of {@code abbreviate}.
+     */
+    private static final class AbbreviateOp extends Op {
+        /** The maximum length of the result. */
+        private final int maxWidth;
+
+        AbbreviateOp(final int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        @Override
+        String apply(final String str) {
+            return StringUtils.abbreviate(str, maxWidth);
+        }
+
+        @Override
+        Step newStep(final Step next) {
+            return new AbbreviateStep(next, maxWidth);
+        }
+
+        @Override
+        public String toString() {
+            return "abbreviate(" + maxWidth + ")";
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The state of a step in a single pass, which takes the chars from the
+     * step before it and passes its own to the next step.
+     */
+    private abstract static class Step {
+        /** The following step. */
+        final Step next;
+
+        Step(final Step next) {
+            this.next = next;
+        }
+
+        /**
+         * Takes the next char.
+         *
+         * @param c  the char
+         * @return the status, {@code CONTINUE}, {@code DONE} or {@code UNSUPPORTED}
+         */
+        abstract int accept(char c);
+
+        /**
+         * Ends the input, passing on any chars held back.
+         *
+         * @return the status, {@code DONE} or {@code UNSUPPORTED}
+         */
+        int end() {
+            return next.end();
+        }
+
+        /**
+         * Clears the state for the next String.
+         */
+        void reset() {
+            next.reset();
+        }
+    }
+
+    /**
+     * Removes the blank chars at the start and end, holding back each run of
+     * blank chars until a char follows it.
+     */
+    private static final class TrimStep extends Step {
+        /** Whether the blank chars are whitespace rather than control chars. */
+        private final boolean strip;
+        /** Whether a char that is not blank has been seen. */
+        private boolean started;
+        /** The blank chars held back. */
+        private char[] pending = new char[16];
+        /** The number of blank chars held back. */
+        private int pendingCount;
+
+        TrimStep(final Step next, final boolean strip) {
+            super(next);
+            this.strip = strip;
+        }
+
+        @Override
+        int accept(final char c) {
+            final boolean blank = strip ? Character.isWhitespace(c) : c <= ' ';
+            if (blank) {
+                if (started) {
+                    if (pendingCount == pending.length) {
+                        final char[] grown = new char[pendingCount * 2];
+                        System.arraycopy(pending, 0, grown, 0, pendingCount);
+                        pending = grown;
+                    }
+                    pending[pendingCount++] = c;
+                }
+                return CONTINUE;
+            }
+            started = true;
+            for (int i = 0; i < pendingCount; i++) {
+                final int status = next.accept(pending[i]);
+                if (status != CONTINUE) {
+                    return status;
+                }
+            }
+            pendingCount = 0;
+            return next.accept(c);
+        }
+
+        @Override
+        void reset() {
+            started = false;
+            pendingCount = 0;
+            next.reset();
+        }
+    }
+
+    /**
+     * Replaces each run of whitespace, as matched by {@code \s}, by a single space.
+     */
+    private static final class CollapseSpaceStep extends Step {
+        /** Whether the last char was whitespace. */
+        private boolean inSpace;
+
+        CollapseSpaceStep(final Step next) {
+            super(next);
+        }
+
+        @Override
+        int accept(final char c) {
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000b' || c == '\f' || c == '\r') {
+                if (inSpace) {
+                    return CONTINUE;
+                }
+                inSpace = true;
+                return next.accept(' ');
+            }
+            inSpace = false;
+            return next.accept(c);
+        }
+
+        @Override
+        void reset() {
+            inSpace = false;
+            next.reset();
+        }
+    }
+
+    /**
+     * Removes whitespace.
+     */
+    private static final class DeleteWhitespaceStep extends Step {
+        DeleteWhitespaceStep(final Step next) {
+            super(next);
+        }
+
+        @Override
+        int accept(final char c) {
+            return Character.isWhitespace(c) ? CONTINUE : next.accept(c);
+        }
+    }
+
+    /**
+     * Removes the accents of the chars in the tables of {@link AccentFolding}.
+     */
+    private static final class StripAccentsStep extends Step {
+        StripAccentsStep(final Step next) {
+            super(next);
+        }
+
+        @Override
+        int accept(final char c) {
+            final char folded = AccentFolding.fold(c);
+            if (folded == AccentFolding.REMOVED) {
+                return CONTINUE;
+            }
+            return folded == AccentFolding.NOT_FOLDED ? UNSUPPORTED : next.accept(folded);
+        }
+    }
+
+    /**
+     * Converts the case of the chars which {@code String} converts one by one.
+     */
+    private static final class CaseStep extends Step {
+        /** Whether to convert to upper case rather than lower case. */
+        private final boolean upper;
+        /** Whether the locale converts some chars by their context. */
+        private final boolean contextual;
+
+        CaseStep(final Step next, final boolean upper, final boolean contextual) {
+            super(next);
+            this.upper = upper;
+            this.contextual = contextual;
+        }
+
+        @Override
+        int accept(final char c) {
+            if (contextual) {
+                return UNSUPPORTED;
+            }
+            if (c < 0x80) {
+                if (upper) {
+                    return next.accept(c >= 'a' && c <= 'z' ? (char) (c - 0x20) : c);
+                }
+                return next.accept(c >= 'A' && c <= 'Z' ? (char) (c + 0x20) : c);
+            }
+            if (upper) {
+                // sharp s converts to two chars
+                return c < 0x100 && c != '\u00df' ? next.accept(Character.toUpperCase(c)) : UNSUPPORTED;
+            }
+            // dotted I converts to two chars, and sigma by the chars around it
+            if (Character.isSurrogate(c) || c == '\u0130' || c == '\u03a3') {
+                return UNSUPPORTED;
+            }
+            return next.accept(Character.toLowerCase(c));
+        }
+    }
+
+    /**
+     * Keeps the first chars and appends an ellipsis if there are more than
+     * the maximum width.
+     */
+    private static final class AbbreviateStep extends Step {
+        /** The maximum length of the result. */
+        private final int maxWidth;
+        /** The last chars which fit if no more follow. */
+        private final char[] tail = new char[3];
+        /** The number of chars taken. */
+        private int count;
+
+        AbbreviateStep(final Step next, final int maxWidth) {
+            super(next);
+            this.maxWidth = maxWidth;
+        }
+
+        @Override
+        int accept(final char c) {
+            if (count < maxWidth - 3) {
+                count++;
+                return next.accept(c);
+            }
+            if (count < maxWidth) {
+                tail[count++ - (maxWidth - 3)] = c;
+                return CONTINUE;
+            }
+            count++;
+            for (int i = 0; i < 3; i++) {
+                final int status = next.accept('.');
+                if (status != CONTINUE) {
+                    return status;
+                }
+            }
+            return DONE;
+        }
+
+        @Override
+        int end() {
+            if (count <= maxWidth) {
+                for (int i = 0; i < count - (maxWidth - 3); i++) {
+                    final int status = next.accept(tail[i]);
+                    if (status != CONTINUE) {
+                        return status == UNSUPPORTED ? status : next.end();
+                    }
+                }
+            }
+            return next.end();
+        }
+
+        @Override
+        void reset() {
+            count = 0;
+            next.reset();
+        }
+    }
+
+    /**
+     * The end of the steps, which writes the result. Chars equal to the input
+     * at the same index are only counted until the first one that differs.
+     */
+    private static final class Output extends Step {
+        /** The String cleaned. */
+        private String input;
+        /** The result, from the first char that differs. */
+        private char[] buf;
+        /** Whether the result differs from the start of the input. */
+        private boolean differs;
+        /** The length of the result. */
+        private int count;
+
+        Output() {
+            super(null);
+        }
+
+        @Override
+        int accept(final char c) {
+            if (differs) {
+                if (count == buf.length) {
+                    final char[] grown = new char[count * 2 + 16];
+                    System.arraycopy(buf, 0, grown, 0, count);
+                    buf = grown;
+                }
+                buf[count++] = c;
+            } else if (count < input.length() && input.charAt(count) == c) {
+                count++;
+            } else {
+                differs = true;
+                if (buf == null || buf.length < input.length() + 16) {
+                    buf = new char[input.length() + 16];
+                }
+                input.getChars(0, count, buf, 0);
+                buf[count++] = c;
+            }
+            return CONTINUE;
+        }
+
+        @Override
+        int end() {
+            return DONE;
+        }
+
+        @Override
+        void reset() {
+            differs = false;
+            count = 0;
+        }
+
+        /**
+         * Gets the result.
+         *
+         * @return the result, the input if it is the same
+         */
+        String result() {
+            if (differs) {
+                return new String(buf, 0, count);
+            }
+            return count == input.length() ? input : input.substring(0, count);
+        }
+    }
+
+    /**
+     * The steps of a cleaner linked for single passes, and the buffer of their result.
+     */
+    private static final class Pass {
+        /** The steps. */
+        private final Op[] ops;
+        /** The first step of the single pass, not created until needed. */
+        private Step head;
+        /** The end of the single pass. */
+        private Output output;
+
+        Pass(final Op[] ops) {
+            this.ops = ops;
+        }
+
+        /**
+         * Cleans a String, in a single pass if the steps can handle its chars.
+         *
+         * @param str  the String, not null
+         * @return the cleaned String
+         */
+        String clean(final String str) {
+            if (head == null) {
+                output = new Output();
+                head = output;
+                for (int i = ops.length - 1; i >= 0; i--) {
+                    head = ops[i].newStep(head);
+                }
+            } else {
+                head.reset();
+            }
+            output.input = str;
+            final int len = str.length();
+            int status = CONTINUE;
+            for (int i = 0; i < len && status == CONTINUE; i++) {
+                status = head.accept(str.charAt(i));
+            }
+            if (status != UNSUPPORTED) {
+                status = head.end();
+            }
+            if (status != UNSUPPORTED) {
+                return output.result();
+            }
+            String result = str;
+            for (final Op op : ops) {
+                result = op.apply(result);
+            }
+            return result.equals(str) ? str : result;
+        }
+    }
+
+}
@@ -16,10 +16,11 @@
  */
 package org.apache.commons.lang3;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.text.Normalizer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
@@ -166,9 +167,15 @@ public class StringUtils {
     public static final int INDEX_NOT_FOUND = -1;
 
     /**
-     * <p>The maximum size to which the padding constant(s) can expand.</p>
+     * <p>The number of positions to try from which a case insensitive search
+     * compiles a {@link SubstringSearcher} rather than compare at each position.</p>
      */
-    private static final int PAD_LIMIT = 8192;
+    private static final int SEARCHER_MIN_POSITIONS = 16;
+
+    /**
+     * <p>The spaces appended at once by the padding methods taking an Appendable.</p>
+     */
+    private static final String SPACES = "                                ";
 
     /**
      * A regex pattern for recognizing blocks of whitespace characters.
@@ -659,10 +666,14 @@ public class StringUtils {
         if(input == null) {
             return null;
         }
-        final Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");//$NON-NLS-1$
-        final String decomposed = Normalizer.normalize(input, Normalizer.Form.NFD);
-        // Note that this doesn't correctly remove ligatures...
-        return pattern.matcher(decomposed).replaceAll("");//$NON-NLS-1$
+        // ASCII has no accents, and most chars of Latin text are folded by a table
+        final int len = input.length();
+        for (int i = 0; i < len; i++) {
+            if (input.charAt(i) >= 0x80) {
+                return AccentFolding.stripAccents(input, i);
+            }
+        }
+        return input;
     }
 
     // Equals
@@ -1017,6 +1028,16 @@ public class StringUtils {
         if (searchStr.length() == 0) {
             return startPos;
         }
+        if (endLimit - startPos >= SEARCHER_MIN_POSITIONS && !containsSurrogate(searchStr)) {
+            // the searcher finds every match, and each is checked as before as the
+            // comparison of a CharSequence differs for a few chars
+            final SubstringSearcher searcher = new SubstringSearcher(searchStr, true);
+            int i = searcher.indexIn(str, startPos);
+            while (i >= 0 && !CharSequenceUtils.regionMatches(str, true, i, searchStr, 0, searchStr.length())) {
+                i = searcher.indexIn(str, i + 1);
+            }
+            return i;
+        }
         for (int i = startPos; i < endLimit; i++) {
             if (CharSequenceUtils.regionMatches(str, true, i, searchStr, 0, searchStr.length())) {
                 return i;
@@ -1025,6 +1046,23 @@ public class StringUtils {
         return INDEX_NOT_FOUND;
     }
 
+    /**
+     * <p>Checks whether a CharSequence contains a surrogate char, which a case
+     * insensitive comparison of Strings may fold as part of a code point.</p>
+     *
+     * @param cs  the CharSequence to check, not null
+     * @return true if it contains a surrogate
+     */
+    static boolean containsSurrogate(final CharSequence cs) {
+        final int len = cs.length();
+        for (int i = 0; i < len; i++) {
+            if (Character.isSurrogate(cs.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // LastIndexOf
     //-----------------------------------------------------------------------
     /**
@@ -1373,14 +1411,7 @@ public class StringUtils {
         if (str == null || searchStr == null) {
             return false;
         }
-        final int len = searchStr.length();
-        final int max = str.length() - len;
-        for (int i = 0; i <= max; i++) {
-            if (CharSequenceUtils.regionMatches(str, true, i, searchStr, 0, len)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOfIgnoreCase(str, searchStr, 0) != INDEX_NOT_FOUND;
     }
 
     /**
@@ -1434,26 +1465,7 @@ public class StringUtils {
         if (isEmpty(cs) || ArrayUtils.isEmpty(searchChars)) {
             return INDEX_NOT_FOUND;
         }
-        final int csLen = cs.length();
-        final int csLast = csLen - 1;
-        final int searchLen = searchChars.length;
-        final int searchLast = searchLen - 1;
-        for (int i = 0; i < csLen; i++) {
-            final char ch = cs.charAt(i);
-            for (int j = 0; j < searchLen; j++) {
-                if (searchChars[j] == ch) {
-                    if (i < csLast && j < searchLast && Character.isHighSurrogate(ch)) {
-                        // ch is a supplementary character
-                        if (searchChars[j + 1] == cs.charAt(i + 1)) {
-                            return i;
-                        }
-                    } else {
-                        return i;
-                    }
-                }
-            }
-        }
-        return INDEX_NOT_FOUND;
+        return CharScanner.indexOfAny(cs, searchChars);
     }
 
     /**
@@ -1486,6 +1498,34 @@ public class StringUtils {
         return indexOfAny(cs, searchChars.toCharArray());
     }
 
+    /**
+     * <p>Search a CharSequence to find the first index of any
+     * character matched by a compiled {@link CharMatcher}.</p>
+     *
+     * <p>The matcher checks each character with a single lookup, and
+     * is compiled once to search many CharSequences.
+     * Supplementary characters are matched by code point.</p>
+     *
+     * <pre>
+     * StringUtils.indexOfAny(null, *)                                = -1
+     * StringUtils.indexOfAny("", *)                                  = -1
+     * StringUtils.indexOfAny(*, null)                                = -1
+     * StringUtils.indexOfAny("zzabyycdxx", CharMatcher.anyOf("by"))  = 3
+     * StringUtils.indexOfAny("zzabyycdxx", CharMatcher.charSet("c-d")) = 6
+     * </pre>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @param matcher  the characters to search for, may be null
+     * @return the index of any of the chars, -1 if no match or null input
+     * @since 3.2
+     */
+    public static int indexOfAny(final CharSequence cs, final CharMatcher matcher) {
+        if (isEmpty(cs) || matcher == null) {
+            return INDEX_NOT_FOUND;
+        }
+        return matcher.indexIn(cs, 0);
+    }
+
     // ContainsAny
     //-----------------------------------------------------------------------
     /**
@@ -1516,30 +1556,7 @@ public class StringUtils {
         if (isEmpty(cs) || ArrayUtils.isEmpty(searchChars)) {
             return false;
         }
-        final int csLength = cs.length();
-        final int searchLength = searchChars.length;
-        final int csLast = csLength - 1;
-        final int searchLast = searchLength - 1;
-        for (int i = 0; i < csLength; i++) {
-            final char ch = cs.charAt(i);
-            for (int j = 0; j < searchLength; j++) {
-                if (searchChars[j] == ch) {
-                    if (Character.isHighSurrogate(ch)) {
-                        if (j == searchLast) {
-                            // missing low surrogate, fine, like String.indexOf(String)
-                            return true;
-                        }
-                        if (i < csLast && searchChars[j + 1] == cs.charAt(i + 1)) {
-                            return true;
-                        }
-                    } else {
-                        // ch is in the Basic Multilingual Plane
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return CharScanner.containsAny(cs, searchChars);
     }
 
     /**
@@ -1577,6 +1594,31 @@ public class StringUtils {
         return containsAny(cs, CharSequenceUtils.toCharArray(searchChars));
     }
 
+    /**
+     * <p>Checks if the CharSequence contains any character matched by
+     * a compiled {@link CharMatcher}.</p>
+     *
+     * <pre>
+     * StringUtils.containsAny(null, *)                               = false
+     * StringUtils.containsAny("", *)                                 = false
+     * StringUtils.containsAny(*, null)                               = false
+     * StringUtils.containsAny("zzabyycdxx", CharMatcher.anyOf("za")) = true
+     * StringUtils.containsAny("aba", CharMatcher.anyOf("z"))         = false
+     * </pre>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @param matcher  the characters to search for, may be null
+     * @return the {@code true} if any of the chars are found,
+     * {@code false} if no match or null input
+     * @since 3.2
+     */
+    public static boolean containsAny(final CharSequence cs, final CharMatcher matcher) {
+        if (isEmpty(cs) || matcher == null) {
+            return false;
+        }
+        return matcher.indexIn(cs, 0) >= 0;
+    }
+
     // IndexOfAnyBut chars
     //-----------------------------------------------------------------------
     /**
@@ -1675,6 +1717,30 @@ public class StringUtils {
         return INDEX_NOT_FOUND;
     }
 
+    /**
+     * <p>Search a CharSequence to find the first index of any
+     * character not matched by a compiled {@link CharMatcher}.</p>
+     *
+     * <pre>
+     * StringUtils.indexOfAnyBut(null, *)                                 = -1
+     * StringUtils.indexOfAnyBut("", *)                                   = -1
+     * StringUtils.indexOfAnyBut(*, null)                                 = -1
+     * StringUtils.indexOfAnyBut("zzabyycdxx", CharMatcher.anyOf("za"))   = 3
+     * StringUtils.indexOfAnyBut("aba", CharMatcher.charSet("a-b"))       = -1
+     * </pre>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @param matcher  the characters to skip, may be null
+     * @return the index of the first char not matched, -1 if all match or null input
+     * @since 3.2
+     */
+    public static int indexOfAnyBut(final CharSequence cs, final CharMatcher matcher) {
+        if (isEmpty(cs) || matcher == null) {
+            return INDEX_NOT_FOUND;
+        }
+        return matcher.indexNotIn(cs, 0);
+    }
+
     // ContainsOnly
     //-----------------------------------------------------------------------
     /**
@@ -1743,6 +1809,34 @@ public class StringUtils {
         return containsOnly(cs, validChars.toCharArray());
     }
 
+    /**
+     * <p>Checks if the CharSequence contains only characters matched by
+     * a compiled {@link CharMatcher}.</p>
+     *
+     * <p>A {@code null} CharSequence will return {@code false}.
+     * A {@code null} matcher will return {@code false}.
+     * An empty CharSequence (length()=0) always returns {@code true}.</p>
+     *
+     * <pre>
+     * StringUtils.containsOnly(null, *)                            = false
+     * StringUtils.containsOnly(*, null)                            = false
+     * StringUtils.containsOnly("", *)                              = true
+     * StringUtils.containsOnly("abab", CharMatcher.charSet("a-c")) = true
+     * StringUtils.containsOnly("abz", CharMatcher.charSet("a-c"))  = false
+     * </pre>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @param matcher  the valid characters, may be null
+     * @return true if it only contains valid chars and is non-null
+     * @since 3.2
+     */
+    public static boolean containsOnly(final CharSequence cs, final CharMatcher matcher) {
+        if (cs == null || matcher == null) {
+            return false;
+        }
+        return matcher.indexNotIn(cs, 0) == INDEX_NOT_FOUND;
+    }
+
     // ContainsNone
     //-----------------------------------------------------------------------
     /**
@@ -1772,30 +1866,10 @@ public class StringUtils {
         if (cs == null || searchChars == null) {
             return true;
         }
-        final int csLen = cs.length();
-        final int csLast = csLen - 1;
-        final int searchLen = searchChars.length;
-        final int searchLast = searchLen - 1;
-        for (int i = 0; i < csLen; i++) {
-            final char ch = cs.charAt(i);
-            for (int j = 0; j < searchLen; j++) {
-                if (searchChars[j] == ch) {
-                    if (Character.isHighSurrogate(ch)) {
-                        if (j == searchLast) {
-                            // missing low surrogate, fine, like String.indexOf(String)
-                            return false;
-                        }
-                        if (i < csLast && searchChars[j + 1] == cs.charAt(i + 1)) {
-                            return false;
-                        }
-                    } else {
-                        // ch is in the Basic Multilingual Plane
-                        return false;
-                    }
-                }
-            }
+        if (cs.length() == 0 || searchChars.length == 0) {
+            return true;
         }
-        return true;
+        return !CharScanner.containsAny(cs, searchChars);
     }
 
     /**
@@ -1828,6 +1902,34 @@ public class StringUtils {
         return containsNone(cs, invalidChars.toCharArray());
     }
 
+    /**
+     * <p>Checks that the CharSequence does not contain characters matched by
+     * a compiled {@link CharMatcher}.</p>
+     *
+     * <p>A {@code null} CharSequence will return {@code true}.
+     * A {@code null} matcher will return {@code true}.
+     * An empty CharSequence (length()=0) always returns true.</p>
+     *
+     * <pre>
+     * StringUtils.containsNone(null, *)                          = true
+     * StringUtils.containsNone(*, null)                          = true
+     * StringUtils.containsNone("", *)                            = true
+     * StringUtils.containsNone("ab1", CharMatcher.anyOf("xyz"))  = true
+     * StringUtils.containsNone("abz", CharMatcher.anyOf("xyz"))  = false
+     * </pre>
+     *
+     * @param cs  the CharSequence to check, may be null
+     * @param matcher  the invalid characters, may be null
+     * @return true if it contains none of the invalid chars, or is null
+     * @since 3.2
+     */
+    public static boolean containsNone(final CharSequence cs, final CharMatcher matcher) {
+        if (cs == null || matcher == null) {
+            return true;
+        }
+        return matcher.indexIn(cs, 0) == INDEX_NOT_FOUND;
+    }
+
     // IndexOfAny strings
     //-----------------------------------------------------------------------
     /**
@@ -2524,6 +2626,7 @@ public class StringUtils {
      * @param separatorChars  the characters used as the delimiters,
      *  {@code null} splits on whitespace
      * @return an array of parsed Strings, {@code null} if null String input
+     * @see CharSequenceSplitter
      */
     public static String[] split(final String str, final String separatorChars) {
         return splitWorker(str, separatorChars, -1, false);
@@ -3463,7 +3566,7 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = new StringBuilder(joinCapacity(array, startIndex, endIndex, 1));
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
@@ -3514,7 +3617,11 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        long capacity = noOfItems - 1;
+        for (int i = startIndex; i < endIndex; i++) {
+            capacity += stringSize(array[i]);
+        }
+        final StringBuilder buf = new StringBuilder(toCapacity(capacity));
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
@@ -3563,7 +3670,11 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        long capacity = noOfItems - 1;
+        for (int i = startIndex; i < endIndex; i++) {
+            capacity += stringSize(array[i]);
+        }
+        final StringBuilder buf = new StringBuilder(toCapacity(capacity));
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
@@ -3612,7 +3723,11 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        long capacity = noOfItems - 1;
+        for (int i = startIndex; i < endIndex; i++) {
+            capacity += stringSize(array[i]);
+        }
+        final StringBuilder buf = new StringBuilder(toCapacity(capacity));
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
@@ -3661,7 +3776,11 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        long capacity = noOfItems - 1;
+        for (int i = startIndex; i < endIndex; i++) {
+            capacity += stringSize(array[i]);
+        }
+        final StringBuilder buf = new StringBuilder(toCapacity(capacity));
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
@@ -3710,7 +3829,7 @@ public class StringUtils {
         if (noOfItems <= 0) {
             return EMPTY;
         }
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = new StringBuilder(noOfItems * 2 - 1);
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
                 buf.append(separator);
@@ -3892,14 +4011,12 @@ public class StringUtils {
             separator = EMPTY;
         }
 
-        // endIndex - startIndex > 0:   Len = NofStrings *(len(firstString) + len(separator))
-        //           (Assuming that all Strings are roughly equally long)
         final int noOfItems = endIndex - startIndex;
         if (noOfItems <= 0) {
             return EMPTY;
         }
 
-        final StringBuilder buf = new StringBuilder(noOfItems * 16);
+        final StringBuilder buf = new StringBuilder(joinCapacity(array, startIndex, endIndex, separator.length()));
 
         for (int i = startIndex; i < endIndex; i++) {
             if (i > startIndex) {
@@ -4020,6 +4137,10 @@ public class StringUtils {
         if (iterable == null) {
             return null;
         }
+        if (iterable instanceof Collection<?>) {
+            // the array is sized to the elements, which gives the exact length of the result
+            return join(((Collection<?>) iterable).toArray(), separator);
+        }
         return join(iterable.iterator(), separator);
     }
 
@@ -4041,9 +4162,227 @@ public class StringUtils {
         if (iterable == null) {
             return null;
         }
+        if (iterable instanceof Collection<?>) {
+            // the array is sized to the elements, which gives the exact length of the result
+            return join(((Collection<?>) iterable).toArray(), separator);
+        }
         return join(iterable.iterator(), separator);
     }
 
+    /**
+     * <p>Appends the elements of the provided array to an {@code Appendable},
+     * separated by the provided separator, without building a String.</p>
+     *
+     * <p>No delimiter is added before or after the list. Null objects or empty
+     * strings within the array are represented by empty strings.
+     * A {@code null} array appends nothing.</p>
+     *
+     * <pre>
+     * StringUtils.joinTo(writer, ["a", "b", "c"], ';')  appends "a;b;c"
+     * StringUtils.joinTo(writer, [null, "", "a"], ';')  appends ";;a"
+     * </pre>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param array  the array of values to join together, may be null
+     * @param separator  the separator character to use
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Object[] array, final char separator)
+            throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (array != null) {
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0) {
+                    appendable.append(separator);
+                }
+                append(appendable, array[i]);
+            }
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided array to an {@code Appendable},
+     * separated by the provided separator, without building a String.</p>
+     *
+     * <p>No delimiter is added before or after the list.
+     * A {@code null} separator is the same as an empty String ("").
+     * Null objects or empty strings within the array are represented by
+     * empty strings. A {@code null} array appends nothing.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param array  the array of values to join together, may be null
+     * @param separator  the separator to use, null treated as ""
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Object[] array, final String separator)
+            throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (array != null) {
+            for (int i = 0; i < array.length; i++) {
+                if (i > 0 && separator != null) {
+                    appendable.append(separator);
+                }
+                append(appendable, array[i]);
+            }
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided {@code Iterable} to an {@code Appendable},
+     * separated by the provided separator, without building a String.</p>
+     *
+     * <p>No delimiter is added before or after the list. Null objects or empty
+     * strings within the iteration are represented by empty strings.
+     * A {@code null} Iterable appends nothing.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param iterable  the {@code Iterable} providing the values to join together, may be null
+     * @param separator  the separator character to use
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Iterable<?> iterable,
+            final char separator) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (iterable != null) {
+            boolean first = true;
+            for (final Object obj : iterable) {
+                if (!first) {
+                    appendable.append(separator);
+                }
+                first = false;
+                append(appendable, obj);
+            }
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends the elements of the provided {@code Iterable} to an {@code Appendable},
+     * separated by the provided separator, without building a String.</p>
+     *
+     * <p>No delimiter is added before or after the list.
+     * A {@code null} separator is the same as an empty String ("").
+     * A {@code null} Iterable appends nothing.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param iterable  the {@code Iterable} providing the values to join together, may be null
+     * @param separator  the separator to use, null treated as ""
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A joinTo(final A appendable, final Iterable<?> iterable,
+            final String separator) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (iterable != null) {
+            boolean first = true;
+            for (final Object obj : iterable) {
+                if (!first && separator != null) {
+                    appendable.append(separator);
+                }
+                first = false;
+                append(appendable, obj);
+            }
+        }
+        return appendable;
+    }
+
+    /**
+     * Appends an element of a join, a CharSequence as it is and any other
+     * object by its toString.
+     *
+     * @param appendable  the Appendable to append to
+     * @param obj  the element, null appends nothing
+     * @throws IOException if the Appendable throws it
+     */
+    private static void append(final Appendable appendable, final Object obj) throws IOException {
+        if (obj instanceof CharSequence) {
+            appendable.append((CharSequence) obj);
+        } else if (obj != null) {
+            appendable.append(obj.toString());
+        }
+    }
+
+    /**
+     * Computes the capacity of the buffer of a join, exact when the elements
+     * are CharSequences, which is the usual case.
+     *
+     * @param array  the array of values to join, not null
+     * @param startIndex  the first index to join
+     * @param endIndex  the index to stop joining at, exclusive, greater than the start
+     * @param separatorLength  the length of the separator
+     * @return the capacity
+     */
+    private static int joinCapacity(final Object[] array, final int startIndex, final int endIndex,
+            final int separatorLength) {
+        long capacity = (long) (endIndex - startIndex - 1) * separatorLength;
+        for (int i = startIndex; i < endIndex; i++) {
+            final Object obj = array[i];
+            if (obj instanceof CharSequence) {
+                capacity += ((CharSequence) obj).length();
+            } else if (obj != null) {
+                // a guess, the object is only converted once, when it is appended
+                capacity += 16;
+            }
+        }
+        return toCapacity(capacity);
+    }
+
+    /**
+     * Computes the number of chars of the decimal form of a long, as
+     * {@link StringBuilder#append(long)} writes it.
+     *
+     * @param value  the value
+     * @return the number of chars, with the minus sign
+     */
+    private static int stringSize(final long value) {
+        // compared as a negative value, which also holds Long.MIN_VALUE
+        final int sign = value < 0 ? 1 : 0;
+        final long negative = value < 0 ? value : -value;
+        long bound = -10;
+        for (int digits = 1; digits < 19; digits++) {
+            if (negative > bound) {
+                return digits + sign;
+            }
+            bound *= 10;
+        }
+        return 19 + sign;
+    }
+
+    /**
+     * Limits the capacity of a buffer to the greatest array size.
+     *
+     * @param capacity  the capacity needed
+     * @return the capacity to allocate
+     */
+    private static int toCapacity(final long capacity) {
+        return (int) Math.min(capacity, Integer.MAX_VALUE - 8);
+    }
+
     // Delete
     //-----------------------------------------------------------------------
     /**
@@ -4469,6 +4808,7 @@ public class StringUtils {
      * @throws IllegalArgumentException
      *             if the lengths of the arrays are not the same (null is ok,
      *             and/or size 0)
+     * @see org.apache.commons.lang3.text.StrReplacer
      * @since 2.4
      */
     public static String replaceEach(final String text, final String[] searchList, final String[] replacementList) {
@@ -5010,8 +5350,6 @@ public class StringUtils {
      *  {@code null} if null String input
      */
     public static String repeat(final String str, final int repeat) {
-        // Performance tuned for 2.0 (JDK1.4)
-
         if (str == null) {
             return null;
         }
@@ -5022,30 +5360,12 @@ public class StringUtils {
         if (repeat == 1 || inputLength == 0) {
             return str;
         }
-        if (inputLength == 1 && repeat <= PAD_LIMIT) {
+        if (inputLength == 1) {
             return repeat(str.charAt(0), repeat);
         }
-
-        final int outputLength = inputLength * repeat;
-        switch (inputLength) {
-            case 1 :
-                return repeat(str.charAt(0), repeat);
-            case 2 :
-                final char ch0 = str.charAt(0);
-                final char ch1 = str.charAt(1);
-                final char[] output2 = new char[outputLength];
-                for (int i = repeat * 2 - 2; i >= 0; i--, i--) {
-                    output2[i] = ch0;
-                    output2[i + 1] = ch1;
-                }
-                return new String(output2);
-            default :
-                final StringBuilder buf = new StringBuilder(outputLength);
-                for (int i = 0; i < repeat; i++) {
-                    buf.append(str);
-                }
-                return buf.toString();
-        }
+        final char[] buf = new char[checkLength((long) inputLength * repeat)];
+        fill(buf, 0, buf.length, str);
+        return new String(buf);
     }
 
     /**
@@ -5072,9 +5392,38 @@ public class StringUtils {
         if(str == null || separator == null) {
             return repeat(str, repeat);
         }
-        // given that repeat(String, int) is quite optimized, better to rely on it than try and splice this into it
-        final String result = repeat(str + separator, repeat);
-        return removeEnd(result, separator);
+        if (repeat <= 0) {
+            return EMPTY;
+        }
+        if (repeat == 1) {
+            return str;
+        }
+        // the result is str and separator repeated, cut before the last separator
+        final int strLength = str.length();
+        final int length = checkLength((long) (strLength + separator.length()) * repeat - separator.length());
+        if (length == 0) {
+            return EMPTY;
+        }
+        final char[] buf = new char[length];
+        str.getChars(0, strLength, buf, 0);
+        separator.getChars(0, separator.length(), buf, strLength);
+        fill(buf, 0, length, strLength + separator.length());
+        return new String(buf);
+    }
+
+    /**
+     * Checks the length of a String to build, before its buffer is allocated.
+     *
+     * @param length  the length of the String
+     * @return the length as an int
+     * @throws OutOfMemoryError if the length is greater than {@code Integer.MAX_VALUE},
+     *  as {@code String.repeat} does
+     */
+    private static int checkLength(final long length) {
+        if (length > Integer.MAX_VALUE) {
+            throw new OutOfMemoryError("Required length exceeds implementation limit");
+        }
+        return (int) length;
     }
 
     /**
@@ -5100,10 +5449,82 @@ public class StringUtils {
      * @see #repeat(String, int)
      */
     public static String repeat(final char ch, final int repeat) {
+        if (repeat <= 0) {
+            return EMPTY;
+        }
         final char[] buf = new char[repeat];
-        for (int i = repeat - 1; i >= 0; i--) {
-            buf[i] = ch;
+        Arrays.fill(buf, ch);
+        return new String(buf);
+    }
+
+    /**
+     * Fills a range of a buffer with a pattern repeated from its first char,
+     * copying the pattern once and then the filled part of the range onto the
+     * rest, doubling the copied length each time.
+     *
+     * @param buf  the buffer
+     * @param from  the start of the range
+     * @param to  the end of the range, exclusive
+     * @param pattern  the pattern, not empty
+     */
+    private static void fill(final char[] buf, final int from, final int to, final String pattern) {
+        final int length = Math.min(pattern.length(), to - from);
+        pattern.getChars(0, length, buf, from);
+        fill(buf, from, to, from + length);
+    }
+
+    /**
+     * Fills the rest of a range of a buffer with copies of its filled start,
+     * doubling the copied length each time.
+     *
+     * @param buf  the buffer
+     * @param from  the start of the range
+     * @param to  the end of the range, exclusive
+     * @param filled  the end of the filled start of the range, exclusive
+     */
+    private static void fill(final char[] buf, final int from, final int to, final int filled) {
+        int end = filled;
+        while (end < to) {
+            final int copy = Math.min(end - from, to - end);
+            System.arraycopy(buf, from, buf, end, copy);
+            end += copy;
         }
+    }
+
+    /**
+     * Pads a String with a char, in a single buffer of the padded length.
+     *
+     * @param str  the String to pad, not null
+     * @param leftPads  the number of chars to pad on the left
+     * @param rightPads  the number of chars to pad on the right
+     * @param padChar  the char to pad with
+     * @return the padded String
+     */
+    private static String pad(final String str, final int leftPads, final int rightPads, final char padChar) {
+        final int strLen = str.length();
+        final char[] buf = new char[leftPads + strLen + rightPads];
+        Arrays.fill(buf, 0, leftPads, padChar);
+        str.getChars(0, strLen, buf, leftPads);
+        Arrays.fill(buf, leftPads + strLen, buf.length, padChar);
+        return new String(buf);
+    }
+
+    /**
+     * Pads a String with a String, in a single buffer of the padded length.
+     * Each padding starts with the first char of the padding String.
+     *
+     * @param str  the String to pad, not null
+     * @param leftPads  the number of chars to pad on the left
+     * @param rightPads  the number of chars to pad on the right
+     * @param padStr  the String to pad with, not empty
+     * @return the padded String
+     */
+    private static String pad(final String str, final int leftPads, final int rightPads, final String padStr) {
+        final int strLen = str.length();
+        final char[] buf = new char[leftPads + strLen + rightPads];
+        fill(buf, 0, leftPads, padStr);
+        str.getChars(0, strLen, buf, leftPads);
+        fill(buf, leftPads + strLen, buf.length, padStr);
         return new String(buf);
     }
 
@@ -5159,10 +5580,7 @@ public class StringUtils {
         if (pads <= 0) {
             return str; // returns original String when possible
         }
-        if (pads > PAD_LIMIT) {
-            return rightPad(str, size, String.valueOf(padChar));
-        }
-        return str.concat(repeat(padChar, pads));
+        return pad(str, 0, pads, padChar);
     }
 
     /**
@@ -5201,22 +5619,10 @@ public class StringUtils {
         if (pads <= 0) {
             return str; // returns original String when possible
         }
-        if (padLen == 1 && pads <= PAD_LIMIT) {
-            return rightPad(str, size, padStr.charAt(0));
-        }
-
-        if (pads == padLen) {
-            return str.concat(padStr);
-        } else if (pads < padLen) {
-            return str.concat(padStr.substring(0, pads));
-        } else {
-            final char[] padding = new char[pads];
-            final char[] padChars = padStr.toCharArray();
-            for (int i = 0; i < pads; i++) {
-                padding[i] = padChars[i % padLen];
-            }
-            return str.concat(new String(padding));
+        if (padLen == 1) {
+            return pad(str, 0, pads, padStr.charAt(0));
         }
+        return pad(str, 0, pads, padStr);
     }
 
     /**
@@ -5271,10 +5677,7 @@ public class StringUtils {
         if (pads <= 0) {
             return str; // returns original String when possible
         }
-        if (pads > PAD_LIMIT) {
-            return leftPad(str, size, String.valueOf(padChar));
-        }
-        return repeat(padChar, pads).concat(str);
+        return pad(str, pads, 0, padChar);
     }
 
     /**
@@ -5313,22 +5716,10 @@ public class StringUtils {
         if (pads <= 0) {
             return str; // returns original String when possible
         }
-        if (padLen == 1 && pads <= PAD_LIMIT) {
-            return leftPad(str, size, padStr.charAt(0));
-        }
-
-        if (pads == padLen) {
-            return padStr.concat(str);
-        } else if (pads < padLen) {
-            return padStr.substring(0, pads).concat(str);
-        } else {
-            final char[] padding = new char[pads];
-            final char[] padChars = padStr.toCharArray();
-            for (int i = 0; i < pads; i++) {
-                padding[i] = padChars[i % padLen];
-            }
-            return new String(padding).concat(str);
+        if (padLen == 1) {
+            return pad(str, pads, 0, padStr.charAt(0));
         }
+        return pad(str, pads, 0, padStr);
     }
 
     /**
@@ -5399,18 +5790,15 @@ public class StringUtils {
      * @return centered String, {@code null} if null String input
      * @since 2.0
      */
-    public static String center(String str, final int size, final char padChar) {
+    public static String center(final String str, final int size, final char padChar) {
         if (str == null || size <= 0) {
             return str;
         }
-        final int strLen = str.length();
-        final int pads = size - strLen;
+        final int pads = size - str.length();
         if (pads <= 0) {
             return str;
         }
-        str = leftPad(str, strLen + pads / 2, padChar);
-        str = rightPad(str, size, padChar);
-        return str;
+        return pad(str, pads / 2, pads - pads / 2, padChar);
     }
 
     /**
@@ -5439,21 +5827,311 @@ public class StringUtils {
      * @return centered String, {@code null} if null String input
      * @throws IllegalArgumentException if padStr is {@code null} or empty
      */
-    public static String center(String str, final int size, String padStr) {
+    public static String center(final String str, final int size, String padStr) {
         if (str == null || size <= 0) {
             return str;
         }
         if (isEmpty(padStr)) {
             padStr = SPACE;
         }
-        final int strLen = str.length();
-        final int pads = size - strLen;
+        final int pads = size - str.length();
         if (pads <= 0) {
             return str;
         }
-        str = leftPad(str, strLen + pads / 2, padStr);
-        str = rightPad(str, size, padStr);
-        return str;
+        if (padStr.length() == 1) {
+            return pad(str, pads / 2, pads - pads / 2, padStr.charAt(0));
+        }
+        return pad(str, pads / 2, pads - pads / 2, padStr);
+    }
+
+    // Padding to an Appendable
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Appends a char {@code repeat} times to an {@code Appendable},
+     * without building a String.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param ch  the char to repeat
+     * @param repeat  number of times to repeat the char, negative treated as zero
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @see #repeat(char, int)
+     * @since 3.2
+     */
+    public static <A extends Appendable> A repeatTo(final A appendable, final char ch, final int repeat)
+            throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        appendPadding(appendable, ch, repeat);
+        return appendable;
+    }
+
+    /**
+     * <p>Appends a CharSequence {@code repeat} times to an {@code Appendable},
+     * without building a String. A {@code null} CharSequence appends nothing.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param str  the CharSequence to repeat, may be null
+     * @param repeat  number of times to repeat str, negative treated as zero
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @see #repeat(String, int)
+     * @since 3.2
+     */
+    public static <A extends Appendable> A repeatTo(final A appendable, final CharSequence str, final int repeat)
+            throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (str != null) {
+            for (int i = 0; i < repeat; i++) {
+                appendable.append(str);
+            }
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends a CharSequence left padded with a char to an {@code Appendable},
+     * without building a String.</p>
+     *
+     * <p>Appends the same chars as {@link #leftPad(String, int, char)} returns.
+     * A {@code null} CharSequence appends nothing.</p>
+     *
+     * <pre>
+     * StringUtils.leftPadTo(writer, "bat", 5, 'z')  appends "zzbat"
+     * StringUtils.leftPadTo(writer, "bat", 1, 'z')  appends "bat"
+     * </pre>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param str  the CharSequence to pad out, may be null
+     * @param size  the size to pad to
+     * @param padChar  the character to pad with
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A leftPadTo(final A appendable, final CharSequence str, final int size,
+            final char padChar) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (str != null) {
+            appendPadding(appendable, padChar, size - str.length());
+            appendable.append(str);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends a CharSequence left padded with a String to an {@code Appendable},
+     * without building a String.</p>
+     *
+     * <p>Appends the same chars as {@link #leftPad(String, int, String)} returns.
+     * A {@code null} CharSequence appends nothing.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param str  the CharSequence to pad out, may be null
+     * @param size  the size to pad to
+     * @param padStr  the String to pad with, null or empty treated as single space
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A leftPadTo(final A appendable, final CharSequence str, final int size,
+            final String padStr) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (str != null) {
+            appendPadding(appendable, padStr, size - str.length());
+            appendable.append(str);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends a CharSequence right padded with a char to an {@code Appendable},
+     * without building a String.</p>
+     *
+     * <p>Appends the same chars as {@link #rightPad(String, int, char)} returns.
+     * A {@code null} CharSequence appends nothing.</p>
+     *
+     * <pre>
+     * StringUtils.rightPadTo(writer, "bat", 5, 'z')  appends "batzz"
+     * StringUtils.rightPadTo(writer, "bat", 1, 'z')  appends "bat"
+     * </pre>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param str  the CharSequence to pad out, may be null
+     * @param size  the size to pad to
+     * @param padChar  the character to pad with
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A rightPadTo(final A appendable, final CharSequence str, final int size,
+            final char padChar) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (str != null) {
+            appendable.append(str);
+            appendPadding(appendable, padChar, size - str.length());
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends a CharSequence right padded with a String to an {@code Appendable},
+     * without building a String.</p>
+     *
+     * <p>Appends the same chars as {@link #rightPad(String, int, String)} returns.
+     * A {@code null} CharSequence appends nothing.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param str  the CharSequence to pad out, may be null
+     * @param size  the size to pad to
+     * @param padStr  the String to pad with, null or empty treated as single space
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A rightPadTo(final A appendable, final CharSequence str, final int size,
+            final String padStr) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (str != null) {
+            appendable.append(str);
+            appendPadding(appendable, padStr, size - str.length());
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends a CharSequence centered with a char to an {@code Appendable},
+     * without building a String.</p>
+     *
+     * <p>Appends the same chars as {@link #center(String, int, char)} returns.
+     * A {@code null} CharSequence appends nothing.</p>
+     *
+     * <pre>
+     * StringUtils.centerTo(writer, "a", 4, 'y')   appends "yayy"
+     * StringUtils.centerTo(writer, "abcd", 2, 'y') appends "abcd"
+     * </pre>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param str  the CharSequence to center, may be null
+     * @param size  the size to center in
+     * @param padChar  the character to pad with
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A centerTo(final A appendable, final CharSequence str, final int size,
+            final char padChar) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (str != null) {
+            final int pads = size - str.length();
+            appendPadding(appendable, padChar, pads / 2);
+            appendable.append(str);
+            appendPadding(appendable, padChar, pads - pads / 2);
+        }
+        return appendable;
+    }
+
+    /**
+     * <p>Appends a CharSequence centered with a String to an {@code Appendable},
+     * without building a String.</p>
+     *
+     * <p>Appends the same chars as {@link #center(String, int, String)} returns.
+     * A {@code null} CharSequence appends nothing.</p>
+     *
+     * @param <A> the type of the Appendable
+     * @param appendable  the Appendable to append to, not null
+     * @param str  the CharSequence to center, may be null
+     * @param size  the size to center in
+     * @param padStr  the String to pad with, null or empty treated as single space
+     * @return the Appendable
+     * @throws IllegalArgumentException if the Appendable is {@code null}
+     * @throws IOException if the Appendable throws it
+     * @since 3.2
+     */
+    public static <A extends Appendable> A centerTo(final A appendable, final CharSequence str, final int size,
+            final String padStr) throws IOException {
+        if (appendable == null) {
+            throw new IllegalArgumentException("Appendable must not be null");
+        }
+        if (str != null) {
+            final int pads = size - str.length();
+            appendPadding(appendable, padStr, pads / 2);
+            appendable.append(str);
+            appendPadding(appendable, padStr, pads - pads / 2);
+        }
+        return appendable;
+    }
+
+    /**
+     * Appends a char a number of times, spaces in chunks of a constant.
+     *
+     * @param appendable  the Appendable to append to
+     * @param padChar  the char to append
+     * @param pads  the number of chars, zero or negative appends nothing
+     * @throws IOException if the Appendable throws it
+     */
+    private static void appendPadding(final Appendable appendable, final char padChar, final int pads)
+            throws IOException {
+        if (padChar == ' ') {
+            for (int i = 0; i < pads; i += SPACES.length()) {
+                appendable.append(SPACES, 0, Math.min(SPACES.length(), pads - i));
+            }
+        } else {
+            for (int i = 0; i < pads; i++) {
+                appendable.append(padChar);
+            }
+        }
+    }
+
+    /**
+     * Appends a padding String repeated to a number of chars, starting
+     * with its first char.
+     *
+     * @param appendable  the Appendable to append to
+     * @param padStr  the String to pad with, null or empty treated as single space
+     * @param pads  the number of chars, zero or negative appends nothing
+     * @throws IOException if the Appendable throws it
+     */
+    private static void appendPadding(final Appendable appendable, final String padStr, final int pads)
+            throws IOException {
+        if (isEmpty(padStr) || padStr.length() == 1) {
+            appendPadding(appendable, isEmpty(padStr) ? ' ' : padStr.charAt(0), pads);
+            return;
+        }
+        final int padLen = padStr.length();
+        for (int i = padLen; i <= pads; i += padLen) {
+            appendable.append(padStr);
+        }
+        if (pads > 0) {
+            appendable.append(padStr, 0, pads % padLen);
+        }
     }
 
     // Case conversion
@@ -5884,13 +6562,7 @@ public class StringUtils {
         if (cs == null) {
             return false;
         }
-        final int sz = cs.length();
-        for (int i = 0; i < sz; i++) {
-            if (CharUtils.isAsciiPrintable(cs.charAt(i)) == false) {
-                return false;
-            }
-        }
-        return true;
+        return CharScanner.isAsciiPrintable(cs);
     }
 
     /**
@@ -6628,6 +7300,7 @@ public class StringUtils {
      * @param t  the second String, must not be null
      * @return result distance
      * @throws IllegalArgumentException if either String input {@code null}
+     * @see LevenshteinPattern
      * @since 3.0 Changed signature from getLevenshteinDistance(String, String) to
      * getLevenshteinDistance(CharSequence, CharSequence)
      */
@@ -6671,6 +7344,11 @@ public class StringUtils {
             m = t.length();
         }
 
+        if (n <= LevenshteinPattern.BLOCK_SIZE) {
+            // the bit-parallel algorithm computes a column of the table at once
+            return new LevenshteinPattern(s).distance(t);
+        }
+
         int p[] = new int[n + 1]; //'previous' cost array, horizontally
         int d[] = new int[n + 1]; // cost array, horizontally
         int _d[]; //placeholder to assist in swapping p and d
@@ -6739,6 +7417,7 @@ public class StringUtils {
      * @param threshold the target threshold, must not be negative
      * @return result distance, or {@code -1} if the distance would be greater than the threshold
      * @throws IllegalArgumentException if either String input {@code null} or negative threshold
+     * @see LevenshteinPattern
      */
     public static int getLevenshteinDistance(CharSequence s, CharSequence t, final int threshold) {
         if (s == null || t == null) {
@@ -6811,6 +7490,11 @@ public class StringUtils {
             m = t.length();
         }
 
+        if (n <= LevenshteinPattern.BLOCK_SIZE) {
+            // the bit-parallel algorithm computes a column of the table at once
+            return new LevenshteinPattern(s).distance(t, threshold);
+        }
+
         int p[] = new int[n + 1]; // 'previous' cost array, horizontally
         int d[] = new int[n + 1]; // cost array, horizontally
         int _d[]; // placeholder to assist in swapping p and d
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import java.util.Arrays;
+
+/**
+ * <p>A substring compiled to find it in many texts, with or without case sensitivity.</p>
+ *
+ * <p>This implementation is the Boyer-Moore-Horspool algorithm. The searcher
+ * compares the last char of the pattern with the char of the text under it and,
+ * on a mismatch or after a comparison of the whole window, shifts the pattern by
+ * the distance from the end of the pattern to the last other occurrence of that
+ * text char. With a pattern of length m, most windows cost a single comparison
+ * and the pattern moves by up to m chars at a time, so long patterns are found
+ * in a fraction of the comparisons of a char by char scan. The shift table is
+ * computed once, by the constructor, and reused for every text:</p>
+ *
+ * <pre>
+ * final SubstringSearcher searcher = new SubstringSearcher("connection reset by peer", true);
+ * for (final CharSequence line : log) {
+ *     if (searcher.indexIn(line) >= 0) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>The case insensitive search compares chars as {@link String#regionMatches(boolean, int, String, int, int)}
+ * does, char by char: two chars are equal when they have the same lower case form
+ * of their upper case form.</p>
+ *
+ * <p>The shift table holds 256 ints, indexed by the low byte of a char, so chars with
+ * the same low byte share the shortest shift. The search takes a time proportional
+ * to the length of the text divided by the length of the pattern in the usual case,
+ * and to the product of the lengths in the worst.</p>
+ *
+ * <p>#ThreadSafe#</p>
+ * @since 3.2
+ * @version $Id$
+ */
+public final class SubstringSearcher {
+
+    /**
+     * The number of entries of the shift table, indexed by the low byte of a char.
+     */
+    private static final int TABLE_SIZE = 256;
+
+    /**
+     * The pattern.
+     */
+    private final String pattern;
+    /**
+     * The chars of the pattern, folded to lower case forms for a case insensitive search.
+     */
+    private final char[] chars;
+    /**
+     * Whether the search ignores case.
+     */
+    private final boolean ignoreCase;
+    /**
+     * The shift of the pattern for each low byte of the text char under its last char.
+     */
+    private final int[] shifts;
+
+    /**
+     * <p>Compiles a case sensitive pattern.</p>
+     *
+     * @param pattern  the substring to search for, not null
+     * @throws IllegalArgumentException if the pattern is {@code null}
+     */
+    public SubstringSearcher(final CharSequence pattern) {
+        this(pattern, false);
+    }
+
+    /**
+     * <p>Compiles a pattern.</p>
+     *
+     * @param pattern  the substring to search for, not null
+     * @param ignoreCase  whether to ignore case
+     * @throws IllegalArgumentException if the pattern is {@code null}
+     */
+    public SubstringSearcher(final CharSequence pattern, final boolean ignoreCase) {
+        if (pattern == null) {
+            throw new IllegalArgumentException("Pattern must not be null");
+        }
+        this.pattern = pattern.toString();
+        this.ignoreCase = ignoreCase;
+        final int len = pattern.length();
+        chars = new char[len];
+        for (int i = 0; i < len; i++) {
+            final char c = pattern.charAt(i);
+            chars[i] = ignoreCase ? fold(c) : c;
+        }
+        shifts = new int[TABLE_SIZE];
+        Arrays.fill(shifts, Math.max(len, 1));
+        // the last char does not count, a shift of zero would never move
+        for (int i = 0; i < len - 1; i++) {
+            shifts[chars[i] & TABLE_SIZE - 1] = len - 1 - i;
+        }
+    }
+
+    /**
+     * Folds a char to the form which compares case insensitively, the lower case
+     * of its upper case, as {@link String#regionMatches(boolean, int, String, int, int)}.
+     *
+     * @param c  the char
+     * @return the folded char
+     */
+    static char fold(final char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Gets the pattern.</p>
+     *
+     * @return the pattern, not null
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * <p>Checks whether the search ignores case.</p>
+     *
+     * @return true if the search ignores case
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * <p>Gets the length of the pattern.</p>
+     *
+     * @return the number of chars of the pattern
+     */
+    public int length() {
+        return chars.length;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Finds the first occurrence of the pattern in a text.</p>
+     *
+     * <pre>
+     * new SubstringSearcher("ab").indexIn(null)         = -1
+     * new SubstringSearcher("ab").indexIn("")           = -1
+     * new SubstringSearcher("").indexIn("abc")          = 0
+     * new SubstringSearcher("ab").indexIn("aabaabaa")   = 1
+     * new SubstringSearcher("AB", true).indexIn("aabb") = 1
+     * </pre>
+     *
+     * @param text  the text to search, may be null
+     * @return the index of the first occurrence, -1 if there is none or null input
+     */
+    public int indexIn(final CharSequence text) {
+        return indexIn(text, 0);
+    }
+
+    /**
+     * <p>Finds the first occurrence of the pattern in a text, starting at an index,
+     * as {@link String#indexOf(String, int)}.</p>
+     *
+     * <p>A negative start index is treated as zero. An empty pattern is found at the
+     * start index, or at the end of the text if the start index is greater.</p>
+     *
+     * @param text  the text to search, may be null
+     * @param from  the index to start at
+     * @return the index of the first occurrence, -1 if there is none or null input
+     */
+    public int indexIn(final CharSequence text, final int from) {
+        if (text == null) {
+            return StringUtils.INDEX_NOT_FOUND;
+        }
+        return indexIn(text, Math.max(from, 0), text.length());
+    }
+
+    /**
+     * Finds the first occurrence of the pattern within a range of a text.
+     *
+     * @param text  the text to search, not null
+     * @param start  the index to start at, not negative
+     * @param len  the index the occurrence must end by, not greater than the length of the text
+     * @return the index of the first occurrence, -1 if there is none
+     */
+    int indexIn(final CharSequence text, final int start, final int len) {
+        if (chars.length == 0) {
+            return Math.min(start, len);
+        }
+        if (ignoreCase) {
+            return indexInIgnoreCase(text, start, len);
+        }
+        final int last = chars.length - 1;
+        final char lastChar = chars[last];
+        final int end = len - last;
+        for (int i = start; i < end; ) {
+            final char c = text.charAt(i + last);
+            if (c == lastChar) {
+                int j = last - 1;
+                while (j >= 0 && text.charAt(i + j) == chars[j]) {
+                    j--;
+                }
+                if (j < 0) {
+                    return i;
+                }
+            }
+            i += shifts[c & TABLE_SIZE - 1];
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    /**
+     * Finds the first occurrence of the pattern ignoring case.
+     *
+     * @param text  the text to search, not null
+     * @param start  the index to start at, not negative
+     * @param len  the index the occurrence must end by
+     * @return the index of the first occurrence, -1 if there is none
+     */
+    private int indexInIgnoreCase(final CharSequence text, final int start, final int len) {
+        final int last = chars.length - 1;
+        final char lastChar = chars[last];
+        final int end = len - last;
+        for (int i = start; i < end; ) {
+            final char c = fold(text.charAt(i + last));
+            if (c == lastChar) {
+                int j = last - 1;
+                while (j >= 0 && fold(text.charAt(i + j)) == chars[j]) {
+                    j--;
+                }
+                if (j < 0) {
+                    return i;
+                }
+            }
+            i += shifts[c & TABLE_SIZE - 1];
+        }
+        return StringUtils.INDEX_NOT_FOUND;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Checks whether the pattern occurs in a text.</p>
+     *
+     * @param text  the text to search, may be null
+     * @return true if the pattern is found, false for null input
+     */
+    public boolean isFoundIn(final CharSequence text) {
+        return indexIn(text, 0) >= 0;
+    }
+
+    /**
+     * <p>Gets the pattern with its case sensitivity, for debugging.</p>
+     *
+     * @return the pattern, followed by a marker if the search ignores case
+     */
+    @Override
+    public String toString() {
+        return ignoreCase ? pattern + " (ignore case)" : pattern;
+    }
+
+}
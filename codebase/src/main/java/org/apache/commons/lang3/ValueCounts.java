@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+/**
+ * <p>Counts the values to remove from a primitive array, without boxing them.</p>
+ *
+ * <p>The values are kept as longs in an open addressing hash table with linear probing,
+ * at most half full, next to the number of occurrences still to remove. Integral values
+ * are widened to longs. Floating point values are compared with {@code ==}, as the
+ * {@code ArrayUtils.indexOf} methods do: zero and negative zero share a key and
+ * {@code NaN} is never counted.</p>
+ *
+ * <p>This class serves the {@code ArrayUtils.removeElements} methods, which remove the
+ * first occurrences of each value in a single pass over the array.</p>
+ *
+ * @since 3.2
+ * @version $Id$
+ */
+final class ValueCounts {
+
+    /**
+     * The values, in the slots marked as used.
+     */
+    private final long[] keys;
+    /**
+     * The occurrences of each value still to remove.
+     */
+    private final int[] counts;
+    /**
+     * Whether each slot holds a value.
+     */
+    private final boolean[] used;
+    /**
+     * The mask of a slot index.
+     */
+    private final int mask;
+    /**
+     * The occurrences of all values still to remove.
+     */
+    private int remaining;
+
+    /**
+     * Creates an empty table.
+     *
+     * @param expected  the number of values to add
+     */
+    ValueCounts(final int expected) {
+        int capacity = 4;
+        while (capacity < expected * 2L && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        counts = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Counts one more occurrence of a value.
+     *
+     * @param value  the value
+     */
+    void add(final long value) {
+        int slot = slot(value);
+        while (used[slot]) {
+            if (keys[slot] == value) {
+                counts[slot]++;
+                remaining++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = value;
+        counts[slot] = 1;
+        remaining++;
+    }
+
+    /**
+     * Counts one more occurrence of a floating point value.
+     *
+     * @param value  the value, {@code NaN} is ignored
+     */
+    void add(final double value) {
+        if (value == value) {
+            add(key(value));
+        }
+    }
+
+    /**
+     * Takes one occurrence of a value, if any is left.
+     *
+     * @param value  the value
+     * @return true if an occurrence was left, which is now removed from the count
+     */
+    boolean take(final long value) {
+        int slot = slot(value);
+        while (used[slot]) {
+            if (keys[slot] == value) {
+                if (counts[slot] == 0) {
+                    return false;
+                }
+                counts[slot]--;
+                remaining--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Takes one occurrence of a floating point value, if any is left.
+     *
+     * @param value  the value
+     * @return true if an occurrence was left, which is now removed from the count
+     */
+    boolean take(final double value) {
+        return value == value && take(key(value));
+    }
+
+    /**
+     * Checks whether any occurrence is left to take.
+     *
+     * @return true if a value is left
+     */
+    boolean hasRemaining() {
+        return remaining > 0;
+    }
+
+    /**
+     * Gets the first slot of a value.
+     *
+     * @param value  the value
+     * @return the slot index
+     */
+    private int slot(final long value) {
+        final int hash = (int) (value ^ (value >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Gets the key of a floating point value, equal for the values which are {@code ==}.
+     *
+     * @param value  the value, not {@code NaN}
+     * @return the key
+     */
+    private static long key(final double value) {
+        return value == 0.0 ? 0L : Double.doubleToLongBits(value);
+    }
+
+}
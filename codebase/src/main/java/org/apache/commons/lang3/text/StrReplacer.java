@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Replaces all the occurrences of a list of search strings in a single pass,
+ * with the same results as {@link StringUtils#replaceEach(String, String[], String[])}.
+ * <p>
+ * The search strings are compiled once into an Aho-Corasick automaton, so
+ * replacing takes time linear in the length of the text, whatever the number
+ * of search strings. This makes a difference over replaceEach, which searches
+ * the text again for every search string after each replacement.
+ * <p>
+ * As with replaceEach, the replaced occurrence is the one which starts first,
+ * and of those starting at the same index the one which comes first in the
+ * search list. Search strings which are null or empty, and those with a null
+ * replacement, are ignored. Replacements are not searched again, unless
+ * {@link #replaceRepeatedly(String)} is used.
+ * <p>
+ * This class is immutable and thread-safe.
+ *
+ * @since 3.2
+ * @version $Id$
+ */
+public final class StrReplacer {
+
+    /**
+     * The number of entries in the search list.
+     */
+    private final int listLength;
+    /**
+     * The edges of node n are at firstEdge[n] to firstEdge[n + 1] in edgeChars
+     * and edgeTargets, sorted by char. Node 0 is the root.
+     */
+    private final int[] firstEdge;
+    /**
+     * The chars of the edges.
+     */
+    private final char[] edgeChars;
+    /**
+     * The nodes the edges lead to.
+     */
+    private final int[] edgeTargets;
+    /**
+     * The node of the longest proper suffix of each node which is a node too.
+     */
+    private final int[] fail;
+    /**
+     * The length of the string of each node.
+     */
+    private final int[] depth;
+    /**
+     * The index in the search list of the longest search string which is a
+     * suffix of each node, -1 if there is none.
+     */
+    private final int[] matchIndex;
+    /**
+     * The length of that search string.
+     */
+    private final int[] matchLength;
+    /**
+     * The replacement strings, indexed as the search list.
+     */
+    private final String[] replacements;
+    /**
+     * The size to add to the buffer for replacements longer than what they replace.
+     */
+    private final int increase;
+
+    /**
+     * Compiles a list of search strings.
+     * <p>
+     * A {@code null} or empty list gives a replacer which changes nothing.
+     *
+     * @param searchList  the Strings to search for, may be null
+     * @param replacementList  the Strings to replace them with, may be null
+     * @throws IllegalArgumentException if the lengths of the arrays are not
+     *  the same (null is ok, and/or size 0)
+     */
+    public StrReplacer(final String[] searchList, final String[] replacementList) {
+        final Node root = new Node();
+        int _increase = 0;
+        if (searchList == null || searchList.length == 0 || replacementList == null || replacementList.length == 0) {
+            listLength = 0;
+            replacements = new String[0];
+        } else {
+            if (searchList.length != replacementList.length) {
+                throw new IllegalArgumentException("Search and Replace array lengths don't match: "
+                    + searchList.length
+                    + " vs "
+                    + replacementList.length);
+            }
+            listLength = searchList.length;
+            replacements = replacementList.clone();
+            for (int i = 0; i < listLength; i++) {
+                if (searchList[i] == null || replacementList[i] == null) {
+                    continue;
+                }
+                final int greater = replacementList[i].length() - searchList[i].length();
+                if (greater > 0) {
+                    _increase += 3 * greater; // assume 3 matches
+                }
+                if (!searchList[i].isEmpty()) {
+                    root.add(searchList[i], i);
+                }
+            }
+        }
+        increase = _increase;
+
+        // number the nodes breadth first, so the children of a node are consecutive
+        // and a suffix of a node comes before it
+        final List<Node> nodes = new ArrayList<Node>();
+        nodes.add(root);
+        int edgeCount = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            final Node node = nodes.get(n);
+            for (final Node child : node.children.values()) {
+                child.depth = node.depth + 1;
+                nodes.add(child);
+            }
+            edgeCount += node.children.size();
+        }
+        final int size = nodes.size();
+        firstEdge = new int[size + 1];
+        edgeChars = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        fail = new int[size];
+        depth = new int[size];
+        matchIndex = new int[size];
+        matchLength = new int[size];
+        int edge = 0;
+        int target = 1;
+        for (int n = 0; n < size; n++) {
+            final Node node = nodes.get(n);
+            depth[n] = node.depth;
+            firstEdge[n] = edge;
+            for (final Character c : node.children.keySet()) {
+                edgeChars[edge] = c.charValue();
+                edgeTargets[edge++] = target++;
+            }
+        }
+        firstEdge[size] = edge;
+
+        // the failure links and matches, breadth first
+        matchIndex[0] = -1;
+        for (int n = 0; n < size; n++) {
+            for (int e = firstEdge[n]; e < firstEdge[n + 1]; e++) {
+                final int child = edgeTargets[e];
+                fail[child] = n == 0 ? 0 : next(fail[n], edgeChars[e]);
+                final int index = nodes.get(child).index;
+                if (index >= 0) {
+                    matchIndex[child] = index;
+                    matchLength[child] = depth[child];
+                } else {
+                    matchIndex[child] = matchIndex[fail[child]];
+                    matchLength[child] = matchLength[fail[child]];
+                }
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * Replaces all the occurrences of the search strings, without searching
+     * the replacements again.
+     * <p>
+     * The result is the same as that of
+     * {@link StringUtils#replaceEach(String, String[], String[])}.
+     *
+     * @param text  text to search and replace in, no-op if null
+     * @return the text with any replacements processed, {@code null} if
+     *  null String input
+     */
+    public String replace(final String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        return replaceOnce(text);
+    }
+
+    /**
+     * Replaces all the occurrences of the search strings, and then those in
+     * the result, until there is none left.
+     * <p>
+     * The result is the same as that of
+     * {@link StringUtils#replaceEachRepeatedly(String, String[], String[])}.
+     *
+     * @param text  text to search and replace in, no-op if null
+     * @return the text with any replacements processed, {@code null} if
+     *  null String input
+     * @throws IllegalStateException if there is an endless loop due
+     *  to outputs of one being inputs to another
+     */
+    public String replaceRepeatedly(final String text) {
+        if (listLength == 0) {
+            return text;
+        }
+        String result = text;
+        for (int timeToLive = listLength; result != null && !result.isEmpty(); timeToLive--) {
+            if (timeToLive < 0) {
+                throw new IllegalStateException("Aborting to protect against StackOverflowError - " +
+                                                "output of one loop is the input of another");
+            }
+            final String replaced = replaceOnce(result);
+            if (replaced == result) {
+                break;
+            }
+            result = replaced;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces all the occurrences of the search strings in a single pass.
+     *
+     * @param text  text to search and replace in, not empty
+     * @return the text with the replacements, the same instance if there is none
+     */
+    private String replaceOnce(final String text) {
+        final int len = text.length();
+        StringBuilder buf = null;
+        // the end of the last replacement
+        int start = 0;
+        // the best occurrence found so far
+        int foundStart = -1;
+        int foundIndex = -1;
+        int foundLength = 0;
+        int state = 0;
+        int pos = 0;
+        while (true) {
+            if (pos < len) {
+                state = next(state, text.charAt(pos++));
+                final int index = matchIndex[state];
+                if (index >= 0) {
+                    final int matchStart = pos - matchLength[state];
+                    if (foundIndex < 0 || matchStart < foundStart || matchStart == foundStart && index < foundIndex) {
+                        foundStart = matchStart;
+                        foundIndex = index;
+                        foundLength = matchLength[state];
+                    }
+                }
+                // an occurrence found later cannot start before pos - depth[state]
+                if (foundIndex < 0 || foundStart >= pos - depth[state]) {
+                    continue;
+                }
+            } else if (foundIndex < 0) {
+                break;
+            }
+            if (buf == null) {
+                buf = new StringBuilder(len + Math.min(increase, len / 5));
+            }
+            buf.append(text, start, foundStart).append(replacements[foundIndex]);
+            // search again from the end of the occurrence
+            start = foundStart + foundLength;
+            pos = start;
+            state = 0;
+            foundIndex = -1;
+        }
+        if (buf == null) {
+            return text;
+        }
+        return buf.append(text, start, len).toString();
+    }
+
+    /**
+     * Follows the edge of a node for a char, or failing that the edges of its suffixes.
+     *
+     * @param node  the node
+     * @param c  the char
+     * @return the next node
+     */
+    private int next(final int node, final char c) {
+        int n = node;
+        while (true) {
+            final int target = edge(n, c);
+            if (target >= 0) {
+                return target;
+            }
+            if (n == 0) {
+                return 0;
+            }
+            n = fail[n];
+        }
+    }
+
+    /**
+     * Finds the edge of a node for a char.
+     *
+     * @param node  the node
+     * @param c  the char
+     * @return the node the edge leads to, -1 if there is none
+     */
+    private int edge(final int node, final char c) {
+        int low = firstEdge[node];
+        int high = firstEdge[node + 1] - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * A node of the trie while it is built.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<Character, Node>();
+        private int index = -1;
+        private int depth;
+
+        /**
+         * Adds a search string, unless it is already in the trie.
+         *
+         * @param search  the search string
+         * @param searchIndex  its index in the search list
+         */
+        void add(final String search, final int searchIndex) {
+            Node node = this;
+            for (int i = 0; i < search.length(); i++) {
+                final Character c = Character.valueOf(search.charAt(i));
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            if (node.index < 0) {
+                // the first of equal search strings wins
+                node.index = searchIndex;
+            }
+        }
+    }
+
+}
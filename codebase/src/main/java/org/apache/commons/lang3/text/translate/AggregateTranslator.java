@@ -18,13 +18,17 @@ package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
-
-import org.apache.commons.lang3.ArrayUtils;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Executes a sequence of translators one after the other. Execution ends whenever 
  * the first translator consumes codepoints from the input.
  * 
+ * <p>Consecutive {@link LookupTranslator}s are merged into one, so that their
+ * tables are searched in a single scan.</p>
+ * 
  * @since 3.0
  * @version $Id$
  */
@@ -38,7 +42,79 @@ public class AggregateTranslator extends CharSequenceTranslator {
      * @param translators CharSequenceTranslator array to aggregate
      */
     public AggregateTranslator(final CharSequenceTranslator... translators) {
-        this.translators = ArrayUtils.clone(translators);
+        this.translators = translators == null ? null : mergeLookups(translators);
+    }
+
+    /**
+     * Merges each run of consecutive lookup translators into one.
+     *
+     * @param translators CharSequenceTranslator array to aggregate
+     * @return the translators with the lookup translators merged
+     */
+    private static CharSequenceTranslator[] mergeLookups(final CharSequenceTranslator[] translators) {
+        final List<CharSequenceTranslator> merged = new ArrayList<CharSequenceTranslator>(translators.length);
+        final List<LookupTranslator> run = new ArrayList<LookupTranslator>();
+        for (final CharSequenceTranslator translator : translators) {
+            // a subclass may translate differently, so only merge plain lookups
+            if (translator != null && translator.getClass() == LookupTranslator.class) {
+                run.add((LookupTranslator) translator);
+                continue;
+            }
+            addRun(merged, run);
+            merged.add(translator);
+        }
+        addRun(merged, run);
+        return merged.toArray(new CharSequenceTranslator[merged.size()]);
+    }
+
+    /**
+     * Adds a run of lookup translators, merged if there are several, and clears it.
+     *
+     * @param merged the list to add to
+     * @param run the lookup translators to merge
+     */
+    private static void addRun(final List<CharSequenceTranslator> merged, final List<LookupTranslator> run) {
+        if (run.size() == 1) {
+            merged.add(run.get(0));
+        } else if (run.size() > 1) {
+            merged.add(LookupTranslator.merge(run));
+        }
+        run.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean addTriggers(final BitSet chars) {
+        if (getClass() != AggregateTranslator.class || translators == null) {
+            return false;
+        }
+        for (final CharSequenceTranslator translator : translators) {
+            if (translator == null || !translator.addTriggers(chars)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int getLookahead() {
+        if (getClass() != AggregateTranslator.class || translators == null) {
+            return -1;
+        }
+        int lookahead = 0;
+        for (final CharSequenceTranslator translator : translators) {
+            final int translatorLookahead = translator == null ? -1 : translator.getLookahead();
+            if (translatorLookahead < 0) {
+                return -1;
+            }
+            lookahead = Math.max(lookahead, translatorLookahead);
+        }
+        return lookahead;
     }
 
     /**
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A set of chars, held as a bitmap, at which a translator may consume input.
+ * 
+ * <p>Surrogates are either all members or none, so that a scan never stops
+ * inside a surrogate pair which the translator would have consumed whole.</p>
+ *
+ * @since 3.2
+ * @version $Id$
+ */
+final class CharClass {
+
+    /**
+     * The class of all chars, for a translator which may consume input anywhere.
+     */
+    static final CharClass ANY = new CharClass(new long[0], true);
+
+    // bits[c >> 6] holds c for the chars below bits.length * 64
+    private final long[] bits;
+    // whether the chars from bits.length * 64 on are members
+    private final boolean above;
+
+    /**
+     * Constructs an instance of <code>CharClass</code>.
+     *
+     * @param bits the bitmap
+     * @param above whether the chars beyond the bitmap are members
+     */
+    private CharClass(final long[] bits, final boolean above) {
+        this.bits = bits;
+        this.above = above;
+    }
+
+    /**
+     * Compiles a set of chars.
+     *
+     * @param chars the chars, at indexes up to {@link Character#MAX_VALUE}
+     * @return the class of the chars, with all surrogates if there is one
+     */
+    static CharClass of(final BitSet chars) {
+        final int surrogate = chars.nextSetBit(Character.MIN_SURROGATE);
+        if (surrogate >= 0 && surrogate <= Character.MAX_SURROGATE) {
+            chars.set(Character.MIN_SURROGATE, Character.MAX_SURROGATE + 1);
+        }
+        int limit = chars.length();
+        boolean above = false;
+        if (limit > Character.MAX_VALUE) {
+            // the chars up to the last are all members, so only keep the bitmap below them
+            limit = chars.previousClearBit(Character.MAX_VALUE) + 1;
+            above = true;
+        }
+        return new CharClass(Arrays.copyOf(chars.toLongArray(), (limit + 63) >> 6), above);
+    }
+
+    /**
+     * Adds the chars of the code points inside or outside of a range.
+     *
+     * @param chars the chars to add to
+     * @param below the lowest code point of the range, inclusive
+     * @param above the highest code point of the range, inclusive
+     * @param between whether to add the code points inside or outside of the range
+     */
+    static void addCodePoints(final BitSet chars, final int below, final int above, final boolean between) {
+        if (between) {
+            addCodePoints(chars, below, above);
+        } else {
+            if (below > 0) {
+                addCodePoints(chars, 0, below - 1);
+            }
+            if (above < Integer.MAX_VALUE) {
+                addCodePoints(chars, above + 1, Integer.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Adds the chars of the code points in a range.
+     *
+     * @param chars the chars to add to
+     * @param from the first code point, inclusive
+     * @param to the last code point, inclusive
+     */
+    private static void addCodePoints(final BitSet chars, final int from, final int to) {
+        final int first = Math.max(from, 0);
+        if (first > to) {
+            return;
+        }
+        if (first <= Character.MAX_VALUE) {
+            chars.set(first, Math.min(to, Character.MAX_VALUE) + 1);
+        }
+        if (to > Character.MAX_VALUE) {
+            chars.set(Character.MIN_SURROGATE, Character.MAX_SURROGATE + 1);
+        }
+    }
+
+    /**
+     * Tests whether a char is a member.
+     *
+     * @param c the char
+     * @return true if the char is a member
+     */
+    boolean contains(final char c) {
+        final int word = c >> 6;
+        return word < bits.length ? (bits[word] & 1L << c) != 0 : above;
+    }
+
+    /**
+     * Finds the first member in a part of a CharSequence.
+     *
+     * @param input the CharSequence to search
+     * @param from the index to start at
+     * @param to the index to stop at
+     * @return the index of the first member, {@code to} if there is none
+     */
+    int indexIn(final CharSequence input, final int from, final int to) {
+        int i = from;
+        while (i < to && !contains(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+}
@@ -17,9 +17,18 @@
 package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * An API for translating text. 
@@ -31,6 +40,25 @@ import java.util.Locale;
  */
 public abstract class CharSequenceTranslator {
 
+    /**
+     * The size of the buffer used when translating from a Reader.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The smallest number of chars translated by a task of a parallel translation.
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    /**
+     * How far before a chunk boundary to look for a char which may start a 
+     * translation, for a translator which may look arbitrarily far ahead.
+     */
+    private static final int MIN_BOUNDARY_GAP = 16;
+
+    // the chars at which this translator may consume input, built lazily
+    private volatile CharClass triggers;
+
     /**
      * Translate a set of codepoints, represented by an int index into a CharSequence, 
      * into another set of codepoints. The number of codepoints consumed must be returned, 
@@ -47,6 +75,10 @@ public abstract class CharSequenceTranslator {
 
     /**
      * Helper for non-Writer usage. 
+     * 
+     * <p>If the translator knows the chars it acts on and the input has none
+     * of them, the input is returned without copying it.</p>
+     * 
      * @param input CharSequence to be translated
      * @return String output of translation
      */
@@ -54,6 +86,10 @@ public abstract class CharSequenceTranslator {
         if (input == null) {
             return null;
         }
+        final CharClass chars = getTriggers();
+        if (chars != CharClass.ANY && chars.indexIn(input, 0, input.length()) == input.length()) {
+            return input.toString();
+        }
         try {
             final StringWriter writer = new StringWriter(input.length() * 2);
             translate(input, writer);
@@ -79,9 +115,213 @@ public abstract class CharSequenceTranslator {
         if (input == null) {
             return;
         }
-        int pos = 0;
+        translate(input, 0, input.length(), getTriggers(), out);
+    }
+
+    /**
+     * Translate the text of a Reader onto a Writer, holding only a buffer 
+     * of the text in memory. The output is the same as that of 
+     * {@link #translate(CharSequence, Writer)} on the whole text. 
+     * 
+     * <p>The buffer keeps as many chars after each translated position as 
+     * the translator may look at, so that a match is never cut at the end 
+     * of the buffer. The standard translators which may look arbitrarily 
+     * far ahead, namely the unescapers of numeric entities, Unicode escapes 
+     * and octal escapes, whose digits may have any number of leading zeros, 
+     * and the CSV translators, read the whole text first.</p>
+     *
+     * @param input Reader of the text to translate, not closed
+     * @param out Writer to translate the text to
+     * @throws IOException if the Reader or the Writer produces an IOException
+     * @since 3.2
+     */
+    public final void translateStream(final Reader input, final Writer out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("The Writer must not be null");
+        }
+        if (input == null) {
+            return;
+        }
+        final int lookahead = getLookahead();
+        final char[] buffer = new char[lookahead < 0 ? BUFFER_SIZE : Math.max(BUFFER_SIZE, 4 * lookahead)];
+        if (lookahead < 0) {
+            final StringBuilder text = new StringBuilder(BUFFER_SIZE);
+            int n;
+            while ((n = input.read(buffer)) >= 0) {
+                text.append(buffer, 0, n);
+            }
+            translate(text, out);
+            return;
+        }
+        // keep surrogate pairs together
+        final int keep = Math.max(lookahead, 2);
+        final CharClass chars = getTriggers();
+        int filled = 0;
+        boolean eof = false;
+        while (!eof) {
+            while (filled < buffer.length) {
+                final int n = input.read(buffer, filled, buffer.length - filled);
+                if (n < 0) {
+                    eof = true;
+                    break;
+                }
+                filled += n;
+            }
+            final CharBuffer text = CharBuffer.wrap(buffer, 0, filled);
+            final int pos = translate(text, 0, eof ? filled : filled - keep, chars, out);
+            filled -= pos;
+            System.arraycopy(buffer, pos, buffer, 0, filled);
+        }
+    }
+
+    /**
+     * Translate an input onto an OutputStream as UTF-8. The chars are 
+     * encoded as they are translated, without an intermediate String or 
+     * {@link java.io.OutputStreamWriter}, and the replacements of lookup 
+     * tables are encoded once only. 
+     * 
+     * <p>The output is the same as that of {@link #translate(CharSequence)} 
+     * encoded with {@link String#getBytes(String)}. The OutputStream is 
+     * neither flushed nor closed.</p>
+     *
+     * @param input CharSequence that is being translated
+     * @param out OutputStream to write the UTF-8 bytes to
+     * @throws IOException if and only if the OutputStream produces an IOException
+     * @since 3.2
+     */
+    public final void translateUtf8(final CharSequence input, final OutputStream out) throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("The OutputStream must not be null");
+        }
+        if (input == null) {
+            return;
+        }
+        final Utf8Writer writer = new Utf8Writer(out);
+        translate(input, 0, input.length(), getTriggers(), writer);
+        writer.finish();
+    }
+
+    /**
+     * Translate an input into a ByteBuffer as UTF-8, from its position on. 
+     * The output is the same as that of {@link #translateUtf8(CharSequence, OutputStream)}.
+     *
+     * @param input CharSequence that is being translated
+     * @param out ByteBuffer to put the UTF-8 bytes into
+     * @throws java.nio.BufferOverflowException if the output does not fit, 
+     *  in which case a part of it may have been put
+     * @since 3.2
+     */
+    public final void translateUtf8(final CharSequence input, final ByteBuffer out) {
+        if (out == null) {
+            throw new IllegalArgumentException("The ByteBuffer must not be null");
+        }
+        if (input == null) {
+            return;
+        }
+        try {
+            final Utf8Writer writer = new Utf8Writer(out);
+            translate(input, 0, input.length(), getTriggers(), writer);
+            writer.finish();
+        } catch (final IOException ioe) {
+            // this should never happen while writing to a ByteBuffer
+            throw new RuntimeException(ioe);
+        }
+    }
+
+    /**
+     * Translate a large input on several threads of the common 
+     * {@link ForkJoinPool}. 
+     * 
+     * @param input CharSequence to be translated
+     * @return String output of translation, the same as that of {@link #translate(CharSequence)}
+     * @see #translateParallel(CharSequence, ForkJoinPool)
+     * @since 3.2
+     */
+    public final String translateParallel(final CharSequence input) {
+        return translateParallel(input, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Translate a large input on several threads of a {@link ForkJoinPool}. 
+     * 
+     * <p>The input is cut into chunks, each ending where the translator 
+     * leaves enough chars alone that no translation may span the boundary. 
+     * The chunks are translated concurrently and their outputs are joined 
+     * in order. Should a translation still run past the end of a chunk, the 
+     * next chunk is translated again from where it ended, so the output is 
+     * always the same as that of {@link #translate(CharSequence)}.</p>
+     * 
+     * <p>Inputs shorter than a few chunks, and translators which do not 
+     * tell which chars they act on, are translated on the calling thread.</p>
+     *
+     * @param input CharSequence to be translated
+     * @param pool the pool to run the chunks in
+     * @return String output of translation
+     * @since 3.2
+     */
+    public final String translateParallel(final CharSequence input, final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("The ForkJoinPool must not be null");
+        }
+        final CharClass chars = getTriggers();
+        if (input == null || chars == CharClass.ANY || input.length() < 2 * MIN_CHUNK_SIZE) {
+            return translate(input);
+        }
+        return pool.invoke(new ParallelTranslation(this, input, chars, pool.getParallelism()));
+    }
+
+    /**
+     * Finds a chunk boundary at or after an index. No char in the gap before 
+     * the boundary may start a translation, and the boundary does not split 
+     * a surrogate pair.
+     *
+     * @param input CharSequence that is being translated
+     * @param from the index to start at
+     * @param chars the chars at which this translator may consume input
+     * @param gap the number of chars before the boundary to keep clear
+     * @return the boundary, the length of the input if there is none
+     */
+    private static int findBoundary(final CharSequence input, final int from, final CharClass chars, final int gap) {
         final int len = input.length();
-        while (pos < len) {
+        int clear = 0;
+        for (int i = Math.max(from - gap, 0); i < len; i++) {
+            final char c = input.charAt(i);
+            clear = chars.contains(c) ? 0 : clear + 1;
+            if (clear >= gap && i + 1 >= from && !Character.isHighSurrogate(c)) {
+                return i + 1;
+            }
+        }
+        return len;
+    }
+
+    /**
+     * Translates the positions of a CharSequence up to a limit. A translation 
+     * starting before the limit may go past it.
+     *
+     * @param input CharSequence that is being translated
+     * @param from the index to start at
+     * @param limit the index to stop at
+     * @param chars the chars at which this translator may consume input
+     * @param out Writer to translate the text to
+     * @return the index after the last translation, at least the limit
+     * @throws IOException if and only if the Writer produces an IOException
+     */
+    private int translate(final CharSequence input, final int from, final int limit, final CharClass chars,
+            final Writer out) throws IOException {
+        final int len = input.length();
+        int pos = from;
+        while (pos < limit) {
+            if (chars != CharClass.ANY) {
+                // copy the run of chars which this translator leaves alone
+                final int start = pos;
+                pos = chars.indexIn(input, pos, limit);
+                if (pos > start) {
+                    write(input, start, pos, out);
+                    if (pos == limit) {
+                        break;
+                    }
+                }
+            }
             final int consumed = translate(input, pos, out);
             if (consumed == 0) {
                 final char[] c = Character.toChars(Character.codePointAt(input, pos));
@@ -91,10 +331,76 @@ public abstract class CharSequenceTranslator {
             }
 //          // contract with translators is that they have to understand codepoints 
 //          // and they just took care of a surrogate pair
-            for (int pt = 0; pt < consumed; pt++) {
-                pos += Character.charCount(Character.codePointAt(input, pt));
+            for (int pt = 0; pt < consumed && pos < len; pt++) {
+                pos += Character.charCount(Character.codePointAt(input, pos));
             }
         }
+        return pos;
+    }
+
+    /**
+     * Writes a part of a CharSequence without copying it, if possible.
+     *
+     * @param input the CharSequence
+     * @param start the index of the first char to write
+     * @param end the index after the last char to write
+     * @param out Writer to write to
+     * @throws IOException if and only if the Writer produces an IOException
+     */
+    private static void write(final CharSequence input, final int start, final int end, final Writer out)
+            throws IOException {
+        if (input instanceof String) {
+            out.write((String) input, start, end - start);
+        } else if (input instanceof CharBuffer && ((CharBuffer) input).hasArray()) {
+            final CharBuffer buffer = (CharBuffer) input;
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position() + start, end - start);
+        } else {
+            out.append(input, start, end);
+        }
+    }
+
+    /**
+     * Adds the chars at which this translator may consume input. At any 
+     * other char, {@link #translate(CharSequence, int, Writer)} must return 
+     * 0 without writing. A surrogate stands for all the supplementary code 
+     * points, which are handled by {@link CharClass}. 
+     * 
+     * <p>This implementation returns false, as a translator may consume 
+     * input anywhere.</p>
+     *
+     * @param chars the set to add the chars to
+     * @return false if the chars are not known, in which case the set is not used
+     */
+    boolean addTriggers(final BitSet chars) {
+        return false;
+    }
+
+    /**
+     * Gets the number of chars, from the translated position on, which 
+     * {@link #translate(CharSequence, int, Writer)} may look at. 
+     * 
+     * <p>This implementation returns -1, as a translator may look at the 
+     * whole input.</p>
+     *
+     * @return the number of chars, -1 if they are not bounded
+     */
+    int getLookahead() {
+        return -1;
+    }
+
+    /**
+     * Gets the chars at which this translator may consume input.
+     *
+     * @return the class of the chars, {@link CharClass#ANY} if they are not known
+     */
+    final CharClass getTriggers() {
+        CharClass result = triggers;
+        if (result == null) {
+            final BitSet chars = new BitSet();
+            result = addTriggers(chars) ? CharClass.of(chars) : CharClass.ANY;
+            triggers = result;
+        }
+        return result;
     }
 
     /**
@@ -122,4 +428,121 @@ public abstract class CharSequenceTranslator {
         return Integer.toHexString(codepoint).toUpperCase(Locale.ENGLISH);
     }
 
+    // -----------------------------------------------------------------------
+    /**
+     * The task of a parallel translation, which forks the translation of 
+     * each chunk and joins their outputs.
+     */
+    private static final class ParallelTranslation extends RecursiveTask<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequenceTranslator translator;
+        private final CharSequence input;
+        private final CharClass chars;
+        private final int parallelism;
+
+        /**
+         * Constructs an instance of <code>ParallelTranslation</code>.
+         *
+         * @param translator the translator
+         * @param input CharSequence to be translated
+         * @param chars the chars at which the translator may consume input
+         * @param parallelism the number of threads of the pool
+         */
+        ParallelTranslation(final CharSequenceTranslator translator, final CharSequence input, final CharClass chars,
+                final int parallelism) {
+            this.translator = translator;
+            this.input = input;
+            this.chars = chars;
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected String compute() {
+            final int len = input.length();
+            final int chunkSize = Math.max(MIN_CHUNK_SIZE, len / (4 * parallelism));
+            final int lookahead = translator.getLookahead();
+            final int gap = Math.max(lookahead < 0 ? MIN_BOUNDARY_GAP : lookahead, 1);
+            final List<Chunk> chunks = new ArrayList<Chunk>();
+            int start = 0;
+            while (start < len) {
+                final int end = len - start < 2 * chunkSize ? len : findBoundary(input, start + chunkSize, chars, gap);
+                final Chunk chunk = new Chunk(translator, input, start, end, chars);
+                chunk.fork();
+                chunks.add(chunk);
+                start = end;
+            }
+            final StringBuilder result = new StringBuilder(len + len / 8);
+            int pos = 0;
+            for (final Chunk chunk : chunks) {
+                if (chunk.start == pos) {
+                    result.append(chunk.join());
+                    pos = chunk.end;
+                } else if (pos < chunk.limit) {
+                    // the previous chunk ran into this one, so it does not start at a translated position
+                    chunk.cancel(false);
+                    final Chunk rest = new Chunk(translator, input, pos, chunk.limit, chars);
+                    result.append(rest.compute());
+                    pos = rest.end;
+                } else {
+                    chunk.cancel(false);
+                }
+            }
+            return result.toString();
+        }
+    }
+
+    /**
+     * The task translating a chunk of a parallel translation.
+     */
+    private static final class Chunk extends RecursiveTask<StringBuffer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final CharSequenceTranslator translator;
+        private final CharSequence input;
+        private final int start;
+        private final int limit;
+        private final CharClass chars;
+        // the index after the last translation, set by compute
+        private int end;
+
+        /**
+         * Constructs an instance of <code>Chunk</code>.
+         *
+         * @param translator the translator
+         * @param input CharSequence that is being translated
+         * @param start the index of the chunk
+         * @param limit the index of the next chunk
+         * @param chars the chars at which the translator may consume input
+         */
+        Chunk(final CharSequenceTranslator translator, final CharSequence input, final int start, final int limit,
+                final CharClass chars) {
+            this.translator = translator;
+            this.input = input;
+            this.start = start;
+            this.limit = limit;
+            this.chars = chars;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected StringBuffer compute() {
+            final StringWriter out = new StringWriter(limit - start + 16);
+            try {
+                end = translator.translate(input, start, limit, chars, out);
+            } catch (final IOException ioe) {
+                // this should never ever happen while writing to a StringWriter
+                throw new RuntimeException(ioe);
+            }
+            return out.getBuffer();
+        }
+    }
+
 }
@@ -43,6 +43,15 @@ public abstract class CodePointTranslator extends CharSequenceTranslator {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    final int getLookahead() {
+        // a surrogate pair
+        return 2;
+    }
+
     /**
      * Translate the specified codepoint into another. 
      * 
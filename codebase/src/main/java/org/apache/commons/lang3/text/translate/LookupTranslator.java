@@ -18,68 +18,288 @@ package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.HashMap;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Translates a value using a lookup table.
+ * 
+ * <p>The table is compiled into a character trie, so that the longest
+ * matching key is found in a single forward scan of the input, without
+ * creating any object.</p>
  *
  * @since 3.0
  * @version $Id$
  */
 public class LookupTranslator extends CharSequenceTranslator {
 
-    private final HashMap<String, CharSequence> lookupMap;
-    private final int shortest;
+    // the edges of node n are at firstEdge[n] to firstEdge[n + 1] in edgeChars
+    // and edgeTargets, sorted by char; node 0 is the root
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final String[] results;
+    // the index of the table a result comes from when tables are merged,
+    // a match from a lower table wins over a longer one from a higher table
+    private final int[] ranks;
     private final int longest;
+    // the results encoded as UTF-8, built lazily
+    private volatile byte[][] utf8Results;
 
     /**
      * Define the lookup table to be used in translation
      *
-     * Note that, as of Lang 3.1, the key to the lookup table is converted to a 
-     * java.lang.String, while the value remains as a java.lang.CharSequence. 
-     * This is because we need the key to support hashCode and equals(Object), 
-     * allowing it to be the key for a HashMap. See LANG-882.
+     * Note that the keys and values of the lookup table are copied when the 
+     * translator is created, so later changes to mutable CharSequences are 
+     * not seen. See LANG-882.
      *
      * @param lookup CharSequence[][] table of size [*][2]
      */
     public LookupTranslator(final CharSequence[]... lookup) {
-        lookupMap = new HashMap<String, CharSequence>();
-        int _shortest = Integer.MAX_VALUE;
-        int _longest = 0;
+        this(tableOf(lookup));
+    }
+
+    /**
+     * Compiles a trie.
+     *
+     * @param root the root node of the trie to compile
+     */
+    private LookupTranslator(final Node root) {
+        final List<Node> nodes = new ArrayList<Node>();
+        nodes.add(root);
+        int edgeCount = 0;
+        int depth = 0;
+        int levelEnd = 1;
+        // breadth first, so the children of a node are numbered consecutively
+        for (int n = 0; n < nodes.size(); n++) {
+            if (n == levelEnd) {
+                depth++;
+                levelEnd = nodes.size();
+            }
+            final Node node = nodes.get(n);
+            nodes.addAll(node.children.values());
+            edgeCount += node.children.size();
+        }
+        // every leaf ends a key, so the deepest node ends the longest
+        longest = depth;
+        firstEdge = new int[nodes.size() + 1];
+        edgeChars = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        results = new String[nodes.size()];
+        ranks = new int[nodes.size()];
+        int edge = 0;
+        int target = 1;
+        for (int n = 0; n < nodes.size(); n++) {
+            final Node node = nodes.get(n);
+            results[n] = node.result;
+            ranks[n] = node.rank;
+            firstEdge[n] = edge;
+            for (final Character c : node.children.keySet()) {
+                edgeChars[edge] = c.charValue();
+                edgeTargets[edge++] = target++;
+            }
+        }
+        firstEdge[nodes.size()] = edge;
+    }
+
+    /**
+     * Builds the trie of a lookup table.
+     *
+     * @param lookup CharSequence[][] table of size [*][2]
+     * @return the root node of the trie
+     */
+    private static Node tableOf(final CharSequence[]... lookup) {
+        final Node root = new Node();
         if (lookup != null) {
             for (final CharSequence[] seq : lookup) {
-                this.lookupMap.put(seq[0].toString(), seq[1]);
-                final int sz = seq[0].length();
-                if (sz < _shortest) {
-                    _shortest = sz;
+                // a later entry replaces an earlier one with the same key
+                root.put(seq[0], seq[1].toString(), 0);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Merges lookup tables into one translator, which gives the same
+     * result as trying each of them in turn as {@link AggregateTranslator} does.
+     *
+     * @param translators the translators to merge, in order of precedence
+     * @return the merged translator
+     */
+    static LookupTranslator merge(final List<LookupTranslator> translators) {
+        final Node root = new Node();
+        int rankBase = 0;
+        for (final LookupTranslator translator : translators) {
+            rankBase = translator.addTo(root, 0, new StringBuilder(), rankBase) + 1;
+        }
+        return new LookupTranslator(root);
+    }
+
+    /**
+     * Adds the entries of a subtrie of this translator to a trie.
+     *
+     * @param root the trie to add to
+     * @param node the node of this translator to start at
+     * @param key the key of the node
+     * @param rankBase the rank of the entries of the first table of this translator
+     * @return the highest rank added
+     */
+    private int addTo(final Node root, final int node, final StringBuilder key, final int rankBase) {
+        int highest = rankBase;
+        if (results[node] != null) {
+            highest = rankBase + ranks[node];
+            root.put(key, results[node], highest);
+        }
+        for (int edge = firstEdge[node]; edge < firstEdge[node + 1]; edge++) {
+            key.append(edgeChars[edge]);
+            highest = Math.max(highest, addTo(root, edgeTargets[edge], key, rankBase));
+            key.setLength(key.length() - 1);
+        }
+        return highest;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int translate(final CharSequence input, final int index, final Writer out) throws IOException {
+        final int len = input.length();
+        int matched = results[0] == null ? -1 : 0;
+        int matchedLength = 0;
+        int node = 0;
+        for (int i = index; i < len; i++) {
+            // binary search of the edges of the node
+            final char c = input.charAt(i);
+            int low = firstEdge[node];
+            int high = firstEdge[node + 1] - 1;
+            node = -1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final char midChar = edgeChars[mid];
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    node = edgeTargets[mid];
+                    break;
                 }
-                if (sz > _longest) {
-                    _longest = sz;
+            }
+            if (node < 0) {
+                break;
+            }
+            if (results[node] != null && (matched < 0 || ranks[node] <= ranks[matched])) {
+                matched = node;
+                matchedLength = i + 1 - index;
+            }
+        }
+        if (matched < 0) {
+            return 0;
+        }
+        final byte[] utf8 = out instanceof Utf8Writer ? getUtf8Results()[matched] : null;
+        if (utf8 != null) {
+            ((Utf8Writer) out).writeUtf8(utf8);
+        } else {
+            out.write(results[matched]);
+        }
+        return matchedLength;
+    }
+
+    /**
+     * Gets the results encoded as UTF-8.
+     *
+     * @return the encoded results, indexed by node, null for a result with 
+     *  surrogates, which may pair with the chars around it
+     */
+    private byte[][] getUtf8Results() {
+        byte[][] encoded = utf8Results;
+        if (encoded == null) {
+            final Charset utf8 = Charset.forName("UTF-8");
+            encoded = new byte[results.length][];
+            for (int n = 0; n < results.length; n++) {
+                if (results[n] != null && !hasSurrogate(results[n])) {
+                    encoded[n] = results[n].getBytes(utf8);
                 }
             }
+            utf8Results = encoded;
+        }
+        return encoded;
+    }
+
+    /**
+     * Tests whether a String contains a surrogate.
+     *
+     * @param s the String
+     * @return true if the String contains a surrogate
+     */
+    private static boolean hasSurrogate(final String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isSurrogate(s.charAt(i))) {
+                return true;
+            }
         }
-        shortest = _shortest;
-        longest = _longest;
+        return false;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public int translate(final CharSequence input, final int index, final Writer out) throws IOException {
-        int max = longest;
-        if (index + longest > input.length()) {
-            max = input.length() - index;
+    boolean addTriggers(final BitSet chars) {
+        // a subclass may translate differently, and an empty key matches anywhere
+        if (getClass() != LookupTranslator.class || results[0] != null) {
+            return false;
         }
-        // descend so as to get a greedy algorithm
-        for (int i = max; i >= shortest; i--) {
-            final CharSequence subSeq = input.subSequence(index, index + i);
-            final CharSequence result = lookupMap.get(subSeq.toString());
-            if (result != null) {
-                out.write(result.toString());
-                return i;
+        for (int edge = firstEdge[0]; edge < firstEdge[1]; edge++) {
+            chars.set(edgeChars[edge]);
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    int getLookahead() {
+        return getClass() == LookupTranslator.class ? longest : -1;
+    }
+
+    // -----------------------------------------------------------------------
+    /**
+     * A node of a trie while it is built.
+     */
+    private static final class Node {
+        private final Map<Character, Node> children = new TreeMap<Character, Node>();
+        private String result;
+        private int rank;
+
+        /**
+         * Puts a result, unless the key already has one of a lower rank.
+         *
+         * @param key the key
+         * @param value the result of the key
+         * @param valueRank the rank of the result
+         */
+        void put(final CharSequence key, final String value, final int valueRank) {
+            Node node = this;
+            for (int i = 0; i < key.length(); i++) {
+                final Character c = Character.valueOf(key.charAt(i));
+                Node child = node.children.get(c);
+                if (child == null) {
+                    child = new Node();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            if (node.result == null || valueRank <= node.rank) {
+                node.result = value;
+                node.rank = valueRank;
             }
         }
-        return 0;
     }
+
 }
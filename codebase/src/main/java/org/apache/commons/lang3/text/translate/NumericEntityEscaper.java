@@ -18,6 +18,7 @@ package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Translates codepoints to their XML numeric entity escaped value.
@@ -116,4 +117,17 @@ public class NumericEntityEscaper extends CodePointTranslator {
         out.write(';');
         return true;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean addTriggers(final BitSet chars) {
+        // a subclass may translate differently
+        if (getClass() != NumericEntityEscaper.class) {
+            return false;
+        }
+        CharClass.addCodePoints(chars, below, above, between);
+        return true;
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.commons.lang3.text.translate;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.EnumSet;
 
 /**
@@ -136,4 +137,17 @@ public class NumericEntityUnescaper extends CharSequenceTranslator {
         }
         return 0;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean addTriggers(final BitSet chars) {
+        // a subclass may translate differently
+        if (getClass() != NumericEntityUnescaper.class) {
+            return false;
+        }
+        chars.set('&');
+        return true;
+    }
 }
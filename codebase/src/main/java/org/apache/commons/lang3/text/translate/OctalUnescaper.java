@@ -18,6 +18,7 @@ package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Translate escaped octal Strings back to their octal values.
@@ -57,4 +58,17 @@ public class OctalUnescaper extends CharSequenceTranslator {
         }
         return 0;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean addTriggers(final BitSet chars) {
+        // a subclass may translate differently
+        if (getClass() != OctalUnescaper.class) {
+            return false;
+        }
+        chars.set('\\');
+        return true;
+    }
 }
@@ -18,6 +18,7 @@ package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Translates codepoints to their Unicode escaped value.
@@ -136,4 +137,17 @@ public class UnicodeEscaper extends CodePointTranslator {
     protected String toUtf16Escape(final int codepoint) {
         return "\\u" + hex(codepoint);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean addTriggers(final BitSet chars) {
+        // a subclass may translate differently
+        if (getClass() != UnicodeEscaper.class && getClass() != JavaUnicodeEscaper.class) {
+            return false;
+        }
+        CharClass.addCodePoints(chars, below, above, between);
+        return true;
+    }
 }
@@ -18,6 +18,7 @@ package org.apache.commons.lang3.text.translate;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.util.BitSet;
 
 /**
  * Translates escaped Unicode values of the form \\u+\d\d\d\d back to 
@@ -63,4 +64,17 @@ public class UnicodeUnescaper extends CharSequenceTranslator {
         }
         return 0;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    boolean addTriggers(final BitSet chars) {
+        // a subclass may translate differently
+        if (getClass() != UnicodeUnescaper.class) {
+            return false;
+        }
+        chars.set('\\');
+        return true;
+    }
 }
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+
+/**
+ * A Writer which encodes its chars as UTF-8 into an OutputStream or a ByteBuffer.
+ * 
+ * <p>The chars are encoded directly into a small byte buffer, without the
+ * intermediate char buffer and encoder of an {@link java.io.OutputStreamWriter}.
+ * Like {@link String#getBytes(String)}, an unpaired surrogate is encoded as
+ * {@code '?'}. The bytes are written out when the buffer is full and by
+ * {@link #finish()}, which does not flush the OutputStream.</p>
+ *
+ * @since 3.2
+ * @version $Id$
+ */
+final class Utf8Writer extends Writer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte REPLACEMENT = '?';
+
+    private final OutputStream stream;
+    private final ByteBuffer target;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private int count;
+    // a high surrogate waiting for its low surrogate, 0 if none
+    private char pending;
+
+    /**
+     * Constructs a Writer to an OutputStream.
+     *
+     * @param stream the stream to write the bytes to
+     */
+    Utf8Writer(final OutputStream stream) {
+        this.stream = stream;
+        this.target = null;
+    }
+
+    /**
+     * Constructs a Writer to a ByteBuffer.
+     *
+     * @param target the buffer to put the bytes into
+     */
+    Utf8Writer(final ByteBuffer target) {
+        this.stream = null;
+        this.target = target;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final int c) throws IOException {
+        writeChar((char) c);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        for (int i = off; i < off + len; i++) {
+            writeChar(cbuf[i]);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        writeChars(str, off, off + len);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Writer append(final CharSequence csq, final int start, final int end) throws IOException {
+        writeChars(csq == null ? "null" : csq, start, end);
+        return this;
+    }
+
+    /**
+     * Writes bytes which are already encoded as UTF-8.
+     *
+     * @param bytes the bytes
+     * @throws IOException if the OutputStream produces an IOException
+     */
+    void writeUtf8(final byte[] bytes) throws IOException {
+        finishPending();
+        if (count + bytes.length > buf.length) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                writeOut(bytes, bytes.length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, count, bytes.length);
+        count += bytes.length;
+    }
+
+    /**
+     * Encodes a part of a CharSequence.
+     *
+     * @param csq the CharSequence
+     * @param start the index of the first char
+     * @param end the index after the last char
+     * @throws IOException if the OutputStream produces an IOException
+     */
+    private void writeChars(final CharSequence csq, final int start, final int end) throws IOException {
+        int i = start;
+        while (i < end) {
+            if (pending == 0) {
+                // ASCII needs no more than a byte per char
+                final int stop = Math.min(end, i + buf.length - count);
+                char c;
+                while (i < stop && (c = csq.charAt(i)) < 0x80) {
+                    buf[count++] = (byte) c;
+                    i++;
+                }
+                if (i == end) {
+                    break;
+                }
+                if (i == stop) {
+                    flushBuffer();
+                    continue;
+                }
+            }
+            writeChar(csq.charAt(i++));
+        }
+    }
+
+    /**
+     * Encodes a char.
+     *
+     * @param c the char
+     * @throws IOException if the OutputStream produces an IOException
+     */
+    private void writeChar(final char c) throws IOException {
+        if (pending != 0) {
+            if (Character.isLowSurrogate(c)) {
+                final int codePoint = Character.toCodePoint(pending, c);
+                pending = 0;
+                ensure(4);
+                buf[count++] = (byte) (0xf0 | codePoint >> 18);
+                buf[count++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                buf[count++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                buf[count++] = (byte) (0x80 | codePoint & 0x3f);
+                return;
+            }
+            finishPending();
+        }
+        if (c < 0x80) {
+            ensure(1);
+            buf[count++] = (byte) c;
+        } else if (c < 0x800) {
+            ensure(2);
+            buf[count++] = (byte) (0xc0 | c >> 6);
+            buf[count++] = (byte) (0x80 | c & 0x3f);
+        } else if (Character.isHighSurrogate(c)) {
+            pending = c;
+        } else if (Character.isLowSurrogate(c)) {
+            ensure(1);
+            buf[count++] = REPLACEMENT;
+        } else {
+            ensure(3);
+            buf[count++] = (byte) (0xe0 | c >> 12);
+            buf[count++] = (byte) (0x80 | c >> 6 & 0x3f);
+            buf[count++] = (byte) (0x80 | c & 0x3f);
+        }
+    }
+
+    /**
+     * Encodes a high surrogate which was not followed by a low surrogate.
+     *
+     * @throws IOException if the OutputStream produces an IOException
+     */
+    private void finishPending() throws IOException {
+        if (pending != 0) {
+            pending = 0;
+            ensure(1);
+            buf[count++] = REPLACEMENT;
+        }
+    }
+
+    /**
+     * Makes room in the buffer.
+     *
+     * @param bytes the number of bytes to make room for
+     * @throws IOException if the OutputStream produces an IOException
+     */
+    private void ensure(final int bytes) throws IOException {
+        if (count + bytes > buf.length) {
+            flushBuffer();
+        }
+    }
+
+    /**
+     * Writes out the encoded bytes, without flushing the OutputStream.
+     * An unpaired high surrogate at the end is kept, as its low surrogate
+     * may follow.
+     *
+     * @throws IOException if the OutputStream produces an IOException
+     * @throws java.nio.BufferOverflowException if the ByteBuffer is full
+     */
+    void flushBuffer() throws IOException {
+        writeOut(buf, count);
+        count = 0;
+    }
+
+    /**
+     * Writes bytes to the OutputStream or the ByteBuffer.
+     *
+     * @param bytes the bytes
+     * @param len the number of bytes
+     * @throws IOException if the OutputStream produces an IOException
+     */
+    private void writeOut(final byte[] bytes, final int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+        if (stream != null) {
+            stream.write(bytes, 0, len);
+        } else {
+            target.put(bytes, 0, len);
+        }
+    }
+
+    /**
+     * Encodes an unpaired high surrogate at the end and writes out the 
+     * encoded bytes, without flushing the OutputStream.
+     *
+     * @throws IOException if the OutputStream produces an IOException
+     */
+    void finish() throws IOException {
+        finishPending();
+        flushBuffer();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void flush() throws IOException {
+        finish();
+        if (stream != null) {
+            stream.flush();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.commons.lang3.time;
 
+import java.io.IOException;
 import java.text.FieldPosition;
 import java.util.Calendar;
 import java.util.Date;
@@ -85,6 +86,72 @@ public interface DatePrinter {
      */
     StringBuffer format(Calendar calendar, StringBuffer buf);
 
+    /**
+     * <p>Formats a millisecond {@code long} value into the
+     * supplied {@code StringBuilder}.</p>
+     *
+     * @param millis  the millisecond value to format
+     * @param buf  the buffer to format into
+     * @return the specified string builder
+     */
+    StringBuilder format(long millis, StringBuilder buf);
+
+    /**
+     * <p>Formats a {@code Date} object into the
+     * supplied {@code StringBuilder} using a {@code GregorianCalendar}.</p>
+     *
+     * @param date  the date to format
+     * @param buf  the buffer to format into
+     * @return the specified string builder
+     */
+    StringBuilder format(Date date, StringBuilder buf);
+
+    /**
+     * <p>Formats a {@code Calendar} object into the
+     * supplied {@code StringBuilder}.</p>
+     *
+     * @param calendar  the calendar to format
+     * @param buf  the buffer to format into
+     * @return the specified string builder
+     */
+    StringBuilder format(Calendar calendar, StringBuilder buf);
+
+    /**
+     * <p>Formats a millisecond {@code long} value into the
+     * supplied {@code Appendable}.</p>
+     *
+     * @param <B> the type of the appendable
+     * @param millis  the millisecond value to format
+     * @param buf  the appendable to format into
+     * @return the specified appendable
+     * @throws IOException if the appendable throws it
+     */
+    <B extends Appendable> B format(long millis, B buf) throws IOException;
+
+    /**
+     * <p>Formats a {@code Date} object into the
+     * supplied {@code Appendable} using a {@code GregorianCalendar}.</p>
+     *
+     * @param <B> the type of the appendable
+     * @param date  the date to format
+     * @param buf  the appendable to format into
+     * @return the specified appendable
+     * @throws IOException if the appendable throws it
+     */
+    <B extends Appendable> B format(Date date, B buf) throws IOException;
+
+    /**
+     * <p>Formats a {@code Calendar} object into the
+     * supplied {@code Appendable}.</p>
+     *
+     * @param <B> the type of the appendable
+     * @param calendar  the calendar to format
+     * @param buf  the appendable to format into
+     * @return the specified appendable
+     * @throws IOException if the appendable throws it
+     */
+    <B extends Appendable> B format(Calendar calendar, B buf) throws IOException;
+
     // Accessors
     //-----------------------------------------------------------------------
     /**
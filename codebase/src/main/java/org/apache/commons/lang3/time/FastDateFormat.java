@@ -16,6 +16,7 @@
  */
 package org.apache.commons.lang3.time;
 
+import java.io.IOException;
 import java.text.DateFormat;
 import java.text.FieldPosition;
 import java.text.Format;
@@ -92,6 +93,13 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
         }
     };
 
+    private static final FormatCache<FastDateFormat> secondCachingCache= new FormatCache<FastDateFormat>() {
+        @Override
+        protected FastDateFormat createInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+            return new FastDateFormat(pattern, timeZone, locale, true);
+        }
+    };
+
     private final FastDatePrinter printer;
     private final FastDateParser parser;
     
@@ -165,6 +173,97 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
         return cache.getInstance(pattern, timeZone, locale);
     }
 
+    /**
+     * <p>Gets a formatter instance using the specified pattern in the
+     * default time zone and locale, which caches the text of the last
+     * formatted second.</p>
+     *
+     * @param pattern  {@link java.text.SimpleDateFormat} compatible
+     *  pattern
+     * @return a pattern based date/time formatter
+     * @throws IllegalArgumentException if pattern is invalid
+     * @see #getCachingInstance(String, TimeZone, Locale)
+     * @since 3.2
+     */
+    public static FastDateFormat getCachingInstance(final String pattern) {
+        return secondCachingCache.getInstance(pattern, null, null);
+    }
+
+    /**
+     * <p>Gets a formatter instance using the specified pattern, time zone
+     * and locale, which caches the text of the last formatted second.</p>
+     *
+     * <p>Formatting a millisecond value or a {@code Date} in the same second
+     * as the previous call only formats the millisecond fields, and fields
+     * that depend on the day alone are kept until the day changes. This
+     * makes formatting the current time, as logging does, nearly free.
+     * The output is the same as that of {@link #getInstance(String, TimeZone, Locale)}.</p>
+     *
+     * @param pattern  {@link java.text.SimpleDateFormat} compatible
+     *  pattern
+     * @param timeZone  optional time zone, overrides time zone of
+     *  formatted date
+     * @param locale  optional locale, overrides system locale
+     * @return a pattern based date/time formatter
+     * @throws IllegalArgumentException if pattern is invalid
+     *  or {@code null}
+     * @since 3.2
+     */
+    public static FastDateFormat getCachingInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+        return secondCachingCache.getInstance(pattern, timeZone, locale);
+    }
+
+    /**
+     * <p>Creates and caches the formatters for several patterns, so that
+     * the first requests for them do not have to compile them.</p>
+     *
+     * @param timeZone  optional time zone, overrides time zone of
+     *  formatted date
+     * @param locale  optional locale, overrides system locale
+     * @param patterns  {@link java.text.SimpleDateFormat} compatible
+     *  patterns
+     * @throws IllegalArgumentException if a pattern is invalid
+     *  or {@code null}
+     * @since 3.2
+     */
+    public static void preload(final TimeZone timeZone, final Locale locale, final String... patterns) {
+        cache.preload(timeZone, locale, patterns);
+    }
+
+    /**
+     * <p>Limits the number of formatters cached by the factory methods.</p>
+     *
+     * <p>By default the cache is unbounded. Once it holds more formatters
+     * than the maximum size, the least recently used ones are evicted.
+     * The limit applies separately to the instances of
+     * {@link #getInstance(String, TimeZone, Locale)} and of
+     * {@link #getCachingInstance(String, TimeZone, Locale)}.</p>
+     *
+     * @param maximumSize  the maximum number of cached formatters,
+     *  {@code Integer.MAX_VALUE} for no limit
+     * @throws IllegalArgumentException if the size is not positive
+     * @since 3.2
+     */
+    public static void setCacheMaximumSize(final int maximumSize) {
+        cache.setMaximumSize(maximumSize);
+        secondCachingCache.setMaximumSize(maximumSize);
+    }
+
+    /**
+     * <p>Gets the hit, miss and eviction counters of the caches behind
+     * the factory methods.</p>
+     *
+     * <p>The counters, the size and the maximum size are the sums over the
+     * instances of the {@code getInstance} and the {@code getCachingInstance}
+     * factory methods, which are cached separately.</p>
+     *
+     * @return a snapshot of the cache statistics
+     * @since 3.2
+     */
+    public static FormatCacheStatistics getCacheStatistics() {
+        return cache.getStatistics().plus(secondCachingCache.getStatistics());
+    }
+
     //-----------------------------------------------------------------------
     /**
      * <p>Gets a date formatter instance using the specified style in the
@@ -366,7 +465,22 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
      * @throws NullPointerException if pattern, timeZone, or locale is null.
      */
     protected FastDateFormat(final String pattern, final TimeZone timeZone, final Locale locale) {
-        printer= new FastDatePrinter(pattern, timeZone, locale);
+        this(pattern, timeZone, locale, false);
+    }
+
+    /**
+     * <p>Constructs a new FastDateFormat, optionally caching the text of
+     * the last formatted second.</p>
+     *
+     * @param pattern  {@link java.text.SimpleDateFormat} compatible pattern
+     * @param timeZone  non-null time zone to use
+     * @param locale  non-null locale to use
+     * @param cacheSeconds  whether to reuse the text of the last formatted second
+     * @throws NullPointerException if pattern, timeZone, or locale is null.
+     * @since 3.2
+     */
+    protected FastDateFormat(final String pattern, final TimeZone timeZone, final Locale locale, final boolean cacheSeconds) {
+        printer= new FastDatePrinter(pattern, timeZone, locale, cacheSeconds);
         parser= new FastDateParser(pattern, timeZone, locale);
     }
 
@@ -460,6 +574,93 @@ public class FastDateFormat extends Format implements DateParser, DatePrinter {
         return printer.format(calendar, buf);
     }
 
+    /**
+     * <p>Formats a millisecond {@code long} value into the
+     * supplied {@code StringBuilder}.</p>
+     *
+     * @param millis  the millisecond value to format
+     * @param buf  the buffer to format into
+     * @return the specified string builder
+     * @since 3.2
+     */
+    @Override
+    public StringBuilder format(final long millis, final StringBuilder buf) {
+        return printer.format(millis, buf);
+    }
+
+    /**
+     * <p>Formats a {@code Date} object into the
+     * supplied {@code StringBuilder} using a {@code GregorianCalendar}.</p>
+     *
+     * @param date  the date to format
+     * @param buf  the buffer to format into
+     * @return the specified string builder
+     * @since 3.2
+     */
+    @Override
+    public StringBuilder format(final Date date, final StringBuilder buf) {
+        return printer.format(date, buf);
+    }
+
+    /**
+     * <p>Formats a {@code Calendar} object into the
+     * supplied {@code StringBuilder}.</p>
+     *
+     * @param calendar  the calendar to format
+     * @param buf  the buffer to format into
+     * @return the specified string builder
+     * @since 3.2
+     */
+    @Override
+    public StringBuilder format(final Calendar calendar, final StringBuilder buf) {
+        return printer.format(calendar, buf);
+    }
+
+    /**
+     * <p>Formats a millisecond {@code long} value into the
+     * supplied {@code Appendable}.</p>
+     *
+     * @param millis  the millisecond value to format
+     * @param buf  the appendable to format into
+     * @return the specified appendable
+     * @throws IOException if the appendable throws it
+     * @since 3.2
+     */
+    @Override
+    public <B extends Appendable> B format(final long millis, final B buf) throws IOException {
+        return printer.format(millis, buf);
+    }
+
+    /**
+     * <p>Formats a {@code Date} object into the
+     * supplied {@code Appendable} using a {@code GregorianCalendar}.</p>
+     *
+     * @param date  the date to format
+     * @param buf  the appendable to format into
+     * @return the specified appendable
+     * @throws IOException if the appendable throws it
+     * @since 3.2
+     */
+    @Override
+    public <B extends Appendable> B format(final Date date, final B buf) throws IOException {
+        return printer.format(date, buf);
+    }
+
+    /**
+     * <p>Formats a {@code Calendar} object into the
+     * supplied {@code Appendable}.</p>
+     *
+     * @param calendar  the calendar to format
+     * @param buf  the appendable to format into
+     * @return the specified appendable
+     * @throws IOException if the appendable throws it
+     * @since 3.2
+     */
+    @Override
+    public <B extends Appendable> B format(final Calendar calendar, final B buf) throws IOException {
+        return printer.format(calendar, buf);
+    }
+
     // Parsing
     //-----------------------------------------------------------------------
 
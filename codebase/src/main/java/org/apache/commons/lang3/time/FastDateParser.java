@@ -22,7 +22,10 @@ import java.io.Serializable;
 import java.text.ParseException;
 import java.text.ParsePosition;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -53,6 +56,11 @@ import java.util.regex.Pattern;
  * <p>Timing tests indicate this class is as about as fast as SimpleDateFormat
  * in single thread applications and about 25% faster in multi-thread applications.</p>
  *
+ * <p>Parsing walks the fields of the pattern directly over the source text,
+ * without creating a regular expression matcher or any intermediate strings.
+ * Only when that fails, because a text field needs a shorter alternative for the
+ * rest of the pattern to match, is the equivalent regular expression consulted.</p>
+ *
  * <p>Note that the code only handles Gregorian calendars. The following non-Gregorian
  * calendars use SimpleDateFormat internally, and so will be slower:
  * <ul>
@@ -80,6 +88,8 @@ public class FastDateParser implements DateParser, Serializable {
     // derived fields
     private transient Pattern parsePattern;
     private transient Strategy[] strategies;
+    private transient Strategy[] parseStrategies;
+    private transient int[] parseWidths;
     private transient int thisYear;
 
     // dynamic fields to communicate with Strategy
@@ -111,6 +121,8 @@ public class FastDateParser implements DateParser, Serializable {
 
         final StringBuilder regex= new StringBuilder();
         final List<Strategy> collector = new ArrayList<Strategy>();
+        final List<Strategy> allFields = new ArrayList<Strategy>();
+        final int[] widths = new int[pattern.length()];
 
         final Matcher patternMatcher= formatPattern.matcher(pattern);
         if(!patternMatcher.lookingAt()) {
@@ -128,6 +140,8 @@ public class FastDateParser implements DateParser, Serializable {
             }
             final String nextFormatField= patternMatcher.group();
             nextStrategy = getStrategy(nextFormatField, definingCalendar);
+            widths[allFields.size()]= isNextNumber() ? getFieldWidth() : 0;
+            allFields.add(currentStrategy);
             if(currentStrategy.addRegex(this, regex)) {
                 collector.add(currentStrategy);
             }
@@ -137,11 +151,14 @@ public class FastDateParser implements DateParser, Serializable {
         if (patternMatcher.regionStart() != patternMatcher.regionEnd()) {
             throw new IllegalArgumentException("Failed to parse \""+pattern+"\" ; gave up at index "+patternMatcher.regionStart());
         }
+        allFields.add(currentStrategy);
         if(currentStrategy.addRegex(this, regex)) {
             collector.add(currentStrategy);
         }
         currentFormatField= null;
         strategies= collector.toArray(new Strategy[collector.size()]);
+        parseStrategies= allFields.toArray(new Strategy[allFields.size()]);
+        parseWidths= Arrays.copyOf(widths, allFields.size());
         parsePattern= Pattern.compile(regex.toString());
     }
 
@@ -270,20 +287,45 @@ public class FastDateParser implements DateParser, Serializable {
     @Override
     public Date parse(final String source, final ParsePosition pos) {
         final int offset= pos.getIndex();
-        final Matcher matcher= parsePattern.matcher(source.substring(offset));
-        if(!matcher.lookingAt()) {
-            return null;
-        }
         // timing tests indicate getting new instance is 19% faster than cloning
-        final Calendar cal= Calendar.getInstance(timeZone, locale);
+        Calendar cal= Calendar.getInstance(timeZone, locale);
         cal.clear();
 
+        int index= offset;
+        for(int i=0; index>=0 && i<parseStrategies.length; ++i) {
+            index= parseStrategies[i].parse(this, cal, source, index, parseWidths[i]);
+        }
+        if(index<0) {
+            // a text field may need a shorter alternative for the rest of the pattern to match,
+            // leave that backtracking to the regular expression
+            cal= Calendar.getInstance(timeZone, locale);
+            cal.clear();
+            index= parseWithPattern(source, offset, cal);
+            if(index<0) {
+                return null;
+            }
+        }
+        pos.setIndex(index);
+        return cal.getTime();
+    }
+
+    /**
+     * Parse the source with the regular expression equivalent to the pattern
+     * @param source The text to parse
+     * @param offset The index at which to start parsing
+     * @param cal The <code>Calendar</code> to set
+     * @return The index after the parsed text, or -1 if the source does not match
+     */
+    private int parseWithPattern(final String source, final int offset, final Calendar cal) {
+        final Matcher matcher= parsePattern.matcher(source.substring(offset));
+        if(!matcher.lookingAt()) {
+            return -1;
+        }
         for(int i=0; i<strategies.length;) {
             final Strategy strategy= strategies[i++];
             strategy.setCalendar(this, cal, matcher.group(i));
         }
-        pos.setIndex(offset+matcher.end());
-        return cal.getTime();
+        return offset+matcher.end();
     }
 
     // Support for strategies
@@ -346,6 +388,81 @@ public class FastDateParser implements DateParser, Serializable {
         return definingCalendar.getDisplayNames(field, Calendar.ALL_STYLES, locale);
     }
 
+    /**
+     * Orders display names by their first character, longer names first
+     */
+    private static final Comparator<String> DISPLAY_NAME_ORDER= new Comparator<String>() {
+        @Override
+        public int compare(final String left, final String right) {
+            if(left.isEmpty() || right.isEmpty()) {
+                return right.length()-left.length();
+            }
+            final int cmp= left.charAt(0)-right.charAt(0);
+            return cmp!=0 ?cmp :right.length()-left.length();
+        }
+    };
+
+    /**
+     * Orders time zone names by their first character, then in the case insensitive
+     * order of the alternatives in the time zone regular expression
+     */
+    private static final Comparator<String> ZONE_NAME_ORDER= new Comparator<String>() {
+        @Override
+        public int compare(final String left, final String right) {
+            if(left.isEmpty() || right.isEmpty()) {
+                return right.length()-left.length();
+            }
+            final int cmp= left.charAt(0)-right.charAt(0);
+            return cmp!=0 ?cmp :String.CASE_INSENSITIVE_ORDER.compare(left, right);
+        }
+    };
+
+    /**
+     * Sort display names for {@link #matchDisplayName(String[], String, int)}
+     * @param names The display names
+     * @param order {@link #DISPLAY_NAME_ORDER} or {@link #ZONE_NAME_ORDER}
+     * @return The sorted names
+     */
+    private static String[] sortDisplayNames(final Collection<String> names, final Comparator<String> order) {
+        final String[] sorted= names.toArray(new String[names.size()]);
+        Arrays.sort(sorted, order);
+        return sorted;
+    }
+
+    /**
+     * Find the first display name, in sort order, at a position of the source
+     * @param names The display names, sorted with {@link #sortDisplayNames(Collection, Comparator)}
+     * @param source The text to parse
+     * @param pos The index at which the name must start
+     * @return The index of the matching name, or -1 if no name matches
+     */
+    private static int matchDisplayName(final String[] names, final String source, final int pos) {
+        int end= names.length;
+        while(end>0 && names[end-1].isEmpty()) {
+            --end;
+        }
+        if(pos<source.length()) {
+            final char c= source.charAt(pos);
+            int low= 0;
+            int high= end;
+            while(low<high) {
+                final int mid= (low+high)>>>1;
+                if(names[mid].charAt(0)<c) {
+                    low= mid+1;
+                }
+                else {
+                    high= mid;
+                }
+            }
+            for(int i= low; i<end && names[i].charAt(0)==c; ++i) {
+                if(source.regionMatches(pos, names[i], 0, names[i].length())) {
+                    return i;
+                }
+            }
+        }
+        return end<names.length ?end :-1;
+    }
+
     /**
      * Adjust dates to be within 80 years before and 20 years after instantiation
      * @param twoDigitYear The year to adjust
@@ -409,6 +526,19 @@ public class FastDateParser implements DateParser, Serializable {
          * false, if this field is a constant value
          */
         abstract boolean addRegex(FastDateParser parser, StringBuilder regex);
+        /**
+         * Parse this field directly from the source and set the Calendar,
+         * accepting the same text as the regular expression from {@link #addRegex}
+         * 
+         * @param parser The parser calling this strategy
+         * @param cal The <code>Calendar</code> to set
+         * @param source The text to parse
+         * @param pos The index at which this field starts
+         * @param width The exact number of digits of a number field followed by another number,
+         * or 0 if the field is not limited
+         * @return The index after this field, or -1 if the source does not match
+         */
+        abstract int parse(FastDateParser parser, Calendar cal, String source, int pos, int width);
     }
 
     /**
@@ -515,6 +645,7 @@ public class FastDateParser implements DateParser, Serializable {
      */
     private static class CopyQuotedStrategy extends Strategy {
         private final String formatField;
+        private final String literal;
 
         /**
          * Construct a Strategy that ensures the formatField has literal text
@@ -522,6 +653,27 @@ public class FastDateParser implements DateParser, Serializable {
          */
         CopyQuotedStrategy(final String formatField) {
             this.formatField= formatField;
+            this.literal= unquote(formatField);
+        }
+
+        /**
+         * Replace two successive quotes ('') with a single quote ('), as {@link #escapeRegex} does
+         * @param value The source field
+         * @return The text matched by the field
+         */
+        private static String unquote(final String value) {
+            final StringBuilder sb= new StringBuilder(value.length());
+            for(int i= 0; i<value.length(); ++i) {
+                char c= value.charAt(i);
+                if(c=='\'') {
+                    if(++i==value.length()) {
+                        break;
+                    }
+                    c= value.charAt(i);
+                }
+                sb.append(c);
+            }
+            return sb.toString();
         }
 
         /**
@@ -544,6 +696,17 @@ public class FastDateParser implements DateParser, Serializable {
             escapeRegex(regex, formatField, true);
             return false;
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int parse(final FastDateParser parser, final Calendar cal, final String source, final int pos, final int width) {
+            if(!source.startsWith(literal, pos)) {
+                return -1;
+            }
+            return pos+literal.length();
+        }
     }
 
     /**
@@ -552,6 +715,8 @@ public class FastDateParser implements DateParser, Serializable {
      private static class TextStrategy extends Strategy {
         private final int field;
         private final Map<String, Integer> keyValues;
+        private final String[] sortedKeys;
+        private final int[] sortedValues;
 
         /**
          * Construct a Strategy that parses a Text field
@@ -562,6 +727,11 @@ public class FastDateParser implements DateParser, Serializable {
         TextStrategy(final int field, final Calendar definingCalendar, final Locale locale) {
             this.field= field;
             this.keyValues= getDisplayNames(field, definingCalendar, locale);
+            this.sortedKeys= sortDisplayNames(keyValues.keySet(), DISPLAY_NAME_ORDER);
+            this.sortedValues= new int[sortedKeys.length];
+            for(int i= 0; i<sortedKeys.length; ++i) {
+                sortedValues[i]= keyValues.get(sortedKeys[i]).intValue();
+            }
         }
 
         /**
@@ -594,6 +764,19 @@ public class FastDateParser implements DateParser, Serializable {
             }
             cal.set(field, iVal.intValue());
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int parse(final FastDateParser parser, final Calendar cal, final String source, final int pos, final int width) {
+            final int i= matchDisplayName(sortedKeys, source, pos);
+            if(i<0) {
+                return -1;
+            }
+            cal.set(field, sortedValues[i]);
+            return pos+sortedKeys[i].length();
+        }
     }
 
 
@@ -638,7 +821,49 @@ public class FastDateParser implements DateParser, Serializable {
          */
         @Override
         void setCalendar(final FastDateParser parser, final Calendar cal, final String value) {
-            cal.set(field, modify(Integer.parseInt(value)));
+            setCalendar(parser, cal, Integer.parseInt(value));
+        }
+
+        /**
+         * Set the Calendar with the parsed number.
+         * 
+         * @param parser The parser calling this strategy
+         * @param cal The <code>Calendar</code> to set
+         * @param iValue The parsed integer
+         */
+        void setCalendar(final FastDateParser parser, final Calendar cal, final int iValue) {
+            cal.set(field, modify(iValue));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int parse(final FastDateParser parser, final Calendar cal, final String source, final int pos, final int width) {
+            final int limit= width>0 ?pos+width :source.length();
+            if(limit>source.length()) {
+                return -1;
+            }
+            long value= 0;
+            int i= pos;
+            for(; i<limit; ++i) {
+                final int digit= Character.digit(source.charAt(i), 10);
+                if(digit<0) {
+                    break;
+                }
+                if(value<=Integer.MAX_VALUE) {
+                    value= value*10+digit;
+                }
+            }
+            if(i==pos || width>0 && i<limit) {
+                return -1;
+            }
+            if(value>Integer.MAX_VALUE) {
+                // reports the overflow just as the regular expression path does
+                value= Integer.parseInt(source.substring(pos, i));
+            }
+            setCalendar(parser, cal, (int) value);
+            return i;
         }
 
         /**
@@ -656,8 +881,7 @@ public class FastDateParser implements DateParser, Serializable {
          * {@inheritDoc}
          */
         @Override
-        void setCalendar(final FastDateParser parser, final Calendar cal, final String value) {
-            int iValue= Integer.parseInt(value);
+        void setCalendar(final FastDateParser parser, final Calendar cal, int iValue) {
             if(iValue<100) {
                 iValue= parser.adjustYear(iValue);
             }
@@ -672,6 +896,8 @@ public class FastDateParser implements DateParser, Serializable {
 
         private final String validTimeZoneChars;
         private final SortedMap<String, TimeZone> tzNames= new TreeMap<String, TimeZone>(String.CASE_INSENSITIVE_ORDER);
+        private final String[] sortedNames;
+        private final TimeZone[] sortedZones;
 
         /**
          * Construct a Strategy that parses a TimeZone
@@ -697,6 +923,15 @@ public class FastDateParser implements DateParser, Serializable {
             }
             sb.setCharAt(sb.length()-1, ')');
             validTimeZoneChars= sb.toString();
+
+            // the regular expression takes the first alternative that matches, not the longest
+            sortedNames= sortDisplayNames(tzNames.keySet(), ZONE_NAME_ORDER);
+            sortedZones= new TimeZone[sortedNames.length];
+            for(int i= 0; i<sortedNames.length; ++i) {
+                sortedZones[i]= sortedNames[i].startsWith("GMT")
+                        ? TimeZone.getTimeZone(sortedNames[i])
+                        : tzNames.get(sortedNames[i]);
+            }
         }
 
         /**
@@ -728,6 +963,75 @@ public class FastDateParser implements DateParser, Serializable {
             }
             cal.setTimeZone(tz);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        int parse(final FastDateParser parser, final Calendar cal, final String source, final int pos, final int width) {
+            // same alternatives, in the same order, as the regular expression
+            int end= matchGmtOffset(source, pos);
+            if(end<0) {
+                end= matchOffset(source, pos);
+            }
+            if(end>=0) {
+                setCalendar(parser, cal, source.substring(pos, end));
+                return end;
+            }
+            final int i= matchDisplayName(sortedNames, source, pos);
+            if(i<0) {
+                return -1;
+            }
+            cal.setTimeZone(sortedZones[i]);
+            return pos+sortedNames[i].length();
+        }
+
+        /**
+         * Match <code>GMT[+\-]\d{0,1}\d{2}</code>
+         * @param source The text to parse
+         * @param pos The index at which to match
+         * @return The index after the match, or -1 if there is no match
+         */
+        private static int matchGmtOffset(final String source, final int pos) {
+            if(!source.startsWith("GMT", pos) || !isSign(source, pos+3)) {
+                return -1;
+            }
+            final int digits= countAsciiDigits(source, pos+4, 3);
+            return digits>=2 ?pos+4+digits :-1;
+        }
+
+        /**
+         * Match <code>[+\-]\d{2}:?\d{2}</code>
+         * @param source The text to parse
+         * @param pos The index at which to match
+         * @return The index after the match, or -1 if there is no match
+         */
+        private static int matchOffset(final String source, final int pos) {
+            if(!isSign(source, pos) || countAsciiDigits(source, pos+1, 2)!=2) {
+                return -1;
+            }
+            int i= pos+3;
+            if(i<source.length() && source.charAt(i)==':') {
+                ++i;
+            }
+            return countAsciiDigits(source, i, 2)==2 ?i+2 :-1;
+        }
+
+        private static boolean isSign(final String source, final int pos) {
+            return pos<source.length() && (source.charAt(pos)=='+' || source.charAt(pos)=='-');
+        }
+
+        private static int countAsciiDigits(final String source, final int pos, final int max) {
+            int count= 0;
+            while(count<max && pos+count<source.length()) {
+                final char c= source.charAt(pos+count);
+                if(c<'0' || c>'9') {
+                    break;
+                }
+                ++count;
+            }
+            return count;
+        }
     }
 
     private static final Strategy NUMBER_MONTH_STRATEGY = new NumberStrategy(Calendar.MONTH) {
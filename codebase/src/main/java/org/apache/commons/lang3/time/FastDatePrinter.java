@@ -114,6 +114,10 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      * The locale.
      */
     private final Locale mLocale;
+    /**
+     * Whether to reuse the text of the last formatted second.
+     */
+    private final boolean mCacheSeconds;
     /**
      * The parsed rules.
      */
@@ -122,6 +126,28 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      * The estimated maximum length.
      */
     private transient int mMaxLengthEstimate;
+    /**
+     * Whether all rules can compute their fields without a Calendar.
+     */
+    private transient boolean mGregorianRules;
+    /**
+     * The rules that depend on the millisecond, formatted on every call when caching seconds.
+     */
+    private transient Rule[] mMillisecondRules;
+    /**
+     * The text of the last formatted second, replaced as a whole when the second changes.
+     */
+    private transient volatile SecondText mSecondText;
+
+    /**
+     * The start of the first full year after the default Gregorian cutover
+     * of {@code GregorianCalendar}, 1583-01-01T00:00:00Z.
+     */
+    private static final long GREGORIAN_START = -12212553600000L;
+    /**
+     * The number of milliseconds in a day.
+     */
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
 
     // Constructor
     //-----------------------------------------------------------------------
@@ -134,9 +160,31 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      * @throws NullPointerException if pattern, timeZone, or locale is null.
      */
     protected FastDatePrinter(final String pattern, final TimeZone timeZone, final Locale locale) {
+        this(pattern, timeZone, locale, false);
+    }
+
+    /**
+     * <p>Constructs a new FastDatePrinter, optionally caching the text of
+     * the last formatted second.</p>
+     *
+     * <p>When caching, formatting a millisecond value in the same second
+     * as the previous one only formats the millisecond fields; the fields
+     * that depend on the day alone are kept until the day changes. The
+     * cache holds a single immutable snapshot, so it needs no locking.
+     * This suits logging, where most timestamps fall in the current second.</p>
+     *
+     * @param pattern  {@link java.text.SimpleDateFormat} compatible pattern
+     * @param timeZone  non-null time zone to use
+     * @param locale  non-null locale to use
+     * @param cacheSeconds  whether to reuse the text of the last formatted second
+     * @throws NullPointerException if pattern, timeZone, or locale is null.
+     * @since 3.2
+     */
+    protected FastDatePrinter(final String pattern, final TimeZone timeZone, final Locale locale, final boolean cacheSeconds) {
         mPattern = pattern;
         mTimeZone = timeZone;
         mLocale = locale;
+        mCacheSeconds = cacheSeconds;
 
         init();
     }
@@ -154,6 +202,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
         }
 
         mMaxLengthEstimate = len;
+
+        boolean gregorian = true;
+        for (final Rule rule : mRules) {
+            if (rule.needsCalendar()) {
+                gregorian = false;
+                break;
+            }
+        }
+        mGregorianRules = gregorian;
+
+        final List<Rule> millisecondRules = new ArrayList<Rule>();
+        for (final Rule rule : mRules) {
+            if (rule.getField() == Calendar.MILLISECOND) {
+                millisecondRules.add(rule);
+            }
+        }
+        mMillisecondRules = millisecondRules.toArray(new Rule[millisecondRules.size()]);
     }
 
     // Parse the pattern
@@ -394,13 +459,7 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      */
     @Override
     public String format(final long millis) {
-        final Calendar c = newCalendar();  // hard code GregorianCalendar
-        c.setTimeInMillis(millis);
-        return applyRulesToString(c);
-    }
-
-    private String applyRulesToString(final Calendar c) {
-        return applyRules(c, new StringBuffer(mMaxLengthEstimate)).toString();
+        return format(millis, new StringBuilder(mMaxLengthEstimate)).toString();
     }
 
     private GregorianCalendar newCalendar() {
@@ -413,9 +472,7 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      */
     @Override
     public String format(final Date date) {
-        final Calendar c = newCalendar();  // hard code GregorianCalendar
-        c.setTime(date);
-        return applyRulesToString(c);
+        return format(date.getTime());
     }
 
     /* (non-Javadoc)
@@ -423,7 +480,7 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      */
     @Override
     public String format(final Calendar calendar) {
-        return format(calendar, new StringBuffer(mMaxLengthEstimate)).toString();
+        return format(calendar, new StringBuilder(mMaxLengthEstimate)).toString();
     }
 
     /* (non-Javadoc)
@@ -431,7 +488,11 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      */
     @Override
     public StringBuffer format(final long millis, final StringBuffer buf) {
-        return format(new Date(millis), buf);
+        try {
+            return applyRules(millis, buf);
+        } catch (final IOException e) {
+            throw new IllegalStateException("StringBuffer does not throw IOException", e);
+        }
     }
 
     /* (non-Javadoc)
@@ -439,9 +500,7 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      */
     @Override
     public StringBuffer format(final Date date, final StringBuffer buf) {
-        final Calendar c = newCalendar();  // hard code GregorianCalendar
-        c.setTime(date);
-        return applyRules(c, buf);
+        return format(date.getTime(), buf);
     }
 
     /* (non-Javadoc)
@@ -452,6 +511,62 @@ public class FastDatePrinter implements DatePrinter, Serializable {
         return applyRules(calendar, buf);
     }
 
+    /* (non-Javadoc)
+     * @see org.apache.commons.lang3.time.DatePrinter#format(long, java.lang.StringBuilder)
+     */
+    @Override
+    public StringBuilder format(final long millis, final StringBuilder buf) {
+        try {
+            return applyRules(millis, buf);
+        } catch (final IOException e) {
+            throw new IllegalStateException("StringBuilder does not throw IOException", e);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.apache.commons.lang3.time.DatePrinter#format(java.util.Date, java.lang.StringBuilder)
+     */
+    @Override
+    public StringBuilder format(final Date date, final StringBuilder buf) {
+        return format(date.getTime(), buf);
+    }
+
+    /* (non-Javadoc)
+     * @see org.apache.commons.lang3.time.DatePrinter#format(java.util.Calendar, java.lang.StringBuilder)
+     */
+    @Override
+    public StringBuilder format(final Calendar calendar, final StringBuilder buf) {
+        try {
+            return appendRules(calendar, buf);
+        } catch (final IOException e) {
+            throw new IllegalStateException("StringBuilder does not throw IOException", e);
+        }
+    }
+
+    /* (non-Javadoc)
+     * @see org.apache.commons.lang3.time.DatePrinter#format(long, java.lang.Appendable)
+     */
+    @Override
+    public <B extends Appendable> B format(final long millis, final B buf) throws IOException {
+        return applyRules(millis, buf);
+    }
+
+    /* (non-Javadoc)
+     * @see org.apache.commons.lang3.time.DatePrinter#format(java.util.Date, java.lang.Appendable)
+     */
+    @Override
+    public <B extends Appendable> B format(final Date date, final B buf) throws IOException {
+        return applyRules(date.getTime(), buf);
+    }
+
+    /* (non-Javadoc)
+     * @see org.apache.commons.lang3.time.DatePrinter#format(java.util.Calendar, java.lang.Appendable)
+     */
+    @Override
+    public <B extends Appendable> B format(final Calendar calendar, final B buf) throws IOException {
+        return appendRules(calendar, buf);
+    }
+
     /**
      * <p>Performs the formatting by applying the rules to the
      * specified calendar.</p>
@@ -461,12 +576,221 @@ public class FastDatePrinter implements DatePrinter, Serializable {
      * @return the specified string buffer
      */
     protected StringBuffer applyRules(final Calendar calendar, final StringBuffer buf) {
+        try {
+            return appendRules(calendar, buf);
+        } catch (final IOException e) {
+            throw new IllegalStateException("StringBuffer does not throw IOException", e);
+        }
+    }
+
+    /**
+     * <p>Performs the formatting by applying the rules to the
+     * specified calendar.</p>
+     *
+     * @param calendar  the calendar to format
+     * @param buf  the buffer to format into
+     * @return the specified buffer
+     * @throws IOException if the buffer throws it
+     */
+    private <B extends Appendable> B appendRules(final Calendar calendar, final B buf) throws IOException {
         for (final Rule rule : mRules) {
             rule.appendTo(buf, calendar);
         }
         return buf;
     }
 
+    /**
+     * <p>Performs the formatting of a millisecond value, computing the
+     * fields arithmetically when the rules and the date allow it and
+     * with a {@code GregorianCalendar} otherwise.</p>
+     *
+     * @param millis  the millisecond value to format
+     * @param buf  the buffer to format into
+     * @return the specified buffer
+     * @throws IOException if the buffer throws it
+     */
+    private <B extends Appendable> B applyRules(final long millis, final B buf) throws IOException {
+        if (mGregorianRules && millis > GREGORIAN_START + MILLIS_PER_DAY) {
+            if (mCacheSeconds) {
+                return applySecondText(millis, buf);
+            }
+            final int offset = mTimeZone.getOffset(millis);
+            return applyRules(millis + offset, buf, offset);
+        }
+        final Calendar c = newCalendar();
+        c.setTimeInMillis(millis);
+        return appendRules(c, buf);
+    }
+
+    /**
+     * <p>Performs the formatting by applying the rules to the
+     * specified local time.</p>
+     *
+     * @param localMillis  the milliseconds since the epoch, adjusted to the local time zone
+     * @param buf  the buffer to format into
+     * @param offset  the total offset of the time zone, in milliseconds
+     * @return the specified buffer
+     * @throws IOException if the buffer throws it
+     */
+    private <B extends Appendable> B applyRules(final long localMillis, final B buf, final int offset) throws IOException {
+        for (final Rule rule : mRules) {
+            rule.appendTo(buf, localMillis, offset);
+        }
+        return buf;
+    }
+
+    /**
+     * <p>Performs the formatting by appending the cached text of the
+     * second, replacing the cache if the second changed, and formatting
+     * only the millisecond rules.</p>
+     *
+     * @param millis  the millisecond value to format
+     * @param buf  the buffer to format into
+     * @return the specified buffer
+     * @throws IOException if the buffer throws it
+     */
+    private <B extends Appendable> B applySecondText(final long millis, final B buf) throws IOException {
+        final long second = Math.floorDiv(millis, 1000L);
+        SecondText text = mSecondText;
+        if (text == null || text.mSecond != second) {
+            text = new SecondText(this, second, text);
+            mSecondText = text;
+        }
+        final long localMillis = millis + text.mOffset;
+        final String[] segments = text.mSegments;
+        for (int i = 0; i < mMillisecondRules.length; i++) {
+            buf.append(segments[i]);
+            mMillisecondRules[i].appendTo(buf, localMillis, text.mOffset);
+        }
+        buf.append(segments[mMillisecondRules.length]);
+        return buf;
+    }
+
+    /**
+     * <p>Checks whether {@link #getGregorianField(long, int)} computes a calendar
+     * field, which is the case unless it depends on the locale or the time zone.</p>
+     *
+     * @param field  the {@code Calendar} field
+     * @return true if the field can be computed without a Calendar
+     */
+    static boolean isGregorianField(final int field) {
+        switch (field) {
+        case Calendar.ERA:
+        case Calendar.DAY_OF_WEEK:
+        case Calendar.AM_PM:
+        case Calendar.HOUR_OF_DAY:
+        case Calendar.HOUR:
+        case Calendar.MINUTE:
+        case Calendar.SECOND:
+        case Calendar.MILLISECOND:
+        case Calendar.YEAR:
+        case Calendar.MONTH:
+        case Calendar.DAY_OF_MONTH:
+        case Calendar.DAY_OF_WEEK_IN_MONTH:
+        case Calendar.DAY_OF_YEAR:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * <p>Gets a calendar field of a local time in the proleptic Gregorian
+     * calendar, as {@code GregorianCalendar} would after the cutover.</p>
+     *
+     * @param localMillis  the milliseconds since the epoch, adjusted to the local time zone
+     * @param field  the {@code Calendar} field
+     * @return the value of the field
+     * @throws UnsupportedOperationException if the field depends on the locale or the time zone
+     */
+    static int getGregorianField(final long localMillis, final int field) {
+        if (!isGregorianField(field)) {
+            throw new UnsupportedOperationException("Field " + field + " needs a Calendar");
+        }
+        final long days = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        final int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+        switch (field) {
+        case Calendar.ERA:
+            return GregorianCalendar.AD;
+        case Calendar.DAY_OF_WEEK:
+            // 1970-01-01 was a Thursday
+            return (int) Math.floorMod(days + Calendar.THURSDAY - 1, 7L) + 1;
+        case Calendar.AM_PM:
+            return millisOfDay / (12 * 60 * 60 * 1000);
+        case Calendar.HOUR_OF_DAY:
+            return millisOfDay / (60 * 60 * 1000);
+        case Calendar.HOUR:
+            return millisOfDay / (60 * 60 * 1000) % 12;
+        case Calendar.MINUTE:
+            return millisOfDay / (60 * 1000) % 60;
+        case Calendar.SECOND:
+            return millisOfDay / 1000 % 60;
+        case Calendar.MILLISECOND:
+            return millisOfDay % 1000;
+        default:
+            // the fields of the date, computed below
+            break;
+        }
+
+        // civil date from days, with years starting on March 1st so that the leap day comes last
+        final long shifted = days + 719468;
+        final long era = Math.floorDiv(shifted, 146097L);
+        final int dayOfEra = (int) (shifted - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfMarchYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int marchMonth = (5 * dayOfMarchYear + 2) / 153;
+        final int dayOfMonth = dayOfMarchYear - (153 * marchMonth + 2) / 5 + 1;
+        final int month = marchMonth < 10 ? marchMonth + 2 : marchMonth - 10;
+        final int year = (int) (yearOfEra + era * 400) + (marchMonth < 10 ? 0 : 1);
+        switch (field) {
+        case Calendar.YEAR:
+            return year;
+        case Calendar.MONTH:
+            return month;
+        case Calendar.DAY_OF_MONTH:
+            return dayOfMonth;
+        case Calendar.DAY_OF_WEEK_IN_MONTH:
+            return (dayOfMonth - 1) / 7 + 1;
+        default:
+            final boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+            return (marchMonth < 10 ? dayOfMarchYear + 59 + (leap ? 1 : 0) : dayOfMarchYear - 306) + 1;
+        }
+    }
+
+    /**
+     * <p>Counts the decimal digits of a non-negative value.</p>
+     *
+     * @param value  the value
+     * @return the number of digits
+     */
+    private static int countDigits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    /**
+     * <p>Appends the decimal digits of a non-negative value without
+     * creating a {@code String}.</p>
+     *
+     * @param buffer  the output buffer
+     * @param value  the value
+     * @param digits  the number of digits of the value
+     * @throws IOException if the buffer throws it
+     */
+    private static void appendDigits(final Appendable buffer, final int value, final int digits) throws IOException {
+        int divisor = 1;
+        for (int i = digits; --i > 0; ) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.append((char) (value / divisor % 10 + '0'));
+        }
+    }
+
     // Accessors
     //-----------------------------------------------------------------------
     /* (non-Javadoc)
@@ -560,6 +884,92 @@ public class FastDatePrinter implements DatePrinter, Serializable {
         init();
     }
 
+    // Second cache
+    //-----------------------------------------------------------------------
+    /**
+     * <p>Inner class holding the formatted text of one second, split
+     * around the millisecond rules. Instances are immutable.</p>
+     */
+    private static final class SecondText {
+        final long mSecond;
+        final long mDay;
+        final int mOffset;
+        /**
+         * The text between the millisecond rules.
+         */
+        final String[] mSegments;
+        /**
+         * The text of each rule that depends on the day alone, null for other rules.
+         */
+        final String[] mDayTexts;
+
+        /**
+         * Formats a second, reusing the day fields of the previous second
+         * when it falls on the same local day.
+         *
+         * @param printer the printer whose rules to apply
+         * @param second the seconds since the epoch
+         * @param previous the previously formatted second, may be null
+         * @throws IOException if a rule throws it
+         */
+        SecondText(final FastDatePrinter printer, final long second, final SecondText previous) throws IOException {
+            final Rule[] rules = printer.mRules;
+            final long millis = second * 1000L;
+            mSecond = second;
+            mOffset = printer.mTimeZone.getOffset(millis);
+            final long localMillis = millis + mOffset;
+            mDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+            final boolean sameDay = previous != null && previous.mDay == mDay;
+
+            mSegments = new String[printer.mMillisecondRules.length + 1];
+            mDayTexts = new String[rules.length];
+            final StringBuilder segment = new StringBuilder(printer.mMaxLengthEstimate);
+            int segmentIndex = 0;
+            for (int i = 0; i < rules.length; i++) {
+                final int field = rules[i].getField();
+                if (field == Calendar.MILLISECOND) {
+                    mSegments[segmentIndex++] = segment.toString();
+                    segment.setLength(0);
+                } else if (isDayField(field)) {
+                    if (sameDay) {
+                        mDayTexts[i] = previous.mDayTexts[i];
+                    } else {
+                        final int start = segment.length();
+                        rules[i].appendTo(segment, localMillis, mOffset);
+                        mDayTexts[i] = segment.substring(start);
+                        segment.setLength(start);
+                    }
+                    segment.append(mDayTexts[i]);
+                } else {
+                    rules[i].appendTo(segment, localMillis, mOffset);
+                }
+            }
+            mSegments[segmentIndex] = segment.toString();
+        }
+
+        /**
+         * Whether a field stays the same for a whole local day.
+         *
+         * @param field the {@code Calendar} field, or -1 for constant output
+         * @return true if the field only changes with the day
+         */
+        private static boolean isDayField(final int field) {
+            switch (field) {
+            case -1:
+            case Calendar.ERA:
+            case Calendar.YEAR:
+            case Calendar.MONTH:
+            case Calendar.DAY_OF_MONTH:
+            case Calendar.DAY_OF_WEEK:
+            case Calendar.DAY_OF_WEEK_IN_MONTH:
+            case Calendar.DAY_OF_YEAR:
+                return true;
+            default:
+                return false;
+            }
+        }
+    }
+
     // Rules
     //-----------------------------------------------------------------------
     /**
@@ -573,13 +983,42 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          */
         int estimateLength();
 
+        /**
+         * Returns the calendar field that the output of the rule depends on.
+         *
+         * @return the {@code Calendar} field, or -1 if the output is constant
+         */
+        int getField();
+
         /**
          * Appends the value of the specified calendar to the output buffer based on the rule implementation.
          *
          * @param buffer the output buffer
          * @param calendar calendar to be appended
+         * @throws IOException if the buffer throws it
+         */
+        void appendTo(Appendable buffer, Calendar calendar) throws IOException;
+
+        /**
+         * Returns whether the output of the rule needs a Calendar, because it depends on the locale's
+         * week definition or on the time zone's daylight saving time.
+         *
+         * @return true if only {@link #appendTo(Appendable, Calendar)} can be called
          */
-        void appendTo(StringBuffer buffer, Calendar calendar);
+        boolean needsCalendar();
+
+        /**
+         * Appends the value of the specified local time to the output buffer based on the rule implementation,
+         * computing the fields with {@link FastDatePrinter#getGregorianField(long, int)} instead of a Calendar.
+         * Only called if {@link #needsCalendar()} returns false.
+         *
+         * @param buffer the output buffer
+         * @param localMillis the milliseconds since the epoch, adjusted to the local time zone
+         * @param offset the total offset of the time zone, in milliseconds
+         * @throws IOException if the buffer throws it
+         * @throws UnsupportedOperationException if the rule needs a Calendar
+         */
+        void appendTo(Appendable buffer, long localMillis, int offset) throws IOException;
     }
 
     /**
@@ -591,8 +1030,9 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          *
          * @param buffer the output buffer
          * @param value the value to be appended
+         * @throws IOException if the buffer throws it
          */
-        void appendTo(StringBuffer buffer, int value);
+        void appendTo(Appendable buffer, int value) throws IOException;
     }
 
     /**
@@ -623,7 +1063,31 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return -1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
+            buffer.append(mValue);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
             buffer.append(mValue);
         }
     }
@@ -656,7 +1120,31 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return -1;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
+            buffer.append(mValue);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
             buffer.append(mValue);
         }
     }
@@ -699,9 +1187,33 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return mField;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return !isGregorianField(mField);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             buffer.append(mValues[calendar.get(mField)]);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            buffer.append(mValues[getGregorianField(localMillis, mField)]);
+        }
     }
 
     /**
@@ -731,7 +1243,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return mField;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return !isGregorianField(mField);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             appendTo(buffer, calendar.get(mField));
         }
 
@@ -739,14 +1267,22 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public final void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            appendTo(buffer, getGregorianField(localMillis, mField));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void appendTo(final Appendable buffer, final int value) throws IOException {
             if (value < 10) {
                 buffer.append((char)(value + '0'));
             } else if (value < 100) {
                 buffer.append((char)(value / 10 + '0'));
                 buffer.append((char)(value % 10 + '0'));
             } else {
-                buffer.append(Integer.toString(value));
+                appendDigits(buffer, value, countDigits(value));
             }
         }
     }
@@ -777,7 +1313,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return Calendar.MONTH;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
         }
 
@@ -785,7 +1337,15 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public final void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            appendTo(buffer, getGregorianField(localMillis, Calendar.MONTH) + 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void appendTo(final Appendable buffer, final int value) throws IOException {
             if (value < 10) {
                 buffer.append((char)(value + '0'));
             } else {
@@ -829,7 +1389,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return mField;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return !isGregorianField(mField);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             appendTo(buffer, calendar.get(mField));
         }
 
@@ -837,7 +1413,15 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public final void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            appendTo(buffer, getGregorianField(localMillis, mField));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void appendTo(final Appendable buffer, final int value) throws IOException {
             if (value < 100) {
                 for (int i = mSize; --i >= 2; ) {
                     buffer.append('0');
@@ -850,12 +1434,12 @@ public class FastDatePrinter implements DatePrinter, Serializable {
                     digits = 3;
                 } else {
                     Validate.isTrue(value > -1, "Negative values should not be possible", value);
-                    digits = Integer.toString(value).length();
+                    digits = countDigits(value);
                 }
                 for (int i = mSize; --i >= digits; ) {
                     buffer.append('0');
                 }
-                buffer.append(Integer.toString(value));
+                appendDigits(buffer, value, digits);
             }
         }
     }
@@ -887,7 +1471,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return mField;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return !isGregorianField(mField);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             appendTo(buffer, calendar.get(mField));
         }
 
@@ -895,12 +1495,20 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public final void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            appendTo(buffer, getGregorianField(localMillis, mField));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void appendTo(final Appendable buffer, final int value) throws IOException {
             if (value < 100) {
                 buffer.append((char)(value / 10 + '0'));
                 buffer.append((char)(value % 10 + '0'));
             } else {
-                buffer.append(Integer.toString(value));
+                appendDigits(buffer, value, countDigits(value));
             }
         }
     }
@@ -930,7 +1538,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return Calendar.YEAR;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             appendTo(buffer, calendar.get(Calendar.YEAR) % 100);
         }
 
@@ -938,7 +1562,15 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public final void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            appendTo(buffer, getGregorianField(localMillis, Calendar.YEAR) % 100);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void appendTo(final Appendable buffer, final int value) throws IOException {
             buffer.append((char)(value / 10 + '0'));
             buffer.append((char)(value % 10 + '0'));
         }
@@ -969,7 +1601,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return Calendar.MONTH;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             appendTo(buffer, calendar.get(Calendar.MONTH) + 1);
         }
 
@@ -977,7 +1625,15 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public final void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            appendTo(buffer, getGregorianField(localMillis, Calendar.MONTH) + 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final void appendTo(final Appendable buffer, final int value) throws IOException {
             buffer.append((char)(value / 10 + '0'));
             buffer.append((char)(value % 10 + '0'));
         }
@@ -1011,7 +1667,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return Calendar.HOUR;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             int value = calendar.get(Calendar.HOUR);
             if (value == 0) {
                 value = calendar.getLeastMaximum(Calendar.HOUR) + 1;
@@ -1023,7 +1695,16 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            final int value = getGregorianField(localMillis, Calendar.HOUR);
+            mRule.appendTo(buffer, value == 0 ? 12 : value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int value) throws IOException {
             mRule.appendTo(buffer, value);
         }
     }
@@ -1056,7 +1737,23 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return Calendar.HOUR_OF_DAY;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             int value = calendar.get(Calendar.HOUR_OF_DAY);
             if (value == 0) {
                 value = calendar.getMaximum(Calendar.HOUR_OF_DAY) + 1;
@@ -1068,7 +1765,16 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final int value) {
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) throws IOException {
+            final int value = getGregorianField(localMillis, Calendar.HOUR_OF_DAY);
+            mRule.appendTo(buffer, value == 0 ? 24 : value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final int value) throws IOException {
             mRule.appendTo(buffer, value);
         }
     }
@@ -1139,7 +1845,24 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
+        public int getField() {
+            return Calendar.ZONE_OFFSET;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            // the offset alone does not tell whether daylight saving time is in effect
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
             final TimeZone zone = calendar.getTimeZone();
             if (zone.useDaylightTime()
                     && calendar.get(Calendar.DST_OFFSET) != 0) {
@@ -1148,6 +1871,15 @@ public class FastDatePrinter implements DatePrinter, Serializable {
                 buffer.append(getTimeZoneDisplay(zone, false, mStyle, mLocale));
             }
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long localMillis, final int offset) {
+            // never called, as the rule needs a Calendar
+            throw new UnsupportedOperationException();
+        }
     }
 
     /**
@@ -1181,9 +1913,31 @@ public class FastDatePrinter implements DatePrinter, Serializable {
          * {@inheritDoc}
          */
         @Override
-        public void appendTo(final StringBuffer buffer, final Calendar calendar) {
-            int offset = calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET);
+        public int getField() {
+            return Calendar.ZONE_OFFSET;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean needsCalendar() {
+            return false;
+        }
 
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final Calendar calendar) throws IOException {
+            appendTo(buffer, 0L, calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void appendTo(final Appendable buffer, final long localMillis, int offset) throws IOException {
             if (offset < 0) {
                 buffer.append('-');
                 offset = -offset;
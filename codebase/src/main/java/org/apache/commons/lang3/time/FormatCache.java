@@ -19,15 +19,29 @@ package org.apache.commons.lang3.time;
 import java.text.DateFormat;
 import java.text.Format;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * <p>FormatCache is a cache and factory for {@link Format}s.</p>
  * 
+ * <p>The cache is unbounded unless a maximum size is set. When a miss
+ * takes the cache over it, the least recently used instances are evicted
+ * down to 90% of the maximum size in one scan, so the scan is paid once
+ * for every tenth of the maximum size of misses. A single thread evicts
+ * at a time; the others return without waiting. Hits do not lock, and
+ * only stamp the recency of the entry when the cache is bounded. Hits,
+ * misses and evictions are counted.</p>
+ * 
  * @since 3.0
  * @version $Id: FormatCache 892161 2009-12-18 07:21:10Z  $
  */
@@ -38,8 +52,21 @@ abstract class FormatCache<F extends Format> {
      */
     static final int NONE= -1;
     
-    private final ConcurrentMap<MultipartKey, F> cInstanceCache 
-        = new ConcurrentHashMap<MultipartKey, F>(7);
+    /**
+     * Maximum size meaning the cache is not bounded.
+     */
+    static final int UNBOUNDED= Integer.MAX_VALUE;
+
+    private final ConcurrentMap<MultipartKey, Entry<F>> cInstanceCache 
+        = new ConcurrentHashMap<MultipartKey, Entry<F>>(7);
+
+    private volatile int maximumSize= UNBOUNDED;
+    // stamps the entries on each use, for recency, while the cache is bounded
+    private final AtomicLong clock= new AtomicLong();
+    private final AtomicBoolean evicting= new AtomicBoolean();
+    private final LongAdder hitCount= new LongAdder();
+    private final LongAdder missCount= new LongAdder();
+    private final LongAdder evictionCount= new LongAdder();
     
     private static final ConcurrentMap<MultipartKey, String> cDateTimeInstanceCache 
         = new ConcurrentHashMap<MultipartKey, String>(7);
@@ -77,17 +104,134 @@ abstract class FormatCache<F extends Format> {
             locale = Locale.getDefault();
         }
         final MultipartKey key = new MultipartKey(pattern, timeZone, locale);
-        F format = cInstanceCache.get(key);
-        if (format == null) {           
-            format = createInstance(pattern, timeZone, locale);
-            final F previousValue= cInstanceCache.putIfAbsent(key, format);
-            if (previousValue != null) {
-                // another thread snuck in and did the same work
-                // we should return the instance that is in ConcurrentMap
-                format= previousValue;              
+        Entry<F> entry = cInstanceCache.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            if (maximumSize != UNBOUNDED) {
+                entry.lastUsed= clock.incrementAndGet();
             }
+            return entry.format;
+        }
+        missCount.increment();
+        entry = new Entry<F>(createInstance(pattern, timeZone, locale), 
+                maximumSize != UNBOUNDED ? clock.incrementAndGet() : 0L);
+        final Entry<F> previousValue= cInstanceCache.putIfAbsent(key, entry);
+        if (previousValue != null) {
+            // another thread snuck in and did the same work
+            // we should return the instance that is in ConcurrentMap
+            return previousValue.format;
+        }
+        if (cInstanceCache.size() > maximumSize) {
+            evict();
+        }
+        return entry.format;
+    }
+
+    /**
+     * <p>Creates and caches the formatters for several patterns ahead
+     * of their first use.</p>
+     * 
+     * @param timeZone  the time zone, null means use the default TimeZone
+     * @param locale  the locale, null means use the default Locale
+     * @param patterns  {@link java.text.SimpleDateFormat} compatible
+     *  patterns, non-null
+     * @throws IllegalArgumentException if a pattern is invalid
+     */
+    void preload(final TimeZone timeZone, final Locale locale, final String... patterns) {
+        for (final String pattern : patterns) {
+            getInstance(pattern, timeZone, locale);
         }
-        return format;
+    }
+
+    /**
+     * <p>Sets the maximum number of cached formatters, evicting the least
+     * recently used ones if there are more.</p>
+     * 
+     * @param maximumSize  the maximum size, {@link #UNBOUNDED} for no limit
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    void setMaximumSize(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        this.maximumSize= maximumSize;
+        evict();
+    }
+
+    /**
+     * <p>Gets the statistics of this cache.</p>
+     * 
+     * @return a snapshot of the counters
+     */
+    FormatCacheStatistics getStatistics() {
+        return new FormatCacheStatistics(hitCount.sum(), missCount.sum(), evictionCount.sum(),
+                cInstanceCache.size(), maximumSize);
+    }
+
+    /**
+     * <p>Removes the least recently used formatters while the cache is
+     * over its maximum size, unless another thread is already doing so.</p>
+     * 
+     * <p>The size is checked again after each batch, so the misses of the
+     * threads which did not wait are evicted too.</p>
+     */
+    private void evict() {
+        while (cInstanceCache.size() > maximumSize && evicting.compareAndSet(false, true)) {
+            try {
+                evictBatch();
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+
+    /**
+     * <p>Removes the least recently used formatters down to 90% of the
+     * maximum size, in a single scan of the cache.</p>
+     */
+    private void evictBatch() {
+        final int max= maximumSize;
+        final List<Map.Entry<MultipartKey, Entry<F>>> entries= 
+            new ArrayList<Map.Entry<MultipartKey, Entry<F>>>(cInstanceCache.entrySet());
+        final int excess= entries.size() - (max - max / 10);
+        if (excess <= 0) {
+            return;
+        }
+        // the stamps are read once, as hits keep updating them; entries cached while
+        // the cache was unbounded share the stamp 0, so the removals are counted
+        final long[] stamps= new long[entries.size()];
+        for (int i = 0; i < stamps.length; i++) {
+            stamps[i]= entries.get(i).getValue().lastUsed;
+        }
+        final long[] sorted= stamps.clone();
+        Arrays.sort(sorted);
+        final long threshold= sorted[excess - 1];
+        // the entries older than the threshold first, then as many as needed of those at it
+        int removed= 0;
+        for (int i = 0; i < stamps.length; i++) {
+            if (stamps[i] < threshold && remove(entries.get(i))) {
+                removed++;
+            }
+        }
+        for (int i = 0; i < stamps.length && removed < excess; i++) {
+            if (stamps[i] == threshold && remove(entries.get(i))) {
+                removed++;
+            }
+        }
+    }
+
+    /**
+     * <p>Removes an entry, unless it was replaced or removed meanwhile.</p>
+     * 
+     * @param entry  the entry to evict
+     * @return true if the entry was removed
+     */
+    private boolean remove(final Map.Entry<MultipartKey, Entry<F>> entry) {
+        if (cInstanceCache.remove(entry.getKey(), entry.getValue())) {
+            evictionCount.increment();
+            return true;
+        }
+        return false;
     }
     
     /**
@@ -219,6 +363,25 @@ abstract class FormatCache<F extends Format> {
         return pattern;
     }
 
+    // ----------------------------------------------------------------------
+    /**
+     * <p>Helper class to hold a cached formatter and when it was last used</p>
+     */
+    private static class Entry<F> {
+        private final F format;
+        private volatile long lastUsed;
+
+        /**
+         * Constructs an instance of <code>Entry</code>.
+         * @param format the cached formatter
+         * @param lastUsed the clock value of the creation
+         */
+        Entry(final F format, final long lastUsed) {
+            this.format = format;
+            this.lastUsed = lastUsed;
+        }
+    }
+
     // ----------------------------------------------------------------------
     /**
      * <p>Helper class to hold multi-part Map keys</p>
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.time;
+
+import java.io.Serializable;
+
+/**
+ * <p>A snapshot of the counters of the cache behind the
+ * {@link FastDateFormat} factory methods.</p>
+ * 
+ * <p>This class is immutable and thread-safe.</p>
+ * 
+ * @see FastDateFormat#getCacheStatistics()
+ * @since 3.2
+ * @version $Id$
+ */
+public final class FormatCacheStatistics implements Serializable {
+
+    /**
+     * Required for serialization support.
+     * 
+     * @see java.io.Serializable
+     */
+    private static final long serialVersionUID = 1L;
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int size;
+    private final int maximumSize;
+
+    /**
+     * <p>Constructs a new instance.</p>
+     * 
+     * @param hitCount  the number of lookups which found a cached formatter
+     * @param missCount  the number of lookups which created a formatter
+     * @param evictionCount  the number of formatters evicted
+     * @param size  the number of cached formatters
+     * @param maximumSize  the maximum number of cached formatters
+     */
+    FormatCacheStatistics(final long hitCount, final long missCount, final long evictionCount,
+            final int size, final int maximumSize) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * <p>Gets the number of lookups which found a cached formatter.</p>
+     * 
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * <p>Gets the number of lookups which had to create a formatter.</p>
+     * 
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * <p>Gets the number of formatters evicted to keep the cache within
+     * its maximum size.</p>
+     * 
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * <p>Gets the number of cached formatters.</p>
+     * 
+     * @return the size of the cache
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * <p>Gets the maximum number of cached formatters.</p>
+     * 
+     * @return the maximum size, {@code Integer.MAX_VALUE} if unbounded
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * <p>Gets the ratio of hits to lookups.</p>
+     * 
+     * @return the hit rate, 1.0 if there was no lookup
+     */
+    public double getHitRate() {
+        final long lookups = hitCount + missCount;
+        return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * <p>Combines the statistics of two caches, as if they were one.</p>
+     * 
+     * @param other  the statistics of the other cache, not null
+     * @return the summed statistics, unbounded if either cache is
+     */
+    FormatCacheStatistics plus(final FormatCacheStatistics other) {
+        final long max = (long) maximumSize + other.maximumSize;
+        return new FormatCacheStatistics(hitCount + other.hitCount, missCount + other.missCount,
+                evictionCount + other.evictionCount, size + other.size,
+                maximumSize == Integer.MAX_VALUE || other.maximumSize == Integer.MAX_VALUE || max > Integer.MAX_VALUE
+                        ? Integer.MAX_VALUE : (int) max);
+    }
+
+    /**
+     * <p>Gets a debugging string version of this statistics.</p>
+     * 
+     * @return a debugging string
+     */
+    @Override
+    public String toString() {
+        return "FormatCacheStatistics[hits=" + hitCount + ", misses=" + missCount
+                + ", evictions=" + evictionCount + ", size=" + size + ", maximumSize=" + maximumSize + "]";
+    }
+
+}
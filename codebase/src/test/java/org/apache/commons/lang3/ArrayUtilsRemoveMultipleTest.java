@@ -22,8 +22,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
 
 import org.junit.Test;
 
@@ -1050,4 +1053,107 @@ public class ArrayUtilsRemoveMultipleTest {
         assertEquals(Short.TYPE, array.getClass().getComponentType());
     }
 
+    @Test
+    public void testRemoveAllUnorderedIndices() {
+        final int[] array = new int[200];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        // few indices are sorted in a copy, many are marked in a BitSet
+        final int[] few = { 7, 3, 3, 199 };
+        assertArrayEquals(ArrayUtils.removeAll(array, 3, 7, 199), ArrayUtils.removeAll(array, few));
+        assertArrayEquals(new int[] { 7, 3, 3, 199 }, few);
+        final int[] many = { 9, 0, 5, 5, 1 };
+        assertArrayEquals(new int[] { 2, 3, 4, 6, 7, 8 }, ArrayUtils.removeAll(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 }, many));
+        assertArrayEquals(new int[] { 9, 0, 5, 5, 1 }, many);
+
+        final Random random = new Random(2012);
+        for (int n = 0; n < 200; n++) {
+            final int[] indices = new int[random.nextInt(120)];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = random.nextInt(array.length);
+            }
+            final int[] sorted = indices.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(ArrayUtils.removeAll(array, sorted), ArrayUtils.removeAll(array, indices));
+            assertEquals(array.length - new HashSet<Integer>(Arrays.asList(ArrayUtils.toObject(indices))).size(),
+                ArrayUtils.removeAll(array, indices).length);
+        }
+    }
+
+    @Test
+    public void testRemoveAllUnorderedIndicesOutOfBounds() {
+        try {
+            ArrayUtils.removeAll(new long[] { 1, 2 }, 1, 0, 2);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException e) {
+            assertEquals("Index: 2, Length: 2", e.getMessage());
+        }
+        try {
+            ArrayUtils.removeAll(new long[] { 1, 2 }, 1, -1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException e) {
+            assertEquals("Index: -1, Length: 2", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testRemoveElementsSameAsIndexOf() {
+        final Random random = new Random(2012);
+        for (int n = 0; n < 500; n++) {
+            final int[] array = new int[random.nextInt(60)];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt(10) - 5;
+            }
+            final int[] values = new int[random.nextInt(20)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(12) - 6;
+            }
+            // removes the first occurrences of each value, as repeated removeElement calls do
+            int[] expected = array;
+            for (final int value : values) {
+                expected = ArrayUtils.removeElement(expected, value);
+            }
+            assertArrayEquals(expected, ArrayUtils.removeElements(array, values));
+
+            final long[] longs = new long[array.length];
+            for (int i = 0; i < array.length; i++) {
+                longs[i] = array[i] * 0x100000001L;
+            }
+            long[] expectedLongs = longs;
+            for (final int value : values) {
+                expectedLongs = ArrayUtils.removeElement(expectedLongs, value * 0x100000001L);
+            }
+            final long[] longValues = new long[values.length];
+            for (int i = 0; i < values.length; i++) {
+                longValues[i] = values[i] * 0x100000001L;
+            }
+            assertArrayEquals(expectedLongs, ArrayUtils.removeElements(longs, longValues));
+        }
+    }
+
+    @Test
+    public void testRemoveElementsFloatingPoint() {
+        // values are compared with ==, as by indexOf
+        assertTrue(Arrays.equals(new double[] { 1, Double.NaN, -0.0 },
+            ArrayUtils.removeElements(new double[] { 0.0, 1, Double.NaN, -0.0 }, -0.0, Double.NaN)));
+        assertTrue(Arrays.equals(new double[] { 1, Double.NaN },
+            ArrayUtils.removeElements(new double[] { -0.0, 1, Double.NaN, 0.0 }, 0.0, 0.0)));
+        // 0.0 and -0.0 each remove an occurrence, where both used to remove the same first one
+        assertTrue(Arrays.equals(new double[] { -0.0, Double.NaN },
+            ArrayUtils.removeElements(new double[] { 0.0, 0.0, -0.0, Double.NaN }, Double.NaN, -0.0, 0.0)));
+        assertTrue(Arrays.equals(new float[] { 1, Float.NaN, -0.0f },
+            ArrayUtils.removeElements(new float[] { 0.0f, 1, Float.NaN, -0.0f }, -0.0f, Float.NaN)));
+        assertTrue(Arrays.equals(new float[] { 2.5f },
+            ArrayUtils.removeElements(new float[] { 2.5f, Float.MAX_VALUE, 1e-45f }, 1e-45f, Float.MAX_VALUE)));
+    }
+
+    @Test
+    public void testRemoveElementsBooleanCounts() {
+        assertTrue(Arrays.equals(new boolean[] { true },
+            ArrayUtils.removeElements(new boolean[] { true, false, true, false, true }, true, true, false, false, false)));
+        assertTrue(Arrays.equals(new boolean[] { false },
+            ArrayUtils.removeElements(new boolean[] { true, false, true }, true, true, true)));
+    }
+
 }
@@ -1696,6 +1696,44 @@ public class ArrayUtilsTest  {
         ArrayUtils.reverse(array);
         assertEquals(null, array);
     }
+
+    @Test
+    public void testReverseRange() {
+        final Object[] objects = new Object[] {"a", "b", "c", "d"};
+        ArrayUtils.reverse(objects, 1, 3);
+        assertArrayEquals(new Object[] {"a", "c", "b", "d"}, objects);
+        ArrayUtils.reverse(objects, -1, 10);
+        assertArrayEquals(new Object[] {"d", "b", "c", "a"}, objects);
+        ArrayUtils.reverse(objects, 3, 1);
+        assertArrayEquals(new Object[] {"d", "b", "c", "a"}, objects);
+        ArrayUtils.reverse((Object[]) null, 0, 1);
+
+        final long[] longs = new long[] {1, 2, 3, 4, 5};
+        ArrayUtils.reverse(longs, 0, 4);
+        assertArrayEquals(new long[] {4, 3, 2, 1, 5}, longs);
+        final int[] ints = new int[] {1, 2, 3, 4, 5};
+        ArrayUtils.reverse(ints, 2, 5);
+        assertArrayEquals(new int[] {1, 2, 5, 4, 3}, ints);
+        final short[] shorts = new short[] {1, 2, 3};
+        ArrayUtils.reverse(shorts, 0, 2);
+        assertArrayEquals(new short[] {2, 1, 3}, shorts);
+        final char[] chars = new char[] {'a', 'b', 'c'};
+        ArrayUtils.reverse(chars, 1, 3);
+        assertArrayEquals(new char[] {'a', 'c', 'b'}, chars);
+        final byte[] bytes = new byte[] {1, 2, 3};
+        ArrayUtils.reverse(bytes, 0, 3);
+        assertArrayEquals(new byte[] {3, 2, 1}, bytes);
+        final double[] doubles = new double[] {1, 2, 3};
+        ArrayUtils.reverse(doubles, 0, 2);
+        assertTrue(Arrays.equals(new double[] {2, 1, 3}, doubles));
+        final float[] floats = new float[] {1, 2, 3};
+        ArrayUtils.reverse(floats, 1, 3);
+        assertTrue(Arrays.equals(new float[] {1, 3, 2}, floats));
+        final boolean[] booleans = new boolean[] {true, false, false};
+        ArrayUtils.reverse(booleans, 0, 2);
+        assertTrue(Arrays.equals(new boolean[] {false, true, false}, booleans));
+        ArrayUtils.reverse((int[]) null, 0, 1);
+    }
     
     //-----------------------------------------------------------------------
     @Test
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link ByteArrayList}.
+ *
+ * @version $Id$
+ */
+public class ByteArrayListTest {
+
+    private static final byte A = (byte) 1;
+    private static final byte B = (byte) 2;
+    private static final byte C = (byte) -3;
+    private static final byte D = (byte) 4;
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testConstructors() {
+        assertEquals(0, new ByteArrayList().size());
+        assertTrue(new ByteArrayList().isEmpty());
+        assertEquals(0, new ByteArrayList(0).array().length);
+        assertEquals(7, new ByteArrayList(7).array().length);
+        try {
+            new ByteArrayList(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException ex) {
+            assertEquals("Capacity must not be negative", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testOfAndWrap() {
+        final byte[] values = {A, B, C};
+        final ByteArrayList copy = ByteArrayList.of(values);
+        assertEquals(3, copy.size());
+        assertNotSame(values, copy.array());
+        assertTrue(ByteArrayList.of((byte[]) null).isEmpty());
+        assertTrue(ByteArrayList.of().isEmpty());
+
+        final ByteArrayList wrapped = ByteArrayList.wrap(values);
+        assertSame(values, wrapped.array());
+        wrapped.set(0, D);
+        assertEquals(D, values[0]);
+        wrapped.add(A);
+        assertNotSame(values, wrapped.array());
+        assertEquals(copy.size() + 1, wrapped.size());
+        try {
+            ByteArrayList.wrap(null);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException ex) {
+            assertEquals("Array must not be null", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testAddGetSet() {
+        final ByteArrayList list = new ByteArrayList(1);
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 2 == 0 ? A : B);
+        }
+        assertEquals(100, list.size());
+        assertEquals(A, list.get(0));
+        assertEquals(B, list.get(99));
+        assertEquals(B, list.set(99, C));
+        assertEquals(C, list.get(99));
+        assertIndexOutOfBounds(list, 100);
+        assertIndexOutOfBounds(list, -1);
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        final ByteArrayList list = ByteArrayList.of(A, D);
+        list.insert(1, B).insertAll(2, C, C).addAll(A, B).insertAll(0).addAll((byte[]) null);
+        assertArrayEquals(new byte[] {A, B, C, C, D, A, B}, list.toArray());
+        list.insert(list.size(), C);
+        assertEquals(C, list.remove(7));
+        assertEquals(B, list.remove(1));
+        assertArrayEquals(new byte[] {A, C, C, D, A, B}, list.toArray());
+        list.removeRange(1, 3);
+        assertArrayEquals(new byte[] {A, D, A, B}, list.toArray());
+        list.removeRange(2, 2);
+        assertEquals(4, list.size());
+        assertTrue(list.removeElement(A));
+        assertFalse(list.removeElement(C));
+        assertArrayEquals(new byte[] {D, A, B}, list.toArray());
+        try {
+            list.insert(4, A);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            assertEquals("Index: 4, Size: 3", ex.getMessage());
+        }
+        try {
+            list.removeRange(2, 4);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            // expected
+        }
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new byte[0], list.toArray());
+    }
+
+    @Test
+    public void testSearch() {
+        final ByteArrayList list = ByteArrayList.of(A, B, C, A, B);
+        assertEquals(0, list.indexOf(A));
+        assertEquals(3, list.indexOf(A, 1));
+        assertEquals(0, list.indexOf(A, -5));
+        assertEquals(-1, list.indexOf(A, 5));
+        assertEquals(4, list.lastIndexOf(B));
+        assertEquals(-1, list.indexOf(D));
+        assertEquals(-1, list.lastIndexOf(D));
+        assertTrue(list.contains(C));
+        assertFalse(list.contains(D));
+
+        // values past the size are not found
+        list.removeRange(2, 5);
+        assertFalse(list.contains(C));
+        assertEquals(-1, list.lastIndexOf(C));
+        assertEquals(2, ArrayUtils.indexOf(list.array(), C));
+    }
+
+    @Test
+    public void testReverse() {
+        final ByteArrayList list = new ByteArrayList(10).addAll(A, B, C);
+        list.reverse();
+        assertArrayEquals(new byte[] {C, B, A}, list.toArray());
+        assertEquals(10, list.array().length);
+    }
+
+    @Test
+    public void testConversions() {
+        final ByteArrayList list = new ByteArrayList().addAll(A, B, C);
+        assertArrayEquals(new Byte[] {A, B, C}, list.toObject());
+        assertArrayEquals(ArrayUtils.toObject(list.toArray()), list.toObject());
+        assertEquals(list, ByteArrayList.wrap(ArrayUtils.toPrimitive(list.toObject())));
+
+        list.ensureCapacity(50);
+        assertTrue(list.array().length >= 50);
+        list.trimToSize();
+        assertEquals(3, list.array().length);
+        assertArrayEquals(new byte[] {A, B, C}, list.array());
+    }
+
+    @Test
+    public void testEqualsHashCodeToString() {
+        final ByteArrayList list = new ByteArrayList().addAll(A, B, C);
+        final ByteArrayList other = ByteArrayList.wrap(new byte[] {A, B, C});
+        assertEquals(list, other);
+        assertEquals(list, list);
+        assertEquals(Arrays.hashCode(new byte[] {A, B, C}), list.hashCode());
+        assertEquals(list.hashCode(), other.hashCode());
+        assertFalse(list.equals(ByteArrayList.of(A, B)));
+        assertFalse(list.equals(ByteArrayList.of(A, B, D)));
+        assertFalse(list.equals(null));
+        assertFalse(list.equals(Arrays.asList(A, B, C)));
+        assertEquals(ArrayUtils.toString(list.toArray()), list.toString());
+        assertEquals("{}", new ByteArrayList().toString());
+    }
+
+    private static void assertIndexOutOfBounds(final ByteArrayList list, final int index) {
+        try {
+            list.get(index);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            assertEquals("Index: " + index + ", Size: " + list.size(), ex.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link CharArrayList}.
+ *
+ * @version $Id$
+ */
+public class CharArrayListTest {
+
+    private static final char A = 'a';
+    private static final char B = 'b';
+    private static final char C = 'c';
+    private static final char D = 'd';
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testConstructors() {
+        assertEquals(0, new CharArrayList().size());
+        assertTrue(new CharArrayList().isEmpty());
+        assertEquals(0, new CharArrayList(0).array().length);
+        assertEquals(7, new CharArrayList(7).array().length);
+        try {
+            new CharArrayList(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException ex) {
+            assertEquals("Capacity must not be negative", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testOfAndWrap() {
+        final char[] values = {A, B, C};
+        final CharArrayList copy = CharArrayList.of(values);
+        assertEquals(3, copy.size());
+        assertNotSame(values, copy.array());
+        assertTrue(CharArrayList.of((char[]) null).isEmpty());
+        assertTrue(CharArrayList.of().isEmpty());
+
+        final CharArrayList wrapped = CharArrayList.wrap(values);
+        assertSame(values, wrapped.array());
+        wrapped.set(0, D);
+        assertEquals(D, values[0]);
+        wrapped.add(A);
+        assertNotSame(values, wrapped.array());
+        assertEquals(copy.size() + 1, wrapped.size());
+        try {
+            CharArrayList.wrap(null);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException ex) {
+            assertEquals("Array must not be null", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testAddGetSet() {
+        final CharArrayList list = new CharArrayList(1);
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 2 == 0 ? A : B);
+        }
+        assertEquals(100, list.size());
+        assertEquals(A, list.get(0));
+        assertEquals(B, list.get(99));
+        assertEquals(B, list.set(99, C));
+        assertEquals(C, list.get(99));
+        assertIndexOutOfBounds(list, 100);
+        assertIndexOutOfBounds(list, -1);
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        final CharArrayList list = CharArrayList.of(A, D);
+        list.insert(1, B).insertAll(2, C, C).addAll(A, B).insertAll(0).addAll((char[]) null);
+        assertArrayEquals(new char[] {A, B, C, C, D, A, B}, list.toArray());
+        list.insert(list.size(), C);
+        assertEquals(C, list.remove(7));
+        assertEquals(B, list.remove(1));
+        assertArrayEquals(new char[] {A, C, C, D, A, B}, list.toArray());
+        list.removeRange(1, 3);
+        assertArrayEquals(new char[] {A, D, A, B}, list.toArray());
+        list.removeRange(2, 2);
+        assertEquals(4, list.size());
+        assertTrue(list.removeElement(A));
+        assertFalse(list.removeElement(C));
+        assertArrayEquals(new char[] {D, A, B}, list.toArray());
+        try {
+            list.insert(4, A);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            assertEquals("Index: 4, Size: 3", ex.getMessage());
+        }
+        try {
+            list.removeRange(2, 4);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            // expected
+        }
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new char[0], list.toArray());
+    }
+
+    @Test
+    public void testSearch() {
+        final CharArrayList list = CharArrayList.of(A, B, C, A, B);
+        assertEquals(0, list.indexOf(A));
+        assertEquals(3, list.indexOf(A, 1));
+        assertEquals(0, list.indexOf(A, -5));
+        assertEquals(-1, list.indexOf(A, 5));
+        assertEquals(4, list.lastIndexOf(B));
+        assertEquals(-1, list.indexOf(D));
+        assertEquals(-1, list.lastIndexOf(D));
+        assertTrue(list.contains(C));
+        assertFalse(list.contains(D));
+
+        // values past the size are not found
+        list.removeRange(2, 5);
+        assertFalse(list.contains(C));
+        assertEquals(-1, list.lastIndexOf(C));
+        assertEquals(2, ArrayUtils.indexOf(list.array(), C));
+    }
+
+    @Test
+    public void testReverse() {
+        final CharArrayList list = new CharArrayList(10).addAll(A, B, C);
+        list.reverse();
+        assertArrayEquals(new char[] {C, B, A}, list.toArray());
+        assertEquals(10, list.array().length);
+    }
+
+    @Test
+    public void testConversions() {
+        final CharArrayList list = new CharArrayList().addAll(A, B, C);
+        assertArrayEquals(new Character[] {A, B, C}, list.toObject());
+        assertArrayEquals(ArrayUtils.toObject(list.toArray()), list.toObject());
+        assertEquals(list, CharArrayList.wrap(ArrayUtils.toPrimitive(list.toObject())));
+
+        list.ensureCapacity(50);
+        assertTrue(list.array().length >= 50);
+        list.trimToSize();
+        assertEquals(3, list.array().length);
+        assertArrayEquals(new char[] {A, B, C}, list.array());
+    }
+
+    @Test
+    public void testEqualsHashCodeToString() {
+        final CharArrayList list = new CharArrayList().addAll(A, B, C);
+        final CharArrayList other = CharArrayList.wrap(new char[] {A, B, C});
+        assertEquals(list, other);
+        assertEquals(list, list);
+        assertEquals(Arrays.hashCode(new char[] {A, B, C}), list.hashCode());
+        assertEquals(list.hashCode(), other.hashCode());
+        assertFalse(list.equals(CharArrayList.of(A, B)));
+        assertFalse(list.equals(CharArrayList.of(A, B, D)));
+        assertFalse(list.equals(null));
+        assertFalse(list.equals(Arrays.asList(A, B, C)));
+        assertEquals(ArrayUtils.toString(list.toArray()), list.toString());
+        assertEquals("{}", new CharArrayList().toString());
+    }
+
+    private static void assertIndexOutOfBounds(final CharArrayList list, final int index) {
+        try {
+            list.get(index);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            assertEquals("Index: " + index + ", Size: " + list.size(), ex.getMessage());
+        }
+    }
+
+}
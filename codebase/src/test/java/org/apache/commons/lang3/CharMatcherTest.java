@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link CharMatcher}.
+ *
+ * @version $Id$
+ */
+public class CharMatcherTest {
+
+    private static final String CHARS = "abcxyz \t~\u00e9\u4e2d\ud801\udc00\ud801\udc01\udc01\ud802\uffff";
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testAnyOf() {
+        assertSame(CharMatcher.NONE, CharMatcher.anyOf((String) null));
+        assertSame(CharMatcher.NONE, CharMatcher.anyOf(""));
+        assertSame(CharMatcher.NONE, CharMatcher.anyOf((char[]) null));
+        final CharMatcher matcher = CharMatcher.anyOf("a~\u4e2d\ud801\udc00");
+        assertTrue(matcher.matches('a'));
+        assertTrue(matcher.matches('~'));
+        assertTrue(matcher.matches('\u4e2d'));
+        assertTrue(matcher.matches(0x10400));
+        assertFalse(matcher.matches('b'));
+        assertFalse(matcher.matches('\ud801'));
+        assertFalse(matcher.matches(0x10401));
+        assertFalse(matcher.matches(-1));
+        assertEquals(matcher, CharMatcher.anyOf('\ud801', '\udc00', '\u4e2d', '~', 'a', 'a'));
+    }
+
+    @Test
+    public void testInRange() {
+        final CharMatcher lower = CharMatcher.inRange('a', 'z');
+        assertTrue(lower.matches('a'));
+        assertTrue(lower.matches('z'));
+        assertFalse(lower.matches('A'));
+        assertEquals(CharMatcher.charSet("a-z"), lower);
+
+        final CharMatcher emoticons = CharMatcher.inRange(0x1F600, 0x1F64F);
+        assertTrue(emoticons.matches(0x1F600));
+        assertTrue(emoticons.matches(0x1F620));
+        assertTrue(emoticons.matches(0x1F64F));
+        assertFalse(emoticons.matches(0x1F5FF));
+        assertFalse(emoticons.matches(0x1F650));
+        assertFalse(emoticons.matches('a'));
+        assertEquals(2, emoticons.indexIn("ab\ud83d\ude00"));
+
+        final CharMatcher all = CharMatcher.inRange(0, Character.MAX_CODE_POINT);
+        assertTrue(all.matches(0));
+        assertTrue(all.matches(Character.MAX_CODE_POINT));
+        assertEquals(CharMatcher.NONE.negate(), all);
+        assertEquals(CharMatcher.NONE, all.negate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInRangeReversed() {
+        CharMatcher.inRange('z', 'a');
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInRangeInvalid() {
+        CharMatcher.inRange(0, Character.MAX_CODE_POINT + 1);
+    }
+
+    @Test
+    public void testCharSet() {
+        assertSame(CharMatcher.NONE, CharMatcher.charSet((String[]) null));
+        assertSame(CharMatcher.NONE, CharMatcher.charSet((CharSet) null));
+        assertEquals(CharMatcher.NONE, CharMatcher.charSet(""));
+
+        final CharMatcher digits = CharMatcher.charSet("0-9", "x");
+        for (char c = 0; c < 128; c++) {
+            assertEquals(c >= '0' && c <= '9' || c == 'x', digits.matches(c));
+        }
+
+        final CharMatcher notDigits = CharMatcher.charSet("^0-9");
+        assertFalse(notDigits.matches('5'));
+        assertTrue(notDigits.matches('a'));
+        assertTrue(notDigits.matches('\uffff'));
+        assertTrue(notDigits.matches(0x10400));
+        assertEquals(CharMatcher.charSet("0-9").negate(), notDigits);
+        assertEquals(CharMatcher.charSet("0-9").negate(), CharMatcher.charSet("^0-9x"));
+
+        // a subclass is asked for each char
+        final CharSet vowels = new CharSet("aeiou") {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public boolean contains(final char ch) {
+                return super.contains(Character.toLowerCase(ch));
+            }
+        };
+        final CharMatcher matcher = CharMatcher.charSet(vowels);
+        assertTrue(matcher.matches('E'));
+        assertTrue(matcher.matches('e'));
+        assertFalse(matcher.matches('b'));
+    }
+
+    @Test
+    public void testWhitespace() {
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            assertEquals(Character.isWhitespace(c), CharMatcher.WHITESPACE.matches((char) c));
+        }
+        assertEquals(StringUtils.strip(StringUtilsTest.WHITESPACE + "abc " + StringUtilsTest.WHITESPACE),
+                CharMatcher.WHITESPACE.strip(StringUtilsTest.WHITESPACE + "abc " + StringUtilsTest.WHITESPACE));
+    }
+
+    @Test
+    public void testNegateAndOr() {
+        final CharMatcher matcher = CharMatcher.anyOf("ab\ud801\udc00").or(CharMatcher.inRange(0x20000, 0x2FFFF));
+        final CharMatcher negated = matcher.negate();
+        for (final int codePoint : new int[] {0, 'a', 'b', 'c', 0xFFFF, 0x10000, 0x10400, 0x1FFFF, 0x20000,
+                0x2ABCD, 0x2FFFF, 0x30000, Character.MAX_CODE_POINT}) {
+            assertEquals(!matcher.matches(codePoint), negated.matches(codePoint));
+        }
+        assertEquals(matcher, negated.negate());
+        assertEquals(matcher.hashCode(), negated.negate().hashCode());
+        assertSame(matcher, matcher.or(null));
+        assertSame(matcher, matcher.or(matcher));
+        assertEquals(CharMatcher.inRange(0x10000, 0x10005),
+                CharMatcher.inRange(0x10003, 0x10005).or(CharMatcher.inRange(0x10000, 0x10002)));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testIndexIn() {
+        final CharMatcher matcher = CharMatcher.anyOf("by\ud801\udc00");
+        assertEquals(-1, matcher.indexIn(null));
+        assertEquals(-1, matcher.indexIn(""));
+        assertEquals(3, matcher.indexIn("zzabyycdxx"));
+        assertEquals(4, matcher.indexIn("zzabyycdxx", 4));
+        assertEquals(3, matcher.indexIn("zzabyycdxx", -5));
+        assertEquals(-1, matcher.indexIn("zzabyycdxx", 6));
+        assertEquals(2, matcher.indexIn(new StringBuilder("\ud801\udc01\ud801\udc00")));
+        assertEquals(-1, matcher.indexIn("\ud801\udc01\ud801"));
+
+        final CharMatcher surrogate = CharMatcher.anyOf("\ud801");
+        assertEquals(2, surrogate.indexIn("\ud801\udc00\ud801"));
+        assertEquals(-1, surrogate.indexIn("\ud801\udc00"));
+
+        assertEquals(2, matcher.indexNotIn("bb\ud801\udc01", 0));
+        assertEquals(-1, matcher.indexNotIn("bb\ud801\udc00", 0));
+        assertEquals(-1, matcher.indexNotIn(null, 0));
+    }
+
+    @Test
+    public void testMatchesOf() {
+        final CharMatcher matcher = CharMatcher.charSet("a-c");
+        assertFalse(matcher.matchesAnyOf(null));
+        assertFalse(matcher.matchesAnyOf(""));
+        assertTrue(matcher.matchesAnyOf("xxc"));
+        assertFalse(matcher.matchesAllOf(null));
+        assertTrue(matcher.matchesAllOf(""));
+        assertTrue(matcher.matchesAllOf("abcabc"));
+        assertFalse(matcher.matchesAllOf("abcd"));
+        assertTrue(matcher.matchesNoneOf(null));
+        assertTrue(matcher.matchesNoneOf("xyz"));
+        assertFalse(matcher.matchesNoneOf("xyzc"));
+    }
+
+    @Test
+    public void testStrip() {
+        final CharMatcher matcher = CharMatcher.anyOf("xy\ud801\udc00");
+        assertNull(matcher.strip(null));
+        assertEquals("", matcher.strip(""));
+        assertEquals("", matcher.strip("xyyx"));
+        assertEquals("abc", matcher.strip("xyabcyx"));
+        assertEquals("abcyx", matcher.stripStart("xyabcyx"));
+        assertEquals("xyabc", matcher.stripEnd("xyabcyx"));
+        assertEquals("a", matcher.strip("\ud801\udc00xa\ud801\udc00"));
+        assertEquals("\udc00a\ud801", matcher.strip("\udc00a\ud801"));
+        assertEquals("a\ud801\udc01", matcher.stripEnd("a\ud801\udc01\ud801\udc00"));
+        assertNull(matcher.stripStart(null));
+        assertNull(matcher.stripEnd(null));
+    }
+
+    @Test
+    public void testRemoveFrom() {
+        assertNull(CharMatcher.anyOf("-").removeFrom(null));
+        assertEquals("555012345", CharMatcher.anyOf("-").removeFrom("555-01-2345"));
+        final String str = "abc";
+        assertSame(str, CharMatcher.anyOf("-").removeFrom(str));
+        assertEquals("a\ud801\udc01\ud801", CharMatcher.anyOf("b\ud801\udc00").removeFrom("ab\ud801\udc00\ud801\udc01\ud801"));
+    }
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testStringUtils() {
+        final CharMatcher matcher = CharMatcher.anyOf("za");
+        assertEquals(-1, StringUtils.indexOfAny(null, matcher));
+        assertEquals(-1, StringUtils.indexOfAny("", matcher));
+        assertEquals(-1, StringUtils.indexOfAny("zzabyycdxx", (CharMatcher) null));
+        assertEquals(0, StringUtils.indexOfAny("zzabyycdxx", matcher));
+        assertEquals(6, StringUtils.indexOfAny("zzabyycdxx", CharMatcher.charSet("c-d")));
+
+        assertEquals(-1, StringUtils.indexOfAnyBut(null, matcher));
+        assertEquals(-1, StringUtils.indexOfAnyBut("zzabyycdxx", (CharMatcher) null));
+        assertEquals(3, StringUtils.indexOfAnyBut("zzabyycdxx", matcher));
+
+        assertFalse(StringUtils.containsAny(null, matcher));
+        assertFalse(StringUtils.containsAny("", matcher));
+        assertFalse(StringUtils.containsAny("zzabyycdxx", (CharMatcher) null));
+        assertTrue(StringUtils.containsAny("zzabyycdxx", matcher));
+        assertFalse(StringUtils.containsAny("byy", matcher));
+
+        assertFalse(StringUtils.containsOnly(null, matcher));
+        assertFalse(StringUtils.containsOnly("ab", (CharMatcher) null));
+        assertTrue(StringUtils.containsOnly("", matcher));
+        assertTrue(StringUtils.containsOnly("zaaz", matcher));
+        assertFalse(StringUtils.containsOnly("zab", matcher));
+
+        assertTrue(StringUtils.containsNone(null, matcher));
+        assertTrue(StringUtils.containsNone("ab", (CharMatcher) null));
+        assertTrue(StringUtils.containsNone("", matcher));
+        assertTrue(StringUtils.containsNone("byy", matcher));
+        assertFalse(StringUtils.containsNone("bya", matcher));
+    }
+
+    /**
+     * Compares the matcher with a code point by code point search of the set.
+     */
+    @Test
+    public void testRandom() {
+        final Random random = new Random(16);
+        for (int n = 0; n < 2000; n++) {
+            final String set = random(random, 1 + random.nextInt(10));
+            final String input = random(random, random.nextInt(30));
+            final CharMatcher matcher = CharMatcher.anyOf(set);
+            final int[] setPoints = set.codePoints().toArray();
+            int expected = -1;
+            int expectedBut = -1;
+            for (int i = 0; i < input.length(); ) {
+                final int codePoint = input.codePointAt(i);
+                final boolean found = ArrayUtils.contains(setPoints, codePoint);
+                if (found && expected < 0) {
+                    expected = i;
+                }
+                if (!found && expectedBut < 0) {
+                    expectedBut = i;
+                }
+                i += Character.charCount(codePoint);
+            }
+            final String message = set + " in " + input;
+            assertEquals(message, expected, matcher.indexIn(input));
+            assertEquals(message, expected, matcher.indexIn(new StringBuilder(input)));
+            assertEquals(message, expectedBut, matcher.indexNotIn(input, 0));
+            assertEquals(message, expected, matcher.negate().indexNotIn(input, 0));
+            assertEquals(message, expectedBut, matcher.negate().indexIn(input));
+            final StringBuilder removed = new StringBuilder();
+            for (int i = 0; i < input.length(); ) {
+                final int codePoint = input.codePointAt(i);
+                if (!ArrayUtils.contains(setPoints, codePoint)) {
+                    removed.appendCodePoint(codePoint);
+                }
+                i += Character.charCount(codePoint);
+            }
+            assertEquals(message, removed.toString(), matcher.removeFrom(input));
+        }
+    }
+
+    private static String random(final Random random, final int length) {
+        final StringBuilder buf = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            buf.append(CHARS.charAt(random.nextInt(CHARS.length())));
+        }
+        return buf.toString();
+    }
+
+}
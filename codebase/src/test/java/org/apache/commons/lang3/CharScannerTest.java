@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link CharScanner}.
+ *
+ * @version $Id$
+ */
+public class CharScannerTest {
+
+    private static final String CHARS = "abcxyz \t~\u007f\u00e9\u4e2d\ud801\udc00\udc01\ud802\uffff";
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testContains() {
+        final CharScanner ascii = new CharScanner("az~\t".toCharArray());
+        assertTrue(ascii.contains('a'));
+        assertTrue(ascii.contains('~'));
+        assertTrue(ascii.contains('\t'));
+        assertFalse(ascii.contains('b'));
+        assertFalse(ascii.contains('\u00e1'));
+        assertEquals(3, ascii.indexIn("bcda", 0));
+        assertEquals(-1, ascii.indexIn("bcda", 4));
+
+        final CharScanner unicode = new CharScanner("a\u00e9\u4e2d".toCharArray());
+        assertTrue(unicode.contains('\u4e2d'));
+        assertTrue(unicode.contains('a'));
+        assertFalse(unicode.contains('\u4e2e'));
+        assertFalse(unicode.contains('\uffff'));
+        assertEquals(1, unicode.indexIn(new StringBuilder("b\u00e9"), 0));
+    }
+
+    @Test
+    public void testIsAsciiPrintable() {
+        assertTrue(CharScanner.isAsciiPrintable(""));
+        assertTrue(CharScanner.isAsciiPrintable(" !ab-c~0123456789"));
+        assertFalse(CharScanner.isAsciiPrintable("0123456789abcdef\u007f"));
+        assertFalse(CharScanner.isAsciiPrintable("0123456789\u001fabcdef"));
+        assertFalse(CharScanner.isAsciiPrintable("\uffff"));
+    }
+
+    @Test
+    public void testSameAsLoops() {
+        final Random random = new Random(23);
+        for (int n = 0; n < 20000; n++) {
+            final String str = randomString(random, random.nextInt(n % 2 == 0 ? 8 : 100));
+            final char[] search = randomString(random, 1 + random.nextInt(n % 3 == 0 ? 3 : 12)).toCharArray();
+            final String message = str + " " + new String(search);
+            assertEquals(message, indexOfAny(str, search), CharScanner.indexOfAny(str, search));
+            if (str.length() > 0) {
+                assertEquals(message, containsAny(str, search), CharScanner.containsAny(new StringBuilder(str), search));
+            }
+            assertEquals(message, isAsciiPrintable(str), CharScanner.isAsciiPrintable(str));
+        }
+    }
+
+    private static String randomString(final Random random, final int length) {
+        final char[] buf = new char[length];
+        for (int i = 0; i < length; i++) {
+            buf[i] = CHARS.charAt(random.nextInt(random.nextBoolean() ? 6 : CHARS.length()));
+        }
+        return new String(buf);
+    }
+
+    // the char by char implementations of StringUtils 3.1
+    private static int indexOfAny(final CharSequence cs, final char... searchChars) {
+        final int csLen = cs.length();
+        final int csLast = csLen - 1;
+        final int searchLen = searchChars.length;
+        final int searchLast = searchLen - 1;
+        for (int i = 0; i < csLen; i++) {
+            final char ch = cs.charAt(i);
+            for (int j = 0; j < searchLen; j++) {
+                if (searchChars[j] == ch) {
+                    if (i < csLast && j < searchLast && Character.isHighSurrogate(ch)) {
+                        if (searchChars[j + 1] == cs.charAt(i + 1)) {
+                            return i;
+                        }
+                    } else {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean containsAny(final CharSequence cs, final char... searchChars) {
+        final int csLength = cs.length();
+        final int searchLength = searchChars.length;
+        final int csLast = csLength - 1;
+        final int searchLast = searchLength - 1;
+        for (int i = 0; i < csLength; i++) {
+            final char ch = cs.charAt(i);
+            for (int j = 0; j < searchLength; j++) {
+                if (searchChars[j] == ch) {
+                    if (Character.isHighSurrogate(ch)) {
+                        if (j == searchLast) {
+                            return true;
+                        }
+                        if (i < csLast && searchChars[j + 1] == cs.charAt(i + 1)) {
+                            return true;
+                        }
+                    } else {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiPrintable(final CharSequence cs) {
+        for (int i = 0; i < cs.length(); i++) {
+            if (!CharUtils.isAsciiPrintable(cs.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
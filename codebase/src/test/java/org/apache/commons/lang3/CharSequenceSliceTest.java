@@ -0,0 +1,228 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.text.StrBuilder;
+import org.junit.Test;
+
+/**
+ * Unit tests {@link CharSequenceSlice}.
+ *
+ * @version $Id$
+ */
+public class CharSequenceSliceTest {
+
+    private static final String CHARS = "abAB ,\t\u00e9\u00c9\u0130\u0131\u017fs\ud801\udc00\ud801\udc28";
+
+    //-----------------------------------------------------------------------
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfNull() {
+        CharSequenceSlice.of(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfRangeNull() {
+        CharSequenceSlice.of(null, 0, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOfBadRange() {
+        CharSequenceSlice.of("abc", 2, 1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOfRangeTooLong() {
+        CharSequenceSlice.of("abc", 0, 4);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testCharAtOutside() {
+        CharSequenceSlice.of("abcdef", 1, 3).charAt(2);
+    }
+
+    @Test
+    public void testAccessors() {
+        final StrBuilder source = new StrBuilder("key=value;");
+        final CharSequenceSlice slice = CharSequenceSlice.of(source, 4, 9);
+        assertSame(source, slice.getSource());
+        assertEquals(4, slice.getStart());
+        assertEquals(9, slice.getEnd());
+        assertEquals(5, slice.length());
+        assertFalse(slice.isEmpty());
+        assertEquals('v', slice.charAt(0));
+        assertEquals('e', slice.charAt(4));
+        assertEquals("value", slice.toString());
+        assertTrue(CharSequenceSlice.of(source, 3, 3).isEmpty());
+        assertEquals("key=value;", CharSequenceSlice.of(source).toString());
+    }
+
+    @Test
+    public void testSliceOfSlice() {
+        final StringBuilder source = new StringBuilder("0123456789");
+        final CharSequenceSlice slice = CharSequenceSlice.of(source, 2, 8);
+        assertSame(slice, CharSequenceSlice.of(slice));
+        final CharSequenceSlice inner = CharSequenceSlice.of(slice, 1, 4);
+        assertSame(source, inner.getSource());
+        assertEquals(3, inner.getStart());
+        assertEquals(6, inner.getEnd());
+        assertEquals("345", inner.toString());
+        final CharSequenceSlice sub = slice.subSequence(2, 5);
+        assertSame(source, sub.getSource());
+        assertEquals("456", sub.toString());
+        assertEquals("", slice.subSequence(6, 6).toString());
+    }
+
+    @Test
+    public void testIndexOf() {
+        final CharSequenceSlice slice = CharSequenceSlice.of(CharBuffer.wrap("xxabcabcxx"), 2, 8);
+        assertEquals(0, slice.indexOf('a'));
+        assertEquals(3, slice.indexOf('a', 1));
+        assertEquals(-1, slice.indexOf('x'));
+        assertEquals(4, slice.lastIndexOf('b'));
+        assertEquals(-1, slice.lastIndexOf('x'));
+        assertEquals(1, slice.indexOf("bc"));
+        assertEquals(4, slice.indexOf("bc", 2));
+        assertEquals(-1, slice.indexOf("cx"));
+        assertEquals(-1, slice.indexOf((CharSequence) null));
+        assertEquals(0, slice.indexOf(""));
+        assertEquals(6, slice.indexOf("", 9));
+        assertEquals(1, slice.indexOfIgnoreCase("BCA"));
+        assertEquals(-1, slice.indexOfIgnoreCase("XA"));
+        assertEquals(-1, slice.indexOfIgnoreCase(null));
+        assertTrue(slice.contains("cab"));
+        assertFalse(slice.contains("xa"));
+        assertFalse(slice.contains(null));
+        assertEquals(3, slice.indexOf(new SubstringSearcher("abc"), 1));
+    }
+
+    @Test
+    public void testStartsEndsWith() {
+        final CharSequenceSlice slice = CharSequenceSlice.of(new StrBuilder("<Content-Type>"), 1, 13);
+        assertTrue(slice.startsWith("Content"));
+        assertFalse(slice.startsWith("content"));
+        assertTrue(slice.startsWithIgnoreCase("content"));
+        assertFalse(slice.startsWith("<"));
+        assertFalse(slice.startsWith(null));
+        assertTrue(slice.endsWith("Type"));
+        assertTrue(slice.endsWithIgnoreCase("TYPE"));
+        assertFalse(slice.endsWith("Type>"));
+        assertFalse(slice.endsWith(null));
+        assertTrue(slice.contentEquals("Content-Type"));
+        assertFalse(slice.contentEquals("Content-Typ"));
+        assertFalse(slice.contentEquals(null));
+        assertTrue(slice.contentEqualsIgnoreCase("CONTENT-TYPE"));
+        assertFalse(slice.contentEqualsIgnoreCase(null));
+    }
+
+    @Test
+    public void testStripTrim() {
+        final CharSequenceSlice slice = CharSequenceSlice.of(new StringBuilder("[ \t value \u2000]"), 1, 11);
+        assertEquals("value", slice.strip().toString());
+        assertEquals("value \u2000", slice.trim().toString());
+        final CharSequenceSlice value = CharSequenceSlice.of("value");
+        assertSame(value, value.strip());
+        assertSame(value, value.trim());
+        assertEquals("", CharSequenceSlice.of("   ").strip().toString());
+        assertEquals("", CharSequenceSlice.of("   ").trim().toString());
+    }
+
+    @Test
+    public void testSplit() {
+        final CharSequenceSlice slice = CharSequenceSlice.of(new StrBuilder("x a,,b c x"), 1, 9);
+        assertEquals("[a,,b, c]", toList(slice.split()).toString());
+        assertEquals("[ a, b c ]", toList(slice.split(',')).toString());
+        assertEquals("[ a, , b c ]", toList(slice.splitPreserveAllTokens(',')).toString());
+    }
+
+    @Test
+    public void testReplace() {
+        final CharSequenceSlice slice = CharSequenceSlice.of(new StrBuilder("ab-ab-ab"), 1, 7);
+        assertEquals("bXXbXX", slice.replace("-a", "XX"));
+        assertEquals("b-b-", slice.replace("a", ""));
+        assertEquals("b-ab-a", slice.replace(null, "x"));
+        assertEquals("b-ab-a", slice.replace("", "x"));
+        assertEquals("b-ab-a", slice.replace("a", null));
+        assertEquals("b-ab-a", slice.replace("z", "x"));
+    }
+
+    @Test
+    public void testAppendTo() throws Exception {
+        final StringWriter writer = new StringWriter();
+        assertSame(writer, CharSequenceSlice.of(new StrBuilder("abcdef"), 2, 5).appendTo(writer));
+        assertEquals("cde", writer.toString());
+    }
+
+    @Test
+    public void testRandomAgainstString() {
+        final Random random = new Random(20);
+        for (int n = 0; n < 2000; n++) {
+            final String text = random(random, random.nextInt(40));
+            final int from = random.nextInt(text.length() + 1);
+            final int to = from + random.nextInt(text.length() - from + 1);
+            final String expected = text.substring(from, to);
+            final CharSequenceSlice slice = CharSequenceSlice.of(new StringBuilder(text), from, to);
+            final CharSequenceSlice stringSlice = CharSequenceSlice.of(text, from, to);
+            final String search = random(random, random.nextInt(3));
+            final char c = CHARS.charAt(random.nextInt(CHARS.length()));
+            final String message = expected + " / " + search;
+            assertEquals(message, expected, slice.toString());
+            assertEquals(message, expected.indexOf(c), slice.indexOf(c));
+            assertEquals(message, expected.lastIndexOf(c), slice.lastIndexOf(c));
+            assertEquals(message, expected.indexOf(search), slice.indexOf(search));
+            assertEquals(message, expected.indexOf(search, 3), slice.indexOf(search, 3));
+            assertEquals(message, StringUtils.indexOfIgnoreCase(new StringBuilder(expected), search),
+                    slice.indexOfIgnoreCase(search));
+            assertEquals(message, StringUtils.indexOfIgnoreCase(expected, search),
+                    stringSlice.indexOfIgnoreCase(search));
+            assertEquals(message, expected.startsWith(search), slice.startsWith(search));
+            assertEquals(message, expected.endsWith(search), slice.endsWith(search));
+            assertEquals(message, StringUtils.startsWithIgnoreCase(expected, search), stringSlice.startsWithIgnoreCase(search));
+            assertEquals(message, StringUtils.endsWithIgnoreCase(expected, search), stringSlice.endsWithIgnoreCase(search));
+            assertEquals(message, StringUtils.strip(expected), slice.strip().toString());
+            assertEquals(message, expected.trim(), slice.trim().toString());
+            assertEquals(message, StringUtils.replace(expected, search, "<>"), slice.replace(search, "<>"));
+        }
+    }
+
+    private static String random(final Random random, final int length) {
+        final StringBuilder buf = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            buf.append(CHARS.charAt(random.nextInt(CHARS.length())));
+        }
+        return buf.toString();
+    }
+
+    private static List<String> toList(final Iterable<CharSequence> tokens) {
+        final List<String> list = new ArrayList<String>();
+        for (final CharSequence token : tokens) {
+            list.add(token.toString());
+        }
+        return list;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link CharSequenceSplitter}.
+ *
+ * @version $Id$
+ */
+public class CharSequenceSplitterTest {
+
+    private static final String[] SEPARATORS = {null, "", ":", "::", ":;", " ", "aa", "aba"};
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testTokens() {
+        final Iterator<CharSequence> it = CharSequenceSplitter.splitPreserveAllTokens("ab::cd", ':').iterator();
+        final CharSequenceSplitter.Token first = (CharSequenceSplitter.Token) it.next();
+        assertEquals("ab", first.toString());
+        assertEquals(0, first.getStart());
+        assertEquals(2, first.getEnd());
+        assertEquals('b', first.charAt(1));
+        assertEquals("b", first.subSequence(1, 2).toString());
+        assertEquals(1, first.subSequence(1, 2).getStart());
+        final CharSequenceSplitter.Token second = (CharSequenceSplitter.Token) it.next();
+        assertEquals(0, second.length());
+        assertEquals(3, second.getStart());
+        assertEquals("cd", it.next().toString());
+        assertFalse(it.hasNext());
+
+        assertFalse(CharSequenceSplitter.split(null).iterator().hasNext());
+        assertFalse(CharSequenceSplitter.split("").iterator().hasNext());
+        assertEquals(0, CharSequenceSplitter.split(null, ':').toArray().length);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testTokenBounds() {
+        CharSequenceSplitter.split("ab cd").iterator().next().charAt(2);
+    }
+
+    @Test
+    public void testLazy() {
+        final StringBuilder line = new StringBuilder("a,b");
+        for (int i = 0; i < 1000; i++) {
+            line.append(",field").append(i);
+        }
+        final Iterator<CharSequence> it = CharSequenceSplitter.split(line, ',').iterator();
+        assertEquals("a", it.next().toString());
+        final CharSequence second = it.next();
+        assertEquals("b", second.toString());
+        assertSame(line, ((CharSequenceSplitter.Token) second).getSource());
+    }
+
+    @Test
+    public void testSameAsStringUtils() {
+        final Random random = new Random(3);
+        for (int n = 0; n < 3000; n++) {
+            final String str = randomString(random, random.nextInt(30));
+            for (final String separator : SEPARATORS) {
+                assertSplit(str, separator);
+            }
+        }
+        for (final String str : new String[] {"", " ", ":", "a", "ab:cd:ef::", "::cd:ef", " a  b ", "aaa", "aaaaa"}) {
+            for (final String separator : SEPARATORS) {
+                assertSplit(str, separator);
+            }
+        }
+    }
+
+    @Test
+    public void testParallel() {
+        final Random random = new Random(5);
+        final String str = randomString(random, 1 << 18);
+        final StringBuilder builder = new StringBuilder(str);
+        for (final String separator : SEPARATORS) {
+            final List<String> expected = Arrays.asList(StringUtils.splitByWholeSeparatorPreserveAllTokens(str, separator));
+            assertEquals(separator, expected, strings(CharSequenceSplitter.splitByWholeSeparatorPreserveAllTokens(str, separator)));
+            assertEquals(separator, expected, strings(CharSequenceSplitter.splitByWholeSeparatorPreserveAllTokens(builder, separator)));
+            assertEquals(separator, Arrays.asList(StringUtils.split(str, separator)),
+                strings(CharSequenceSplitter.split(str, separator)));
+            assertEquals(separator, Arrays.asList(StringUtils.splitPreserveAllTokens(str, separator)),
+                strings(CharSequenceSplitter.splitPreserveAllTokens(str, separator)));
+        }
+        final List<String> expected = Arrays.asList(StringUtils.split(str, ' '));
+        assertEquals(expected, strings(CharSequenceSplitter.split(str, ' ')));
+        assertTrue(CharSequenceSplitter.split(str).spliterator().trySplit() != null);
+    }
+
+    private static List<String> strings(final CharSequenceSplitter splitter) {
+        final List<String> list = new ArrayList<String>();
+        for (final CharSequence token : splitter.parallelStream().collect(Collectors.toList())) {
+            list.add(token.toString());
+        }
+        return list;
+    }
+
+    private static void assertSplit(final String str, final String separator) {
+        final String message = "\"" + str + "\" at \"" + separator + "\"";
+        assertArrayEquals(message, StringUtils.split(str, separator),
+            CharSequenceSplitter.split(str, separator).toArray());
+        assertArrayEquals(message, StringUtils.splitPreserveAllTokens(str, separator),
+            CharSequenceSplitter.splitPreserveAllTokens(new StringBuilder(str), separator).toArray());
+        assertArrayEquals(message, StringUtils.splitByWholeSeparator(str, separator),
+            CharSequenceSplitter.splitByWholeSeparator(str, separator).toArray());
+        assertArrayEquals(message, StringUtils.splitByWholeSeparatorPreserveAllTokens(str, separator),
+            CharSequenceSplitter.splitByWholeSeparatorPreserveAllTokens(new StringBuilder(str), separator).toArray());
+        if (separator != null && separator.length() == 1) {
+            final char c = separator.charAt(0);
+            assertArrayEquals(message, StringUtils.split(str, c), CharSequenceSplitter.split(str, c).toArray());
+            assertArrayEquals(message, StringUtils.splitPreserveAllTokens(str, c),
+                CharSequenceSplitter.splitPreserveAllTokens(str, c).toArray());
+        }
+        if (separator == null) {
+            assertArrayEquals(message, StringUtils.split(str), CharSequenceSplitter.split(str).toArray());
+            assertArrayEquals(message, StringUtils.splitPreserveAllTokens(str),
+                CharSequenceSplitter.splitPreserveAllTokens(str).toArray());
+        }
+    }
+
+    private static String randomString(final Random random, final int length) {
+        final String chars = "ab:; \t";
+        final char[] buf = new char[length];
+        for (int i = 0; i < length; i++) {
+            buf[i] = chars.charAt(random.nextInt(chars.length()));
+        }
+        return new String(buf);
+    }
+
+}
@@ -23,6 +23,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Modifier;
+import java.util.Random;
 
 import org.junit.Assert;
 
@@ -80,4 +81,66 @@ public class CharSequenceUtilsTest {
         }
     }
 
+    //-----------------------------------------------------------------------
+    @Test
+    public void testRegionMatchesIgnoreCase() {
+        assertTrue(CharSequenceUtils.regionMatches("Content-Type", true, 0, "content-type", 0, 12));
+        assertTrue(CharSequenceUtils.regionMatches(new StringBuilder("Content-Type"), true, 0, "CONTENT-TYPE", 0, 12));
+        assertFalse(CharSequenceUtils.regionMatches("Content-Type", true, 0, "content_type", 0, 12));
+        // '@' and '`' differ by the case bit but are not letters
+        assertFalse(CharSequenceUtils.regionMatches("@", true, 0, "`", 0, 1));
+        assertFalse(CharSequenceUtils.regionMatches(new StringBuilder("["), true, 0, "{", 0, 1));
+        assertTrue(CharSequenceUtils.regionMatches("\u212a", true, 0, "k", 0, 1));
+        assertTrue(CharSequenceUtils.regionMatches(new StringBuilder("\u212a"), true, 0, "K", 0, 1));
+        assertFalse(CharSequenceUtils.regionMatches("abc", true, 2, "CD", 0, 2));
+        assertFalse(CharSequenceUtils.regionMatches("abc", true, -1, "AB", 0, 2));
+    }
+
+    /**
+     * Compares the regionMatches of Strings with String.regionMatches, and that of
+     * other CharSequences with the char by char comparison of 3.1.
+     */
+    @Test
+    public void testRegionMatchesIgnoreCaseRandom() {
+        final String chars = "aAzZ@`[{-_ \u00e0\u00c0\u00ff\u0178\u0130\u0131iIkK\u212a\u017fsS\ud801\udc00\udc28";
+        final Random random = new Random(18);
+        for (int n = 0; n < 20000; n++) {
+            final String str1 = random(random, chars, random.nextInt(8));
+            final String str2 = random.nextBoolean() ? random(random, chars, random.nextInt(8))
+                    : random.nextBoolean() ? str1.toUpperCase() : str1.toLowerCase();
+            final int start1 = random.nextInt(4) - 1;
+            final int start2 = random.nextInt(4) - 1;
+            final int length = random.nextInt(9) - 1;
+            final String message = str1 + " " + start1 + " " + str2 + " " + start2 + " " + length;
+            assertEquals(message, str1.regionMatches(true, start1, str2, start2, length),
+                    CharSequenceUtils.regionMatches(str1, true, start1, str2, start2, length));
+            if (start1 >= 0 && start2 >= 0 && length >= 0 && start1 + length <= str1.length()
+                    && start2 + length <= str2.length()) {
+                assertEquals(message, regionMatches31(str1, start1, str2, start2, length),
+                        CharSequenceUtils.regionMatches(new StringBuilder(str1), true, start1, str2, start2, length));
+            }
+        }
+    }
+
+    private static boolean regionMatches31(final CharSequence cs, int index1, final CharSequence substring,
+            int index2, int tmpLen) {
+        while (tmpLen-- > 0) {
+            final char c1 = cs.charAt(index1++);
+            final char c2 = substring.charAt(index2++);
+            if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2)
+                    && Character.toLowerCase(c1) != Character.toLowerCase(c2)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String random(final Random random, final String chars, final int length) {
+        final StringBuilder buf = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            buf.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return buf.toString();
+    }
+
 }
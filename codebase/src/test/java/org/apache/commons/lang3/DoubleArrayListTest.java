@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link DoubleArrayList}.
+ *
+ * @version $Id$
+ */
+public class DoubleArrayListTest {
+
+    private static final double A = 1.5;
+    private static final double B = 2.0;
+    private static final double C = -3.0;
+    private static final double D = 4.25;
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testConstructors() {
+        assertEquals(0, new DoubleArrayList().size());
+        assertTrue(new DoubleArrayList().isEmpty());
+        assertEquals(0, new DoubleArrayList(0).array().length);
+        assertEquals(7, new DoubleArrayList(7).array().length);
+        try {
+            new DoubleArrayList(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException ex) {
+            assertEquals("Capacity must not be negative", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testOfAndWrap() {
+        final double[] values = {A, B, C};
+        final DoubleArrayList copy = DoubleArrayList.of(values);
+        assertEquals(3, copy.size());
+        assertNotSame(values, copy.array());
+        assertTrue(DoubleArrayList.of((double[]) null).isEmpty());
+        assertTrue(DoubleArrayList.of().isEmpty());
+
+        final DoubleArrayList wrapped = DoubleArrayList.wrap(values);
+        assertSame(values, wrapped.array());
+        wrapped.set(0, D);
+        assertEquals(D, values[0], 0);
+        wrapped.add(A);
+        assertNotSame(values, wrapped.array());
+        assertEquals(copy.size() + 1, wrapped.size());
+        try {
+            DoubleArrayList.wrap(null);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException ex) {
+            assertEquals("Array must not be null", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testAddGetSet() {
+        final DoubleArrayList list = new DoubleArrayList(1);
+        for (int i = 0; i < 100; i++) {
+            list.add(i % 2 == 0 ? A : B);
+        }
+        assertEquals(100, list.size());
+        assertEquals(A, list.get(0), 0);
+        assertEquals(B, list.get(99), 0);
+        assertEquals(B, list.set(99, C), 0);
+        assertEquals(C, list.get(99), 0);
+        assertIndexOutOfBounds(list, 100);
+        assertIndexOutOfBounds(list, -1);
+    }
+
+    @Test
+    public void testInsertAndRemove() {
+        final DoubleArrayList list = DoubleArrayList.of(A, D);
+        list.insert(1, B).insertAll(2, C, C).addAll(A, B).insertAll(0).addAll((double[]) null);
+        assertArrayEquals(new double[] {A, B, C, C, D, A, B}, list.toArray(), 0);
+        list.insert(list.size(), C);
+        assertEquals(C, list.remove(7), 0);
+        assertEquals(B, list.remove(1), 0);
+        assertArrayEquals(new double[] {A, C, C, D, A, B}, list.toArray(), 0);
+        list.removeRange(1, 3);
+        assertArrayEquals(new double[] {A, D, A, B}, list.toArray(), 0);
+        list.removeRange(2, 2);
+        assertEquals(4, list.size());
+        assertTrue(list.removeElement(A));
+        assertFalse(list.removeElement(C));
+        assertArrayEquals(new double[] {D, A, B}, list.toArray(), 0);
+        try {
+            list.insert(4, A);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            assertEquals("Index: 4, Size: 3", ex.getMessage());
+        }
+        try {
+            list.removeRange(2, 4);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            // expected
+        }
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new double[0], list.toArray(), 0);
+    }
+
+    @Test
+    public void testSearch() {
+        final DoubleArrayList list = DoubleArrayList.of(A, B, C, A, B);
+        assertEquals(0, list.indexOf(A));
+        assertEquals(3, list.indexOf(A, 1));
+        assertEquals(0, list.indexOf(A, -5));
+        assertEquals(-1, list.indexOf(A, 5));
+        assertEquals(4, list.lastIndexOf(B));
+        assertEquals(-1, list.indexOf(D));
+        assertEquals(-1, list.lastIndexOf(D));
+        assertTrue(list.contains(C));
+        assertFalse(list.contains(D));
+
+        // values past the size are not found
+        list.removeRange(2, 5);
+        assertFalse(list.contains(C));
+        assertEquals(-1, list.lastIndexOf(C));
+        assertEquals(2, ArrayUtils.indexOf(list.array(), C));
+    }
+
+    @Test
+    public void testReverse() {
+        final DoubleArrayList list = new DoubleArrayList(10).addAll(A, B, C);
+        list.reverse();
+        assertArrayEquals(new double[] {C, B, A}, list.toArray(), 0);
+        assertEquals(10, list.array().length);
+    }
+
+    @Test
+    public void testConversions() {
+        final DoubleArrayList list = new DoubleArrayList().addAll(A, B, C);
+        assertArrayEquals(new Double[] {A, B, C}, list.toObject());
+        assertArrayEquals(ArrayUtils.toObject(list.toArray()), list.toObject());
+        assertEquals(list, DoubleArrayList.wrap(ArrayUtils.toPrimitive(list.toObject())));
+
+        list.ensureCapacity(50);
+        assertTrue(list.array().length >= 50);
+        list.trimToSize();
+        assertEquals(3, list.array().length);
+        assertArrayEquals(new double[] {A, B, C}, list.array(), 0);
+    }
+
+    @Test
+    public void testEqualsHashCodeToString() {
+        final DoubleArrayList list = new DoubleArrayList().addAll(A, B, C);
+        final DoubleArrayList other = DoubleArrayList.wrap(new double[] {A, B, C});
+        assertEquals(list, other);
+        assertEquals(list, list);
+        assertEquals(Arrays.hashCode(new double[] {A, B, C}), list.hashCode());
+        assertEquals(list.hashCode(), other.hashCode());
+        assertFalse(list.equals(DoubleArrayList.of(A, B)));
+        assertFalse(list.equals(DoubleArrayList.of(A, B, D)));
+        assertFalse(list.equals(null));
+        assertFalse(list.equals(Arrays.asList(A, B, C)));
+        assertEquals(ArrayUtils.toString(list.toArray()), list.toString());
+        assertEquals("{}", new DoubleArrayList().toString());
+    }
+
+    @Test
+    public void testNaN() {
+        final DoubleArrayList list = DoubleArrayList.of(1.0, Double.NaN);
+        assertEquals(DoubleArrayList.of(1.0, Double.NaN), list);
+        assertEquals(DoubleArrayList.of(1.0, Double.NaN).hashCode(), list.hashCode());
+        assertFalse(DoubleArrayList.of(0.0).equals(DoubleArrayList.of(-0.0)));
+        // as ArrayUtils.indexOf(double[], double), NaN is not found
+        assertEquals(ArrayUtils.indexOf(list.toArray(), Double.NaN), list.indexOf(Double.NaN));
+    }
+
+    private static void assertIndexOutOfBounds(final DoubleArrayList list, final int index) {
+        try {
+            list.get(index);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (final IndexOutOfBoundsException ex) {
+            assertEquals("Index: " + index + ", Size: " + list.size(), ex.getMessage());
+        }
+    }
+
+}
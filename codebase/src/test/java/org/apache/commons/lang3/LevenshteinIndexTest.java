@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link LevenshteinIndex}.
+ *
+ * @version $Id$
+ */
+public class LevenshteinIndexTest {
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testSearch() {
+        final LevenshteinIndex index = new LevenshteinIndex(Arrays.asList("frog", "fog", "hippo", "elephant", "fog", "dog"));
+        assertEquals(6, index.size());
+        assertEquals("hippo", index.get(2));
+        final List<LevenshteinIndex.Match> matches = index.search("fog", 1);
+        assertEquals(4, matches.size());
+        assertEquals("fog (0)", matches.get(0).toString());
+        assertEquals(1, matches.get(0).getIndex());
+        assertEquals(4, matches.get(1).getIndex());
+        assertEquals(0, matches.get(2).getIndex());
+        assertEquals("dog", matches.get(3).getEntry());
+        assertEquals(1, matches.get(3).getDistance());
+        assertEquals(0, index.search("cat", 1).size());
+        assertEquals(0, new LevenshteinIndex(new ArrayList<String>()).search("cat", 1).size());
+    }
+
+    @Test
+    public void testNearest() {
+        final LevenshteinIndex index = new LevenshteinIndex(Arrays.asList("frog", "fog", "hippo", "elephant", "fog", "dog"));
+        final List<LevenshteinIndex.Match> matches = index.nearest("hog", 3);
+        assertEquals(3, matches.size());
+        assertEquals(1, matches.get(0).getIndex());
+        assertEquals(4, matches.get(1).getIndex());
+        assertEquals(5, matches.get(2).getIndex());
+        assertEquals(6, index.nearest("hog", 10).size());
+        assertEquals(0, index.nearest("hog", 0).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullEntry() {
+        new LevenshteinIndex(Arrays.asList("a", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeDistance() {
+        new LevenshteinIndex(Arrays.asList("a")).search("a", -1);
+    }
+
+    @Test
+    public void testSameAsScan() {
+        final Random random = new Random(13);
+        final List<String> strings = new ArrayList<String>();
+        for (int i = 0; i < 3000; i++) {
+            strings.add(randomString(random, 3 + random.nextInt(8)));
+        }
+        final LevenshteinIndex index = new LevenshteinIndex(strings);
+        for (int n = 0; n < 100; n++) {
+            final String query = randomString(random, 3 + random.nextInt(8));
+            final List<LevenshteinIndex.Match> all = new ArrayList<LevenshteinIndex.Match>();
+            for (int i = 0; i < strings.size(); i++) {
+                all.add(new LevenshteinIndex.Match(i, strings.get(i),
+                    StringUtils.getLevenshteinDistance(query, strings.get(i))));
+            }
+            Collections.sort(all);
+            final int maxDistance = n % 4;
+            int within = 0;
+            while (within < all.size() && all.get(within).getDistance() <= maxDistance) {
+                within++;
+            }
+            assertEquals(query, all.subList(0, within), index.search(query, maxDistance));
+            assertEquals(query, all.subList(0, 1 + n % 10), index.nearest(query, 1 + n % 10));
+        }
+        assertTrue(index.search(strings.get(7), 0).contains(new LevenshteinIndex.Match(7, strings.get(7), 0)));
+    }
+
+    private static String randomString(final Random random, final int length) {
+        final char[] buf = new char[length];
+        for (int i = 0; i < length; i++) {
+            buf[i] = (char) ('a' + random.nextInt(6));
+        }
+        return new String(buf);
+    }
+
+}
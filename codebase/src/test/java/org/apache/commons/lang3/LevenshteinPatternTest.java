@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link LevenshteinPattern}.
+ *
+ * @version $Id$
+ */
+public class LevenshteinPatternTest {
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testDistance() {
+        assertEquals(0, new LevenshteinPattern("").distance(""));
+        assertEquals(1, new LevenshteinPattern("").distance("a"));
+        assertEquals(7, new LevenshteinPattern("aaapppp").distance(""));
+        assertEquals(1, new LevenshteinPattern("frog").distance("fog"));
+        assertEquals(3, new LevenshteinPattern("fly").distance("ant"));
+        assertEquals(7, new LevenshteinPattern("elephant").distance("hippo"));
+        assertEquals(7, new LevenshteinPattern("hippo").distance("elephant"));
+        assertEquals(8, new LevenshteinPattern("hippo").distance("zzzzzzzz"));
+        assertEquals(1, new LevenshteinPattern("hello").distance("hallo"));
+        assertEquals(5, new LevenshteinPattern("hello").length());
+    }
+
+    @Test
+    public void testDistanceWithThreshold() {
+        assertEquals(0, new LevenshteinPattern("").distance("", 0));
+        assertEquals(7, new LevenshteinPattern("aaapppp").distance("", 7));
+        assertEquals(-1, new LevenshteinPattern("aaapppp").distance("", 6));
+        assertEquals(7, new LevenshteinPattern("elephant").distance("hippo", 7));
+        assertEquals(-1, new LevenshteinPattern("elephant").distance("hippo", 6));
+        assertEquals(-1, new LevenshteinPattern("hippo").distance("elephant", 6));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPattern() {
+        new LevenshteinPattern(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullText() {
+        new LevenshteinPattern("a").distance(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeThreshold() {
+        new LevenshteinPattern("a").distance("b", -1);
+    }
+
+    @Test
+    public void testSameAsCostTable() {
+        final Random random = new Random(7);
+        for (int n = 0; n < 3000; n++) {
+            final String chars = n % 3 == 0 ? "ab" : n % 3 == 1 ? "abcdefg" : "a\u00e9\u4e2d\ud801\udc00";
+            final int maxLength = n % 2 == 0 ? 70 : 200;
+            final String s = randomString(random, random.nextInt(maxLength), chars);
+            final String t = randomString(random, random.nextInt(maxLength), chars);
+            final int expected = costTable(s, t);
+            final LevenshteinPattern pattern = new LevenshteinPattern(s);
+            assertEquals(s + " " + t, expected, pattern.distance(t));
+            final int threshold = random.nextInt(expected + 3);
+            assertEquals(s + " " + t, expected <= threshold ? expected : -1, pattern.distance(t, threshold));
+            assertEquals(s + " " + t, expected, StringUtils.getLevenshteinDistance(s, t));
+            assertEquals(s + " " + t, expected <= threshold ? expected : -1,
+                StringUtils.getLevenshteinDistance(t, s, threshold));
+        }
+    }
+
+    @Test
+    public void testDistances() {
+        final Random random = new Random(9);
+        for (final int length : new int[] {10, 64, 65, 150}) {
+            final String query = randomString(random, length, "abc");
+            final LevenshteinPattern pattern = new LevenshteinPattern(query);
+            final String[] candidates = new String[50];
+            final int[] expected = new int[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = randomString(random, length - 5 + random.nextInt(10), "abc");
+                final int distance = costTable(query, candidates[i]);
+                expected[i] = distance <= length / 3 ? distance : -1;
+            }
+            assertArrayEquals(expected, pattern.distances(candidates, length / 3));
+        }
+    }
+
+    private static int costTable(final String s, final String t) {
+        final int[][] d = new int[s.length() + 1][t.length() + 1];
+        for (int i = 0; i <= s.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= t.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= s.length(); i++) {
+            for (int j = 1; j <= t.length(); j++) {
+                final int cost = s.charAt(i - 1) == t.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[s.length()][t.length()];
+    }
+
+    private static String randomString(final Random random, final int length, final String chars) {
+        final char[] buf = new char[length];
+        for (int i = 0; i < length; i++) {
+            buf[i] = chars.charAt(random.nextInt(chars.length()));
+        }
+        return new String(buf);
+    }
+
+}
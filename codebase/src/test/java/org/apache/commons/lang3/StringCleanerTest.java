@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link StringCleaner}.
+ *
+ * @version $Id$
+ */
+public class StringCleanerTest {
+
+    /** Whitespace, control chars, accents, chars with special case mappings, combining marks, Hangul and a surrogate pair. */
+    private static final String CHARS = "aBc  \t\n\u000b\u00a0\u2028\u3000\u0001.\u00e9\u00c9\u00e7\u00df\u00ff\u00b5\u00c6"
+            + "\u0130\u0131I\u03a3\u03c3\u0301\u0327\u0101\u00f1\uac00\ud801\udc00";
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testNoSteps() {
+        final StringCleaner cleaner = new StringCleaner();
+        assertNull(cleaner.clean(null));
+        final String str = " a ";
+        assertSame(str, cleaner.clean(str));
+        assertEquals("StringCleaner{}", cleaner.toString());
+    }
+
+    @Test
+    public void testImmutable() {
+        final StringCleaner trim = new StringCleaner().trim();
+        final StringCleaner trimLower = trim.lowerCase(Locale.ENGLISH);
+        assertEquals("A", trim.clean(" A "));
+        assertEquals("a", trimLower.clean(" A "));
+        assertEquals("StringCleaner{trim,lowerCase(en)}", trimLower.toString());
+    }
+
+    @Test
+    public void testSteps() {
+        assertEquals("a b", new StringCleaner().strip().clean("\u2028 a b\u3000"));
+        assertEquals("a b", new StringCleaner().trim().clean("\u0001 a b\n"));
+        assertEquals("a b c", new StringCleaner().normalizeSpace().clean("  a \t\n b  c  "));
+        assertEquals("ab\u00a0c", new StringCleaner().deleteWhitespace().clean(" a\tb\u00a0\u3000c "));
+        assertEquals("eclair", new StringCleaner().stripAccents().clean("\u00e9clair"));
+        assertEquals("abc\u00e9", new StringCleaner().lowerCase(Locale.ENGLISH).clean("AbC\u00c9"));
+        assertEquals("ABC\u00c9", new StringCleaner().upperCase(Locale.ENGLISH).clean("aBc\u00e9"));
+        assertEquals("abc...", new StringCleaner().abbreviate(6).clean("abcdefg"));
+        assertEquals("abcdefg", new StringCleaner().abbreviate(7).clean("abcdefg"));
+    }
+
+    @Test
+    public void testChain() {
+        final StringCleaner cleaner = new StringCleaner()
+                .normalizeSpace().stripAccents().lowerCase(Locale.ENGLISH).abbreviate(12);
+        assertEquals("creme brulee", cleaner.clean("  Cr\u00e8me \t Br\u00fbl\u00e9e "));
+        assertEquals("creme bru...", cleaner.clean("Cr\u00e8me  Br\u00fbl\u00e9e, caramel"));
+        assertEquals("\u00e6 sigma \u03c3...", cleaner.clean("\u00c6  Sigma \u03a3\u03a3\u03a3 text"));
+        assertEquals("\u1100\u1161 clean", cleaner.clean("\uac00 clean"));
+    }
+
+    @Test
+    public void testUnchangedIsSame() {
+        final StringCleaner cleaner = new StringCleaner()
+                .normalizeSpace().stripAccents().lowerCase(Locale.ENGLISH).abbreviate(20);
+        final String clean = "already clean";
+        assertSame(clean, cleaner.clean(clean));
+        final String unicode = "\u03c3 clean";
+        assertSame(unicode, cleaner.clean(unicode));
+        assertEquals("already", cleaner.clean("already "));
+    }
+
+    @Test
+    public void testContextualLocale() {
+        final Locale turkish = new Locale("tr");
+        assertEquals("\u0131stanbul", new StringCleaner().lowerCase(turkish).clean("Istanbul"));
+        assertEquals("\u0130STANBUL", new StringCleaner().upperCase(turkish).clean("istanbul"));
+    }
+
+    @Test
+    public void testDefaultLocale() {
+        final Locale defaultLocale = Locale.getDefault();
+        final StringCleaner cleaner = new StringCleaner().lowerCase();
+        try {
+            Locale.setDefault(new Locale("tr"));
+            assertEquals("\u0131", cleaner.clean("I"));
+            Locale.setDefault(Locale.ENGLISH);
+            assertEquals("i", cleaner.clean("I"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void testCleanAll() {
+        final StringCleaner cleaner = new StringCleaner().strip().upperCase(Locale.ENGLISH);
+        assertNull(cleaner.cleanAll((String[]) null));
+        final String[] empty = new String[0];
+        assertSame(empty, cleaner.cleanAll(empty));
+        final String[] strs = {" a ", null, "B", " \u00df "};
+        final String[] cleaned = cleaner.cleanAll(strs);
+        assertArrayEquals(new String[] {"A", null, "B", "SS"}, cleaned);
+        assertSame(strs[2], cleaned[2]);
+        assertArrayEquals(new String[] {"x", null}, new StringCleaner().cleanAll("x", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAbbreviateTooSmall() {
+        new StringCleaner().abbreviate(3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullLocale() {
+        new StringCleaner().lowerCase(null);
+    }
+
+    @Test
+    public void testRandomAgainstStringUtils() {
+        final Random random = new Random(22);
+        for (int n = 0; n < 3000; n++) {
+            final int steps = 1 + random.nextInt(4);
+            StringCleaner cleaner = new StringCleaner();
+            final int[] kinds = new int[steps];
+            for (int i = 0; i < steps; i++) {
+                kinds[i] = random.nextInt(9);
+                cleaner = add(cleaner, kinds[i]);
+            }
+            final String[] strs = new String[3];
+            for (int k = 0; k < strs.length; k++) {
+                final StringBuilder buf = new StringBuilder();
+                final int length = random.nextInt(16);
+                final boolean latin1 = random.nextBoolean();
+                for (int i = 0; i < length; i++) {
+                    final char c = CHARS.charAt(random.nextInt(CHARS.length()));
+                    buf.append(latin1 && c > 0xff ? ' ' : c);
+                }
+                strs[k] = buf.toString();
+            }
+            final String[] cleaned = cleaner.cleanAll(strs);
+            for (int k = 0; k < strs.length; k++) {
+                String expected = strs[k];
+                for (final int kind : kinds) {
+                    expected = apply(expected, kind);
+                }
+                assertEquals(cleaner + " " + strs[k], expected, cleaner.clean(strs[k]));
+                assertEquals(cleaner + " " + strs[k], expected, cleaned[k]);
+            }
+        }
+    }
+
+    private static StringCleaner add(final StringCleaner cleaner, final int kind) {
+        switch (kind) {
+            case 0: return cleaner.strip();
+            case 1: return cleaner.trim();
+            case 2: return cleaner.normalizeSpace();
+            case 3: return cleaner.deleteWhitespace();
+            case 4: return cleaner.stripAccents();
+            case 5: return cleaner.lowerCase(Locale.ENGLISH);
+            case 6: return cleaner.upperCase(Locale.ENGLISH);
+            case 7: return cleaner.abbreviate(4);
+            default: return cleaner.abbreviate(9);
+        }
+    }
+
+    private static String apply(final String str, final int kind) {
+        switch (kind) {
+            case 0: return StringUtils.strip(str);
+            case 1: return StringUtils.trim(str);
+            case 2: return StringUtils.normalizeSpace(str);
+            case 3: return StringUtils.deleteWhitespace(str);
+            case 4: return StringUtils.stripAccents(str);
+            case 5: return StringUtils.lowerCase(str, Locale.ENGLISH);
+            case 6: return StringUtils.upperCase(str, Locale.ENGLISH);
+            case 7: return StringUtils.abbreviate(str, 4);
+            default: return StringUtils.abbreviate(str, 9);
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ package org.apache.commons.lang3;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -556,4 +557,24 @@ public class StringEscapeUtilsTest {
         assertEquals(expected, StringEscapeUtils.escapeJson(input));
     }
 
+    @Test
+    public void testUnchangedInputIsReturned() {
+        final String input = "The quick brown fox jumps over the lazy dog 0123456789";
+        assertSame(input, StringEscapeUtils.escapeJava(input));
+        assertSame(input, StringEscapeUtils.escapeEcmaScript(input));
+        assertSame(input, StringEscapeUtils.escapeJson(input));
+        assertSame(input, StringEscapeUtils.escapeXml(input));
+        assertSame(input, StringEscapeUtils.escapeHtml3(input));
+        assertSame(input, StringEscapeUtils.escapeHtml4(input));
+        assertSame(input, StringEscapeUtils.unescapeJava(input));
+        assertSame(input, StringEscapeUtils.unescapeHtml4(input));
+        assertSame(input, StringEscapeUtils.unescapeXml(input));
+
+        // the runs between the escapes are copied as they are
+        assertEquals("a &lt; b &amp;&amp; c &gt; d", StringEscapeUtils.escapeHtml4("a < b && c > d"));
+        assertEquals("caf\\u00E9 \\\"ol\\u00E9\\\"", StringEscapeUtils.escapeJava("caf\u00e9 \"ol\u00e9\""));
+        assertEquals("\\u00E9t\\u00E9", StringEscapeUtils.escapeJson("\u00e9t\u00e9"));
+        assertEquals("a < b", StringEscapeUtils.unescapeHtml4(new StringBuilder("a &lt; b").toString()));
+    }
+
 }
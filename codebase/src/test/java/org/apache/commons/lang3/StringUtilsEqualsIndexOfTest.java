@@ -787,6 +787,22 @@ public class StringUtilsEqualsIndexOfTest  {
         assertEquals(-1, StringUtils.indexOfIgnoreCase("aab", "AAB", 1));
     }
 
+    @Test
+    public void testIndexOfIgnoreCase_LongText() {
+        final String text = StringUtils.repeat("connection reset by pee ", 20) + "Connection Reset By Peer";
+        final int expected = text.length() - 24;
+        assertEquals(expected, StringUtils.indexOfIgnoreCase(text, "CONNECTION RESET BY PEER"));
+        assertEquals(expected, StringUtils.indexOfIgnoreCase(new StringBuilder(text), "connection reset by peer", 3));
+        assertEquals(-1, StringUtils.indexOfIgnoreCase(text, "CONNECTION RESET BY PEER", expected + 1));
+        assertTrue(StringUtils.containsIgnoreCase(text, "reset BY peer"));
+        assertFalse(StringUtils.containsIgnoreCase(text, "reset BY peers"));
+        // a CharSequence compares the lower case forms of the chars, a String those of the upper case forms
+        final String dotted = StringUtils.repeat("x", 20) + "\u0130";
+        assertEquals(-1, StringUtils.indexOfIgnoreCase(new StringBuilder(dotted), "\u0131"));
+        assertEquals(20, StringUtils.indexOfIgnoreCase(new StringBuilder(dotted), "i"));
+        assertEquals(20, StringUtils.indexOfIgnoreCase(StringUtils.repeat("x", 20) + "\ud801\udc00", "\ud801\udc00"));
+    }
+
     @Test
     public void testLastIndexOf_char() {
         assertEquals(-1, StringUtils.lastIndexOf(null, ' '));
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -361,6 +362,66 @@ public class StringUtilsTest {
         assertEquals(TEXT_LIST, StringUtils.join(Arrays.asList(ARRAY_LIST), SEPARATOR));
     }
 
+    @Test
+    public void testJoin_PrimitiveExtremes() {
+        final long[] longs = {Long.MIN_VALUE, -1000000000000000000L, -10, -9, -1, 0, 1, 9, 10, 99, 100,
+                999999999999999999L, 1000000000000000000L, Long.MAX_VALUE};
+        final StringBuilder expected = new StringBuilder();
+        for (final long value : longs) {
+            if (expected.length() > 0) {
+                expected.append(';');
+            }
+            expected.append(value);
+        }
+        assertEquals(expected.toString(), StringUtils.join(longs, SEPARATOR_CHAR));
+        assertEquals("-2147483648;0;2147483647",
+                StringUtils.join(new int[] {Integer.MIN_VALUE, 0, Integer.MAX_VALUE}, SEPARATOR_CHAR));
+        assertEquals("-32768;32767", StringUtils.join(new short[] {Short.MIN_VALUE, Short.MAX_VALUE}, SEPARATOR_CHAR));
+        assertEquals("-128;127", StringUtils.join(new byte[] {Byte.MIN_VALUE, Byte.MAX_VALUE}, SEPARATOR_CHAR));
+        assertEquals("a;b;c", StringUtils.join(new char[] {'a', 'b', 'c'}, SEPARATOR_CHAR));
+    }
+
+    @Test
+    public void testJoin_IterableNotCollection() {
+        final Iterable<String> iterable = new Iterable<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return Arrays.asList(ARRAY_LIST).iterator();
+            }
+        };
+        assertEquals(TEXT_LIST_CHAR, StringUtils.join(iterable, SEPARATOR_CHAR));
+        assertEquals(TEXT_LIST, StringUtils.join(iterable, SEPARATOR));
+        assertEquals("foo,2", StringUtils.join(Arrays.asList(MIXED_TYPE_LIST), SEPARATOR));
+    }
+
+    @Test
+    public void testJoinTo() throws Exception {
+        final StringBuilder buf = new StringBuilder("x");
+        assertSame(buf, StringUtils.joinTo(buf, ARRAY_LIST, SEPARATOR_CHAR));
+        assertEquals("x" + TEXT_LIST_CHAR, buf.toString());
+        assertEquals(TEXT_LIST, StringUtils.joinTo(new StringBuilder(), ARRAY_LIST, SEPARATOR).toString());
+        assertEquals(TEXT_LIST_NOSEP, StringUtils.joinTo(new StringBuilder(), ARRAY_LIST, null).toString());
+        assertEquals(",,foo", StringUtils.joinTo(new StringBuilder(), MIXED_ARRAY_LIST, SEPARATOR).toString());
+        assertEquals("foo;2", StringUtils.joinTo(new StringBuilder(), MIXED_TYPE_LIST, SEPARATOR_CHAR).toString());
+        assertEquals("", StringUtils.joinTo(new StringBuilder(), (Object[]) null, SEPARATOR).toString());
+        assertEquals("", StringUtils.joinTo(new StringBuilder(), EMPTY_ARRAY_LIST, SEPARATOR_CHAR).toString());
+
+        final StringWriter writer = new StringWriter();
+        StringUtils.joinTo(writer, Arrays.asList(ARRAY_LIST), SEPARATOR);
+        assertEquals(TEXT_LIST, writer.toString());
+        assertEquals(TEXT_LIST_CHAR,
+                StringUtils.joinTo(new StringBuilder(), Arrays.asList(ARRAY_LIST), SEPARATOR_CHAR).toString());
+        assertEquals(TEXT_LIST_NOSEP,
+                StringUtils.joinTo(new StringBuilder(), Arrays.asList(ARRAY_LIST), null).toString());
+        assertEquals("", StringUtils.joinTo(new StringBuilder(), (Iterable<?>) null, SEPARATOR_CHAR).toString());
+        try {
+            StringUtils.joinTo(null, ARRAY_LIST, SEPARATOR);
+            fail("Expecting IllegalArgumentException");
+        } catch (final IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
     @Test
     public void testSplit_String() {
         assertArrayEquals(null, StringUtils.split(null));
@@ -1519,6 +1580,108 @@ public class StringUtilsTest {
         assertEquals("  abc  ", StringUtils.center("abc", 7, ""));
     }
 
+    @Test
+    public void testRepeat_Doubling() {
+        assertEquals("", StringUtils.repeat('e', -2));
+        for (int repeat = 0; repeat < 70; repeat++) {
+            for (final String str : new String[] {"", "a", "ab", "abc", "abcdefg"}) {
+                final StringBuilder expected = new StringBuilder();
+                final StringBuilder expectedSeparated = new StringBuilder();
+                for (int i = 0; i < repeat; i++) {
+                    expected.append(str);
+                    expectedSeparated.append(i > 0 ? "-+" : "").append(str);
+                }
+                assertEquals(str + repeat, expected.toString(), StringUtils.repeat(str, repeat));
+                assertEquals(str + repeat, expectedSeparated.toString(), StringUtils.repeat(str, "-+", repeat));
+            }
+        }
+    }
+
+    @Test
+    public void testRepeat_LengthOverflow() {
+        // the int product of the lengths wraps around to a small positive length
+        try {
+            StringUtils.repeat("abc", 1431655766);
+            fail("Expected OutOfMemoryError");
+        } catch (final OutOfMemoryError e) {
+            assertEquals("Required length exceeds implementation limit", e.getMessage());
+        }
+        try {
+            StringUtils.repeat("ab", ",", 1431655766);
+            fail("Expected OutOfMemoryError");
+        } catch (final OutOfMemoryError e) {
+            assertEquals("Required length exceeds implementation limit", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testPad_Doubling() {
+        for (int size = 0; size < 40; size++) {
+            for (final String padStr : new String[] {"z", "yz", "xyz", "0123456789"}) {
+                final String str = "bat";
+                final int pads = Math.max(size - str.length(), 0);
+                final String padding = padding(padStr, pads);
+                final String message = padStr + size;
+                assertEquals(message, padding + str, StringUtils.leftPad(str, size, padStr));
+                assertEquals(message, str + padding, StringUtils.rightPad(str, size, padStr));
+                assertEquals(message, padding(padStr, pads / 2) + str + padding(padStr, pads - pads / 2),
+                        StringUtils.center(str, size, padStr));
+                if (padStr.length() == 1) {
+                    assertEquals(message, padding + str, StringUtils.leftPad(str, size, padStr.charAt(0)));
+                    assertEquals(message, str + padding, StringUtils.rightPad(str, size, padStr.charAt(0)));
+                }
+            }
+        }
+        assertEquals(10003, StringUtils.leftPad("bat", 10003, "yz").length());
+        assertEquals(10003, StringUtils.rightPad("bat", 10003, 'z').length());
+    }
+
+    private static String padding(final String padStr, final int pads) {
+        final StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < pads; i++) {
+            buf.append(padStr.charAt(i % padStr.length()));
+        }
+        return buf.toString();
+    }
+
+    @Test
+    public void testPadTo() throws Exception {
+        for (int size = -1; size < 80; size++) {
+            for (final String padStr : new String[] {null, "", " ", "z", "yz", "xyz"}) {
+                final String message = padStr + size;
+                assertEquals(message, StringUtils.leftPad("bat", size, padStr),
+                        StringUtils.leftPadTo(new StringWriter(), "bat", size, padStr).toString());
+                assertEquals(message, StringUtils.rightPad("bat", size, padStr),
+                        StringUtils.rightPadTo(new StringBuilder(), "bat", size, padStr).toString());
+                assertEquals(message, StringUtils.center("bat", size, padStr),
+                        StringUtils.centerTo(new StringBuilder(), "bat", size, padStr).toString());
+            }
+            for (final char padChar : new char[] {' ', 'z'}) {
+                assertEquals(StringUtils.leftPad("bat", size, padChar),
+                        StringUtils.leftPadTo(new StringBuilder(), "bat", size, padChar).toString());
+                assertEquals(StringUtils.rightPad("bat", size, padChar),
+                        StringUtils.rightPadTo(new StringWriter(), "bat", size, padChar).toString());
+                assertEquals(StringUtils.center("bat", size, padChar),
+                        StringUtils.centerTo(new StringBuilder(), "bat", size, padChar).toString());
+                assertEquals(StringUtils.repeat(padChar, size),
+                        StringUtils.repeatTo(new StringBuilder(), padChar, size).toString());
+            }
+            assertEquals(StringUtils.repeat("ab", size), StringUtils.repeatTo(new StringBuilder(), "ab", size).toString());
+        }
+        final StringBuilder buf = new StringBuilder("|");
+        StringUtils.rightPadTo(buf, new StringBuilder("id"), 4, '.');
+        StringUtils.leftPadTo(buf, CharBuffer.wrap("42"), 5, ' ');
+        assertEquals("|id..   42", buf.toString());
+        assertEquals("", StringUtils.leftPadTo(new StringBuilder(), null, 5, ' ').toString());
+        assertEquals("", StringUtils.centerTo(new StringBuilder(), null, 5, "ab").toString());
+        assertEquals("", StringUtils.repeatTo(new StringBuilder(), (CharSequence) null, 5).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPadTo_NullAppendable() throws Exception {
+        StringUtils.leftPadTo(null, "bat", 5, ' ');
+    }
+
     //-----------------------------------------------------------------------
     @Test
     public void testReverse_String() {
@@ -20,8 +20,13 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.text.Normalizer;
+import java.util.Random;
+import java.util.regex.Pattern;
+
 import org.junit.Test;
 
 /**
@@ -276,4 +281,47 @@ public class StringUtilsTrimEmptyTest  {
         assertEquals( "Failed to handle non-accented text", "control", StringUtils.stripAccents("control") );
         assertEquals( "Failed to handle easy example", "eclair", StringUtils.stripAccents("\u00E9clair") );
     }
+
+    @Test
+    public void testStripAccents_SameAsNormalizer() {
+        final String control = "control";
+        assertSame(control, StringUtils.stripAccents(control));
+        final String unaccented = "\u00c6sop \u00df \u2014 \u03b1";
+        assertSame(unaccented, StringUtils.stripAccents(unaccented));
+        assertEquals("\u0110ien Bien Phu", StringUtils.stripAccents("\u0110i\u1ec7n Bi\u00ean Ph\u1ee7"));
+        assertEquals("ae", StringUtils.stripAccents("\u00e0e\u0301"));
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (!Character.isSurrogate((char) c)) {
+                final String str = String.valueOf((char) c);
+                assertEquals(Integer.toHexString(c), stripAccentsByNormalizer(str), StringUtils.stripAccents(str));
+            }
+        }
+    }
+
+    @Test
+    public void testStripAccents_Random() {
+        // Latin, combining marks in and out of the removed block, Greek, Hangul, a surrogate pair
+        final String chars = "aE\u00e9\u00c7\u01d5\u1ec7\u2000 \u0301\u0327\u0345\u1dc0\u1dc2\u20d0"
+                + "\u03ac\u1f00\uac00\u00df\ud835\udc00";
+        final Random random = new Random(23);
+        for (int n = 0; n < 20000; n++) {
+            final StringBuilder buf = new StringBuilder();
+            final int length = random.nextInt(8);
+            for (int i = 0; i < length; i++) {
+                buf.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            final String str = buf.toString();
+            assertEquals(str, stripAccentsByNormalizer(str), StringUtils.stripAccents(str));
+        }
+    }
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
+    /**
+     * The implementation of stripAccents in 3.1.
+     */
+    private static String stripAccentsByNormalizer(final String input) {
+        final String decomposed = Normalizer.normalize(input, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
 }
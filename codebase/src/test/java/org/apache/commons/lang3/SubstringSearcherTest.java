@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link SubstringSearcher}.
+ *
+ * @version $Id$
+ */
+public class SubstringSearcherTest {
+
+    /** Includes chars with unusual case mappings: dotted and dotless i, long s, Kelvin sign, theta symbol. */
+    private static final String CHARS = "abAB iI\u0130\u0131s\u017fSk\u212aK\u03b8\u03d1\u03f4\u0398\u0101\u0100\u0301";
+
+    //-----------------------------------------------------------------------
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPattern() {
+        new SubstringSearcher(null);
+    }
+
+    @Test
+    public void testAccessors() {
+        final SubstringSearcher searcher = new SubstringSearcher(new StringBuilder("Abc"), true);
+        assertEquals("Abc", searcher.getPattern());
+        assertTrue(searcher.isIgnoreCase());
+        assertEquals(3, searcher.length());
+        assertEquals("Abc (ignore case)", searcher.toString());
+        assertFalse(new SubstringSearcher("Abc").isIgnoreCase());
+        assertEquals("Abc", new SubstringSearcher("Abc").toString());
+    }
+
+    @Test
+    public void testIndexIn() {
+        final SubstringSearcher searcher = new SubstringSearcher("ab");
+        assertEquals(-1, searcher.indexIn(null));
+        assertEquals(-1, searcher.indexIn(""));
+        assertEquals(-1, searcher.indexIn("a"));
+        assertEquals(1, searcher.indexIn("aabaabaa"));
+        assertEquals(4, searcher.indexIn("aabaabaa", 2));
+        assertEquals(1, searcher.indexIn("aabaabaa", -3));
+        assertEquals(-1, searcher.indexIn("aabaabaa", 5));
+        assertEquals(-1, searcher.indexIn("aabaabaa", 20));
+        assertEquals(4, searcher.indexIn(new StringBuilder("aabaabaa"), 2));
+        assertEquals(-1, searcher.indexIn("AB"));
+        assertTrue(searcher.isFoundIn("xxab"));
+        assertFalse(searcher.isFoundIn(null));
+
+        final SubstringSearcher empty = new SubstringSearcher("");
+        assertEquals(0, empty.indexIn(""));
+        assertEquals(2, empty.indexIn("abc", 2));
+        assertEquals(3, empty.indexIn("abc", 9));
+        assertEquals(-1, empty.indexIn(null));
+    }
+
+    @Test
+    public void testIndexInIgnoreCase() {
+        final SubstringSearcher searcher = new SubstringSearcher("AB", true);
+        assertEquals(1, searcher.indexIn("aabaabaa"));
+        assertEquals(1, searcher.indexIn("aAbaabaa"));
+        assertEquals(4, searcher.indexIn(new StringBuilder("aabaABaa"), 2));
+        assertEquals(-1, searcher.indexIn("aacaacaa"));
+
+        final SubstringSearcher kelvin = new SubstringSearcher("\u212a", true);
+        assertEquals(1, kelvin.indexIn("ak"));
+        assertEquals(1, kelvin.indexIn("aK"));
+    }
+
+    @Test
+    public void testLongPattern() {
+        final String pattern = "connection reset by remote peer";
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("connection reset by remote pee").append(i);
+        }
+        final int expected = text.length();
+        text.append(pattern.toUpperCase()).append(pattern);
+        assertEquals(expected + pattern.length(), new SubstringSearcher(pattern).indexIn(text));
+        assertEquals(expected, new SubstringSearcher(pattern, true).indexIn(text));
+        assertEquals(expected, new SubstringSearcher(pattern, true).indexIn(text.toString()));
+    }
+
+    /**
+     * Compares the searcher with String.indexOf and a search with
+     * String.regionMatches at each position.
+     */
+    @Test
+    public void testRandom() {
+        final Random random = new Random(17);
+        for (int n = 0; n < 5000; n++) {
+            final String text = random(random, random.nextInt(40));
+            final String pattern;
+            if (random.nextBoolean() && text.length() > 0) {
+                final int start = random.nextInt(text.length());
+                pattern = text.substring(start, Math.min(text.length(), start + random.nextInt(6)));
+            } else {
+                pattern = random(random, random.nextInt(4));
+            }
+            final int from = random.nextInt(text.length() + 3) - 1;
+            final String message = pattern + " in " + text + " from " + from;
+            assertEquals(message, text.indexOf(pattern, from), new SubstringSearcher(pattern).indexIn(text, from));
+            assertEquals(message, text.indexOf(pattern, from),
+                    new SubstringSearcher(pattern).indexIn(new StringBuilder(text), from));
+
+            int expected = -1;
+            for (int i = Math.max(from, 0); i <= text.length() - pattern.length(); i++) {
+                if (text.regionMatches(true, i, pattern, 0, pattern.length())) {
+                    expected = i;
+                    break;
+                }
+            }
+            if (pattern.length() == 0) {
+                expected = Math.min(Math.max(from, 0), text.length());
+            }
+            assertEquals(message, expected, new SubstringSearcher(pattern, true).indexIn(text, from));
+        }
+    }
+
+    private static String random(final Random random, final int length) {
+        final StringBuilder buf = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            buf.append(CHARS.charAt(random.nextInt(CHARS.length())));
+        }
+        return buf.toString();
+    }
+
+}
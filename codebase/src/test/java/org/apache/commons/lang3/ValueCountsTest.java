@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests {@link ValueCounts}.
+ *
+ * @version $Id$
+ */
+public class ValueCountsTest {
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testTakeCounts() {
+        final ValueCounts counts = new ValueCounts(3);
+        counts.add(5);
+        counts.add(5);
+        counts.add(-5L << 32);
+        assertTrue(counts.hasRemaining());
+        assertFalse(counts.take(6));
+        assertFalse(counts.take(-5));
+        assertTrue(counts.take(5));
+        assertTrue(counts.take(5));
+        assertFalse(counts.take(5));
+        assertTrue(counts.hasRemaining());
+        assertTrue(counts.take(-5L << 32));
+        assertFalse(counts.hasRemaining());
+    }
+
+    @Test
+    public void testCollisions() {
+        final ValueCounts counts = new ValueCounts(1000);
+        for (int i = 0; i < 1000; i++) {
+            counts.add((long) i << 20);
+        }
+        for (int i = 999; i >= 0; i--) {
+            assertFalse(counts.take(((long) i << 20) + 1));
+            assertTrue(counts.take((long) i << 20));
+        }
+        assertFalse(counts.hasRemaining());
+    }
+
+    @Test
+    public void testFloatingPoint() {
+        final ValueCounts counts = new ValueCounts(3);
+        counts.add(-0.0);
+        counts.add(Double.NaN);
+        counts.add(1.5);
+        assertFalse(counts.take(Double.NaN));
+        assertTrue(counts.take(0.0));
+        assertFalse(counts.take(-0.0));
+        assertTrue(counts.take(1.5f));
+        assertFalse(counts.hasRemaining());
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.StrReplacer}.
+ *
+ * @version $Id$
+ */
+public class StrReplacerTest {
+
+    //-----------------------------------------------------------------------
+    @Test
+    public void testReplace() {
+        final StrReplacer replacer = new StrReplacer(new String[]{"a", "b"}, new String[]{"w", "x"});
+        assertNull(replacer.replace(null));
+        assertEquals("", replacer.replace(""));
+        assertEquals("wxcde", replacer.replace("abcde"));
+        final String unchanged = "cde";
+        assertSame(unchanged, replacer.replace(unchanged));
+
+        assertEquals("wcte", new StrReplacer(new String[]{"ab", "d"}, new String[]{"w", "t"}).replace("abcde"));
+        assertEquals("dcte", new StrReplacer(new String[]{"ab", "d"}, new String[]{"d", "t"}).replace("abcde"));
+        assertEquals("aba", new StrReplacer(new String[]{"a"}, new String[]{null}).replace("aba"));
+        assertEquals("aba", new StrReplacer(new String[]{""}, new String[]{"x"}).replace("aba"));
+        assertEquals("aba", new StrReplacer(null, null).replace("aba"));
+        assertEquals("aba", new StrReplacer(new String[0], null).replace("aba"));
+    }
+
+    @Test
+    public void testReplaceFirstInListWins() {
+        // at the same index the first search string in the list wins, not the longest
+        assertEquals("1bc", new StrReplacer(new String[]{"a", "abc"}, new String[]{"1", "2"}).replace("abc"));
+        assertEquals("2", new StrReplacer(new String[]{"abc", "a"}, new String[]{"2", "1"}).replace("abc"));
+        assertEquals("x", new StrReplacer(new String[]{"bc", "abc"}, new String[]{"1", "x"}).replace("abc"));
+        // the one starting first wins
+        assertEquals("a1d", new StrReplacer(new String[]{"cd", "bc"}, new String[]{"2", "1"}).replace("abcd"));
+        // equal search strings
+        assertEquals("1", new StrReplacer(new String[]{"a", "a"}, new String[]{"1", "2"}).replace("a"));
+    }
+
+    @Test
+    public void testReplaceRepeatedly() {
+        final StrReplacer replacer = new StrReplacer(new String[]{"a", "b"}, new String[]{"b", "c"});
+        assertNull(replacer.replaceRepeatedly(null));
+        assertEquals("", replacer.replaceRepeatedly(""));
+        assertEquals("ccc", replacer.replaceRepeatedly("abc"));
+        assertEquals("tcte", new StrReplacer(new String[]{"ab", "d"}, new String[]{"d", "t"}).replaceRepeatedly("abcde"));
+        try {
+            new StrReplacer(new String[]{"a", "b"}, new String[]{"b", "a"}).replaceRepeatedly("ab");
+            fail("Should be a circular reference");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLengthMismatch() {
+        new StrReplacer(new String[]{"a", "b"}, new String[]{"b"});
+    }
+
+    @Test
+    public void testSameAsReplaceEach() {
+        final Random random = new Random(11);
+        for (int n = 0; n < 2000; n++) {
+            final int count = 1 + random.nextInt(6);
+            final String[] search = new String[count];
+            final String[] replace = new String[count];
+            for (int i = 0; i < count; i++) {
+                search[i] = randomString(random, random.nextInt(4), "abc");
+                replace[i] = randomString(random, random.nextInt(3), "xyz");
+            }
+            final String text = randomString(random, random.nextInt(40), "abcd");
+            final StrReplacer replacer = new StrReplacer(search, replace);
+            assertEquals(text, StringUtils.replaceEach(text, search, replace), replacer.replace(text));
+        }
+    }
+
+    @Test
+    public void testSameAsReplaceEachRepeatedly() {
+        final Random random = new Random(17);
+        for (int n = 0; n < 2000; n++) {
+            final int count = 1 + random.nextInt(4);
+            final String[] search = new String[count];
+            final String[] replace = new String[count];
+            for (int i = 0; i < count; i++) {
+                search[i] = randomString(random, 1 + random.nextInt(3), "abc");
+                replace[i] = randomString(random, random.nextInt(3), "bcd");
+            }
+            final String text = randomString(random, random.nextInt(20), "abcd");
+            final StrReplacer replacer = new StrReplacer(search, replace);
+            String expected;
+            try {
+                expected = StringUtils.replaceEachRepeatedly(text, search, replace);
+            } catch (final IllegalStateException e) {
+                expected = null;
+            }
+            String actual;
+            try {
+                actual = replacer.replaceRepeatedly(text);
+            } catch (final IllegalStateException e) {
+                actual = null;
+            }
+            assertEquals(text, expected, actual);
+        }
+    }
+
+    private static String randomString(final Random random, final int length, final String chars) {
+        final StringBuilder buf = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            buf.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return buf.toString();
+    }
+
+}
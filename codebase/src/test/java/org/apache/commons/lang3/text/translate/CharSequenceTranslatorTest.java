@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.lang3.text.translate;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.lang3.StringEscapeUtils;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link org.apache.commons.lang3.text.translate.CharSequenceTranslator}.
+ * @version $Id$
+ */
+public class CharSequenceTranslatorTest {
+
+    /**
+     * A Reader which returns at most a few chars per read.
+     */
+    private static class TrickleReader extends StringReader {
+        private final Random random = new Random(7);
+
+        TrickleReader(final String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1 + random.nextInt(7)));
+        }
+    }
+
+    private static String translate(final CharSequenceTranslator translator, final Reader input) throws IOException {
+        final StringWriter out = new StringWriter();
+        translator.translateStream(input, out);
+        return out.toString();
+    }
+
+    @Test
+    public void testTranslateStream() throws IOException {
+        final StringBuilder buf = new StringBuilder();
+        final String[] pieces = { "plain text ", "<a href=\"x\">", "&amp;", "\u00e9t\u00e9 ", "\\101", "\ud83d\ude00", "'q'", "&#x41;" };
+        final Random random = new Random(11);
+        while (buf.length() < 100000) {
+            buf.append(pieces[random.nextInt(pieces.length)]);
+        }
+        final String text = buf.toString();
+        final CharSequenceTranslator[] translators = { StringEscapeUtils.ESCAPE_XML, StringEscapeUtils.ESCAPE_HTML4,
+            StringEscapeUtils.ESCAPE_JAVA, StringEscapeUtils.UNESCAPE_JAVA, StringEscapeUtils.UNESCAPE_HTML4,
+            new OctalUnescaper() };
+        for (final CharSequenceTranslator translator : translators) {
+            final String expected = translator.translate(text);
+            assertEquals(expected, translate(translator, new StringReader(text)));
+            assertEquals(expected, translate(translator, new TrickleReader(text)));
+        }
+
+        // an octal escape with leading zeros, which has no bounded length, across the end of the buffer
+        final char[] padding = new char[8180];
+        Arrays.fill(padding, 'x');
+        final String octal = new String(padding) + "\\000000000101y";
+        for (final CharSequenceTranslator translator : new CharSequenceTranslator[] { new OctalUnescaper(),
+                StringEscapeUtils.UNESCAPE_JAVA }) {
+            assertEquals(new String(padding) + "Ay", translator.translate(octal));
+            assertEquals(translator.translate(octal), translate(translator, new StringReader(octal)));
+            assertEquals(translator.translate(octal), translate(translator, new TrickleReader(octal)));
+        }
+    }
+
+    @Test
+    public void testConsumedSurrogatePairs() {
+        // the consumed code points are counted from the translated position
+        assertEquals("a\\uD83D\\uDE00\\uD83D\\uDE00", StringEscapeUtils.escapeJava("a\ud83d\ude00\ud83d\ude00"));
+        assertEquals("\\uD83D\\uDE00b", StringEscapeUtils.escapeJava("\ud83d\ude00b"));
+    }
+
+    @Test
+    public void testTranslateStreamAcrossBuffers() throws IOException {
+        // a key as long as the buffer, which can only match if the buffer keeps the lookahead
+        final StringBuilder key = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            key.append((char) ('a' + i % 26));
+        }
+        final LookupTranslator translator = new LookupTranslator(new String[][] { { key.toString(), "!" }, { "a", "1" } });
+        final String text = "xa" + key + "a" + key.substring(0, 9999) + key;
+        final String expected = "x1!1" + translator.translate(key.substring(0, 9999)) + "!";
+        assertEquals(expected, translator.translate(text));
+        assertEquals(expected, translate(translator, new TrickleReader(text)));
+        assertEquals("", translate(translator, new StringReader("")));
+    }
+
+    @Test
+    public void testTranslateUtf8() throws IOException {
+        final String[] inputs = { "", "plain", "<caf\u00e9 & \u20ac>", "\ud83d\ude00 & \ud83d", "\ude00<\ud83d",
+            "&eacute;&#x1F600;&lt;\u00e9", "\\u00e9 \\101" };
+        final CharSequenceTranslator[] translators = { StringEscapeUtils.ESCAPE_XML, StringEscapeUtils.ESCAPE_HTML4,
+            StringEscapeUtils.ESCAPE_JSON, StringEscapeUtils.UNESCAPE_HTML4, StringEscapeUtils.UNESCAPE_JAVA,
+            new LookupTranslator(new String[][] { { "<", "\ud83d" }, { ">", "\ude00" } }) };
+        final StringBuilder longInput = new StringBuilder();
+        for (int i = 0; longInput.length() < 20000; i++) {
+            longInput.append(inputs[i % inputs.length]);
+        }
+        for (final CharSequenceTranslator translator : translators) {
+            for (final String input : Arrays.asList(inputs[0], inputs[1], inputs[2], inputs[3], inputs[4],
+                    inputs[5], inputs[6], longInput.toString())) {
+                final byte[] expected = translator.translate(input).getBytes("UTF-8");
+                final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                translator.translateUtf8(input, stream);
+                assertArrayEquals(expected, stream.toByteArray());
+                final ByteBuffer buffer = ByteBuffer.allocate(expected.length + 1);
+                buffer.put((byte) 1);
+                translator.translateUtf8(input, buffer);
+                assertEquals(expected.length + 1, buffer.position());
+                assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 1, buffer.position()));
+            }
+        }
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void testTranslateUtf8Overflow() {
+        StringEscapeUtils.ESCAPE_XML.translateUtf8("a < b", ByteBuffer.allocate(5));
+    }
+
+    @Test
+    public void testTranslateParallel() {
+        final StringBuilder buf = new StringBuilder();
+        final String[] pieces = { "plain text ", "<a href=\"x\">", "&amp;", "\u00e9t\u00e9 ", "\\101", "\ud83d\ude00",
+            "\\u0041", "&#x41;" };
+        final Random random = new Random(13);
+        while (buf.length() < 1000000) {
+            buf.append(pieces[random.nextInt(pieces.length)]);
+        }
+        // an entity and an octal escape with leading zeros running over the first chunk boundaries
+        final char[] zeros = new char[100000];
+        Arrays.fill(zeros, '0');
+        buf.insert(10, zeros).insert(10, "&#");
+        buf.insert(200000, "101").insert(200000, zeros).insert(200000, '\\');
+        final String text = buf.toString();
+        final CharSequenceTranslator[] translators = { StringEscapeUtils.ESCAPE_XML, StringEscapeUtils.ESCAPE_HTML4,
+            StringEscapeUtils.ESCAPE_JAVA, StringEscapeUtils.UNESCAPE_JAVA, StringEscapeUtils.UNESCAPE_HTML4,
+            StringEscapeUtils.ESCAPE_CSV, new OctalUnescaper() };
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (final CharSequenceTranslator translator : translators) {
+                final String expected = translator.translate(text);
+                assertEquals(expected, translator.translateParallel(text, pool));
+                assertEquals(expected, translator.translateParallel(text));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(null, StringEscapeUtils.ESCAPE_XML.translateParallel(null));
+        assertEquals("a &lt; b", StringEscapeUtils.ESCAPE_XML.translateParallel("a < b"));
+    }
+
+    @Test
+    public void testTranslateStreamNullReader() throws IOException {
+        final StringWriter out = new StringWriter();
+        StringEscapeUtils.ESCAPE_XML.translateStream(null, out);
+        assertEquals("", out.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTranslateStreamNullWriter() throws IOException {
+        StringEscapeUtils.ESCAPE_XML.translateStream(new StringReader("a"), null);
+    }
+
+}
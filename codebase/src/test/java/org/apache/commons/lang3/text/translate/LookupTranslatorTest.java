@@ -49,4 +49,29 @@ public class LookupTranslatorTest  {
         assertEquals("Incorrect value", "two", out.toString());
     }
 
+    @Test
+    public void testLongestMatch() throws IOException {
+        final LookupTranslator lt = new LookupTranslator(new CharSequence[][] {
+            { "a", "1" }, { "abc", "3" }, { "abcde", "5" }, { "b", "x" }, { "a", "one" } });
+        assertEquals("3xd", lt.translate("abcbd"));
+        assertEquals("5one", lt.translate("abcdea"));
+        assertEquals("onexone", lt.translate("aba"));
+        final StringWriter out = new StringWriter();
+        assertEquals(0, lt.translate("zabc", 0, out));
+        assertEquals(3, lt.translate("zabc", 1, out));
+        assertEquals("3", out.toString());
+    }
+
+    @Test
+    public void testMergedLookups() throws IOException {
+        final LookupTranslator first = new LookupTranslator(new CharSequence[][] { { "ab", "1" }, { "x", "2" } });
+        final LookupTranslator second = new LookupTranslator(new CharSequence[][] { { "abc", "3" }, { "b", "4" }, { "x", "5" } });
+        final CharSequenceTranslator aggregate = new AggregateTranslator(first, second);
+        // the first translator wins even though the second has a longer match
+        assertEquals("1c4c2", aggregate.translate("abcbcx"));
+        final CharSequenceTranslator reversed = first.with(second).with(new LookupTranslator(new CharSequence[][] { { "c", "6" } }));
+        assertEquals("14662", reversed.translate("abbccx"));
+        assertEquals("34", second.with(first).translate("abcb"));
+    }
+
 }
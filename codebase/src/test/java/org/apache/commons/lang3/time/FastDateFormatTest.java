@@ -250,6 +250,143 @@ public class FastDateFormatTest {
                 FastDateFormat.getDateTimeInstance(FastDateFormat.LONG, FastDateFormat.MEDIUM, TimeZone.getDefault(), Locale.getDefault()));
     }
 
+    @Test
+    public void test_getCachingInstance() {
+        final String pattern = "EEE yyyy-MM-dd'T'HH:mm:ss.SSS ZZ";
+        final TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        final FastDateFormat caching = FastDateFormat.getCachingInstance(pattern, zone, Locale.US);
+        final FastDateFormat plain = FastDateFormat.getInstance(pattern, zone, Locale.US);
+        assertSame(caching, FastDateFormat.getCachingInstance(pattern, zone, Locale.US));
+        assertTrue(caching != plain);
+        assertEquals(plain, caching);
+
+        // 2013-03-10T01:59:59.998-05:00, one second before the switch to daylight saving time
+        final long start = 1362898799998L;
+        final long[] steps = {0, 1, 1, 998, 1000, 1, 86400000L, -86400000L * 3, 500, 500};
+        long millis = start;
+        for (final long step : steps) {
+            millis += step;
+            assertEquals(plain.format(millis), caching.format(millis));
+            assertEquals(plain.format(new Date(millis)), caching.format(new Date(millis)));
+        }
+        assertEquals("Sun 2013-03-10T01:59:59.998 -05:00", caching.format(start));
+        assertEquals("Sun 2013-03-10T03:00:00.000 -04:00", caching.format(start + 2));
+    }
+
+    @Test
+    public void test_cacheStatistics() {
+        final String pattern = "'test_cacheStatistics' yyyy";
+        final FormatCacheStatistics before = FastDateFormat.getCacheStatistics();
+        FastDateFormat.preload(null, Locale.FRANCE, pattern);
+        final FormatCacheStatistics preloaded = FastDateFormat.getCacheStatistics();
+        assertEquals(before.getMissCount() + 1, preloaded.getMissCount());
+        FastDateFormat.getInstance(pattern, Locale.FRANCE);
+        final FormatCacheStatistics after = FastDateFormat.getCacheStatistics();
+        assertEquals(preloaded.getHitCount() + 1, after.getHitCount());
+        assertEquals(Integer.MAX_VALUE, after.getMaximumSize());
+
+        // the caching instances are counted too
+        FastDateFormat.getCachingInstance(pattern, null, Locale.FRANCE);
+        final FormatCacheStatistics caching = FastDateFormat.getCacheStatistics();
+        assertEquals(after.getMissCount() + 1, caching.getMissCount());
+        assertEquals(after.getSize() + 1, caching.getSize());
+        FastDateFormat.getCachingInstance(pattern, null, Locale.FRANCE);
+        assertEquals(caching.getHitCount() + 1, FastDateFormat.getCacheStatistics().getHitCount());
+    }
+
+    @Test
+    public void test_boundedCacheAfterUnbounded() {
+        final FormatCache<SimpleDateFormat> cache = new FormatCache<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat createInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+                return new SimpleDateFormat(pattern, locale);
+            }
+        };
+        // unbounded, the entries are not stamped on use
+        for (final String pattern : new String[] {"yyyy", "MM", "dd", "HH", "mm"}) {
+            cache.getInstance(pattern, null, null);
+        }
+        cache.setMaximumSize(2);
+        assertEquals(2, cache.getStatistics().getSize());
+        assertEquals(3, cache.getStatistics().getEvictionCount());
+        // bounded, the least recently used is evicted again
+        final SimpleDateFormat seconds = cache.getInstance("ss", null, null);
+        assertEquals(2, cache.getStatistics().getSize());
+        cache.getInstance("SSS", null, null);
+        assertSame(seconds, cache.getInstance("ss", null, null));
+        cache.getInstance("yy", null, null);
+        assertSame(seconds, cache.getInstance("ss", null, null));
+        assertEquals(2, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void test_boundedCache() {
+        final FormatCache<SimpleDateFormat> cache = new FormatCache<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat createInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+                return new SimpleDateFormat(pattern, locale);
+            }
+        };
+        cache.setMaximumSize(2);
+        final SimpleDateFormat year = cache.getInstance("yyyy", null, null);
+        cache.getInstance("MM", null, null);
+        assertSame(year, cache.getInstance("yyyy", null, null));
+        // evicts MM, which is the least recently used
+        cache.getInstance("dd", null, null);
+        assertSame(year, cache.getInstance("yyyy", null, null));
+        FormatCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(3, statistics.getMissCount());
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals(2, statistics.getSize());
+
+        cache.getInstance("MM", null, null);
+        statistics = cache.getStatistics();
+        assertEquals(4, statistics.getMissCount());
+        assertEquals(2, statistics.getEvictionCount());
+        assertSame(year, cache.getInstance("yyyy", null, null));
+
+        cache.setMaximumSize(1);
+        assertEquals(1, cache.getStatistics().getSize());
+        try {
+            cache.setMaximumSize(0);
+            fail("Expected IllegalArgumentException");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_boundedCacheConcurrentMisses() throws InterruptedException {
+        final FormatCache<SimpleDateFormat> cache = new FormatCache<SimpleDateFormat>() {
+            @Override
+            protected SimpleDateFormat createInstance(final String pattern, final TimeZone timeZone, final Locale locale) {
+                return new SimpleDateFormat(pattern, locale);
+            }
+        };
+        cache.setMaximumSize(50);
+        final int threads = 8;
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < 2000; i++) {
+                        cache.getInstance("'" + thread + "-" + i + "' yyyy", TimeZone.getTimeZone("GMT"), Locale.US);
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS));
+        final FormatCacheStatistics statistics = cache.getStatistics();
+        // the threads which did not wait for an eviction had their misses evicted by the evicting thread
+        assertTrue(statistics.getSize() <= 50);
+        assertEquals(threads * 2000, statistics.getMissCount());
+        assertEquals(statistics.getMissCount() - statistics.getSize(), statistics.getEvictionCount());
+    }
+
     @Test
     public void testParseSync() throws InterruptedException {
         final String pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS Z";
@@ -18,9 +18,11 @@ package org.apache.commons.lang3.time;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import java.io.Serializable;
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
@@ -489,6 +491,48 @@ public class FastDateParserTest {
         assertEquals(cal.getTime(), parser.parse("2009-10-16T16:42:16.000Z"));
     }
 
+    @Test
+    public void testParsePosition() {
+        final DateParser parser = getInstance(YMD_SLASH, NEW_YORK, Locale.US);
+        final Calendar cal = Calendar.getInstance(NEW_YORK, Locale.US);
+        cal.clear();
+        cal.set(2003, 1, 10);
+
+        final ParsePosition pos = new ParsePosition(4);
+        assertEquals(cal.getTime(), parser.parse("at: 2003/02/10 etc", pos));
+        assertEquals(14, pos.getIndex());
+
+        pos.setIndex(0);
+        assertNull(parser.parse("at: 2003/02/10 etc", pos));
+        assertEquals(0, pos.getIndex());
+    }
+
+    @Test
+    public void testTextFieldBacktracks() throws ParseException {
+        // "March" is the longest month name, but only "Mar" lets the literal "ch" match
+        final DateParser parser = getInstance("MMM'ch' d yyyy", NEW_YORK, Locale.US);
+        final Calendar cal = Calendar.getInstance(NEW_YORK, Locale.US);
+        cal.clear();
+        cal.set(2003, 2, 10);
+
+        assertEquals(cal.getTime(), parser.parse("March 10 2003"));
+    }
+
+    @Test
+    public void testTimeZoneNameMatchesFirstAlternative() {
+        // like the regular expression, stop at the first zone name that matches, even if a longer one would
+        final Locale wolof = new Locale("wo");
+        final String longName = GMT.getDisplayName(false, TimeZone.LONG, wolof);
+        final String shortName = GMT.getDisplayName(false, TimeZone.SHORT, wolof);
+        if (!longName.startsWith(shortName) || longName.equals(shortName)) {
+            return; // no such display names on this JRE
+        }
+        final DateParser parser = getInstance("zzzz", NEW_YORK, wolof);
+        final ParsePosition pos = new ParsePosition(0);
+        assertEquals(new Date(0), parser.parse(longName, pos));
+        assertEquals(shortName.length(), pos.getIndex());
+    }
+
     @Test
     public void testEquals() {
         final DateParser parser1= getInstance(YMD_SLASH);
@@ -19,9 +19,11 @@ package org.apache.commons.lang3.time;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.Serializable;
+import java.io.StringWriter;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
@@ -227,6 +229,70 @@ public class FastDatePrinterTest {
         assertEquals("fredag, week 53", fdf.format(d));
     }
     
+    @Test
+    public void testFormatToStringBuilderAndAppendable() throws Exception {
+        final DatePrinter printer = getInstance("yyyy-MM-dd'T'HH:mm:ss.SSS Z", NEW_YORK, Locale.US);
+        final Calendar cal = Calendar.getInstance(NEW_YORK, Locale.US);
+        cal.clear();
+        cal.set(2003, 1, 10, 15, 33, 20);
+        cal.set(Calendar.MILLISECOND, 989);
+        final String expected = "2003-02-10T15:33:20.989 -0500";
+
+        assertEquals(expected, printer.format(cal.getTimeInMillis(), new StringBuilder()).toString());
+        assertEquals(expected, printer.format(cal.getTime(), new StringBuilder()).toString());
+        assertEquals(expected, printer.format(cal, new StringBuilder()).toString());
+
+        final StringWriter writer = new StringWriter();
+        assertSame(writer, printer.format(cal.getTimeInMillis(), writer));
+        assertEquals(expected, writer.toString());
+        assertEquals(">" + expected, printer.format(cal, new StringBuilder(">")).toString());
+    }
+
+    @Test
+    public void testFormatMillisMatchesCalendar() {
+        final String pattern = "G yy yyyyy MMMM MM M dd D F EEEE a hh KK HH kk mm ss SSSS ZZ";
+        final TimeZone[] zones = {NEW_YORK, TimeZone.getTimeZone("Asia/Kolkata"), TimeZone.getTimeZone("GMT")};
+        final long[] millis = {
+            0L, -1L, 951782400000L, 1078012800000L, 4107542399999L, -12212553600000L, -12219292800000L, -62135769600001L
+        };
+        for (final TimeZone zone : zones) {
+            final DatePrinter printer = getInstance(pattern, zone, Locale.US);
+            for (final long value : millis) {
+                final Calendar cal = new GregorianCalendar(zone, Locale.US);
+                cal.setTimeInMillis(value);
+                assertEquals(zone.getID() + " " + value, printer.format(cal), printer.format(value));
+            }
+        }
+    }
+
+    @Test
+    public void testFormatMillisWithCalendarRules() {
+        // week fields and time zone names need a Calendar
+        for (final String pattern : new String[] {"yyyy-MM-dd w", "yyyy-MM-dd W", "HH:mm z", "HH:mm zzzz"}) {
+            final DatePrinter printer = getInstance(pattern, NEW_YORK, Locale.US);
+            for (final long value : new long[] {0L, 1078012800000L, 1215000000000L}) {
+                final Calendar cal = new GregorianCalendar(NEW_YORK, Locale.US);
+                cal.setTimeInMillis(value);
+                assertEquals(pattern + " " + value, printer.format(cal), printer.format(value));
+            }
+        }
+    }
+
+    @Test
+    public void testIsGregorianField() {
+        for (int field = 0; field < Calendar.FIELD_COUNT; field++) {
+            boolean computed = true;
+            try {
+                FastDatePrinter.getGregorianField(0L, field);
+            } catch (final UnsupportedOperationException e) {
+                computed = false;
+            }
+            assertEquals("Field " + field, FastDatePrinter.isGregorianField(field), computed);
+        }
+        assertFalse(FastDatePrinter.isGregorianField(Calendar.WEEK_OF_YEAR));
+        assertFalse(FastDatePrinter.isGregorianField(Calendar.ZONE_OFFSET));
+    }
+
     @Test
     public void testEquals() {
         final DatePrinter printer1= getInstance(YYYY_MM_DD);